@@ -0,0 +1,135 @@
+package com.backbase.kalah;
+
+import com.backbase.kalah.benchmarks.RandomGames;
+import com.backbase.kalah.engine.KalahBoard;
+import com.backbase.kalah.records.GameStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.backbase.kalah.util.ServiceConstance.STORE_INDEX;
+
+/**
+ * Average time of the game engine operations on {@link #POSITIONS} randomly played mid-game positions, which
+ * the benchmarks go through one after the other:
+ *
+ * <ul>
+ *     <li>{@code makeMove} makes a random legal move with {@link PlayKalah#makeMove(GameStatus, int)}.</li>
+ *     <li>{@code checkAndUpdateWinner} runs {@link PlayKalah#checkAndUpdateWinner(GameStatus, KalahBoard)} on
+ *     a copy of the position, so that the positions are never finished by the benchmark.</li>
+ *     <li>{@code boardBuilder} creates a new game with {@link GameStatus.Builder#board()}.</li>
+ *     <li>{@code serialize} and {@code deserialize} convert the position to and from JSON with Jackson, as
+ *     the endpoints do.</li>
+ *     <li>{@code resetPosition} only restores the position, the board, the player and the state, which is the
+ *     overhead included in {@code makeMove}.</li>
+ * </ul>
+ *
+ * Lives in the {@code com.backbase.kalah} package to reach the package-private
+ * {@link PlayKalah#checkAndUpdateWinner(GameStatus, KalahBoard)}.
+ *
+ * @author Sachith Dickwella
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PlayKalahBenchmark {
+
+    /**
+     * Number of mid-game positions.
+     */
+    private static final int POSITIONS = 1024;
+
+    private final PlayKalah playKalah = new PlayKalah();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Random random = new Random(42L);
+    private final int[] candidates = new int[STORE_INDEX];
+
+    private GameStatus[] positions;
+    private Map<Integer, String>[] boards;
+    private KalahBoard[] kalahBoards;
+    private byte[][] json;
+    private GameStatus gameStatus;
+    private GameStatus winnerStatus;
+    private int next;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setup() throws JsonProcessingException {
+        positions = RandomGames.positions(42L, POSITIONS, 10, 40);
+        boards = new Map[POSITIONS];
+        kalahBoards = new KalahBoard[POSITIONS];
+        json = new byte[POSITIONS][];
+        for (int i = 0; i < POSITIONS; i++) {
+            boards[i] = new HashMap<>(positions[i].getBoard());
+            kalahBoards[i] = new KalahBoard().load(boards[i]);
+            json[i] = objectMapper.writeValueAsBytes(positions[i]);
+        }
+        gameStatus = GameStatus.builder().id(0L).board().build();
+        winnerStatus = GameStatus.builder().id(0L).board().build();
+    }
+
+    @Benchmark
+    public GameStatus makeMove() {
+        final int position = resetPosition();
+        final int legal = RandomGames.legalMoves(kalahBoards[position], gameStatus.player(), candidates);
+        playKalah.makeMove(gameStatus, candidates[random.nextInt(legal)]);
+        return gameStatus;
+    }
+
+    @Benchmark
+    public KalahBoard checkAndUpdateWinner() {
+        final int position = nextPosition();
+        final var board = new KalahBoard().load(boards[position]);
+        winnerStatus.state(positions[position].getState());
+        playKalah.checkAndUpdateWinner(winnerStatus, board);
+        return board;
+    }
+
+    @Benchmark
+    public GameStatus boardBuilder() {
+        return GameStatus.builder().id(1L).url("http://localhost:8080/games/1").board().build();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(positions[nextPosition()]);
+    }
+
+    @Benchmark
+    public GameStatus deserialize() throws java.io.IOException {
+        return objectMapper.readValue(json[nextPosition()], GameStatus.class);
+    }
+
+    /**
+     * Restore the next position into the {@link #gameStatus}, along with its state, since the previous move could
+     * have finished the game.
+     *
+     * @return {@code int} index of the position.
+     */
+    @Benchmark
+    public int resetPosition() {
+        final int position = nextPosition();
+        gameStatus.getBoard().putAll(boards[position]);
+        if (gameStatus.player() != positions[position].player()) gameStatus.player(true);
+        gameStatus.state(positions[position].getState());
+        return position;
+    }
+
+    /**
+     * Move on to the next position.
+     *
+     * @return {@code int} index of the position.
+     */
+    private int nextPosition() {
+        next = (next + 1) & (POSITIONS - 1);
+        return next;
+    }
+}
@@ -0,0 +1,53 @@
+package com.backbase.kalah.benchmarks;
+
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entry point of the benchmarks uber jar. Same as {@link Main}, except the results are written to
+ * {@code jmh-result.json} in JSON format by default, so successive runs can be compared to catch
+ * regressions. Passing {@code -rf} or {@code -rff} overrides the default.
+ *
+ * @author Sachith Dickwella
+ */
+public final class BenchmarkMain {
+
+    /**
+     * Default result file.
+     */
+    private static final String RESULT_FILE = "jmh-result.json";
+
+    /**
+     * Private constructor to avoid instantiation.
+     */
+    private BenchmarkMain() {
+        // do nothing
+    }
+
+    public static void main(String[] args) throws Exception {
+        Main.main(withJsonResult(args));
+    }
+
+    /**
+     * Append the JSON result format and file options unless the {@code args} already set them.
+     *
+     * @param args {@link String} array of the command line arguments.
+     * @return {@link String} array of the arguments to pass to {@link Main}.
+     */
+    @NotNull
+    static String[] withJsonResult(@NotNull String[] args) {
+        final List<String> arguments = new ArrayList<>(List.of(args));
+        if (!arguments.contains("-rf")) {
+            arguments.add("-rf");
+            arguments.add("json");
+        }
+        if (!arguments.contains("-rff")) {
+            arguments.add("-rff");
+            arguments.add(RESULT_FILE);
+        }
+        return arguments.toArray(String[]::new);
+    }
+}
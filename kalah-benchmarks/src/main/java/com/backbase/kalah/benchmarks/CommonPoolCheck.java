@@ -0,0 +1,115 @@
+package com.backbase.kalah.benchmarks;
+
+import com.backbase.kalah.endpoints.util.ControllerUtils;
+import com.backbase.kalah.engine.KalahBoard;
+import com.backbase.kalah.records.GameStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static com.backbase.kalah.util.ServiceConstance.STORE_INDEX;
+
+/**
+ * Check that the request path leaves the common {@link java.util.concurrent.ForkJoinPool} alone. Plays
+ * {@link #GAMES} random games to the end through {@link ControllerUtils} against an embedded Redis node, on
+ * {@link #THREADS} threads, then takes a thread dump and fails if any common pool worker thread exists.
+ *
+ * The common pool starts its workers lazily, so in this fresh JVM any worker in the dump was started by
+ * the game play. Not a JMH benchmark, so this is a plain program;
+ * {@code java -cp kalah-benchmarks/target/benchmarks.jar com.backbase.kalah.benchmarks.CommonPoolCheck}.
+ *
+ * @author Sachith Dickwella
+ */
+public final class CommonPoolCheck {
+
+    /**
+     * Prefix of the common pool worker thread names.
+     */
+    private static final String WORKER_PREFIX = "ForkJoinPool.commonPool-worker";
+    /**
+     * Number of games to play.
+     */
+    private static final int GAMES = 200;
+    /**
+     * Number of threads to play the games on.
+     */
+    private static final int THREADS = 8;
+
+    /**
+     * Private constructor to avoid instantiation of the utility class.
+     */
+    private CommonPoolCheck() {
+        // do nothing
+    }
+
+    public static void main(String[] args) throws Exception {
+        final long moves;
+        try (var context = KalahContext.start(6986)) {
+            moves = play(context.bean(ControllerUtils.class));
+        }
+
+        final List<String> workers = Arrays.stream(ManagementFactory.getThreadMXBean().dumpAllThreads(false, false))
+                .map(ThreadInfo::getThreadName)
+                .filter(name -> name.startsWith(WORKER_PREFIX))
+                .collect(Collectors.toList());
+
+        System.out.printf("%d games, %d moves, %d common pool workers %s%n", GAMES, moves, workers.size(), workers);
+        if (!workers.isEmpty()) System.exit(1);
+    }
+
+    /**
+     * Play the {@link #GAMES} to the end on the {@link #THREADS}.
+     *
+     * @param utils the {@link ControllerUtils} bean.
+     * @return {@code long} number of moves played.
+     * @throws Exception if any of the games fails.
+     */
+    private static long play(@NotNull ControllerUtils utils) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final Future<?>[] games = new Future[GAMES];
+            for (int i = 0; i < GAMES; i++) {
+                final long seed = i;
+                games[i] = executor.submit(() -> playGame(utils, new Random(seed)));
+            }
+
+            long moves = 0;
+            for (var game : games) {
+                moves += (Integer) game.get();
+            }
+            return moves;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Create a game and play random legal moves until the game is over.
+     *
+     * @param utils  the {@link ControllerUtils} bean.
+     * @param random {@link Random} to choose the moves with.
+     * @return {@code int} number of moves played.
+     */
+    private static int playGame(@NotNull ControllerUtils utils, @NotNull Random random) {
+        final long gameId = utils.createGame(new StringBuilder("http://localhost:8080/games")).getId();
+        var gameStatus = GameStatus.builder().id(gameId).board().build();
+        final var candidates = new int[STORE_INDEX];
+
+        int moves = 0;
+        while (!gameStatus.getState().finished()) {
+            final var board = new KalahBoard().load(gameStatus.getBoard());
+            final int legal = RandomGames.legalMoves(board, gameStatus.player(), candidates);
+            gameStatus = utils.moveAndSave(gameId, candidates[random.nextInt(legal)]).orElseThrow();
+            moves++;
+        }
+        return moves;
+    }
+}
@@ -0,0 +1,91 @@
+package com.backbase.kalah.benchmarks;
+
+import com.backbase.kalah.engine.KalahBoard;
+import com.backbase.kalah.records.GameStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.backbase.kalah.util.ServiceConstance.STORE_INDEX;
+
+/**
+ * Average time of the end-game check made after every move, on randomly played mid-game positions:
+ *
+ * <ul>
+ *     <li>{@code parallelStreams} is the {@link LegacyMapKalah} check, which sums the sides of the {@code Map}
+ *     board with parallel streams on the common {@link java.util.concurrent.ForkJoinPool}.</li>
+ *     <li>{@code pitScan} sums the pits of the side on the primitive board.</li>
+ *     <li>{@code runningTotals} is the current {@link KalahBoard#sideEmpty} check on the running side
+ *     totals.</li>
+ * </ul>
+ *
+ * None of the positions is over, so none of the checks changes the board.
+ *
+ * @author Sachith Dickwella
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class EndGameCheckBenchmark {
+
+    /**
+     * Number of mid-game positions.
+     */
+    private static final int POSITIONS = 1024;
+
+    /**
+     * Baseline implementation of the game rules.
+     */
+    private final LegacyMapKalah legacyMapKalah = new LegacyMapKalah();
+
+    private GameStatus[] positions;
+    private KalahBoard[] boards;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        positions = RandomGames.positions(42L, POSITIONS, 10, 40);
+        boards = new KalahBoard[POSITIONS];
+        for (int i = 0; i < POSITIONS; i++) {
+            boards[i] = new KalahBoard().load(positions[i].getBoard());
+        }
+    }
+
+    @Benchmark
+    public GameStatus parallelStreams() {
+        final var gameStatus = positions[nextPosition()];
+        legacyMapKalah.endGameCheck(gameStatus);
+        return gameStatus;
+    }
+
+    @Benchmark
+    public boolean pitScan() {
+        final int position = nextPosition();
+        final var player = positions[position].player();
+        final var board = boards[position];
+        int sum = 0;
+        for (int pitId = player.firstPit(); pitId < player.number() * STORE_INDEX; pitId++) {
+            sum += board.seeds(pitId);
+        }
+        return sum == 0;
+    }
+
+    @Benchmark
+    public boolean runningTotals() {
+        final int position = nextPosition();
+        return boards[position].sideEmpty(positions[position].player());
+    }
+
+    /**
+     * Move on to the next position.
+     *
+     * @return {@code int} index of the position.
+     */
+    private int nextPosition() {
+        next = (next + 1) & (POSITIONS - 1);
+        return next;
+    }
+}
@@ -0,0 +1,103 @@
+package com.backbase.kalah.benchmarks;
+
+import com.backbase.kalah.engine.EndgameDatabase;
+import com.backbase.kalah.engine.EndgameGenerator;
+import com.backbase.kalah.engine.KalahBoard;
+import com.backbase.kalah.engine.KalahSearch;
+import com.backbase.kalah.records.GameStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.backbase.kalah.util.ServiceConstance.Player;
+import static com.backbase.kalah.util.ServiceConstance.Player.PLAYER_1;
+import static com.backbase.kalah.util.ServiceConstance.Player.PLAYER_2;
+import static com.backbase.kalah.util.ServiceConstance.STORE_INDEX;
+
+/**
+ * Time to answer the best move of randomly played endgame positions, with at most {@link #SEEDS} seeds left in
+ * the pits, from the memory mapped {@link EndgameDatabase} against solving them with the {@link KalahSearch}.
+ * The file is generated into a temporary file by the {@link EndgameGenerator} before the trial, and the search
+ * clears its transposition table before each position, like the other search benchmarks.
+ *
+ * @author Sachith Dickwella
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class EndgameBenchmark {
+
+    /**
+     * Maximum number of seeds left in the pits.
+     */
+    private static final int SEEDS = 12;
+    /**
+     * Number of endgame positions.
+     */
+    private static final int POSITIONS = 1024;
+
+    private final KalahSearch search = new KalahSearch(16);
+
+    private Path file;
+    private EndgameDatabase database;
+    private KalahBoard[] boards;
+    private Player[] players;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = Files.createTempFile("endgames", ".db");
+        EndgameGenerator.generate(SEEDS, Runtime.getRuntime().availableProcessors(), file);
+        database = EndgameDatabase.load(file);
+
+        final var random = new Random(42L);
+        final var candidates = new int[STORE_INDEX];
+        boards = new KalahBoard[POSITIONS];
+        players = new Player[POSITIONS];
+        for (int i = 0; i < POSITIONS; ) {
+            final var board = new KalahBoard().load(GameStatus.builder().board().build().getBoard());
+            var player = PLAYER_1;
+            while (!board.finishIfSideEmpty() && !database.covers(board)) {
+                final int pitId = candidates[random.nextInt(RandomGames.legalMoves(board, player, candidates))];
+                if (board.sow(player, pitId)) player = player == PLAYER_1 ? PLAYER_2 : PLAYER_1;
+            }
+            if (board.sideEmpty(PLAYER_1) || board.sideEmpty(PLAYER_2)) continue;
+
+            boards[i] = board;
+            players[i++] = player;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Setup(Level.Invocation)
+    public void advance() {
+        next = (next + 1) & (POSITIONS - 1);
+    }
+
+    @Benchmark
+    public int margin() {
+        return database.margin(boards[next], players[next]);
+    }
+
+    @Benchmark
+    public int probe() {
+        return database.probe(boards[next], players[next]).orElseThrow().pitId();
+    }
+
+    @Benchmark
+    public int search() {
+        search.clear();
+        return search.search(boards[next], players[next], Long.MAX_VALUE / 2).pitId();
+    }
+}
@@ -0,0 +1,67 @@
+package com.backbase.kalah.benchmarks;
+
+import com.backbase.kalah.endpoints.util.ControllerUtils;
+import com.backbase.kalah.records.GameStatus;
+import com.backbase.kalah.repos.GameStore;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the game creation in games per second against the embedded Redis node for each
+ * {@link GameStore} implementation, creating the games one by one with
+ * {@link ControllerUtils#createGame(StringBuilder)} as {@code POST /games} does, or {@link #BATCH_SIZE} at once
+ * with {@link ControllerUtils#createGames(String, int, java.util.function.Consumer)} as
+ * {@code POST /games/batch} does.
+ *
+ * @author Sachith Dickwella
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GameCreationBenchmark {
+
+    /**
+     * Number of games created by each batch.
+     */
+    static final int BATCH_SIZE = 1000;
+    /**
+     * Url of the games resource.
+     */
+    private static final String GAMES_URL = "http://localhost:8080/games";
+
+    /**
+     * Value of the {@link GameStore#MODE_PROPERTY}.
+     */
+    @Param({"repository", "script"})
+    private String mode;
+
+    private KalahContext context;
+    private ControllerUtils utils;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = KalahContext.start(6985, GameStore.MODE_PROPERTY + "=" + mode);
+        utils = context.bean(ControllerUtils.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public GameStatus single() {
+        return utils.createGame(new StringBuilder(GAMES_URL));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void batch(Blackhole blackhole) {
+        utils.createGames(GAMES_URL, BATCH_SIZE, blackhole::consume);
+    }
+}
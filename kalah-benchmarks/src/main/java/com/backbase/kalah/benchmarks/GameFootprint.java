@@ -0,0 +1,90 @@
+package com.backbase.kalah.benchmarks;
+
+import com.backbase.kalah.endpoints.util.ControllerUtils;
+import com.backbase.kalah.repos.GameStore;
+import com.backbase.kalah.repos.MappedGameStore;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.util.Random;
+
+/**
+ * Report the Redis memory per game of each {@link GameStore} implementation. Memory is not a JMH metric,
+ * so this is a plain program, which creates {@link #GAMES} games with a few moves each on a fresh embedded
+ * Redis node and divides the growth of the {@code used_memory} by the number of games. The {@code mapped} mode
+ * keeps nothing in Redis, so its file and off-heap index, sized for the {@link #GAMES} games up front, are
+ * divided by the number of games instead.
+ *
+ * Run with {@code java -cp kalah-benchmarks/target/benchmarks.jar com.backbase.kalah.benchmarks.GameFootprint}.
+ *
+ * @author Sachith Dickwella
+ */
+public final class GameFootprint {
+
+    /**
+     * Number of games to create in each mode.
+     */
+    private static final int GAMES = 20_000;
+    /**
+     * Number of moves to play on each game.
+     */
+    private static final int MOVES_PER_GAME = 10;
+
+    /**
+     * Private constructor to avoid instantiation of the utility class.
+     */
+    private GameFootprint() {
+        // do nothing
+    }
+
+    public static void main(String[] args) {
+        for (var mode : new String[]{"repository", "script", "log", "mapped"}) {
+            System.out.printf("%-10s %6d bytes per game%n", mode, bytesPerGame(mode));
+        }
+    }
+
+    /**
+     * Measure the memory per game of the given persistence mode.
+     *
+     * @param mode value of the {@link GameStore#MODE_PROPERTY}.
+     * @return average {@code used_memory} growth per game, or the mapped store size per game, in bytes.
+     */
+    private static long bytesPerGame(@NotNull String mode) {
+        try (var context = KalahContext.start(6983, KalahContext.persistence(mode, GAMES))) {
+            final var utils = context.bean(ControllerUtils.class);
+            final var moves = RandomGames.record(42L, MOVES_PER_GAME);
+            final var random = new Random(42L);
+
+            final var store = context.bean(GameStore.class);
+            final boolean mapped = store instanceof MappedGameStore;
+
+            final long before = mapped ? 0 : usedMemory(context);
+            for (int i = 0; i < GAMES; i++) {
+                final long gameId = utils.createGame(new StringBuilder("http://localhost:8080/games")).getId();
+                for (int pitId : moves) {
+                    utils.moveAndSave(gameId, pitId);
+                }
+                if (random.nextInt(1000) == 0) System.out.print('.');
+            }
+            System.out.println();
+            return mapped
+                    ? ((MappedGameStore) store).footprint() / GAMES
+                    : (usedMemory(context) - before) / GAMES;
+        }
+    }
+
+    /**
+     * Read the {@code used_memory} of the Redis node.
+     *
+     * @param context the running {@link KalahContext}.
+     * @return {@code used_memory} in bytes.
+     */
+    private static long usedMemory(@NotNull KalahContext context) {
+        final var connection = context.bean(RedisConnectionFactory.class).getConnection();
+        try {
+            return Long.parseLong(connection.serverCommands().info("memory").getProperty("used_memory"));
+        } finally {
+            connection.close();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.backbase.kalah.benchmarks;
+
+import com.backbase.kalah.records.GameStatus;
+import com.backbase.kalah.repos.GameCache;
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Report the heap and the garbage collection cost of keeping a large number of live games in the in-process
+ * {@link GameCache}, with the games on the heap in Caffeine and off the heap in the slots of the
+ * {@code OffHeapGames} ({@code kalah.cache.off-heap=true}). Neither is a JMH metric, so this is a plain program,
+ * which fills the cache with {@link #DEFAULT_GAMES} games, or the number of games given as the second argument,
+ * then plays as many moves on random games, and reports the collections, their total and longest pauses, and the
+ * heap used after a full collection. Each tier is measured in a JVM of its own, so that neither inherits the
+ * heap of the other.
+ *
+ * Run with {@code java -Xmx3g -cp kalah-benchmarks/target/benchmarks.jar
+ * com.backbase.kalah.benchmarks.GameTierFootprint heap|off-heap [games]}.
+ *
+ * @author Sachith Dickwella
+ */
+public final class GameTierFootprint {
+
+    /**
+     * Default number of live games.
+     */
+    private static final int DEFAULT_GAMES = 5_000_000;
+
+    /**
+     * Number of collections since the last {@link #reset()}.
+     */
+    private static final AtomicLong COLLECTIONS = new AtomicLong();
+    /**
+     * Total pause of the collections since the last {@link #reset()} in milliseconds.
+     */
+    private static final AtomicLong TOTAL_PAUSE = new AtomicLong();
+    /**
+     * Longest pause of the collections since the last {@link #reset()} in milliseconds.
+     */
+    private static final AtomicLong MAX_PAUSE = new AtomicLong();
+
+    /**
+     * Private constructor to avoid instantiation of the utility class.
+     */
+    private GameTierFootprint() {
+        // do nothing
+    }
+
+    public static void main(String[] args) {
+        final boolean offHeap = args.length > 0 && "off-heap".equals(args[0]);
+        final int games = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_GAMES;
+        listenToCollections();
+
+        System.out.printf("%-8s %10s %8s %10s %10s %12s%n", "tier", "games", "gcs", "total ms", "max ms",
+                "heap MB");
+        measure(games, offHeap);
+    }
+
+    /**
+     * Fill the cache of the given tier with the games, play as many moves, and print the collections and the heap.
+     *
+     * @param games   {@code int} number of live games.
+     * @param offHeap whether to keep the games off the heap.
+     */
+    private static void measure(final int games, final boolean offHeap) {
+        try (var context = KalahContext.start(6988,
+                GameCache.ENABLED_PROPERTY + "=true",
+                GameCache.OFF_HEAP_PROPERTY + "=" + offHeap,
+                "kalah.cache.maximum-size=" + games,
+                "kalah.cache.idle-seconds=3600")) {
+            final var cache = context.bean(GameCache.class);
+            final var random = new Random(42L);
+
+            System.gc();
+            reset();
+            for (long id = 1; id <= games; id++) {
+                cache.put(GameStatus.builder().id(id).url("http://localhost:8080/games/" + id).board().build());
+            }
+            for (int i = 0; i < games; i++) {
+                final long id = 1 + random.nextInt(games);
+                cache.get(id).ifPresent(gameStatus -> {
+                    gameStatus.getBoard().put(1 + random.nextInt(6), "0");
+                    gameStatus.version(gameStatus.getVersion() + 1);
+                    cache.put(gameStatus);
+                });
+            }
+            final long collections = COLLECTIONS.get();
+            final long totalPause = TOTAL_PAUSE.get();
+            final long maxPause = MAX_PAUSE.get();
+
+            System.gc();
+            final long heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+            System.out.printf("%-8s %10d %8d %10d %10d %12d%n", offHeap ? "off-heap" : "heap", games, collections,
+                    totalPause, maxPause, heap >> 20);
+        }
+    }
+
+    /**
+     * Count the collections and their pauses from the notifications of the collectors.
+     */
+    private static void listenToCollections() {
+        final NotificationListener listener = (notification, handback) -> {
+            if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                return;
+            }
+            final var info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+            if ("System.gc()".equals(info.getGcCause())) return;
+
+            final long pause = info.getGcInfo().getDuration();
+            COLLECTIONS.incrementAndGet();
+            TOTAL_PAUSE.addAndGet(pause);
+            MAX_PAUSE.accumulateAndGet(pause, Math::max);
+        };
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            ((NotificationEmitter) collector).addNotificationListener(listener, null, null);
+        }
+    }
+
+    /**
+     * Reset the collection counters.
+     */
+    private static void reset() {
+        COLLECTIONS.set(0);
+        TOTAL_PAUSE.set(0);
+        MAX_PAUSE.set(0);
+    }
+}
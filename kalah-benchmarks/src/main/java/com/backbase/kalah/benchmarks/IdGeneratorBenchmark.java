@@ -0,0 +1,74 @@
+package com.backbase.kalah.benchmarks;
+
+import com.backbase.kalah.repos.GameStatusRepo;
+import com.backbase.kalah.repos.LeasedIdGenerator;
+import com.backbase.kalah.util.IdGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the game id generation in ids per second across {@link #THREADS} threads against the
+ * embedded Redis node:
+ *
+ * <ul>
+ *     <li>{@code leased} is the {@link LeasedIdGenerator} which leases {@link #blockSize} ids with one
+ *     {@code INCRBY}.</li>
+ *     <li>{@code randomWithExistsCheck} is the previous approach, a random id from a shared {@link Random}
+ *     stream followed by a {@link GameStatusRepo#findById(Object)} to make sure it's not in use.</li>
+ * </ul>
+ *
+ * @author Sachith Dickwella
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(IdGeneratorBenchmark.THREADS)
+@State(Scope.Benchmark)
+public class IdGeneratorBenchmark {
+
+    /**
+     * Number of benchmark threads.
+     */
+    static final int THREADS = 8;
+    /**
+     * Shared {@link Random} instance of the previous approach.
+     */
+    private static final Random RANDOM = new Random();
+
+    /**
+     * Value of the {@code kalah.id.block-size} property.
+     */
+    @Param({"1", "100", "1000"})
+    private int blockSize;
+
+    private KalahContext context;
+    private IdGenerator idGenerator;
+    private GameStatusRepo repo;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = KalahContext.start(6984, "kalah.id.block-size=" + blockSize);
+        idGenerator = context.bean(IdGenerator.class);
+        repo = context.bean(GameStatusRepo.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long leased() {
+        return idGenerator.nextId();
+    }
+
+    @Benchmark
+    public long randomWithExistsCheck() {
+        final long id = RANDOM.longs(0, Long.MAX_VALUE).findAny().orElse(0);
+        return repo.findById(id).isPresent() ? 0 : id;
+    }
+}
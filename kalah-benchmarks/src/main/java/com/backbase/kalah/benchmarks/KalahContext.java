@@ -0,0 +1,151 @@
+package com.backbase.kalah.benchmarks;
+
+import com.backbase.kalah.Main;
+import com.backbase.kalah.configs.LocalConfig;
+import com.backbase.kalah.repos.GameStore;
+import com.backbase.kalah.repos.MappedGameStore;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The service's {@link org.springframework.context.ApplicationContext}, without the web server, running
+ * against an embedded {@link RedisServer} the same way the integration tests do. Use by the benchmarks
+ * which measure the persistence paths. Started with {@link #startServer(int, String...)}, the context runs
+ * the web server too, on a random free port, for the harnesses which drive the service over HTTP.
+ *
+ * @author Sachith Dickwella
+ */
+public final class KalahContext implements AutoCloseable {
+
+    /**
+     * Instance of embedded {@link RedisServer}.
+     */
+    private final RedisServer redisServer;
+    /**
+     * The running {@link ConfigurableApplicationContext}.
+     */
+    private final ConfigurableApplicationContext context;
+
+    /**
+     * Start the embedded {@link RedisServer} and the service context.
+     *
+     * @param webApplicationType {@link WebApplicationType} of the service context.
+     * @param redisPort          {@code int} port of the embedded Redis node.
+     * @param properties         additional application properties in {@code key=value} format.
+     */
+    private KalahContext(@NotNull WebApplicationType webApplicationType, final int redisPort,
+                         @NotNull String... properties) {
+        this.redisServer = new RedisServer(redisPort);
+        this.redisServer.start();
+
+        final List<String> args = new ArrayList<>(Arrays.asList(
+                "--spring.redis.host=localhost",
+                "--spring.redis.port=" + redisPort,
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--server.port=0"));
+        for (var property : properties) {
+            args.add("--" + property);
+        }
+
+        try {
+            this.context = new SpringApplicationBuilder(Main.class)
+                    .web(webApplicationType)
+                    .run(args.toArray(new String[0]));
+        } catch (RuntimeException ex) {
+            redisServer.stop();
+            throw ex;
+        }
+    }
+
+    /**
+     * Start the embedded Redis node and the service context.
+     *
+     * @param redisPort  {@code int} port of the embedded Redis node.
+     * @param properties additional application properties in {@code key=value} format.
+     * @return new instance of {@link KalahContext}.
+     */
+    @NotNull
+    public static KalahContext start(final int redisPort, @NotNull String... properties) {
+        return new KalahContext(WebApplicationType.NONE, redisPort, properties);
+    }
+
+    /**
+     * Start the embedded Redis node and the service context with the web server, on a random free port.
+     *
+     * @param redisPort  {@code int} port of the embedded Redis node.
+     * @param properties additional application properties in {@code key=value} format.
+     * @return new instance of {@link KalahContext}.
+     */
+    @NotNull
+    public static KalahContext startServer(final int redisPort, @NotNull String... properties) {
+        return new KalahContext(WebApplicationType.SERVLET, redisPort, properties);
+    }
+
+    /**
+     * Get the properties to run the service with the given persistence mode. The {@code mapped} mode runs on the
+     * {@link LocalConfig#PROFILE} profile, without Redis, on a new temporary file of {@code capacity} slots.
+     *
+     * @param mode     value of the {@link GameStore#MODE_PROPERTY}.
+     * @param capacity {@code int} number of slots of the {@code mapped} mode file.
+     * @return the properties in {@code key=value} format.
+     */
+    @NotNull
+    public static String[] persistence(@NotNull String mode, final int capacity) {
+        if (!"mapped".equals(mode)) return new String[]{GameStore.MODE_PROPERTY + "=" + mode};
+
+        try {
+            final var file = Files.createTempFile("kalah-games-", ".dat");
+            file.toFile().deleteOnExit();
+            return new String[]{
+                    "spring.profiles.active=" + LocalConfig.PROFILE,
+                    MappedGameStore.PATH_PROPERTY + "=" + file,
+                    MappedGameStore.CAPACITY_PROPERTY + "=" + capacity};
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Get the port the web server listens on.
+     *
+     * @return {@code int} port of the web server.
+     * @throws IllegalStateException if the context runs without the web server.
+     */
+    public int serverPort() {
+        final var port = context.getEnvironment().getProperty("local.server.port", Integer.class);
+        if (port == null) throw new IllegalStateException("The context runs without the web server");
+        return port;
+    }
+
+    /**
+     * Get the bean of the given type from the service context.
+     *
+     * @param type {@link Class} of the bean.
+     * @param <T>  type of the bean.
+     * @return the bean instance.
+     */
+    @NotNull
+    public <T> T bean(@NotNull Class<T> type) {
+        return context.getBean(type);
+    }
+
+    @Override
+    public void close() {
+        try {
+            context.close();
+        } finally {
+            redisServer.stop();
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package com.backbase.kalah.benchmarks;
+
+import com.backbase.kalah.engine.KalahBoard;
+import com.backbase.kalah.records.GameStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import static com.backbase.kalah.util.ServiceConstance.Player;
+import static com.backbase.kalah.util.ServiceConstance.Player.PLAYER_1;
+import static com.backbase.kalah.util.ServiceConstance.Player.PLAYER_2;
+import static com.backbase.kalah.util.ServiceConstance.STORE_INDEX;
+
+/**
+ * End to end load on the whole service stack, the web server, the controller, the JSON serialization and the
+ * persistence module on an embedded Redis node, driven over HTTP. The service is started by
+ * {@link KalahContext#startServer(int, String...)} the same way the integration tests start it.
+ *
+ * Each of the users creates a game with {@code POST /games}, plays random legal moves on it with
+ * {@code PUT /games/{id}/pits/{pit}} and then starts over with a new game, as fast as the service answers, for
+ * {@link #WARMUP_SECONDS} seconds of warm-up and then for the measured seconds. The users join over the first
+ * half of the warm-up, so that the connections are not all opened at once. The game mix is set by the
+ * number of moves played on each game: {@code all} plays each game to the end, {@code 0} only creates games,
+ * and any other number abandons each game after that many moves. The users keep their own copy of each board to
+ * choose the legal moves from, so the responses are only checked for their status codes.
+ *
+ * The throughput and the <a href="https://hdrhistogram.github.io/HdrHistogram/">HdrHistogram</a> latency
+ * percentiles are reported per endpoint. The users wait for each response before sending the next request, so
+ * the latencies leave out the requests a slow response holds back (coordinated omission), and tell the service
+ * time under the given concurrency rather than the latency at a fixed rate.
+ *
+ * The users are not threads but chains of asynchronous requests on a single {@link HttpClient}, which keeps a
+ * connection open for each of them, so thousands of users hold thousands of concurrent connections on a few
+ * client threads. That is what tells the thread per request web server of the blocking variant apart from the
+ * event loop of the reactive variant, started with {@code spring.profiles.active=reactive}. Along with the
+ * throughput per core of the JVM, the peak number of threads and the heap used after a full GC, with all the
+ * connections still open, are reported. The client runs in the same JVM and takes its share of all three, the
+ * same share for both variants. Each connection takes two file descriptors in the JVM, one on either end, so
+ * 10000 users need {@code ulimit -n} above 20000.
+ *
+ * Not a JMH benchmark, so this is a plain program, run with the number of users, the measured seconds, the
+ * moves of each game and any application properties in {@code key=value} format, e.g. to compare the
+ * persistence modes or the web server settings;
+ * {@code java -cp kalah-benchmarks/target/benchmarks.jar com.backbase.kalah.benchmarks.LoadTest 16 30 all
+ * server.tomcat.max-threads=50} or
+ * {@code java -cp kalah-benchmarks/target/benchmarks.jar com.backbase.kalah.benchmarks.LoadTest 5000 30 all
+ * spring.profiles.active=reactive}.
+ *
+ * @author Sachith Dickwella
+ */
+public final class LoadTest {
+
+    /**
+     * Port of the embedded Redis node.
+     */
+    private static final int REDIS_PORT = 6987;
+    /**
+     * Seconds of warm-up before the measurement.
+     */
+    private static final int WARMUP_SECONDS = 10;
+    /**
+     * Number of significant digits the latencies are recorded with.
+     */
+    private static final int SIGNIFICANT_DIGITS = 3;
+    /**
+     * Moves of each game to play all the games to the end.
+     */
+    private static final int ALL_MOVES = Integer.MAX_VALUE;
+    /**
+     * Percentiles of the report.
+     */
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    /**
+     * Bytes of a megabyte.
+     */
+    private static final double MEGABYTE = 1024 * 1024;
+
+    /**
+     * Private constructor to avoid instantiation of the utility class.
+     */
+    private LoadTest() {
+        // do nothing
+    }
+
+    public static void main(String[] args) throws Exception {
+        final int users = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        final int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        final int moves = args.length > 2 && !args[2].equals("all") ? Integer.parseInt(args[2]) : ALL_MOVES;
+        final String[] properties = args.length > 3 ? Arrays.copyOfRange(args, 3, args.length) : new String[0];
+
+        final var stats = new Stats();
+        final long heapUsed;
+        try (var context = KalahContext.startServer(REDIS_PORT, properties)) {
+            final var gamesUri = URI.create("http://localhost:" + context.serverPort() + "/games");
+            heapUsed = run(gamesUri, users, seconds, moves, stats);
+        }
+
+        final int cores = Runtime.getRuntime().availableProcessors();
+        System.out.printf("%d users for %d s (after %d s of warm-up), %s moves per game, %,d games%n", users,
+                seconds, WARMUP_SECONDS, moves == ALL_MOVES ? "all" : String.valueOf(moves), stats.games.sum());
+        System.out.printf("%-28s %10s %8s %7s", "endpoint", "requests", "req/s", "errors");
+        for (var percentile : PERCENTILES) {
+            System.out.printf(" %9s", "p" + (percentile % 1 == 0 ? String.valueOf((int) percentile) : percentile));
+        }
+        System.out.printf(" %9s  (latencies in ms)%n", "max");
+        stats.create.report("POST /games", seconds);
+        stats.move.report("PUT /games/{id}/pits/{pit}", seconds);
+        System.out.printf("%,d req/s per core on %d cores, %,d peak threads, %.1f MB heap used after GC%n",
+                (stats.create.latencies.getTotalCount() + stats.move.latencies.getTotalCount()) / seconds / cores,
+                cores, ManagementFactory.getThreadMXBean().getPeakThreadCount(), heapUsed / MEGABYTE);
+
+        if (stats.create.errors.sum() + stats.move.errors.sum() > 0) System.exit(1);
+    }
+
+    /**
+     * Run the {@code users} against the service for the warm-up and the measured seconds.
+     *
+     * @param gamesUri {@link URI} of the {@code /games} endpoint.
+     * @param users    {@code int} number of concurrent users.
+     * @param seconds  {@code int} seconds to measure.
+     * @param moves    {@code int} moves to play on each game.
+     * @param stats    {@link Stats} to record the measured requests of all the users in.
+     * @return {@code long} bytes of heap used after a full GC, once the users are done and before the
+     * connections are closed.
+     * @throws Exception if any of the users fails.
+     */
+    private static long run(@NotNull URI gamesUri, final int users, final int seconds, final int moves,
+                            @NotNull Stats stats) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            final var client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .executor(executor)
+                    .build();
+            final long now = System.nanoTime();
+            final long measureFrom = now + TimeUnit.SECONDS.toNanos(WARMUP_SECONDS);
+            final long deadline = measureFrom + TimeUnit.SECONDS.toNanos(seconds);
+            final long rampUpNanos = TimeUnit.SECONDS.toNanos(WARMUP_SECONDS) / 2;
+
+            final var done = new CompletableFuture<?>[users];
+            for (int i = 0; i < users; i++) {
+                final var user = new User(client, gamesUri, moves, new Random(i), stats, measureFrom, deadline);
+                final var start = CompletableFuture.delayedExecutor(rampUpNanos * i / users, TimeUnit.NANOSECONDS,
+                        executor);
+                done[i] = CompletableFuture.runAsync(() -> { }, start).thenCompose(ignored -> user.run());
+            }
+            CompletableFuture.allOf(done).get();
+
+            System.gc();
+            return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * A single user, which plays the games one after the other and waits for each response before sending
+     * the next request.
+     */
+    private static final class User {
+
+        /**
+         * Shared {@link ObjectMapper} to read the created game ids with.
+         */
+        private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+        private final HttpClient client;
+        private final URI gamesUri;
+        private final int moves;
+        private final Random random;
+        private final Stats stats;
+        private final long measureFrom;
+        private final long deadline;
+        private final int[] candidates = new int[STORE_INDEX];
+        /**
+         * Completes once the user is done, or fails with the first request failing to send.
+         */
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private long gameId;
+        private KalahBoard board;
+        private Player player;
+
+        private User(@NotNull HttpClient client, @NotNull URI gamesUri, final int moves, @NotNull Random random,
+                     @NotNull Stats stats, final long measureFrom, final long deadline) {
+            this.client = client;
+            this.gamesUri = gamesUri;
+            this.moves = moves;
+            this.random = random;
+            this.stats = stats;
+            this.measureFrom = measureFrom;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Play the games until the {@code deadline}, recording the requests sent from {@code measureFrom} on.
+         *
+         * @return {@link CompletableFuture} which completes once the user is done.
+         */
+        @NotNull
+        private CompletableFuture<Void> run() {
+            create();
+            return done;
+        }
+
+        /**
+         * Create a new game, unless the {@code deadline} has passed.
+         */
+        private void create() {
+            if (System.nanoTime() >= deadline) {
+                done.complete(null);
+                return;
+            }
+
+            send(HttpRequest.newBuilder(gamesUri).POST(HttpRequest.BodyPublishers.noBody()), stats.create,
+                    created -> {
+                        if (created.statusCode() != 201) {
+                            create();
+                            return;
+                        }
+
+                        try {
+                            gameId = OBJECT_MAPPER.readTree(created.body()).get("id").asLong();
+                        } catch (IOException ex) {
+                            throw new UncheckedIOException(ex);
+                        }
+                        board = new KalahBoard().load(GameStatus.builder().board().build().getBoard());
+                        player = PLAYER_1;
+                        move(0);
+                    });
+        }
+
+        /**
+         * Make the {@code move}th move of the game, or start over with a new game once the game is played.
+         *
+         * @param move {@code int} number of the moves made on the game so far.
+         */
+        private void move(final int move) {
+            if (System.nanoTime() >= deadline) {
+                done.complete(null);
+                return;
+            }
+            if (move >= moves || board.finishIfSideEmpty()) {
+                gamePlayed();
+                create();
+                return;
+            }
+
+            final int pitId = candidates[random.nextInt(RandomGames.legalMoves(board, player, candidates))];
+            send(HttpRequest.newBuilder(gamesUri.resolve("games/" + gameId + "/pits/" + pitId))
+                    .PUT(HttpRequest.BodyPublishers.noBody()), stats.move, moved -> {
+                if (moved.statusCode() != 200) {
+                    gamePlayed();
+                    create();
+                    return;
+                }
+
+                if (board.sow(player, pitId)) player = other(player);
+                move(move + 1);
+            });
+        }
+
+        /**
+         * Count the game played, unless played before {@code measureFrom}.
+         */
+        private void gamePlayed() {
+            if (System.nanoTime() >= measureFrom) stats.games.increment();
+        }
+
+        /**
+         * Send the request, record its latency and status code, unless sent before {@code measureFrom}, and hand
+         * the response over to the {@code next} step of the user.
+         *
+         * @param request  {@link HttpRequest.Builder} of the request.
+         * @param endpoint {@link Endpoint} to record the request in.
+         * @param next     next step of the user, taking the {@link HttpResponse} of the request.
+         */
+        private void send(@NotNull HttpRequest.Builder request, @NotNull Endpoint endpoint,
+                          @NotNull Consumer<HttpResponse<String>> next) {
+            final long start = System.nanoTime();
+            client.sendAsync(request.header("Content-Type", "application/json").build(),
+                    HttpResponse.BodyHandlers.ofString())
+                    .thenAccept(response -> {
+                        if (start >= measureFrom) endpoint.record(System.nanoTime() - start, response.statusCode());
+                        next.accept(response);
+                    })
+                    .exceptionally(ex -> {
+                        done.completeExceptionally(ex);
+                        return null;
+                    });
+        }
+
+        private static Player other(@NotNull Player player) {
+            return player == PLAYER_1 ? PLAYER_2 : PLAYER_1;
+        }
+    }
+
+    /**
+     * Requests, errors and latencies of an endpoint, recorded by all the users at once.
+     */
+    private static final class Endpoint {
+
+        /**
+         * Latencies of the requests in nanoseconds.
+         */
+        private final Histogram latencies = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        /**
+         * Number of requests answered with a status code other than 2xx.
+         */
+        private final LongAdder errors = new LongAdder();
+
+        /**
+         * Record a request.
+         *
+         * @param nanos      {@code long} latency of the request.
+         * @param statusCode {@code int} status code of the response.
+         */
+        private void record(final long nanos, final int statusCode) {
+            latencies.recordValue(nanos);
+            if (statusCode / 100 != 2) errors.increment();
+        }
+
+        /**
+         * Print a line of the report.
+         *
+         * @param name    {@link String} name of the endpoint.
+         * @param seconds {@code int} seconds measured.
+         */
+        private void report(@NotNull String name, final int seconds) {
+            final long requests = latencies.getTotalCount();
+            System.out.printf("%-28s %,10d %,8d %,7d", name, requests, requests / seconds, errors.sum());
+            for (var percentile : PERCENTILES) {
+                System.out.printf(" %9.3f", millis(latencies.getValueAtPercentile(percentile)));
+            }
+            System.out.printf(" %9.3f%n", millis(latencies.getMaxValue()));
+        }
+
+        private static double millis(final long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+
+    /**
+     * Requests of both endpoints and the games played by all the users.
+     */
+    private static final class Stats {
+
+        private final Endpoint create = new Endpoint();
+        private final Endpoint move = new Endpoint();
+        /**
+         * Number of games played, to the end or to the moves of each game.
+         */
+        private final LongAdder games = new LongAdder();
+    }
+}
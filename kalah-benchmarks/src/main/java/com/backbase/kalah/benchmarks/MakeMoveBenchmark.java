@@ -0,0 +1,92 @@
+package com.backbase.kalah.benchmarks;
+
+import com.backbase.kalah.PlayKalah;
+import com.backbase.kalah.records.GameStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.backbase.kalah.util.ServiceConstance.Player.PLAYER_1;
+
+/**
+ * Throughput of {@link PlayKalah#makeMove(GameStatus, int)} in moves per second, compared with the
+ * {@link Map} board based {@link LegacyMapKalah} implementation it replaced.
+ *
+ * Each invocation resets the board and replays the same randomly recorded sequence of
+ * {@link #MOVES_PER_GAME} moves, so both implementations sow exactly the same seeds.
+ *
+ * @author Sachith Dickwella
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MakeMoveBenchmark {
+
+    /**
+     * Number of moves replayed by each benchmark invocation.
+     */
+    static final int MOVES_PER_GAME = 20;
+
+    /**
+     * Recorded pit ids to replay.
+     */
+    private int[] moves;
+    /**
+     * Initial board to reset the {@link #gameStatus} with.
+     */
+    private Map<Integer, String> initialBoard;
+    /**
+     * Instance of {@link GameStatus} the moves are played on.
+     */
+    private GameStatus gameStatus;
+
+    /**
+     * Current implementation of the game rules.
+     */
+    private final PlayKalah playKalah = new PlayKalah();
+    /**
+     * Baseline implementation of the game rules.
+     */
+    private final LegacyMapKalah legacyMapKalah = new LegacyMapKalah();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        moves = RandomGames.record(42L, MOVES_PER_GAME);
+        gameStatus = GameStatus.builder().id(1L).board().build();
+        initialBoard = new HashMap<>(gameStatus.getBoard());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MOVES_PER_GAME)
+    public GameStatus primitiveBoard() {
+        reset();
+        for (int pitId : moves) {
+            playKalah.makeMove(gameStatus, pitId);
+        }
+        return gameStatus;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MOVES_PER_GAME)
+    public GameStatus legacyMapBoard() {
+        reset();
+        for (int pitId : moves) {
+            legacyMapKalah.makeMove(gameStatus, pitId);
+        }
+        return gameStatus;
+    }
+
+    /**
+     * Put the {@link #gameStatus} back to the initial board with {@link com.backbase.kalah.util.ServiceConstance.Player#PLAYER_1}
+     * to play.
+     */
+    private void reset() {
+        gameStatus.getBoard().putAll(initialBoard);
+        if (gameStatus.player() != PLAYER_1) gameStatus.player(true);
+    }
+}
@@ -0,0 +1,157 @@
+package com.backbase.kalah.benchmarks;
+
+import com.backbase.kalah.endpoints.util.ControllerUtils;
+import com.backbase.kalah.records.GameStatus;
+import com.backbase.kalah.repos.GameStatusRepo;
+import com.backbase.kalah.util.ConcurrentMoveException;
+import com.backbase.kalah.util.InvalidPitUserException;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.backbase.kalah.util.ServiceConstance.STORE_INDEX;
+
+/**
+ * Throughput of {@link ControllerUtils#moveAndSave(long, int)} against the embedded Redis node while
+ * {@link #writersPerGame} threads play on the same game. The benchmark runs {@link #THREADS} threads, so
+ * the number of games is {@code THREADS / writersPerGame}.
+ *
+ * Each operation reads the game to pick a legal pit and then calls the move. The {@link Outcomes} counters
+ * split the operations into saved moves, conflicts (HTTP 409) and rejected moves, which happen when
+ * another writer changed the turn in between.
+ *
+ * @author Sachith Dickwella
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(MoveContentionBenchmark.THREADS)
+@State(Scope.Benchmark)
+public class MoveContentionBenchmark {
+
+    /**
+     * Number of benchmark threads.
+     */
+    static final int THREADS = 8;
+
+    /**
+     * Number of threads playing on the same game.
+     */
+    @Param({"1", "2", "4", "8"})
+    private int writersPerGame;
+
+    private KalahContext context;
+    private ControllerUtils utils;
+    private GameStatusRepo repo;
+    private long[] gameIds;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = KalahContext.start(6981);
+        utils = context.bean(ControllerUtils.class);
+        repo = context.bean(GameStatusRepo.class);
+
+        gameIds = new long[THREADS / writersPerGame];
+        for (int i = 0; i < gameIds.length; i++) {
+            gameIds[i] = utils.createGame(new StringBuilder("http://localhost:8080/games")).getId();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Per thread state which binds each thread to its game.
+     */
+    @State(Scope.Thread)
+    public static class Writer {
+
+        private long gameId;
+        private Random random;
+
+        @Setup(Level.Trial)
+        public void setup(MoveContentionBenchmark benchmark, ThreadParams params) {
+            gameId = benchmark.gameIds[params.getThreadIndex() / benchmark.writersPerGame];
+            random = new Random(params.getThreadIndex());
+        }
+    }
+
+    /**
+     * Per thread counters of the outcomes of the moves.
+     */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Outcomes {
+
+        public long saved;
+        public long conflicts;
+        public long rejected;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            saved = 0;
+            conflicts = 0;
+            rejected = 0;
+        }
+    }
+
+    @Benchmark
+    public void move(Writer writer, Outcomes outcomes) {
+        final var gameStatus = repo.findById(writer.gameId).orElseThrow();
+        final int pitId = randomLegalPit(gameStatus, writer.random);
+        if (pitId == 0) {
+            restart(gameStatus);
+            return;
+        }
+
+        try {
+            utils.moveAndSave(writer.gameId, pitId);
+            outcomes.saved++;
+        } catch (ConcurrentMoveException ex) {
+            outcomes.conflicts++;
+        } catch (InvalidPitUserException ex) {
+            outcomes.rejected++;
+        }
+    }
+
+    /**
+     * Pick a random non-empty pit of the active player.
+     *
+     * @param gameStatus instance of {@link GameStatus} to pick the pit from.
+     * @param random     instance of {@link Random} to pick with.
+     * @return {@code int} pit id or {@code 0} if the player has no seeds left.
+     */
+    private static int randomLegalPit(@NotNull GameStatus gameStatus, @NotNull Random random) {
+        final var player = gameStatus.player();
+        final var board = gameStatus.getBoard();
+        final int offset = random.nextInt(STORE_INDEX - 1);
+        for (int i = 0; i < STORE_INDEX - 1; i++) {
+            final int pitId = player.firstPit() + (offset + i) % (STORE_INDEX - 1);
+            if (!"0".equals(board.get(pitId))) return pitId;
+        }
+        return 0;
+    }
+
+    /**
+     * Put a finished game back to the initial board, keeping its version so that concurrent writers of the
+     * old game conflict instead of overwriting the new one.
+     *
+     * @param finished instance of {@link GameStatus} of the finished game.
+     */
+    private void restart(@NotNull GameStatus finished) {
+        final var fresh = GameStatus.builder()
+                .id(finished.getId())
+                .url(finished.getURL())
+                .board()
+                .build();
+        fresh.version(finished.getVersion());
+        repo.compareAndSave(fresh);
+    }
+}
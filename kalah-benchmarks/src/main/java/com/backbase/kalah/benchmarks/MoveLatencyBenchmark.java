@@ -0,0 +1,103 @@
+package com.backbase.kalah.benchmarks;
+
+import com.backbase.kalah.endpoints.util.ControllerUtils;
+import com.backbase.kalah.engine.KalahBoard;
+import com.backbase.kalah.records.GameStatus;
+import com.backbase.kalah.repos.GameStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.backbase.kalah.util.ServiceConstance.STORE_INDEX;
+
+/**
+ * Latency distribution (p50, p99 etc.) of {@link ControllerUtils#moveAndSave(long, int)} against the embedded
+ * Redis node for each {@link GameStore} implementation selected by {@link #mode}:
+ *
+ * <ul>
+ *     <li>{@code repository} loads the game, plays the move in the service and saves it with the version
+ *     check, which is a read plus the multi command write of the Redis repository.</li>
+ *     <li>{@code script} plays the move inside Redis with {@code move.lua} in one round trip.</li>
+ *     <li>{@code log} rebuilds the game from its snapshot and the moves logged after it, and appends the move to
+ *     the log with {@code append-move.lua}, which is two round trips.</li>
+ *     <li>{@code mapped} plays the move on the slot of the game in the memory-mapped file of the
+ *     {@link com.backbase.kalah.repos.MappedGameStore}, without Redis.</li>
+ *     <li>{@code write-behind} plays the move on the copy of the game in memory and saves the game to Redis in
+ *     the background, in a batch with the other games played meanwhile.</li>
+ * </ul>
+ *
+ * Each thread plays its own game, picking a random legal pit from the status returned by the previous move,
+ * so that the measured operation is the move alone. Finished games are replaced with new ones.
+ *
+ * @author Sachith Dickwella
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MoveLatencyBenchmark {
+
+    /**
+     * Value of the {@link GameStore#MODE_PROPERTY}.
+     */
+    @Param({"repository", "script", "log", "mapped", "write-behind"})
+    private String mode;
+
+    private KalahContext context;
+    private ControllerUtils utils;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = KalahContext.start(6982, KalahContext.persistence(mode, 1_000_000));
+        utils = context.bean(ControllerUtils.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Per thread state which holds the game the thread plays on.
+     */
+    @State(Scope.Thread)
+    public static class Player {
+
+        private final Random random = new Random(42L);
+        private final KalahBoard board = new KalahBoard();
+        private final int[] candidates = new int[STORE_INDEX];
+        private GameStatus gameStatus;
+    }
+
+    @Benchmark
+    public GameStatus move(Player player) {
+        int pitId = randomLegalPit(player);
+        if (pitId == 0) {
+            player.gameStatus = null;
+            pitId = randomLegalPit(player);
+        }
+
+        player.gameStatus = utils.moveAndSave(player.gameStatus.getId(), pitId).orElseThrow();
+        return player.gameStatus;
+    }
+
+    /**
+     * Pick a random non-empty pit of the active player, creating a new game if the thread has none.
+     *
+     * @param player the thread's {@link Player} state.
+     * @return {@code int} pit id or {@code 0} if the game is over.
+     */
+    private int randomLegalPit(Player player) {
+        if (player.gameStatus == null) {
+            final long gameId = utils.createGame(new StringBuilder("http://localhost:8080/games")).getId();
+            player.gameStatus = GameStatus.builder().id(gameId).board().build();
+        }
+
+        final int legal = RandomGames.legalMoves(player.board.load(player.gameStatus.getBoard()),
+                player.gameStatus.player(), player.candidates);
+        return legal == 0 ? 0 : player.candidates[player.random.nextInt(legal)];
+    }
+}
@@ -0,0 +1,89 @@
+package com.backbase.kalah.benchmarks;
+
+import com.backbase.kalah.engine.KalahBoard;
+import com.backbase.kalah.engine.ParallelSearch;
+import com.backbase.kalah.records.GameStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Searches per second of randomly played mid-game positions, each {@link #depth} moves ahead, with the
+ * {@link ParallelSearch} on 1 to 8 {@link #threads}, the figure behind the {@code GET /games/{gameId}/hint}
+ * endpoint. The speedup of N threads is the score of N threads divided by the score of 1 thread. The
+ * {@code nodes} counter tells how many positions the threads search together per second to get there. The
+ * transposition table is cleared before each search, so that no search is answered by the results of the
+ * earlier searches of the same position.
+ *
+ * The speedup is bound by the number of processors of the machine, so compare the scores up to that number
+ * of threads only.
+ *
+ * @author Sachith Dickwella
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ParallelSearchBenchmark {
+
+    /**
+     * Number of mid-game positions.
+     */
+    private static final int POSITIONS = 256;
+
+    /**
+     * Number of threads of the search, the benchmark thread included.
+     */
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    /**
+     * Number of moves to search ahead.
+     */
+    @Param({"14"})
+    public int depth;
+
+    private ParallelSearch search;
+    private GameStatus[] positions;
+    private KalahBoard[] boards;
+    private int next;
+
+    /**
+     * Number of positions searched by all the threads, reported per second.
+     */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Nodes {
+        public long nodes;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        search = new ParallelSearch(threads, 20);
+        positions = RandomGames.positions(42L, POSITIONS, 10, 30);
+        boards = new KalahBoard[POSITIONS];
+        for (int i = 0; i < POSITIONS; i++) {
+            boards[i] = new KalahBoard().load(positions[i].getBoard());
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void clear() {
+        next = (next + 1) & (POSITIONS - 1);
+        search.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        search.close();
+    }
+
+    @Benchmark
+    public int fixedDepth(Nodes counter) {
+        final var result = search.search(boards[next], positions[next].player(), Long.MAX_VALUE / 2, depth);
+        counter.nodes += result.nodes();
+        return result.pitId();
+    }
+}
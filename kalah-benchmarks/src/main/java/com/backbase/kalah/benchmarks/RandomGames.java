@@ -0,0 +1,125 @@
+package com.backbase.kalah.benchmarks;
+
+import com.backbase.kalah.engine.KalahBoard;
+import com.backbase.kalah.records.GameStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static com.backbase.kalah.util.ServiceConstance.Player;
+import static com.backbase.kalah.util.ServiceConstance.Player.PLAYER_1;
+import static com.backbase.kalah.util.ServiceConstance.STORE_INDEX;
+
+/**
+ * Generate reproducible, randomly played move sequences to feed the benchmarks with realistic
+ * positions instead of the opening board only.
+ *
+ * @author Sachith Dickwella
+ */
+public final class RandomGames {
+
+    /**
+     * Private constructor to avoid instantiation of the utility class.
+     */
+    private RandomGames() {
+        // do nothing
+    }
+
+    /**
+     * Record a sequence of exactly {@code moves} legal pit ids played from the initial board by picking a
+     * random non-empty pit of the active player each time. Games ending earlier than {@code moves} are
+     * discarded and a new one is played.
+     *
+     * @param seed  {@code long} seed of the {@link Random} instance to make the sequence reproducible.
+     * @param moves {@code int} number of moves in the sequence.
+     * @return {@code int[]} of pit ids in the order they should be played.
+     */
+    @NotNull
+    public static int[] record(final long seed, final int moves) {
+        final var random = new Random(seed);
+        final var sequence = new int[moves];
+        final var candidates = new int[STORE_INDEX];
+
+        while (true) {
+            final var board = new KalahBoard().load(GameStatus.builder().board().build().getBoard());
+            var player = PLAYER_1;
+
+            int played = 0;
+            while (played < moves) {
+                final int legal = legalMoves(board, player, candidates);
+                if (legal == 0) break;
+
+                final int pitId = candidates[random.nextInt(legal)];
+                sequence[played++] = pitId;
+
+                final boolean toggle = board.sow(player, pitId);
+                if (board.sideEmpty(player)) break;
+                if (toggle) player = player == PLAYER_1 ? Player.PLAYER_2 : PLAYER_1;
+            }
+
+            if (played == moves) return Arrays.copyOf(sequence, moves);
+        }
+    }
+
+    /**
+     * Create {@code count} mid-game positions, each reached by playing a random number of random legal moves,
+     * between {@code minMoves} and {@code maxMoves}, from the initial board. Positions where the game is over
+     * are discarded, so the active player of each position always has a legal move.
+     *
+     * @param seed     {@code long} seed of the {@link Random} instance to make the positions reproducible.
+     * @param count    {@code int} number of positions.
+     * @param minMoves {@code int} minimum number of moves played to reach a position.
+     * @param maxMoves {@code int} maximum number of moves played to reach a position.
+     * @return {@link GameStatus} array of the positions.
+     */
+    @NotNull
+    public static GameStatus[] positions(final long seed, final int count, final int minMoves, final int maxMoves) {
+        final var random = new Random(seed);
+        final var positions = new GameStatus[count];
+        final var candidates = new int[STORE_INDEX];
+
+        int created = 0;
+        while (created < count) {
+            final var board = new KalahBoard().load(GameStatus.builder().board().build().getBoard());
+            var player = PLAYER_1;
+
+            final int moves = minMoves + random.nextInt(maxMoves - minMoves + 1);
+            boolean over = false;
+            for (int played = 0; played < moves && !over; played++) {
+                final int pitId = candidates[random.nextInt(legalMoves(board, player, candidates))];
+                final boolean toggle = board.sow(player, pitId);
+                over = board.sideEmpty(player);
+                if (toggle) player = player == PLAYER_1 ? Player.PLAYER_2 : PLAYER_1;
+                over = over || legalMoves(board, player, candidates) == 0;
+            }
+            if (over) continue;
+
+            final var position = GameStatus.builder()
+                    .id((long) created)
+                    .url("http://localhost:8080/games/" + created)
+                    .board()
+                    .player(player)
+                    .build();
+            board.store(position.getBoard());
+            positions[created++] = position;
+        }
+        return positions;
+    }
+
+    /**
+     * Collect the non-empty pits of the {@code player} into {@code candidates}.
+     *
+     * @param board      instance of {@link KalahBoard} to inspect.
+     * @param player     the active {@link Player}.
+     * @param candidates {@code int[]} to fill with legal pit ids.
+     * @return number of legal pit ids written into {@code candidates}.
+     */
+    public static int legalMoves(@NotNull KalahBoard board, @NotNull Player player, @NotNull int[] candidates) {
+        int count = 0;
+        for (int pitId = player.firstPit(); pitId < player.number() * STORE_INDEX; pitId++) {
+            if (board.seeds(pitId) > 0) candidates[count++] = pitId;
+        }
+        return count;
+    }
+}
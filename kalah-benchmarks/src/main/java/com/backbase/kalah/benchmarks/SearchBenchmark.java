@@ -0,0 +1,73 @@
+package com.backbase.kalah.benchmarks;
+
+import com.backbase.kalah.engine.KalahBoard;
+import com.backbase.kalah.engine.KalahSearch;
+import com.backbase.kalah.records.GameStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the {@link KalahSearch} in positions (nodes) searched per second, searching randomly played
+ * mid-game positions {@link #depth} moves ahead without a time limit. The {@code nodes} counter is the
+ * figure to read; the operations are whole searches. The transposition table is cleared before each search,
+ * so that no search is answered by the results of the earlier searches of the same position.
+ *
+ * @author Sachith Dickwella
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SearchBenchmark {
+
+    /**
+     * Number of mid-game positions.
+     */
+    private static final int POSITIONS = 256;
+
+    /**
+     * Number of moves to search ahead.
+     */
+    @Param({"8", "12"})
+    public int depth;
+
+    private final KalahSearch search = new KalahSearch(16);
+
+    private GameStatus[] positions;
+    private KalahBoard[] boards;
+    private int next;
+
+    /**
+     * Number of positions searched, reported per second.
+     */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Nodes {
+        public long nodes;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        positions = RandomGames.positions(42L, POSITIONS, 10, 30);
+        boards = new KalahBoard[POSITIONS];
+        for (int i = 0; i < POSITIONS; i++) {
+            boards[i] = new KalahBoard().load(positions[i].getBoard());
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void clear() {
+        next = (next + 1) & (POSITIONS - 1);
+        search.clear();
+    }
+
+    @Benchmark
+    public int fixedDepth(Nodes counter) {
+        final var result = search.search(boards[next], positions[next].player(), Long.MAX_VALUE / 2, depth);
+        counter.nodes += result.nodes();
+        return result.pitId();
+    }
+}
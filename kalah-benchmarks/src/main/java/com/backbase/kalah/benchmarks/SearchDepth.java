@@ -0,0 +1,64 @@
+package com.backbase.kalah.benchmarks;
+
+import com.backbase.kalah.engine.KalahBoard;
+import com.backbase.kalah.engine.KalahSearch;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Report the depth the {@link KalahSearch} reaches within the 50 ms time budget of the computer's moves, and
+ * the positions searched per second, over randomly played mid-game positions. The depth is not a JMH
+ * metric, so this is a plain program;
+ * {@code java -cp kalah-benchmarks/target/benchmarks.jar com.backbase.kalah.benchmarks.SearchDepth}.
+ *
+ * @author Sachith Dickwella
+ */
+public final class SearchDepth {
+
+    /**
+     * Time budget of each search.
+     */
+    private static final long BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    /**
+     * Number of mid-game positions to search.
+     */
+    private static final int POSITIONS = 200;
+    /**
+     * Number of positions searched to warm the JIT compiler up, before the measurement.
+     */
+    private static final int WARMUP = 50;
+
+    /**
+     * Private constructor to avoid instantiation of the utility class.
+     */
+    private SearchDepth() {
+        // do nothing
+    }
+
+    public static void main(String[] args) {
+        final var positions = RandomGames.positions(7L, WARMUP + POSITIONS, 4, 30);
+        final var search = new KalahSearch(20);
+        final var depths = new int[KalahSearch.MAX_DEPTH + 1];
+
+        long nodes = 0;
+        long nanos = 0;
+        int searched = 0;
+        for (int i = 0; i < positions.length; i++) {
+            final var board = new KalahBoard().load(positions[i].getBoard());
+            final long start = System.nanoTime();
+            final var result = search.search(board, positions[i].player(), BUDGET_NANOS);
+            if (i < WARMUP || result.depth() == 0) continue;
+
+            nanos += System.nanoTime() - start;
+            nodes += result.nodes();
+            depths[result.depth()]++;
+            searched++;
+        }
+
+        System.out.printf("%d positions, %,d nodes/s%n", searched, nodes * 1_000_000_000L / nanos);
+        System.out.println("depth  positions");
+        for (int depth = 1; depth < depths.length; depth++) {
+            if (depths[depth] > 0) System.out.printf("%5d  %9d%n", depth, depths[depth]);
+        }
+    }
+}
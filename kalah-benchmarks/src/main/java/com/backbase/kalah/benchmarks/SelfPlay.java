@@ -0,0 +1,400 @@
+package com.backbase.kalah.benchmarks;
+
+import com.backbase.kalah.PlayKalah;
+import com.backbase.kalah.engine.KalahBoard;
+import com.backbase.kalah.engine.KalahSearch;
+import com.backbase.kalah.records.GameStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.backbase.kalah.util.ServiceConstance.GameState;
+import static com.backbase.kalah.util.ServiceConstance.PIT_COUNT;
+import static com.backbase.kalah.util.ServiceConstance.Player;
+import static com.backbase.kalah.util.ServiceConstance.Player.PLAYER_1;
+import static com.backbase.kalah.util.ServiceConstance.Player.PLAYER_2;
+import static com.backbase.kalah.util.ServiceConstance.SEEDS_PER_PIT;
+import static com.backbase.kalah.util.ServiceConstance.STORE_INDEX;
+
+/**
+ * Play complete games against itself on many threads, straight through {@link PlayKalah#makeMove(GameStatus, int)}
+ * as the service does for each move, with neither a Spring context nor Redis, and report the games per second,
+ * the distribution of the game lengths and the outcomes by the first mover, {@link Player#PLAYER_1}.
+ *
+ * The rules are checked along the way: no legal move may be rejected, the seeds on the board must always add up
+ * to the seeds of the initial board, a game must end with both sides empty and with the state its stores tell,
+ * and no game may take more than {@link #MAX_MOVES} moves. The program fails if any game breaks them.
+ *
+ * Both sides choose their moves by the same {@link Policy}: {@code random}, {@code greedy}, which prefers the
+ * moves ending on the store, then the captures, or {@code search}, which searches {@link #SEARCH_DEPTH} moves
+ * ahead with the {@link KalahSearch}. The search would play the very same game over and over, so its games open with
+ * {@link #OPENING_MOVES} random moves. Not a JMH benchmark, so this is a plain program, run with the number of
+ * games, threads and the policy;
+ * {@code java -cp kalah-benchmarks/target/benchmarks.jar com.backbase.kalah.benchmarks.SelfPlay 1000000 8 random}.
+ *
+ * @author Sachith Dickwella
+ */
+public final class SelfPlay {
+
+    /**
+     * Maximum number of moves of a game, beyond which the game is taken as stuck.
+     */
+    private static final int MAX_MOVES = 1_000;
+    /**
+     * Number of moves the {@link Policy#SEARCH} policy searches ahead.
+     */
+    private static final int SEARCH_DEPTH = 4;
+    /**
+     * Number of random moves the games of the {@link Policy#SEARCH} policy open with, so that the games differ.
+     */
+    private static final int OPENING_MOVES = 6;
+    /**
+     * Number of seeds on the board.
+     */
+    private static final int TOTAL_SEEDS = (PIT_COUNT - 2) * SEEDS_PER_PIT;
+    /**
+     * Width of the game length buckets of the report.
+     */
+    private static final int BUCKET = 10;
+
+    /**
+     * Private constructor to avoid instantiation of the utility class.
+     */
+    private SelfPlay() {
+        // do nothing
+    }
+
+    /**
+     * Play the games and print the report, and exit with {@code 1} if any game breaks the rules.
+     *
+     * @param args the number of games, the number of threads and the {@link Policy}, all optional.
+     * @throws Exception if any of the threads fails.
+     */
+    public static void main(String[] args) throws Exception {
+        final int games = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        final int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        final var policy = args.length > 2 ? Policy.valueOf(args[2].toUpperCase(Locale.ROOT)) : Policy.RANDOM;
+
+        final var playKalah = new PlayKalah();
+        play(playKalah, policy, Math.min(games, 10_000), threads); // Warm the JIT compiler up.
+
+        final long start = System.nanoTime();
+        final var stats = play(playKalah, policy, games, threads);
+        final long nanos = System.nanoTime() - start;
+
+        stats.report(policy, threads, nanos);
+        if (stats.violations > 0) System.exit(1);
+    }
+
+    /**
+     * Play the {@code games} split between the {@code threads}.
+     *
+     * @param playKalah instance of {@link PlayKalah} to make the moves with.
+     * @param policy    the {@link Policy} of both sides.
+     * @param games     {@code int} number of games to play.
+     * @param threads   {@code int} number of threads to play on.
+     * @return the {@link Stats} of all the games.
+     * @throws Exception if any of the threads fails.
+     */
+    @NotNull
+    private static Stats play(@NotNull PlayKalah playKalah, @NotNull Policy policy, final int games,
+                              final int threads) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final var seeds = new SplittableRandom(42L);
+            final var futures = new ArrayList<Future<Stats>>(threads);
+            for (int t = 0; t < threads; t++) {
+                final int share = games / threads + (t < games % threads ? 1 : 0);
+                final var random = seeds.split();
+                futures.add(executor.submit(() -> playGames(playKalah, policy, share, random)));
+            }
+
+            final var stats = new Stats();
+            for (var future : futures) {
+                stats.add(future.get());
+            }
+            return stats;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Play the {@code games} on the calling thread.
+     *
+     * @param playKalah instance of {@link PlayKalah} to make the moves with.
+     * @param policy    the {@link Policy} of both sides.
+     * @param games     {@code int} number of games to play.
+     * @param random    {@link SplittableRandom} of the thread.
+     * @return the {@link Stats} of the games.
+     */
+    @NotNull
+    private static Stats playGames(@NotNull PlayKalah playKalah, @NotNull Policy policy, final int games,
+                                   @NotNull SplittableRandom random) {
+        final var stats = new Stats();
+        final var chooser = policy.chooser();
+        final var opening = Policy.RANDOM.chooser();
+        final int openingMoves = policy == Policy.SEARCH ? OPENING_MOVES : 0;
+        final var board = new KalahBoard();
+        for (int game = 0; game < games; game++) {
+            final var gameStatus = GameStatus.builder().id((long) game).board().build();
+            int moves = 0;
+            try {
+                while (!gameStatus.getState().finished() && moves < MAX_MOVES) {
+                    board.load(gameStatus.getBoard());
+                    playKalah.makeMove(gameStatus, (moves < openingMoves ? opening : chooser)
+                            .choose(board, gameStatus.player(), random));
+                    moves++;
+                    if (!valid(gameStatus)) break;
+                }
+            } catch (RuntimeException ex) {
+                stats.violation(gameStatus, ex.toString());
+                continue;
+            }
+
+            if (!gameStatus.getState().finished() || !valid(gameStatus)) {
+                stats.violation(gameStatus, "Game is stuck or broken after " + moves + " moves");
+            } else {
+                stats.game(moves, gameStatus.getState());
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Check the rules on the game after a move.
+     *
+     * @param gameStatus instance of {@link GameStatus} to check.
+     * @return {@code true} if the game follows the rules.
+     */
+    private static boolean valid(@NotNull GameStatus gameStatus) {
+        final var board = gameStatus.getBoard();
+        int total = 0;
+        for (int pitId = 1; pitId <= PIT_COUNT; pitId++) {
+            total += Integer.parseInt(board.get(pitId));
+        }
+        if (total != TOTAL_SEEDS) return false;
+        if (!gameStatus.getState().finished()) return true;
+
+        final var kalahBoard = new KalahBoard().load(board);
+        return kalahBoard.sideEmpty(PLAYER_1) && kalahBoard.sideEmpty(PLAYER_2)
+                && gameStatus.getState() == GameState.over(kalahBoard.seeds(STORE_INDEX), kalahBoard.seeds(PIT_COUNT));
+    }
+
+    /**
+     * How both sides choose their moves.
+     */
+    enum Policy {
+        /**
+         * Any legal move, at random.
+         */
+        RANDOM,
+        /**
+         * A move ending on the store if any, else a capture if any, else any legal move, at random.
+         */
+        GREEDY,
+        /**
+         * The best move found by the {@link KalahSearch}, {@link #SEARCH_DEPTH} moves ahead, after
+         * {@link #OPENING_MOVES} random moves.
+         */
+        SEARCH;
+
+        /**
+         * Create the {@link Chooser} of the policy for a single thread.
+         *
+         * @return new {@link Chooser} instance.
+         */
+        @NotNull
+        Chooser chooser() {
+            final var candidates = new int[STORE_INDEX];
+            switch (this) {
+                case GREEDY:
+                    return (board, player, random) -> greedy(board, player, random, candidates);
+                case SEARCH:
+                    final var search = new KalahSearch(14);
+                    return (board, player, random) -> search.search(board, player, Long.MAX_VALUE / 2,
+                            SEARCH_DEPTH).pitId();
+                default:
+                    return (board, player, random) ->
+                            candidates[random.nextInt(RandomGames.legalMoves(board, player, candidates))];
+            }
+        }
+
+        /**
+         * Choose a move ending on the store if any, else a capture if any, else any legal move, at random.
+         *
+         * @param board      the {@link KalahBoard} to choose the move on.
+         * @param player     the {@link Player} to move.
+         * @param random     {@link SplittableRandom} of the thread.
+         * @param candidates {@code int[]} scratch array of the legal moves.
+         * @return {@code int} pit id of the move.
+         */
+        private static int greedy(@NotNull KalahBoard board, @NotNull Player player,
+                                  @NotNull SplittableRandom random, @NotNull int[] candidates) {
+            final int legal = RandomGames.legalMoves(board, player, candidates);
+            final int firstPit = player.firstPit();
+            final int storeIndex = player.number() * STORE_INDEX;
+
+            int capture = 0;
+            for (int i = 0; i < legal; i++) {
+                final int pitId = candidates[i];
+                final int seeds = board.seeds(pitId);
+                final int lastPit = pitId + seeds;
+                if ((pitId - firstPit + seeds) % STORE_INDEX == STORE_INDEX - 1) return pitId;
+                if (capture == 0 && lastPit < storeIndex && board.seeds(lastPit) == 0) capture = pitId;
+            }
+            return capture != 0 ? capture : candidates[random.nextInt(legal)];
+        }
+    }
+
+    /**
+     * Chooser of the moves of a policy, used by a single thread.
+     */
+    @FunctionalInterface
+    interface Chooser {
+
+        /**
+         * Choose a legal move of the {@code player}.
+         *
+         * @param board  the {@link KalahBoard} to choose the move on.
+         * @param player the {@link Player} to move.
+         * @param random {@link SplittableRandom} of the thread.
+         * @return {@code int} pit id of the move.
+         */
+        int choose(@NotNull KalahBoard board, @NotNull Player player, @NotNull SplittableRandom random);
+    }
+
+    /**
+     * Game lengths, outcomes and rule violations of the games played.
+     */
+    private static final class Stats {
+
+        /**
+         * Number of games by their number of moves.
+         */
+        private final long[] lengths = new long[MAX_MOVES + 1];
+        /**
+         * Number of games by their {@link GameState#code()}.
+         */
+        private final long[] outcomes = new long[GameState.values().length];
+        /**
+         * Number of games breaking the rules.
+         */
+        private long violations;
+        /**
+         * Description of the first game breaking the rules.
+         */
+        private String firstViolation;
+
+        /**
+         * Count a finished game.
+         *
+         * @param moves {@code int} number of moves of the game.
+         * @param state {@link GameState} the game finished with.
+         */
+        private void game(final int moves, @NotNull GameState state) {
+            lengths[moves]++;
+            outcomes[state.code()]++;
+        }
+
+        /**
+         * Count a game breaking the rules.
+         *
+         * @param gameStatus instance of {@link GameStatus} of the game.
+         * @param reason     {@link String} rule broken.
+         */
+        private void violation(@NotNull GameStatus gameStatus, @NotNull String reason) {
+            if (violations++ == 0) firstViolation = reason + ", board " + gameStatus.getBoard();
+        }
+
+        /**
+         * Add the counts of the {@code other} stats.
+         *
+         * @param other {@link Stats} to add.
+         */
+        private void add(@NotNull Stats other) {
+            for (int i = 0; i < lengths.length; i++) lengths[i] += other.lengths[i];
+            for (int i = 0; i < outcomes.length; i++) outcomes[i] += other.outcomes[i];
+            if (violations == 0) firstViolation = other.firstViolation;
+            violations += other.violations;
+        }
+
+        /**
+         * Print the report.
+         *
+         * @param policy  the {@link Policy} of the games.
+         * @param threads {@code int} number of threads the games were played on.
+         * @param nanos   {@code long} time taken to play the games.
+         */
+        private void report(@NotNull Policy policy, final int threads, final long nanos) {
+            long games = 0;
+            long moves = 0;
+            for (int length = 0; length < lengths.length; length++) {
+                games += lengths[length];
+                moves += length * lengths[length];
+            }
+            if (games == 0) {
+                System.out.printf("No game finished, %d violations: %s%n", violations, firstViolation);
+                return;
+            }
+
+            System.out.printf("%,d %s games on %d threads in %,d ms: %,d games/s, %,d moves/s%n", games,
+                    policy.name().toLowerCase(Locale.ROOT), threads, nanos / 1_000_000,
+                    games * 1_000_000_000L / nanos, moves * 1_000_000_000L / nanos);
+            System.out.printf("First mover (PLAYER_1) won %.2f%%, second mover won %.2f%%, draws %.2f%%%n",
+                    percent(outcomes[GameState.PLAYER_1_WON.code()], games),
+                    percent(outcomes[GameState.PLAYER_2_WON.code()], games),
+                    percent(outcomes[GameState.DRAW.code()], games));
+            System.out.printf("Moves per game: mean %.1f, min %d, p50 %d, p90 %d, p99 %d, max %d%n",
+                    (double) moves / games, percentile(0, games), percentile(0.5, games), percentile(0.9, games),
+                    percentile(0.99, games), percentile(1, games));
+
+            System.out.println("moves      games");
+            for (int from = 0; from < lengths.length; from += BUCKET) {
+                long count = 0;
+                for (int length = from; length < Math.min(lengths.length, from + BUCKET); length++) {
+                    count += lengths[length];
+                }
+                if (count > 0) {
+                    System.out.printf("%3d-%-3d %10d  %5.2f%%%n", from, from + BUCKET - 1, count,
+                            percent(count, games));
+                }
+            }
+            System.out.printf("%d rule violations%s%n", violations,
+                    violations > 0 ? ", the first one: " + firstViolation : "");
+        }
+
+        /**
+         * Get the game length at the percentile.
+         *
+         * @param fraction {@code double} percentile as a fraction, 0 for the shortest game and 1 for the longest.
+         * @param games    {@code long} number of games.
+         * @return {@code int} number of moves.
+         */
+        private int percentile(final double fraction, final long games) {
+            final long rank = Math.max(1, (long) Math.ceil(fraction * games));
+            long seen = 0;
+            for (int length = 0; length < lengths.length; length++) {
+                seen += lengths[length];
+                if (seen >= rank) return length;
+            }
+            return MAX_MOVES;
+        }
+
+        /**
+         * Get the share of the games.
+         *
+         * @param count {@code long} number of games counted.
+         * @param games {@code long} number of games.
+         * @return {@code double} share of the games in percent.
+         */
+        private static double percent(final long count, final long games) {
+            return 100.0 * count / games;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.backbase.kalah;
+
+import com.backbase.kalah.engine.KalahBoard;
+import com.backbase.kalah.engine.KalahSearch;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+import static com.backbase.kalah.util.ServiceConstance.Player;
+import static com.backbase.kalah.util.ServiceConstance.STORE_INDEX;
+
+/**
+ * Bounded in-process cache of the search results by position, shared by the {@link ComputerPlayer} and the
+ * {@link MoveAdvisor}, so that a position already searched, by any game, is not searched again. The positions
+ * are keyed by their {@link KalahBoard#key(Player)}, so the many games opening the same way, and the games
+ * reaching the same position by different move orders, share the results.
+ *
+ * A position searched again keeps the deeper of the two results. Up to {@code kalah.analysis.maximum-size}
+ * positions (100000 by default) are kept, the least used dropped first.
+ *
+ * @author Sachith Dickwella
+ */
+@Component
+public class AnalysisCache {
+
+    /**
+     * Search results by position key.
+     */
+    private final Cache<Long, KalahSearch.Result> results;
+
+    /**
+     * Constructor to {@link Autowired} or inject to the instance variables.
+     *
+     * @param maximumSize maximum number of positions to keep.
+     */
+    @Autowired
+    public AnalysisCache(@Value("${kalah.analysis.maximum-size:100000}") long maximumSize) {
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                // Evict on the calling thread rather than on the common ForkJoinPool.
+                .executor(Runnable::run)
+                .build();
+    }
+
+    /**
+     * Get the search result of the position, if it has been searched. A result whose move is not a legal move
+     * of the position, which only a collision of two position keys could lead to, is ignored.
+     *
+     * @param board  the {@link KalahBoard} of the position.
+     * @param player the {@link Player} to move.
+     * @return the {@link KalahSearch.Result} wrapped with {@link Optional} class, empty if not searched yet.
+     */
+    @NotNull
+    public Optional<KalahSearch.Result> get(@NotNull KalahBoard board, @NotNull Player player) {
+        return Optional.ofNullable(results.getIfPresent(board.key(player)))
+                .filter(result -> result.pitId() >= player.firstPit()
+                        && result.pitId() < player.number() * STORE_INDEX
+                        && board.seeds(result.pitId()) > 0);
+    }
+
+    /**
+     * Keep the search result of the position, unless a deeper one is kept already.
+     *
+     * @param board  the {@link KalahBoard} of the position.
+     * @param player the {@link Player} to move.
+     * @param result the {@link KalahSearch.Result} of the position.
+     * @return the same {@link KalahSearch.Result} instance.
+     */
+    @NotNull
+    public KalahSearch.Result put(@NotNull KalahBoard board, @NotNull Player player,
+                                  @NotNull KalahSearch.Result result) {
+        results.asMap().merge(board.key(player), result, (kept, searched) ->
+                searched.depth() >= kept.depth() ? searched : kept);
+        return result;
+    }
+}
@@ -0,0 +1,97 @@
+package com.backbase.kalah;
+
+import com.backbase.kalah.engine.KalahBoard;
+import com.backbase.kalah.engine.KalahSearch;
+import com.backbase.kalah.records.GameStatus;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stereo type {@link Component} class which plays the computer's side of a game, choosing each move with the
+ * {@link KalahSearch} within {@code kalah.computer.time-budget-millis} (50 by default).
+ *
+ * Each request thread gets its own {@link KalahSearch}, with a transposition table of
+ * {@code 2^kalah.computer.table-bits} positions (2^16 by default, which takes 1 MB), so the singleton keeps
+ * no per-move state shared between the threads. The endgame positions held by the {@link EndgameLookup} are
+ * answered from there instead, without searching, and so are the positions already searched, kept in the
+ * {@link AnalysisCache}.
+ *
+ * @author Sachith Dickwella
+ */
+@Component
+public class ComputerPlayer {
+
+    /**
+     * Time budget of each move in nanoseconds.
+     */
+    private final long budgetNanos;
+    /**
+     * {@link KalahSearch} of each thread.
+     */
+    private final ThreadLocal<KalahSearch> searches;
+    /**
+     * {@link EndgameLookup} to answer the endgame positions with instead of searching them.
+     */
+    private final EndgameLookup endgames;
+    /**
+     * {@link AnalysisCache} of the positions already searched.
+     */
+    private final AnalysisCache analysisCache;
+
+    /**
+     * Constructor to {@link Autowired} or inject to the instance variables.
+     *
+     * @param budgetMillis {@code long} time budget of each move in milliseconds.
+     * @param tableBits    {@code int} number of the transposition table index bits.
+     * @param endgames      instance of {@link EndgameLookup} inject from the
+     *                      {@link org.springframework.context.ApplicationContext}
+     * @param analysisCache instance of {@link AnalysisCache} inject from the
+     *                      {@link org.springframework.context.ApplicationContext}
+     */
+    @Autowired
+    public ComputerPlayer(@Value("${kalah.computer.time-budget-millis:50}") long budgetMillis,
+                          @Value("${kalah.computer.table-bits:16}") int tableBits,
+                          EndgameLookup endgames, AnalysisCache analysisCache) {
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        this.searches = ThreadLocal.withInitial(() -> new KalahSearch(tableBits));
+        this.endgames = endgames;
+        this.analysisCache = analysisCache;
+    }
+
+    /**
+     * Choose the moves of the active player of the game, one after the other, until the turn passes to the
+     * opponent or the game is over. The {@link GameStatus} instance is left unchanged.
+     *
+     * @param gameStatus instance of {@link GameStatus} to play.
+     * @return {@code int[]} pit ids in the order of the moves, empty if the game is over.
+     */
+    @NotNull
+    public int[] reply(@NotNull GameStatus gameStatus) {
+        if (gameStatus.getState().finished()) return new int[0];
+
+        final var search = searches.get();
+        final var board = new KalahBoard().load(gameStatus.getBoard());
+        final var player = gameStatus.player();
+
+        int[] pitIds = new int[4];
+        int count = 0;
+        boolean turnOver = false;
+        while (!turnOver) {
+            final int pitId = endgames.probe(board, player)
+                    .or(() -> analysisCache.get(board, player))
+                    .orElseGet(() -> analysisCache.put(board, player, search.search(board, player, budgetNanos)))
+                    .pitId();
+            if (count == pitIds.length) pitIds = Arrays.copyOf(pitIds, count * 2);
+            pitIds[count++] = pitId;
+
+            final boolean toggle = board.sow(player, pitId);
+            turnOver = board.finishIfSideEmpty() || toggle;
+        }
+        return Arrays.copyOf(pitIds, count);
+    }
+}
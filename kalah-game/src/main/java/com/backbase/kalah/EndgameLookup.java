@@ -0,0 +1,61 @@
+package com.backbase.kalah;
+
+import com.backbase.kalah.engine.EndgameDatabase;
+import com.backbase.kalah.engine.KalahBoard;
+import com.backbase.kalah.engine.KalahSearch;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+import static com.backbase.kalah.util.ServiceConstance.Player;
+
+/**
+ * Stereo type {@link Component} class which answers the best move of the endgame positions from the
+ * {@link EndgameDatabase} file at {@code kalah.endgames.file}, written by the
+ * {@link com.backbase.kalah.engine.EndgameGenerator}, instead of searching them. Without the property, no
+ * position is answered, and the {@link ComputerPlayer} and the {@link MoveAdvisor} search every position.
+ *
+ * @author Sachith Dickwella
+ */
+@Component
+public class EndgameLookup {
+
+    /**
+     * {@link EndgameDatabase} of the file, {@code null} if none is configured.
+     */
+    private final EndgameDatabase database;
+
+    /**
+     * Constructor to {@link Autowired} or inject to the instance variables.
+     *
+     * @param file {@link String} path of the endgame file, empty for none.
+     * @throws UncheckedIOException if the file cannot be loaded.
+     */
+    @Autowired
+    public EndgameLookup(@Value("${kalah.endgames.file:}") String file) {
+        try {
+            this.database = file.isBlank() ? null : EndgameDatabase.load(Paths.get(file));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Find the best move of the {@code player} on the board in the {@link EndgameDatabase}.
+     *
+     * @param board  the {@link KalahBoard} to find the move on, which is left unchanged.
+     * @param player the {@link Player} to move.
+     * @return the {@link KalahSearch.Result} of the best move wrapped with {@link Optional} class, empty if no
+     * file is configured, the position is not in the file or the game is over.
+     */
+    @NotNull
+    public Optional<KalahSearch.Result> probe(@NotNull KalahBoard board, @NotNull Player player) {
+        return database == null ? Optional.empty() : database.probe(board, player);
+    }
+}
@@ -0,0 +1,250 @@
+package com.backbase.kalah;
+
+import com.backbase.kalah.records.GameStatus;
+import com.backbase.kalah.repos.FinishedGames;
+import com.backbase.kalah.util.InvalidPitUserException;
+import com.backbase.kalah.util.InvalidPitUserException.Reason;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static com.backbase.kalah.util.ServiceConstance.TIME_TO_LIVE;
+
+/**
+ * Stereo type {@link Component} class which holds the Micrometer meters of the service, exposed in the
+ * Prometheus format on {@code /actuator/prometheus};
+ * <ul>
+ * <li>{@code kalah.moves}, the time to make and persist a move, rejected moves included.</li>
+ * <li>{@code kalah.games.create}, the time to create and persist a game.</li>
+ * <li>{@code kalah.moves.rejected}, the number of rejected moves by the {@link Reason}, tagged {@code reason}.</li>
+ * <li>{@code kalah.redis}, the time of each Redis call of the {@link com.backbase.kalah.repos.GameStore}, tagged
+ * {@code operation}, {@code find}, {@code save}, {@code save-all} or {@code move}.</li>
+ * <li>{@code kalah.games.active}, the games in progress, created or played on this node, which are yet to
+ * expire from Redis, up to {@code kalah.metrics.active-games.maximum-size} (100000 by default).</li>
+ * <li>{@code kalah.games.finished}, the finished games known to this node, which are yet to expire from
+ * Redis, as kept by the {@link FinishedGames}.</li>
+ * </ul>
+ *
+ * The timers publish the percentile histograms, so that the percentiles could be aggregated across the nodes.
+ * The reactive variant of the service records the same meters, through the functions taking a {@link Mono}.
+ *
+ * @author Sachith Dickwella
+ */
+@Component
+public class GameMetrics {
+
+    /**
+     * {@link MeterRegistry} of the meters.
+     */
+    private final MeterRegistry registry;
+    /**
+     * Time to make and persist a move.
+     */
+    private final Timer moves;
+    /**
+     * Time to create and persist a game.
+     */
+    private final Timer creates;
+    /**
+     * Rejected moves by the {@link Reason}.
+     */
+    private final Map<Reason, Counter> rejections = new EnumMap<>(Reason.class);
+    /**
+     * Ids of the games in progress, which expire along with the games in Redis.
+     */
+    private final Cache<Long, Boolean> activeGames;
+
+    /**
+     * Constructor to {@link Autowired} or inject to the instance variables.
+     *
+     * @param maximumSize   maximum number of active games to count.
+     * @param meterRegistry provider of the {@link MeterRegistry}, falls back to the
+     *                      {@link Metrics#globalRegistry} if the context has none.
+     * @param finishedGames instance of {@link FinishedGames} inject from the
+     *                      {@link org.springframework.context.ApplicationContext}
+     */
+    @Autowired
+    public GameMetrics(@Value("${kalah.metrics.active-games.maximum-size:100000}") long maximumSize,
+                       ObjectProvider<MeterRegistry> meterRegistry, FinishedGames finishedGames) {
+        this(maximumSize, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry), finishedGames);
+    }
+
+    /**
+     * Constructor to register the meters with the given {@link MeterRegistry}.
+     *
+     * @param maximumSize   maximum number of active games to count.
+     * @param registry      the {@link MeterRegistry} to register the meters with.
+     * @param finishedGames instance of {@link FinishedGames} to count the finished games of.
+     */
+    public GameMetrics(final long maximumSize, @NotNull MeterRegistry registry,
+                       @NotNull FinishedGames finishedGames) {
+        this.registry = registry;
+        this.moves = Timer.builder("kalah.moves")
+                .description("Time to make and persist a move")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.creates = Timer.builder("kalah.games.create")
+                .description("Time to create and persist a game")
+                .publishPercentileHistogram()
+                .register(registry);
+        for (var reason : Reason.values()) {
+            rejections.put(reason, Counter.builder("kalah.moves.rejected")
+                    .description("Moves rejected by the reason")
+                    .tag("reason", reason.name().toLowerCase(Locale.ROOT))
+                    .register(registry));
+        }
+
+        this.activeGames = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(TIME_TO_LIVE))
+                // Evict on the calling thread rather than on the common ForkJoinPool.
+                .executor(Runnable::run)
+                .build();
+        Gauge.builder("kalah.games.active", activeGames, Cache::estimatedSize)
+                .description("Games in progress, created or played on this node")
+                .register(registry);
+        Gauge.builder("kalah.games.finished", finishedGames, FinishedGames::size)
+                .description("Finished games known to this node")
+                .register(registry);
+    }
+
+    /**
+     * Time the move and count it if rejected.
+     *
+     * @param move {@link Supplier} which makes and persists the move.
+     * @param <T>  type of the result of the move.
+     * @return the result of the {@code move}.
+     * @throws InvalidPitUserException if the move is rejected.
+     */
+    public <T> T move(@NotNull Supplier<T> move) {
+        return moves.record(() -> countRejection(move));
+    }
+
+    /**
+     * Count the moves rejected by the {@code moves}, without timing them.
+     *
+     * @param moves {@link Supplier} which makes and persists the moves.
+     * @param <T>   type of the result of the moves.
+     * @return the result of the {@code moves}.
+     * @throws InvalidPitUserException if any of the moves is rejected.
+     */
+    public <T> T countRejection(@NotNull Supplier<T> moves) {
+        try {
+            return moves.get();
+        } catch (InvalidPitUserException ex) {
+            rejections.get(ex.getReason()).increment();
+            throw ex;
+        }
+    }
+
+    /**
+     * Time the move, from the subscription until it completes or fails, and count it if rejected.
+     *
+     * @param move {@link Mono} which makes and persists the move.
+     * @param <T>  type of the result of the move.
+     * @return the timed {@link Mono}.
+     */
+    @NotNull
+    public <T> Mono<T> move(@NotNull Mono<T> move) {
+        return timed(moves, countRejection(move));
+    }
+
+    /**
+     * Count the moves rejected by the {@code moves}, without timing them.
+     *
+     * @param moves {@link Mono} which makes and persists the moves.
+     * @param <T>   type of the result of the moves.
+     * @return the counted {@link Mono}.
+     */
+    @NotNull
+    public <T> Mono<T> countRejection(@NotNull Mono<T> moves) {
+        return moves.doOnError(InvalidPitUserException.class, ex -> rejections.get(ex.getReason()).increment());
+    }
+
+    /**
+     * Time the creation of the game, from the subscription until it completes, and count the game as active.
+     *
+     * @param create {@link Mono} which creates and persists the game.
+     * @return the timed {@link Mono}.
+     */
+    @NotNull
+    public Mono<GameStatus> create(@NotNull Mono<GameStatus> create) {
+        return timed(creates, create).map(this::played);
+    }
+
+    /**
+     * Time the creation of the game and count it as active.
+     *
+     * @param create {@link Supplier} which creates and persists the game.
+     * @return the created {@link GameStatus}.
+     */
+    @NotNull
+    public GameStatus create(@NotNull Supplier<GameStatus> create) {
+        return played(creates.record(create));
+    }
+
+    /**
+     * Count the game as active until it expires, or stop counting it once it is over.
+     *
+     * @param gameStatus instance of {@link GameStatus} as persisted.
+     * @return the same {@link GameStatus} instance.
+     */
+    @NotNull
+    public GameStatus played(@NotNull GameStatus gameStatus) {
+        if (gameStatus.getState().finished()) {
+            activeGames.invalidate(gameStatus.getId());
+        } else {
+            activeGames.put(gameStatus.getId(), Boolean.TRUE);
+        }
+        return gameStatus;
+    }
+
+    /**
+     * Record the time of the {@code mono} with the {@code timer}, from the subscription until it completes, fails
+     * or is cancelled.
+     *
+     * @param timer the {@link Timer} to record the time with.
+     * @param mono  {@link Mono} to time.
+     * @param <T>   type of the result of the {@code mono}.
+     * @return the timed {@link Mono}.
+     */
+    @NotNull
+    public static <T> Mono<T> timed(@NotNull Timer timer, @NotNull Mono<T> mono) {
+        return Mono.defer(() -> {
+            final long start = System.nanoTime();
+            return mono.doFinally(signal -> timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    /**
+     * Get the timer of the Redis calls of the {@code operation}.
+     *
+     * @param operation {@link String} name of the operation.
+     * @return the {@link Timer} of the operation.
+     */
+    @NotNull
+    public Timer redisTimer(@NotNull String operation) {
+        return Timer.builder("kalah.redis")
+                .description("Time of the Redis calls of the game store")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
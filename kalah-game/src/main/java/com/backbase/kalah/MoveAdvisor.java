@@ -0,0 +1,109 @@
+package com.backbase.kalah;
+
+import com.backbase.kalah.engine.KalahBoard;
+import com.backbase.kalah.engine.ParallelSearch;
+import com.backbase.kalah.records.GameHint;
+import com.backbase.kalah.records.GameStatus;
+import com.backbase.kalah.util.GameOverException;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stereo type {@link Component} class which suggests the best move to the active player of a game, searching
+ * with the {@link ParallelSearch} on {@code kalah.hint.threads} threads (all the processors by default) for
+ * {@code kalah.hint.time-budget-millis} (200 by default), with a transposition table of
+ * {@code 2^kalah.hint.table-bits} positions (2^20 by default, which takes 16 MB) shared by the threads.
+ *
+ * Each hint takes all the search threads, so one hint at a time is searched in parallel, and the hints asked
+ * meanwhile are searched on the request thread alone rather than queue up behind it. The transposition
+ * table is shared by both and kept between the hints, so that the next hint of the same game starts from what
+ * is already known. The endgame positions held by the {@link EndgameLookup} are answered from there instead,
+ * without searching, and so are the positions already searched, by the hints or the {@link ComputerPlayer}, kept
+ * in the {@link AnalysisCache}.
+ *
+ * @author Sachith Dickwella
+ */
+@Component
+public class MoveAdvisor {
+
+    /**
+     * Time budget of each hint in nanoseconds.
+     */
+    private final long budgetNanos;
+    /**
+     * {@link ParallelSearch} of the hints.
+     */
+    private final ParallelSearch search;
+    /**
+     * {@link EndgameLookup} to answer the endgame positions with instead of searching them.
+     */
+    private final EndgameLookup endgames;
+    /**
+     * {@link AnalysisCache} of the positions already searched.
+     */
+    private final AnalysisCache analysisCache;
+
+    /**
+     * Constructor to {@link Autowired} or inject to the instance variables.
+     *
+     * @param threads      {@code int} number of the search threads, 0 for the number of the processors.
+     * @param budgetMillis {@code long} time budget of each hint in milliseconds.
+     * @param tableBits    {@code int} number of the transposition table index bits.
+     * @param endgames      instance of {@link EndgameLookup} inject from the
+     *                      {@link org.springframework.context.ApplicationContext}
+     * @param analysisCache instance of {@link AnalysisCache} inject from the
+     *                      {@link org.springframework.context.ApplicationContext}
+     */
+    @Autowired
+    public MoveAdvisor(@Value("${kalah.hint.threads:0}") int threads,
+                       @Value("${kalah.hint.time-budget-millis:200}") long budgetMillis,
+                       @Value("${kalah.hint.table-bits:20}") int tableBits,
+                       EndgameLookup endgames, AnalysisCache analysisCache) {
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        this.search = new ParallelSearch(threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+                tableBits);
+        this.endgames = endgames;
+        this.analysisCache = analysisCache;
+    }
+
+    /**
+     * Suggest the best move to the active player of the game as it is persisted. The {@link GameStatus}
+     * instance is left unchanged.
+     *
+     * @param gameStatus instance of {@link GameStatus} as loaded from the persistence module.
+     * @return the {@link GameHint} of the game.
+     * @throws GameOverException if the game is already over.
+     */
+    @NotNull
+    public GameHint hint(@NotNull GameStatus gameStatus) {
+        if (gameStatus.getState().finished()) throw new GameOverException(gameStatus);
+
+        final var player = gameStatus.player();
+        final var board = new KalahBoard().load(gameStatus.getBoard());
+        final var result = endgames.probe(board, player)
+                .or(() -> analysisCache.get(board, player))
+                .orElseGet(() -> analysisCache.put(board, player, search.search(board, player, budgetNanos)));
+        return GameHint.builder()
+                .id(gameStatus.getId())
+                .url(gameStatus.getURL())
+                .player(player)
+                .pitId(result.pitId())
+                .score(result.score())
+                .depth(result.depth())
+                .nodes(result.nodes())
+                .build();
+    }
+
+    /**
+     * Stop the search threads with the {@link org.springframework.context.ApplicationContext}.
+     */
+    @PreDestroy
+    public void close() {
+        search.close();
+    }
+}
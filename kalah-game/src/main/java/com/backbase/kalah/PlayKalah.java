@@ -1,29 +1,37 @@
 package com.backbase.kalah;
 
+import com.backbase.kalah.engine.KalahBoard;
 import com.backbase.kalah.records.GameStatus;
+import com.backbase.kalah.util.GameOverException;
 import com.backbase.kalah.util.InvalidPitUserException;
+import com.backbase.kalah.util.InvalidPitUserException.Reason;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.stereotype.Component;
 
-import java.util.Collections;
-import java.util.Map;
-
+import static com.backbase.kalah.util.ServiceConstance.GameState;
 import static com.backbase.kalah.util.ServiceConstance.PIT_COUNT;
+import static com.backbase.kalah.util.ServiceConstance.Player.PLAYER_1;
+import static com.backbase.kalah.util.ServiceConstance.Player.PLAYER_2;
 import static com.backbase.kalah.util.ServiceConstance.STORE_INDEX;
 
 /**
  * Stereo type {@link Component} class to bind with {@link org.springframework.context.ApplicationContext}
  * to use during the game play.
  *
+ * The singleton instance is shared by all the request threads, therefore it must not keep any per-move
+ * state in instance variables. Everything a move needs lives in local variables, in the given
+ * {@link GameStatus} instance or in the {@link KalahBoard} of the calling thread, which is loaded afresh
+ * on each move.
+ *
  * @author Sachith Dickwella
  */
 @Component
 public class PlayKalah {
 
     /**
-     * Game board instance of {@link Map} type for this round.
+     * {@link KalahBoard} of each thread to sow the seeds on, so that a move allocates no board.
      */
-    private Map<Integer, String> board;
+    private final ThreadLocal<KalahBoard> boards = ThreadLocal.withInitial(KalahBoard::new);
 
     /**
      * Core game algorithm goes here. Given {@link GameStatus} instance coming from upstream function could
@@ -33,140 +41,91 @@ public class PlayKalah {
      * Nothing return from this function as {@link GameStatus} instance pass by reference. Therefore, all the
      * changes do to the respective instance would reflect on the upstream object.
      *
+     * Seeds are sown on the primitive {@link KalahBoard} and the {@link GameStatus#getBoard()} map is only
+     * read once and written back once per move. The {@link KalahBoard} is the one of the calling thread.
+     *
      * @param gameStatus  instance of {@link GameStatus}.
      * @param pickupPitId which is the pit seeds pickup from.
+     * @throws GameOverException if the game is already over.
      */
     public void makeMove(@NotNull GameStatus gameStatus, final int pickupPitId) {
         final var player = gameStatus.player();
 
-        if (pickupPitId < 1 || pickupPitId > PIT_COUNT) {
-            throw new InvalidPitUserException(gameStatus, "Pit id %d is invalid", pickupPitId);
+        if (gameStatus.getState().finished()) {
+            throw new GameOverException(gameStatus);
+        } else if (pickupPitId < 1 || pickupPitId > PIT_COUNT) {
+            throw new InvalidPitUserException(gameStatus, Reason.INVALID_PIT, "Pit id %d is invalid",
+                    pickupPitId);
         } else if (pickupPitId < player.firstPit() || pickupPitId > player.number() * STORE_INDEX) {
-            throw new InvalidPitUserException(gameStatus, "It's the %s's turn", player);
+            throw new InvalidPitUserException(gameStatus, Reason.OTHER_PLAYERS_PIT, "It's the %s's turn", player);
         } else if (pickupPitId == player.number() * STORE_INDEX) {
-            throw new InvalidPitUserException(gameStatus, "Cannot grab seeds from %d store", pickupPitId);
+            throw new InvalidPitUserException(gameStatus, Reason.STORE, "Cannot grab seeds from %d store",
+                    pickupPitId);
         }
 
-        board = Collections.synchronizedMap(gameStatus.getBoard());
-        final int pickedUpSeeds = grabSeeds(pickupPitId);
-        if (pickedUpSeeds == 0) {
-            throw new InvalidPitUserException(gameStatus, "Chosen pit %d, is empty, %s's got another chance",
-                    pickupPitId, player);
+        final var board = boards.get().load(gameStatus.getBoard());
+        if (board.seeds(pickupPitId) == 0) {
+            throw new InvalidPitUserException(gameStatus, Reason.EMPTY_PIT,
+                    "Chosen pit %d, is empty, %s's got another chance", pickupPitId, player);
         }
 
-        boolean togglePlayer = false;
-        int nextPitId = pickupPitId + 1;
-        for (int i = 1; i <= pickedUpSeeds; i++) {
-            if (nextPitId > player.number() * STORE_INDEX) {
-                nextPitId = player.firstPit();
-            }
-
-            if (i == pickedUpSeeds) {
-                togglePlayer = lastPitUpdate(gameStatus, nextPitId);
-            } else {
-                justPut1toPit(board, nextPitId);
-            }
-            nextPitId++;
-        }
+        final boolean togglePlayer = board.sow(player, pickupPitId);
 
-        checkAndUpdateWinner(gameStatus);
+        checkAndUpdateWinner(gameStatus, board);
+        board.store(gameStatus.getBoard());
         gameStatus.player(togglePlayer);
     }
 
     /**
-     * Grab seeds from the pit indicate by the parameter {@code pickupPit} value. By grabbing the seeds in a pit,
-     * this function just return the number of seeds as well as empty (zero out) the pit.
-     *
-     * @param pickupPit {@code int} value which pit's seeds should be grabbed and return.
-     * @return number seeds {@code int} value in the pit.
-     */
-    private int grabSeeds(final int pickupPit) {
-        int seeds = Integer.parseInt(board.get(pickupPit));
-        if (seeds > 0) board.put(pickupPit, "0");
-        return seeds;
-    }
-
-    /**
-     * Just insert new seed into the pit indicate by given {@code pitId} parameter. Just update the pit value
-     * by addition one into the pit's existing value.
-     *
-     * @param board instance of {@link Map} instance that represent the board.
-     * @param pitId {@code pitId} value indicate which pit to be updated.
-     */
-    private void justPut1toPit(@NotNull Map<Integer, String> board, final int pitId) {
-        board.put(pitId, String.valueOf(Integer.parseInt(board.get(pitId)) + 1));
-    }
-
-    /**
-     * Serve during the last pit update in a round of sowing seeds. Based on which pit becoming the last pit
-     * of a round, this function updates the board {@link Map} instance's respective pits.
-     *
-     * If the last pit would become the store pit/kalah, then the player gets another chance to sow seeds
-     * across him/her pits, but do not get any seeds from the opponent.
-     *
-     * Otherwise, if the last pit would become a usual pit/house of the player's own and that pit is empty
-     * {@code (value = 0)}, then the player get to collect all the seeds from the opponent's exact opposite
-     * pit and put them and player's own single seed into the player's store/kalah and then the opponent get
-     * the chance to play.
-     *
-     * If the last pit is not the store/kalah of the player, or the general pit/house is not empty, then, just
-     * put single seed into the pit and toggle the player to give the chance to next player.
+     * Make the moves on the game as one new version of the game, which the stores save at once. A game which is
+     * already over is rejected as a whole, before any of the moves, whereas a game finished by one of the moves
+     * rejects the next move with its index.
      *
-     * @param gameStatus instance of {@link GameStatus} that represent entire game.
-     * @param lastPit    {@code int} value of the last pit of the round.
-     * @return {@code boolean} value indicating whether player need to toggle or not.
+     * @param gameStatus instance of {@link GameStatus}.
+     * @param pitIds     {@code int[]} pit ids in the order of the moves.
+     * @param indexed    {@code boolean} whether to report the index of the rejected move.
+     * @return {@code long} version of the game before the moves, to save the game with the version check.
+     * @throws GameOverException       if the game is already over.
+     * @throws InvalidPitUserException if any of the moves is rejected, with the index of the move if indexed.
      */
-    private boolean lastPitUpdate(@NotNull GameStatus gameStatus, final int lastPit) {
-        final int storeIndex = gameStatus.player().number() * STORE_INDEX;
-        if (lastPit != storeIndex) {
-            if (Integer.parseInt(board.get(lastPit)) == 0) {
-                int opponentPit = (gameStatus.otherPlayer().number() * STORE_INDEX) -
-                        (lastPit > STORE_INDEX ? lastPit - STORE_INDEX : lastPit);
-                int opponentSeeds = grabSeeds(opponentPit);
-                int newStoreSeedCount = Integer.parseInt(board.get(storeIndex)) + opponentSeeds + 1;
+    public long makeMoves(@NotNull GameStatus gameStatus, @NotNull int[] pitIds, final boolean indexed) {
+        if (gameStatus.getState().finished()) {
+            throw new GameOverException(gameStatus);
+        }
 
-                board.put(storeIndex, String.valueOf(newStoreSeedCount));
-            } else {
-                justPut1toPit(board, lastPit);
+        final long version = gameStatus.getVersion();
+        for (int i = 0; i < pitIds.length; i++) {
+            try {
+                makeMove(gameStatus, pitIds[i]);
+            } catch (InvalidPitUserException ex) {
+                throw indexed ? new InvalidPitUserException(i, ex) : ex;
             }
-            return true;
-        } else {
-            justPut1toPit(board, lastPit);
-            return false;
         }
+        gameStatus.version(version + 1);
+        return version;
     }
 
     /**
-     * Check and update the winner of the game instance using the current board status passed by {@link Map}
-     * instance.
+     * Check and update the winner of the game instance using the current board status held by the
+     * {@link KalahBoard} instance.
      *
      * Continuously check each player's status by getting invoking at the end of each round and least one player
-     * has no seeds to continue his/her round, immediately update the opponent's status by moving all the seeds
-     * of the opponent to the store/kalah.
+     * has no seeds left on his/her side, immediately move all the seeds left on the other side to the store/kalah
+     * of their owner and finish the game with the winner.
+     *
+     * Either side counts, not only the side of the player who made the move. A capture could empty the
+     * opponent's side as well, which would leave the opponent with no move to make and the game stuck forever.
+     *
+     * Both the check and the sweep read the running side totals of the {@link KalahBoard}, so this costs the
+     * same on every move and runs on the calling thread.
      *
      * @param gameStatus instance of {@link GameStatus} that represent entire game.
+     * @param board      instance of {@link KalahBoard} the current move played on.
      */
-    void checkAndUpdateWinner(@NotNull final GameStatus gameStatus) {
-        final var player = gameStatus.player();
-        board.entrySet()
-                .parallelStream()
-                .filter(e -> e.getKey() >= player.firstPit() && e.getKey() < player.number() * STORE_INDEX)
-                .mapToInt(e -> Integer.parseInt(e.getValue()))
-                .reduce(Integer::sum)
-                .ifPresent(zeroSum -> {
-                    if (zeroSum == 0) {
-                        var otherPlayer = gameStatus.otherPlayer();
-                        var otherPlayerStore = otherPlayer.number() * STORE_INDEX;
-                        board.entrySet()
-                                .parallelStream()
-                                .filter(e -> e.getKey() >= otherPlayer.firstPit() && e.getKey() < otherPlayerStore)
-                                .mapToInt(e -> grabSeeds(e.getKey()))
-                                .reduce(Integer::sum)
-                                .ifPresent(sum -> board.put(otherPlayerStore,
-                                        String.valueOf(
-                                                Integer.parseInt(board.get(otherPlayerStore)) + sum)
-                                ));
-                    }
-                });
+    void checkAndUpdateWinner(@NotNull final GameStatus gameStatus, @NotNull final KalahBoard board) {
+        if (board.finishIfSideEmpty()) {
+            gameStatus.state(GameState.over(board.seeds(PLAYER_1.number() * STORE_INDEX),
+                    board.seeds(PLAYER_2.number() * STORE_INDEX)));
+        }
     }
 }
@@ -1,8 +1,11 @@
 package com.backbase.kalah.configs;
 
 import com.backbase.kalah.records.HttpErrorResponse;
+import com.backbase.kalah.util.ConcurrentMoveException;
+import com.backbase.kalah.util.InvalidBatchSizeException;
 import com.backbase.kalah.util.InvalidPitUserException;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -18,8 +21,13 @@ import javax.servlet.http.HttpServletRequest;
  * Declaration of {@link ControllerAdvice} annotation make this class to be stored in Spring beans in
  * {@link org.springframework.context.ApplicationContext}.
  *
+ * Handles the exceptions of the blocking variant of the service, whereas the {@link ReactiveExceptionHandler}
+ * handles the same exceptions of the reactive variant with the same responses, built by the static functions of
+ * this class.
+ *
  * @author Sachith Dickwella
  */
+@Profile("!" + ReactiveConfig.PROFILE)
 @ControllerAdvice
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
@@ -34,6 +42,48 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
     @ExceptionHandler(InvalidPitUserException.class)
     public ResponseEntity<HttpErrorResponse> handleInvalidPitUser(@NotNull HttpServletRequest request,
                                                                   @NotNull InvalidPitUserException ex) {
+        return invalidPitUser(ex);
+    }
+
+    /**
+     * Handle {@link ConcurrentMoveException} exceptions coming from downstream services when another move
+     * on the same game has been saved first, and orchestrate custom {@link HttpErrorResponse} wrapped with
+     * {@link ResponseEntity}.
+     *
+     * @param request instance of {@link HttpServletRequest} pass by upstream function.
+     * @param ex      instance that's been thrown by the services.
+     * @return instance of {@link HttpErrorResponse} wrapped by {@link ResponseEntity}.
+     */
+    @ExceptionHandler(ConcurrentMoveException.class)
+    public ResponseEntity<HttpErrorResponse> handleConcurrentMove(@NotNull HttpServletRequest request,
+                                                                  @NotNull ConcurrentMoveException ex) {
+        return error(HttpStatus.CONFLICT, ex);
+    }
+
+    /**
+     * Handle {@link InvalidBatchSizeException} exceptions coming from downstream services when the number of
+     * games requested in a batch is out of range, and orchestrate custom {@link HttpErrorResponse} wrapped
+     * with {@link ResponseEntity}.
+     *
+     * @param request instance of {@link HttpServletRequest} pass by upstream function.
+     * @param ex      instance that's been thrown by the services.
+     * @return instance of {@link HttpErrorResponse} wrapped by {@link ResponseEntity}.
+     */
+    @ExceptionHandler(InvalidBatchSizeException.class)
+    public ResponseEntity<HttpErrorResponse> handleInvalidBatchSize(@NotNull HttpServletRequest request,
+                                                                    @NotNull InvalidBatchSizeException ex) {
+        return error(HttpStatus.BAD_REQUEST, ex);
+    }
+
+    /**
+     * Orchestrate the custom {@link HttpErrorResponse} of the rejected move, with the payload and the index of the
+     * rejected move.
+     *
+     * @param ex the {@link InvalidPitUserException} of the rejected move.
+     * @return instance of {@link HttpErrorResponse} wrapped by {@link ResponseEntity}.
+     */
+    @NotNull
+    static ResponseEntity<HttpErrorResponse> invalidPitUser(@NotNull InvalidPitUserException ex) {
         final var status = HttpStatus.NOT_ACCEPTABLE;
         return ResponseEntity.status(status)
                 .body(HttpErrorResponse.builder()
@@ -42,6 +92,26 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
                         .error(status.getReasonPhrase())
                         .message(ex.getMessage())
                         .payload(ex.getPayload())
+                        .moveIndex(ex.getMoveIndex())
+                        .build());
+    }
+
+    /**
+     * Orchestrate the custom {@link HttpErrorResponse} of the given {@code status} with the message of the
+     * exception.
+     *
+     * @param status the {@link HttpStatus} of the response.
+     * @param ex     the {@link RuntimeException} to respond with.
+     * @return instance of {@link HttpErrorResponse} wrapped by {@link ResponseEntity}.
+     */
+    @NotNull
+    static ResponseEntity<HttpErrorResponse> error(@NotNull HttpStatus status, @NotNull RuntimeException ex) {
+        return ResponseEntity.status(status)
+                .body(HttpErrorResponse.builder()
+                        .timestamp()
+                        .status(status.value())
+                        .error(status.getReasonPhrase())
+                        .message(ex.getMessage())
                         .build());
     }
 }
@@ -0,0 +1,40 @@
+package com.backbase.kalah.configs;
+
+import com.backbase.kalah.repos.MappedGameStore;
+import com.backbase.kalah.util.IdGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Stereo type {@link Configuration} class of the single node variant of the service, which runs without Redis
+ * and keeps the games in the memory-mapped file of the {@link MappedGameStore} on the local disk, for the edge
+ * boxes and the other single node deployments.
+ *
+ * Selected with the {@link #PROFILE} Spring profile, {@code spring.profiles.active=local}, which also leaves the
+ * Redis auto-configuration out and selects the {@link MappedGameStore} (see {@code application-local.yml}). The
+ * {@link RedisConfig} and the Redis backed {@link IdGenerator} are left out with the same profile.
+ *
+ * @author Sachith Dickwella
+ */
+@Profile(LocalConfig.PROFILE)
+@Configuration
+public class LocalConfig {
+
+    /**
+     * Name of the Spring profile of the single node variant.
+     */
+    public static final String PROFILE = "local";
+
+    /**
+     * Create a new {@link IdGenerator} instance which hands out the ids from the sequence kept in the file of
+     * the {@link MappedGameStore}, scrambled the same way the Redis backed {@link IdGenerator} does.
+     *
+     * @param store injects from the {@link org.springframework.context.ApplicationContext}.
+     * @return new instance of {@link IdGenerator}.
+     */
+    @Bean
+    public IdGenerator idGenerator(MappedGameStore store) {
+        return store::nextId;
+    }
+}
@@ -0,0 +1,63 @@
+package com.backbase.kalah.configs;
+
+import com.backbase.kalah.records.GameStatus;
+import com.backbase.kalah.repos.GameStatusCodec;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * Stereo type {@link Configuration} class of the reactive variant of the service, which serves the games with
+ * WebFlux on Netty and keeps them in Redis with the {@link ReactiveRedisTemplate}, so that no thread waits on
+ * Redis or on the network while a move is in flight.
+ *
+ * Selected with the {@link #PROFILE} Spring profile, {@code spring.profiles.active=reactive}, which also runs the
+ * application as a reactive web application (see {@code application-reactive.yml}).
+ *
+ * @author Sachith Dickwella
+ */
+@Profile(ReactiveConfig.PROFILE)
+@Configuration
+public class ReactiveConfig {
+
+    /**
+     * Name of the Spring profile of the reactive variant.
+     */
+    public static final String PROFILE = "reactive";
+
+    /**
+     * Create a new {@link ReactiveRedisTemplate} instance to keep each {@link GameStatus} as a single Redis
+     * string value in the compact binary format of {@link GameStatusCodec}, under a plain {@link String} key,
+     * the same way the blocking {@code gameStatusTemplate} of the {@link RedisConfig} does.
+     *
+     * @param redisConnectionFactory injects from the {@link org.springframework.context.ApplicationContext}
+     *                               which bound by the bean creation of {@link RedisConfig#redisConnectionFactory()}
+     *                               as primary connection factory.
+     * @return instance of {@link ReactiveRedisTemplate} to work with binary game values.
+     */
+    @Bean
+    public ReactiveRedisTemplate<String, GameStatus> reactiveGameStatusTemplate(
+            ReactiveRedisConnectionFactory redisConnectionFactory) {
+        return new ReactiveRedisTemplate<>(redisConnectionFactory, RedisSerializationContext
+                .<String, GameStatus>newSerializationContext(RedisSerializer.string())
+                .value(new GameStatusCodec())
+                .build());
+    }
+
+    /**
+     * Create a new {@link NettyReactiveWebServerFactory} instance to serve the reactive variant on Netty, rather
+     * than on the Tomcat the blocking variant runs on, which would otherwise be picked since it is on the
+     * classpath too.
+     *
+     * @return new instance of {@link NettyReactiveWebServerFactory}.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
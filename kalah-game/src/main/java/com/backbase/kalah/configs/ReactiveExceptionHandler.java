@@ -0,0 +1,58 @@
+package com.backbase.kalah.configs;
+
+import com.backbase.kalah.records.HttpErrorResponse;
+import com.backbase.kalah.util.ConcurrentMoveException;
+import com.backbase.kalah.util.InvalidBatchSizeException;
+import com.backbase.kalah.util.InvalidPitUserException;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Exception handler of the reactive variant of the service, which answers the same exceptions with the same
+ * {@link HttpErrorResponse} bodies as the {@link GlobalExceptionHandler} does for the blocking variant.
+ *
+ * @author Sachith Dickwella
+ */
+@Profile(ReactiveConfig.PROFILE)
+@RestControllerAdvice
+public class ReactiveExceptionHandler {
+
+    /**
+     * Handle {@link InvalidPitUserException} exceptions coming from downstream services.
+     *
+     * @param ex instance that's been thrown by the services.
+     * @return instance of {@link HttpErrorResponse} wrapped by {@link ResponseEntity}.
+     */
+    @ExceptionHandler(InvalidPitUserException.class)
+    public ResponseEntity<HttpErrorResponse> handleInvalidPitUser(@NotNull InvalidPitUserException ex) {
+        return GlobalExceptionHandler.invalidPitUser(ex);
+    }
+
+    /**
+     * Handle {@link ConcurrentMoveException} exceptions coming from downstream services when another move
+     * on the same game has been saved first.
+     *
+     * @param ex instance that's been thrown by the services.
+     * @return instance of {@link HttpErrorResponse} wrapped by {@link ResponseEntity}.
+     */
+    @ExceptionHandler(ConcurrentMoveException.class)
+    public ResponseEntity<HttpErrorResponse> handleConcurrentMove(@NotNull ConcurrentMoveException ex) {
+        return GlobalExceptionHandler.error(HttpStatus.CONFLICT, ex);
+    }
+
+    /**
+     * Handle {@link InvalidBatchSizeException} exceptions coming from downstream services when the number of
+     * moves of a request is out of range.
+     *
+     * @param ex instance that's been thrown by the services.
+     * @return instance of {@link HttpErrorResponse} wrapped by {@link ResponseEntity}.
+     */
+    @ExceptionHandler(InvalidBatchSizeException.class)
+    public ResponseEntity<HttpErrorResponse> handleInvalidBatchSize(@NotNull InvalidBatchSizeException ex) {
+        return GlobalExceptionHandler.error(HttpStatus.BAD_REQUEST, ex);
+    }
+}
@@ -1,21 +1,28 @@
 package com.backbase.kalah.configs;
 
+import com.backbase.kalah.records.GameStatus;
+import com.backbase.kalah.repos.GameStatusCodec;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.repository.configuration.EnableRedisRepositories;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
 /**
  * Stereo type {@link Configuration} class to setup and bind Redis related configurations in to the
- * {@link org.springframework.context.ApplicationContext}.
+ * {@link org.springframework.context.ApplicationContext}. Left out with the {@link LocalConfig#PROFILE} profile,
+ * which runs the service without Redis.
  *
  * @author Sachith Dickwella
  */
+@Profile("!" + LocalConfig.PROFILE)
 @EnableRedisRepositories
 @Configuration
 public class RedisConfig {
@@ -51,6 +58,9 @@ public class RedisConfig {
      * in Redis repositories. Disable the {@link RedisTemplate} transaction support explicitly to enable support
      * for Redis repository.
      *
+     * Default serializer is disabled as well, so that the raw {@code byte[]} keys and arguments pass through
+     * as they are when scripts are executed with this template.
+     *
      * @param redisConnectionFactory injects from the {@link org.springframework.context.ApplicationContext}
      *                               which bound by the bean creation of {@link #redisConnectionFactory()} as
      *                               primary connection factory.
@@ -61,7 +71,45 @@ public class RedisConfig {
         final var template = new RedisTemplate<byte[], byte[]>();
         template.setConnectionFactory(redisConnectionFactory);
         template.setEnableTransactionSupport(false);
+        template.setEnableDefaultSerializer(false);
+
+        return template;
+    }
+
+    /**
+     * Create a new {@link RedisTemplate} instance to keep each {@link GameStatus} as a single Redis string
+     * value in the compact binary format of {@link GameStatusCodec}, under a plain {@link String} key.
+     *
+     * @param redisConnectionFactory injects from the {@link org.springframework.context.ApplicationContext}
+     *                               which bound by the bean creation of {@link #redisConnectionFactory()} as
+     *                               primary connection factory.
+     * @return instance of {@link RedisTemplate} to work with binary game values.
+     */
+    @Bean
+    public RedisTemplate<String, GameStatus> gameStatusTemplate(RedisConnectionFactory redisConnectionFactory) {
+        final var template = new RedisTemplate<String, GameStatus>();
+        template.setConnectionFactory(redisConnectionFactory);
+        template.setEnableTransactionSupport(false);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(new GameStatusCodec());
 
         return template;
     }
-}
\ No newline at end of file
+
+    /**
+     * Create a new {@link RedisMessageListenerContainer} instance to receive the Redis pub/sub messages with.
+     * The container does not subscribe to anything until a listener is added.
+     *
+     * @param redisConnectionFactory injects from the {@link org.springframework.context.ApplicationContext}
+     *                               which bound by the bean creation of {@link #redisConnectionFactory()} as
+     *                               primary connection factory.
+     * @return instance of {@link RedisMessageListenerContainer}.
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory redisConnectionFactory) {
+        final var container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+
+        return container;
+    }
+}
@@ -1,15 +1,23 @@
 package com.backbase.kalah.endpoints;
 
+import com.backbase.kalah.configs.ReactiveConfig;
 import com.backbase.kalah.endpoints.util.ControllerUtils;
+import com.backbase.kalah.records.GameHint;
 import com.backbase.kalah.records.GameStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 /**
  * This class/controller contains both functions for the creation of the game and make
@@ -17,24 +25,41 @@ import javax.servlet.http.HttpServletRequest;
  *
  * @author Sachith Dickwella
  */
+@Profile("!" + ReactiveConfig.PROFILE)
 @RequestMapping("/games")
 @RestController
 public class PlayKalahController {
 
+    /**
+     * Media type of the newline delimited JSON responses.
+     */
+    static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    /**
+     * Path of the batch creation endpoint.
+     */
+    private static final String BATCH_PATH = "/batch";
+
     /**
      * {@link ControllerUtils} injectable instance.
      */
     private ControllerUtils utils;
+    /**
+     * {@link ObjectMapper} injectable instance to write the streamed responses with.
+     */
+    private ObjectMapper objectMapper;
 
     /**
      * Constructor to {@link Autowired} or inject to the instance variables.
      *
-     * @param utils instance of {@link ControllerUtils} inject from the
-     *              {@link org.springframework.context.ApplicationContext}
+     * @param utils        instance of {@link ControllerUtils} inject from the
+     *                     {@link org.springframework.context.ApplicationContext}
+     * @param objectMapper instance of {@link ObjectMapper} inject from the
+     *                     {@link org.springframework.context.ApplicationContext}
      */
     @Autowired
-    public PlayKalahController(ControllerUtils utils) {
+    public PlayKalahController(ControllerUtils utils, ObjectMapper objectMapper) {
         this.utils = utils;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -52,20 +77,105 @@ public class PlayKalahController {
                 .body(utils.createGame(new StringBuilder(request.getRequestURL())));
     }
 
+    /**
+     * The function for the http endpoint http://hostname:port/games/batch?count=N and use to create {@code N}
+     * new game instances at once. The games are persisted in pipelined batches and streamed back as they are
+     * persisted, one JSON {@link GameStatus} object per line.
+     *
+     * @param request instance of {@link HttpServletRequest} injects from request bean scope.
+     * @param count   {@code int} number of games to create.
+     * @return an instance of {@link ResponseEntity} wrapping a {@link StreamingResponseBody} of the games.
+     */
+    @PostMapping(path = BATCH_PATH, consumes = MediaType.APPLICATION_JSON_VALUE, produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> createBatch(@NotNull HttpServletRequest request,
+                                                             @RequestParam("count") int count) {
+        utils.checkBatchSize(count);
+
+        final var requestUrl = request.getRequestURL();
+        final var gamesUrl = requestUrl.substring(0, requestUrl.length() - BATCH_PATH.length());
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(outputStream -> {
+                    final var writer = objectMapper.writer();
+                    utils.createGames(gamesUrl, count, gameStatus -> {
+                        try {
+                            outputStream.write(writer.writeValueAsBytes(gameStatus));
+                            outputStream.write('\n');
+                        } catch (IOException ex) {
+                            throw new UncheckedIOException(ex);
+                        }
+                    });
+                });
+    }
+
     /**
      * The function for the endpoint http://hostname:port/games/{gameId}/pits/{pitId} to move the
      * seeds around the pits during the play. This uses that stateful {@link GameStatus} instance
      * update player and game statuses.
      *
-     * @param gameId {@code long} game id from the path variable.
-     * @param pitId  {@code int} pit id from the path variable.
+     * With {@code computer=true}, the computer plays the other side and answers the move with its own moves
+     * before the response.
+     *
+     * @param gameId   {@code long} game id from the path variable.
+     * @param pitId    {@code int} pit id from the path variable.
+     * @param computer {@code boolean} whether to play against the computer, from the request parameter.
      * @return an instance of {@link ResponseEntity} wrapping a {@link GameStatus} object.
      */
     @PutMapping(path = "/{gameId}/pits/{pitId}", consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<GameStatus> move(@PathVariable("gameId") long gameId,
-                                           @PathVariable("pitId") int pitId) {
-        return utils.moveAndSave(gameId, pitId)
+                                           @PathVariable("pitId") int pitId,
+                                           @RequestParam(value = "computer", defaultValue = "false")
+                                                   boolean computer) {
+        return (computer ? utils.moveAndReply(gameId, pitId) : utils.moveAndSave(gameId, pitId))
+                .map(ResponseEntity::ok)
+                .orElseGet(ResponseEntity.notFound()::build);
+    }
+
+    /**
+     * The function for the endpoint http://hostname:port/games/{gameId}/moves to make many moves on the game
+     * with a single request, such as a whole bot-vs-bot game or a replay. The request body is the JSON array of
+     * the pit ids in the order of the moves, and the game is persisted once after all the moves are made.
+     *
+     * @param gameId {@code long} game id from the path variable.
+     * @param pitIds {@code int[]} pit ids from the request body.
+     * @return an instance of {@link ResponseEntity} wrapping a {@link GameStatus} object.
+     */
+    @PutMapping(path = "/{gameId}/moves", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<GameStatus> moves(@PathVariable("gameId") long gameId,
+                                            @RequestBody int[] pitIds) {
+        return utils.movesAndSave(gameId, pitIds)
+                .map(ResponseEntity::ok)
+                .orElseGet(ResponseEntity.notFound()::build);
+    }
+
+    /**
+     * The function for the endpoint http://hostname:port/games/{gameId}/hint to suggest the best move to the
+     * active player of the game. The game is searched as it is persisted, and is left unchanged.
+     *
+     * @param gameId {@code long} game id from the path variable.
+     * @return an instance of {@link ResponseEntity} wrapping a {@link GameHint} object.
+     */
+    @GetMapping(path = "/{gameId}/hint", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<GameHint> hint(@PathVariable("gameId") long gameId) {
+        return utils.hint(gameId)
+                .map(ResponseEntity::ok)
+                .orElseGet(ResponseEntity.notFound()::build);
+    }
+
+    /**
+     * The function for the endpoint http://hostname:port/games/{gameId}/stream to follow the game as Server-Sent
+     * Events, instead of polling it. The game is sent as it is persisted and then after each move, made by
+     * either of the players on any of the service nodes, until the game is over.
+     *
+     * @param gameId {@code long} game id from the path variable.
+     * @return an instance of {@link ResponseEntity} wrapping a {@link SseEmitter} object.
+     */
+    @GetMapping(path = "/{gameId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(@PathVariable("gameId") long gameId) {
+        return utils.stream(gameId)
                 .map(ResponseEntity::ok)
                 .orElseGet(ResponseEntity.notFound()::build);
     }
@@ -0,0 +1,122 @@
+package com.backbase.kalah.endpoints;
+
+import com.backbase.kalah.configs.ReactiveConfig;
+import com.backbase.kalah.endpoints.util.ReactiveControllerUtils;
+import com.backbase.kalah.records.GameHint;
+import com.backbase.kalah.records.GameStatus;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive variant of the {@link PlayKalahController} on WebFlux, selected with the {@link ReactiveConfig#PROFILE}
+ * Spring profile. Serves the same endpoints with the same requests and responses, but for the batch creation of
+ * the games and the games against the computer, which are only served by the blocking variant.
+ *
+ * @author Sachith Dickwella
+ */
+@Profile(ReactiveConfig.PROFILE)
+@RequestMapping("/games")
+@RestController
+public class ReactivePlayKalahController {
+
+    /**
+     * {@link ReactiveControllerUtils} injectable instance.
+     */
+    private final ReactiveControllerUtils utils;
+
+    /**
+     * Constructor to {@link Autowired} or inject to the instance variables.
+     *
+     * @param utils instance of {@link ReactiveControllerUtils} inject from the
+     *              {@link org.springframework.context.ApplicationContext}
+     */
+    @Autowired
+    public ReactivePlayKalahController(ReactiveControllerUtils utils) {
+        this.utils = utils;
+    }
+
+    /**
+     * The function for the http endpoint http://hostname:port/games to create a new game instance, see
+     * {@link PlayKalahController#create(javax.servlet.http.HttpServletRequest)}.
+     *
+     * @param request instance of {@link ServerHttpRequest} of the request.
+     * @return {@link Mono} of the {@link ResponseEntity} wrapping a {@link GameStatus} object.
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<GameStatus>> create(@NotNull ServerHttpRequest request) {
+        final var uri = request.getURI();
+        return utils.createGame(uri.getScheme() + "://" + uri.getRawAuthority() + uri.getRawPath())
+                .map(ResponseEntity.status(HttpStatus.CREATED)::body);
+    }
+
+    /**
+     * The function for the endpoint http://hostname:port/games/{gameId}/pits/{pitId} to move the seeds around
+     * the pits, see {@link PlayKalahController#move(long, int, boolean)}.
+     *
+     * @param gameId {@code long} game id from the path variable.
+     * @param pitId  {@code int} pit id from the path variable.
+     * @return {@link Mono} of the {@link ResponseEntity} wrapping a {@link GameStatus} object.
+     */
+    @PutMapping(path = "/{gameId}/pits/{pitId}", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<GameStatus>> move(@PathVariable("gameId") long gameId,
+                                                 @PathVariable("pitId") int pitId) {
+        return utils.moveAndSave(gameId, pitId)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * The function for the endpoint http://hostname:port/games/{gameId}/moves to make many moves on the game
+     * with a single request, see {@link PlayKalahController#moves(long, int[])}.
+     *
+     * @param gameId {@code long} game id from the path variable.
+     * @param pitIds {@code int[]} pit ids from the request body.
+     * @return {@link Mono} of the {@link ResponseEntity} wrapping a {@link GameStatus} object.
+     */
+    @PutMapping(path = "/{gameId}/moves", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<GameStatus>> moves(@PathVariable("gameId") long gameId,
+                                                  @RequestBody int[] pitIds) {
+        return utils.movesAndSave(gameId, pitIds)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * The function for the endpoint http://hostname:port/games/{gameId}/hint to suggest the best move to the
+     * active player of the game, see {@link PlayKalahController#hint(long)}.
+     *
+     * @param gameId {@code long} game id from the path variable.
+     * @return {@link Mono} of the {@link ResponseEntity} wrapping a {@link GameHint} object.
+     */
+    @GetMapping(path = "/{gameId}/hint", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<GameHint>> hint(@PathVariable("gameId") long gameId) {
+        return utils.hint(gameId)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * The function for the endpoint http://hostname:port/games/{gameId}/stream to follow the game as Server-Sent
+     * Events, see {@link PlayKalahController#stream(long)}.
+     *
+     * @param gameId {@code long} game id from the path variable.
+     * @return {@link Mono} of the {@link ResponseEntity} wrapping the {@link Flux} of the events.
+     */
+    @GetMapping(path = "/{gameId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Mono<ResponseEntity<Flux<ServerSentEvent<GameStatus>>>> stream(@PathVariable("gameId") long gameId) {
+        return utils.stream(gameId)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
@@ -1,14 +1,39 @@
 package com.backbase.kalah.endpoints.util;
 
+import com.backbase.kalah.ComputerPlayer;
+import com.backbase.kalah.GameMetrics;
+import com.backbase.kalah.MoveAdvisor;
 import com.backbase.kalah.PlayKalah;
+import com.backbase.kalah.records.GameHint;
 import com.backbase.kalah.records.GameStatus;
-import com.backbase.kalah.repos.GameStatusRepo;
+import com.backbase.kalah.repos.FinishedGames;
+import com.backbase.kalah.repos.GameStore;
+import com.backbase.kalah.repos.GameUpdates;
+import com.backbase.kalah.util.GameOverException;
 import com.backbase.kalah.util.IdGenerator;
+import com.backbase.kalah.util.InvalidBatchSizeException;
+import com.backbase.kalah.util.InvalidPitUserException;
+import com.backbase.kalah.util.ServiceConstance;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static com.backbase.kalah.util.ServiceConstance.BATCH_CHUNK_SIZE;
+import static com.backbase.kalah.util.ServiceConstance.MAX_BATCH_SIZE;
+import static com.backbase.kalah.util.ServiceConstance.MAX_MOVES_PER_REQUEST;
+import static com.backbase.kalah.util.ServiceConstance.Player;
+import static com.backbase.kalah.util.ServiceConstance.STORE_INDEX;
+import static com.backbase.kalah.util.ServiceConstance.STREAM_TIMEOUT;
 
 /**
  * Class is bound to serve the {@link com.backbase.kalah.endpoints.PlayKalahController} class
@@ -21,26 +46,70 @@ import java.util.Optional;
 public class ControllerUtils {
 
     /**
-     * {@link GameStatusRepo} injectable instance.
+     * {@link GameStore} injectable instance.
      */
-    private GameStatusRepo repo;
+    private GameStore store;
     /**
      * {@link PlayKalah} injectable instance.
      */
     private PlayKalah playKalah;
+    /**
+     * {@link IdGenerator} injectable instance.
+     */
+    private IdGenerator idGenerator;
+    /**
+     * {@link FinishedGames} injectable instance.
+     */
+    private FinishedGames finishedGames;
+    /**
+     * {@link ComputerPlayer} injectable instance.
+     */
+    private ComputerPlayer computerPlayer;
+    /**
+     * {@link MoveAdvisor} injectable instance.
+     */
+    private MoveAdvisor moveAdvisor;
+    /**
+     * {@link GameMetrics} injectable instance.
+     */
+    private GameMetrics metrics;
+    /**
+     * {@link GameUpdates} injectable instance, if the streams of the game updates are enabled.
+     */
+    private Optional<GameUpdates> updates;
 
     /**
      * Constructor to {@link Autowired} or inject to the instance variables.
      *
-     * @param repo      instance of {@link GameStatusRepo} inject from the
-     *                  {@link org.springframework.context.ApplicationContext}
-     * @param playKalah instance of {@link PlayKalah} inject from the
-     *                  {@link org.springframework.context.ApplicationContext}
+     * @param store          instance of {@link GameStore} inject from the
+     *                       {@link org.springframework.context.ApplicationContext}
+     * @param playKalah      instance of {@link PlayKalah} inject from the
+     *                       {@link org.springframework.context.ApplicationContext}
+     * @param idGenerator    instance of {@link IdGenerator} inject from the
+     *                       {@link org.springframework.context.ApplicationContext}
+     * @param finishedGames  instance of {@link FinishedGames} inject from the
+     *                       {@link org.springframework.context.ApplicationContext}
+     * @param computerPlayer instance of {@link ComputerPlayer} inject from the
+     *                       {@link org.springframework.context.ApplicationContext}
+     * @param moveAdvisor    instance of {@link MoveAdvisor} inject from the
+     *                       {@link org.springframework.context.ApplicationContext}
+     * @param metrics        instance of {@link GameMetrics} inject from the
+     *                       {@link org.springframework.context.ApplicationContext}
+     * @param updates        instance of {@link GameUpdates} inject from the
+     *                       {@link org.springframework.context.ApplicationContext}, if enabled.
      */
     @Autowired
-    public ControllerUtils(GameStatusRepo repo, PlayKalah playKalah) {
-        this.repo = repo;
+    public ControllerUtils(GameStore store, PlayKalah playKalah, IdGenerator idGenerator,
+                           FinishedGames finishedGames, ComputerPlayer computerPlayer, MoveAdvisor moveAdvisor,
+                           GameMetrics metrics, Optional<GameUpdates> updates) {
+        this.store = store;
         this.playKalah = playKalah;
+        this.idGenerator = idGenerator;
+        this.finishedGames = finishedGames;
+        this.computerPlayer = computerPlayer;
+        this.moveAdvisor = moveAdvisor;
+        this.metrics = metrics;
+        this.updates = updates;
     }
 
     /**
@@ -53,13 +122,63 @@ public class ControllerUtils {
      */
     @NotNull
     public GameStatus createGame(@NotNull StringBuilder requestUrl) {
-        final long randomId = uniqueId(IdGenerator.getRandomId());
+        final long gameId = idGenerator.nextId();
         var builder = GameStatus.builder()
-                .id(randomId)
-                .url(requestUrl.append(String.format("/%d", randomId)).toString());
+                .id(gameId)
+                .url(requestUrl.append('/').append(gameId).toString());
 
-        repo.save(builder.board().build());
-        return builder.build();
+        return metrics.create(() -> {
+            store.create(builder.board().build());
+            return builder.build();
+        });
+    }
+
+    /**
+     * Check the number of games requested by a batch request is within 1 and {@link ServiceConstance#MAX_BATCH_SIZE}.
+     *
+     * @param count {@code int} number of games requested.
+     * @throws InvalidBatchSizeException if the {@code count} is out of range.
+     */
+    public void checkBatchSize(final int count) {
+        if (count < 1 || count > MAX_BATCH_SIZE) {
+            throw new InvalidBatchSizeException("Number of games %d is not between 1 and %d", count, MAX_BATCH_SIZE);
+        }
+    }
+
+    /**
+     * Create and persist {@code count} new Kalah game instances, {@link ServiceConstance#BATCH_CHUNK_SIZE} games
+     * per pipelined Redis batch, and hand over each game to the {@code consumer} once its batch is persisted.
+     * Like {@link #createGame(StringBuilder)}, the games handed over have no {@link GameStatus.Builder#board()}.
+     *
+     * @param gamesUrl {@link String} url of the games resource to append the game ids with.
+     * @param count    {@code int} number of games to create.
+     * @param consumer {@link Consumer} of the created games.
+     * @throws InvalidBatchSizeException if the {@code count} is out of range.
+     */
+    public void createGames(@NotNull String gamesUrl, final int count, @NotNull Consumer<GameStatus> consumer) {
+        checkBatchSize(count);
+
+        final var url = new StringBuilder(gamesUrl).append('/');
+        final int urlLength = url.length();
+        for (int created = 0; created < count; created += BATCH_CHUNK_SIZE) {
+            final int size = Math.min(BATCH_CHUNK_SIZE, count - created);
+            final var games = new ArrayList<GameStatus>(size);
+            final var descriptors = new ArrayList<GameStatus>(size);
+
+            for (int i = 0; i < size; i++) {
+                final long gameId = idGenerator.nextId();
+                url.setLength(urlLength);
+                final var builder = GameStatus.builder()
+                        .id(gameId)
+                        .url(url.append(gameId).toString());
+                games.add(builder.board().build());
+                descriptors.add(builder.build());
+            }
+
+            store.createAll(games);
+            games.forEach(metrics::played);
+            descriptors.forEach(consumer);
+        }
     }
 
     /**
@@ -67,30 +186,222 @@ public class ControllerUtils {
      * {@link Optional} instance due to the uncertainty of availability of the previously created game with the
      * given {@code gameId} parameter.
      *
+     * How the move is made and persisted atomically depends on the {@link GameStore} implementation. Moves on
+     * the games known to be over are rejected by the {@link FinishedGames} without reaching the store. Each move,
+     * rejected or not, is timed by the {@link GameMetrics}.
+     *
      * @param gameId {@code long} game id.
      * @param pitId  {@code int} pit id.
      * @return an {@link GameStatus} instance wrapped with {@link Optional} class.
+     * @throws GameOverException if the game is already over.
      */
     @NotNull
     public Optional<GameStatus> moveAndSave(final long gameId, final int pitId) {
-        return repo.findById(gameId)
-                .map(gs -> {
-                    playKalah.makeMove(gs, pitId);
-                    return Optional.of(repo.save(gs));
-                }).orElseGet(Optional::empty);
+        return metrics.move(() -> {
+            finishedGames.check(gameId);
+            try {
+                return store.move(gameId, pitId).map(this::saved);
+            } catch (GameOverException ex) {
+                throw finishedGames.register(ex);
+            }
+        });
+    }
+
+    /**
+     * Make the player's move on the game, as {@link #moveAndSave(long, int)} does, and answer with the computer's
+     * moves once the turn passes to the computer, which plays the other side. The player's move is made on the
+     * game as read, the computer's moves are searched from there in memory, and all of them are persisted with
+     * a single {@link GameStore#moveAll(long, int[])}, so the player's move is never saved without the reply.
+     *
+     * If another move is saved in between and the reply is no longer allowed, the player's move is saved on its
+     * own, as {@link #moveAndSave(long, int)} would, and the computer replies to the next move instead.
+     *
+     * @param gameId {@code long} game id.
+     * @param pitId  {@code int} pit id of the player's move.
+     * @return an {@link GameStatus} instance wrapped with {@link Optional} class, after the computer's moves.
+     * @throws GameOverException if the game is already over.
+     */
+    @NotNull
+    public Optional<GameStatus> moveAndReply(final long gameId, final int pitId) {
+        final var computer = pitId < STORE_INDEX ? Player.PLAYER_2 : Player.PLAYER_1;
+        return metrics.move(() -> {
+            finishedGames.check(gameId);
+            try {
+                return reply(gameId, pitId, computer).map(this::saved);
+            } catch (GameOverException ex) {
+                throw finishedGames.register(ex);
+            }
+        });
     }
 
     /**
-     * Select random {@link Long} integer value with checking the availability of the value
-     * from the persistence store.
+     * Make the player's move on a copy of the game and persist it along with the computer's reply, if the turn
+     * passes to the computer. Fall back to the player's move alone if the reply is rejected by the store.
      *
-     * This function works recursively to find out a not-used unique value.
+     * @param gameId   {@code long} game id.
+     * @param pitId    {@code int} pit id of the player's move.
+     * @param computer {@link Player} played by the computer.
+     * @return an {@link GameStatus} instance wrapped with {@link Optional} class, as persisted.
+     */
+    @NotNull
+    private Optional<GameStatus> reply(final long gameId, final int pitId, @NotNull Player computer) {
+        final var found = store.find(gameId);
+        if (found.isEmpty()) return Optional.empty();
+
+        final var gameStatus = found.get();
+        playKalah.makeMove(gameStatus, pitId);
+        if (gameStatus.getState().finished() || gameStatus.player() != computer) {
+            return store.move(gameId, pitId);
+        }
+
+        final int[] reply = computerPlayer.reply(gameStatus);
+        final var pitIds = new int[reply.length + 1];
+        pitIds[0] = pitId;
+        System.arraycopy(reply, 0, pitIds, 1, reply.length);
+        try {
+            return store.moveAll(gameId, pitIds);
+        } catch (InvalidPitUserException ex) {
+            // The game is rejected as a whole, or the player's move is rejected as such, otherwise another move
+            // has been saved in between.
+            if (ex.getMoveIndex() == null) throw ex;
+            if (ex.getMoveIndex() == 0) throw (InvalidPitUserException) ex.getCause();
+            return store.move(gameId, pitId);
+        }
+    }
+
+    /**
+     * Suggest the best move to the active player of the game, searched from the game as it is persisted.
+     * Nothing is persisted.
+     *
+     * @param gameId {@code long} game id.
+     * @return an {@link GameHint} instance wrapped with {@link Optional} class.
+     * @throws GameOverException if the game is already over.
+     */
+    @NotNull
+    public Optional<GameHint> hint(final long gameId) {
+        finishedGames.check(gameId);
+        try {
+            return store.find(gameId).map(ControllerUtils::withUrl).map(moveAdvisor::hint);
+        } catch (GameOverException ex) {
+            throw finishedGames.register(ex);
+        }
+    }
+
+    /**
+     * Make the moves on the game one after the other in memory and persist the latest status of the game once,
+     * after all of them are made. Nothing is persisted if any of the moves is not allowed, and the thrown
+     * {@link com.backbase.kalah.util.InvalidPitUserException} carries the index of the first move not allowed.
+     *
+     * @param gameId {@code long} game id.
+     * @param pitIds {@code int[]} pit ids in the order of the moves.
+     * @return an {@link GameStatus} instance wrapped with {@link Optional} class.
+     * @throws InvalidBatchSizeException if the number of moves is not between 1 and
+     *                                   {@link ServiceConstance#MAX_MOVES_PER_REQUEST}.
+     * @throws GameOverException         if the game is already over.
+     */
+    @NotNull
+    public Optional<GameStatus> movesAndSave(final long gameId, @NotNull int[] pitIds) {
+        if (pitIds.length < 1 || pitIds.length > MAX_MOVES_PER_REQUEST) {
+            throw new InvalidBatchSizeException("Number of moves %d is not between 1 and %d", pitIds.length,
+                    MAX_MOVES_PER_REQUEST);
+        }
+
+        return metrics.countRejection(() -> {
+            finishedGames.check(gameId);
+            try {
+                return store.moveAll(gameId, pitIds).map(this::saved);
+            } catch (GameOverException ex) {
+                throw finishedGames.register(ex);
+            }
+        });
+    }
+
+    /**
+     * Stream the game to the client as Server-Sent Events, starting with the game as it is persisted and then
+     * each time it is saved again, on any of the service nodes, until the game is over or the stream times out
+     * after {@link ServiceConstance#STREAM_TIMEOUT} seconds. Each event carries the game in JSON format, and the
+     * version of the game as the event id.
+     *
+     * The client is subscribed to the updates before the game is read, so no move is missed in between.
+     *
+     * @param gameId {@code long} game id.
+     * @return an {@link SseEmitter} instance wrapped with {@link Optional} class, empty if the game does not exist
+     * or the streams are disabled.
+     * @throws GameOverException if the game is already over.
+     */
+    @NotNull
+    public Optional<SseEmitter> stream(final long gameId) {
+        if (updates.isEmpty()) return Optional.empty();
+        finishedGames.check(gameId);
+
+        final var emitter = new SseEmitter(TimeUnit.SECONDS.toMillis(STREAM_TIMEOUT));
+        final var subscription = updates.get().subscribe(gameId, gameStatus -> send(emitter, gameStatus));
+        emitter.onCompletion(subscription::close);
+
+        final Optional<GameStatus> gameStatus;
+        try {
+            gameStatus = store.find(gameId);
+        } catch (GameOverException ex) {
+            subscription.close();
+            throw finishedGames.register(ex);
+        }
+        if (gameStatus.isEmpty()) {
+            subscription.close();
+            return Optional.empty();
+        }
+
+        subscription.accept(withUrl(gameStatus.get()));
+        return Optional.of(emitter);
+    }
+
+    /**
+     * Register the saved game with the {@link FinishedGames} and the {@link GameMetrics}, and publish it to the
+     * streams of the game, with its url.
+     *
+     * @param gameStatus instance of {@link GameStatus} as saved.
+     * @return the same {@link GameStatus} instance.
+     */
+    @NotNull
+    private GameStatus saved(@NotNull GameStatus gameStatus) {
+        withUrl(gameStatus);
+        metrics.played(finishedGames.register(gameStatus));
+        updates.ifPresent(gameUpdates -> gameUpdates.publish(gameStatus));
+        return gameStatus;
+    }
+
+    /**
+     * Give the game persisted without its url, by the {@link com.backbase.kalah.repos.MappedGameStore}, the url
+     * built from the request it is answered to, rather than keep the urls the clients come up with.
+     *
+     * @param gameStatus instance of {@link GameStatus} as persisted.
+     * @return the same {@link GameStatus} instance.
+     */
+    @NotNull
+    private static GameStatus withUrl(@NotNull GameStatus gameStatus) {
+        if (gameStatus.getURL() == null && RequestContextHolder.getRequestAttributes() != null) {
+            gameStatus.url(ServletUriComponentsBuilder.fromCurrentContextPath()
+                    .path("/games/{gameId}")
+                    .buildAndExpand(gameStatus.getId())
+                    .toUriString());
+        }
+        return gameStatus;
+    }
+
+    /**
+     * Send the game to the stream, and complete the stream once the game is over.
      *
-     * @return unique random {@link Long} value.
+     * @param emitter    {@link SseEmitter} of the stream.
+     * @param gameStatus instance of {@link GameStatus} to send.
      */
-    private long uniqueId(final long randomId) {
-        return repo.findById(randomId)
-                .map(m -> uniqueId(IdGenerator.getRandomId()))
-                .orElse(randomId);
+    private static void send(@NotNull SseEmitter emitter, @NotNull GameStatus gameStatus) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(gameStatus.getVersion()))
+                    .name("game")
+                    .data(gameStatus, MediaType.APPLICATION_JSON));
+            if (gameStatus.getState().finished()) emitter.complete();
+        } catch (IOException | IllegalStateException ex) {
+            // The client has gone or the stream is already complete, the subscription closes along with it.
+        }
     }
 }
@@ -0,0 +1,231 @@
+package com.backbase.kalah.endpoints.util;
+
+import com.backbase.kalah.GameMetrics;
+import com.backbase.kalah.MoveAdvisor;
+import com.backbase.kalah.configs.ReactiveConfig;
+import com.backbase.kalah.records.GameHint;
+import com.backbase.kalah.records.GameStatus;
+import com.backbase.kalah.repos.FinishedGames;
+import com.backbase.kalah.repos.GameUpdates;
+import com.backbase.kalah.repos.ReactiveGameStore;
+import com.backbase.kalah.util.GameOverException;
+import com.backbase.kalah.util.IdGenerator;
+import com.backbase.kalah.util.InvalidBatchSizeException;
+import com.backbase.kalah.util.ServiceConstance;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.UnicastProcessor;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static com.backbase.kalah.util.ServiceConstance.MAX_MOVES_PER_REQUEST;
+import static com.backbase.kalah.util.ServiceConstance.STREAM_TIMEOUT;
+
+/**
+ * Reactive counterpart of the {@link ControllerUtils}, which serves the
+ * {@link com.backbase.kalah.endpoints.ReactivePlayKalahController} with the same functions, on the
+ * {@link ReactiveGameStore}. The games known to be over are rejected by the {@link FinishedGames} and the moves
+ * are recorded by the {@link GameMetrics}, the same way the {@link ControllerUtils} does.
+ *
+ * Nothing here blocks but the {@link IdGenerator}, once every {@code kalah.id.block-size} games when it leases
+ * the next block of ids, and the {@link MoveAdvisor}, which searches for the whole time budget of the hint and
+ * therefore runs on the {@link Schedulers#boundedElastic()} threads rather than on the event loop.
+ *
+ * @author Sachith Dickwella
+ */
+@Profile(ReactiveConfig.PROFILE)
+@Component
+public class ReactiveControllerUtils {
+
+    /**
+     * {@link ReactiveGameStore} injectable instance.
+     */
+    private final ReactiveGameStore store;
+    /**
+     * {@link IdGenerator} injectable instance.
+     */
+    private final IdGenerator idGenerator;
+    /**
+     * {@link FinishedGames} injectable instance.
+     */
+    private final FinishedGames finishedGames;
+    /**
+     * {@link MoveAdvisor} injectable instance.
+     */
+    private final MoveAdvisor moveAdvisor;
+    /**
+     * {@link GameMetrics} injectable instance.
+     */
+    private final GameMetrics metrics;
+    /**
+     * {@link GameUpdates} injectable instance, if the streams of the game updates are enabled.
+     */
+    private final Optional<GameUpdates> updates;
+
+    /**
+     * Constructor to {@link Autowired} or inject to the instance variables.
+     *
+     * @param store         instance of {@link ReactiveGameStore} inject from the
+     *                      {@link org.springframework.context.ApplicationContext}
+     * @param idGenerator   instance of {@link IdGenerator} inject from the
+     *                      {@link org.springframework.context.ApplicationContext}
+     * @param finishedGames instance of {@link FinishedGames} inject from the
+     *                      {@link org.springframework.context.ApplicationContext}
+     * @param moveAdvisor   instance of {@link MoveAdvisor} inject from the
+     *                      {@link org.springframework.context.ApplicationContext}
+     * @param metrics       instance of {@link GameMetrics} inject from the
+     *                      {@link org.springframework.context.ApplicationContext}
+     * @param updates       instance of {@link GameUpdates} inject from the
+     *                      {@link org.springframework.context.ApplicationContext}, if enabled.
+     */
+    @Autowired
+    public ReactiveControllerUtils(ReactiveGameStore store, IdGenerator idGenerator, FinishedGames finishedGames,
+                                   MoveAdvisor moveAdvisor, GameMetrics metrics, Optional<GameUpdates> updates) {
+        this.store = store;
+        this.idGenerator = idGenerator;
+        this.finishedGames = finishedGames;
+        this.moveAdvisor = moveAdvisor;
+        this.metrics = metrics;
+        this.updates = updates;
+    }
+
+    /**
+     * Create and persist a new Kalah game instance, as {@link ControllerUtils#createGame(StringBuilder)} does.
+     *
+     * @param gamesUrl {@link String} url of the games resource to append the game id with.
+     * @return {@link Mono} of the plain {@link GameStatus} instance without the {@link GameStatus.Builder#board()}.
+     */
+    @NotNull
+    public Mono<GameStatus> createGame(@NotNull String gamesUrl) {
+        return metrics.create(Mono.defer(() -> {
+            final long gameId = idGenerator.nextId();
+            final var builder = GameStatus.builder()
+                    .id(gameId)
+                    .url(gamesUrl + '/' + gameId);
+            return store.create(builder.board().build()).then(Mono.fromSupplier(builder::build));
+        }));
+    }
+
+    /**
+     * Make a move on the game and persist the latest status of the game, as
+     * {@link ControllerUtils#moveAndSave(long, int)} does.
+     *
+     * @param gameId {@code long} game id.
+     * @param pitId  {@code int} pit id.
+     * @return {@link Mono} of the saved {@link GameStatus}, empty if the game does not exist.
+     */
+    @NotNull
+    public Mono<GameStatus> moveAndSave(final long gameId, final int pitId) {
+        return metrics.move(Mono.defer(() -> {
+            finishedGames.check(gameId);
+            return register(store.move(gameId, pitId));
+        }));
+    }
+
+    /**
+     * Make the moves on the game one after the other and persist the latest status of the game once, as
+     * {@link ControllerUtils#movesAndSave(long, int[])} does.
+     *
+     * @param gameId {@code long} game id.
+     * @param pitIds {@code int[]} pit ids in the order of the moves.
+     * @return {@link Mono} of the saved {@link GameStatus}, empty if the game does not exist.
+     * @throws InvalidBatchSizeException if the number of moves is not between 1 and
+     *                                   {@link ServiceConstance#MAX_MOVES_PER_REQUEST}.
+     */
+    @NotNull
+    public Mono<GameStatus> movesAndSave(final long gameId, @NotNull int[] pitIds) {
+        if (pitIds.length < 1 || pitIds.length > MAX_MOVES_PER_REQUEST) {
+            throw new InvalidBatchSizeException("Number of moves %d is not between 1 and %d", pitIds.length,
+                    MAX_MOVES_PER_REQUEST);
+        }
+
+        return metrics.countRejection(Mono.defer(() -> {
+            finishedGames.check(gameId);
+            return register(store.moveAll(gameId, pitIds));
+        }));
+    }
+
+    /**
+     * Suggest the best move to the active player of the game, as {@link ControllerUtils#hint(long)} does.
+     *
+     * @param gameId {@code long} game id.
+     * @return {@link Mono} of the {@link GameHint}, empty if the game does not exist.
+     */
+    @NotNull
+    public Mono<GameHint> hint(final long gameId) {
+        return Mono.defer(() -> {
+            finishedGames.check(gameId);
+            return store.find(gameId);
+        })
+                .publishOn(Schedulers.boundedElastic())
+                .map(moveAdvisor::hint)
+                .doOnError(GameOverException.class, finishedGames::register);
+    }
+
+    /**
+     * Stream the game as Server-Sent Events, as {@link ControllerUtils#stream(long)} does.
+     *
+     * @param gameId {@code long} game id.
+     * @return {@link Mono} of the {@link Flux} of the events, empty if the game does not exist or the streams are
+     * disabled.
+     */
+    @NotNull
+    public Mono<Flux<ServerSentEvent<GameStatus>>> stream(final long gameId) {
+        if (updates.isEmpty()) return Mono.empty();
+
+        return Mono.defer(() -> {
+            finishedGames.check(gameId);
+
+            // Holds the games saved until the response subscribes to the stream, then hands them straight over.
+            final var games = UnicastProcessor.<GameStatus>create();
+            final var subscription = updates.get().subscribe(gameId, gameStatus -> {
+                games.onNext(gameStatus);
+                if (gameStatus.getState().finished()) games.onComplete();
+            });
+
+            return store.find(gameId)
+                    .doOnNext(subscription::accept)
+                    .map(gameStatus -> games.take(Duration.ofSeconds(STREAM_TIMEOUT))
+                            .map(ReactiveControllerUtils::event)
+                            .doFinally(signal -> subscription.close()))
+                    .switchIfEmpty(Mono.fromRunnable(subscription::close))
+                    .doOnError(ex -> subscription.close());
+        }).doOnError(GameOverException.class, finishedGames::register);
+    }
+
+    /**
+     * Register the games finished by the moves, or rejected as finished, with the {@link FinishedGames} and the
+     * {@link GameMetrics}, and publish the saved games to the streams of the games.
+     *
+     * @param moves {@link Mono} of the saved {@link GameStatus}.
+     * @return the registering {@link Mono}.
+     */
+    @NotNull
+    private Mono<GameStatus> register(@NotNull Mono<GameStatus> moves) {
+        final var registered = moves.map(finishedGames::register)
+                .map(metrics::played)
+                .doOnError(GameOverException.class, finishedGames::register);
+        return updates.isPresent() ? registered.flatMap(store::publish) : registered;
+    }
+
+    /**
+     * Build the event of the game, with the version of the game as the event id.
+     *
+     * @param gameStatus instance of {@link GameStatus} to send.
+     * @return {@link ServerSentEvent} of the game.
+     */
+    @NotNull
+    private static ServerSentEvent<GameStatus> event(@NotNull GameStatus gameStatus) {
+        return ServerSentEvent.builder(gameStatus)
+                .id(String.valueOf(gameStatus.getVersion()))
+                .event("game")
+                .build();
+    }
+}
@@ -0,0 +1,169 @@
+package com.backbase.kalah.engine;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+import static com.backbase.kalah.util.ServiceConstance.Player;
+import static com.backbase.kalah.util.ServiceConstance.Player.PLAYER_1;
+import static com.backbase.kalah.util.ServiceConstance.Player.PLAYER_2;
+import static com.backbase.kalah.util.ServiceConstance.STORE_INDEX;
+
+/**
+ * Perfect play results of the endgame positions, the boards with at most {@link #maxSeeds()} seeds left in the
+ * pits, read from the file written by the {@link EndgameGenerator}. The file is memory mapped, so loading it
+ * copies nothing onto the heap, and the operating system pages in the parts looked up. A lookup is a rank of
+ * the {@link EndgameIndex} and a single byte read.
+ *
+ * The file starts with a header of 4 {@code int}s: {@link #MAGIC}, {@link #VERSION}, the maximum number of
+ * seeds and the number of values. A signed byte value follows for each position and player to move, at
+ * {@code 2 * rank + player - 1}.
+ *
+ * Instances are thread safe, as the mapped buffer is only read with absolute reads.
+ *
+ * @author Sachith Dickwella
+ */
+public final class EndgameDatabase {
+
+    /**
+     * First {@code int} of the file, "KALE".
+     */
+    static final int MAGIC = 0x4B414C45;
+    /**
+     * Version of the file layout.
+     */
+    static final int VERSION = 1;
+    /**
+     * Size of the header in bytes.
+     */
+    static final int HEADER_SIZE = 4 * Integer.BYTES;
+
+    /**
+     * {@link EndgameIndex} of the positions.
+     */
+    private final EndgameIndex index;
+    /**
+     * Mapped file.
+     */
+    private final MappedByteBuffer buffer;
+
+    /**
+     * Constructor to initialize the instance variables.
+     *
+     * @param index  {@link EndgameIndex} of the positions.
+     * @param buffer {@link MappedByteBuffer} of the file.
+     */
+    private EndgameDatabase(@NotNull EndgameIndex index, @NotNull MappedByteBuffer buffer) {
+        this.index = index;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Map the file written by the {@link EndgameGenerator} into memory.
+     *
+     * @param file {@link Path} of the file.
+     * @return new instance of {@link EndgameDatabase}.
+     * @throws IOException if the file cannot be read or is not an endgame file of this version.
+     */
+    @NotNull
+    public static EndgameDatabase load(@NotNull Path file) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException(file + " is not an endgame file");
+            }
+
+            final var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException(file + " is not an endgame file of version " + VERSION);
+            }
+
+            final int maxSeeds = buffer.getInt(8);
+            if (maxSeeds < 0 || maxSeeds > EndgameGenerator.MAX_SEEDS) {
+                throw new IOException(String.format("%s holds %d seeds, which is out of range", file, maxSeeds));
+            }
+            final var index = new EndgameIndex(maxSeeds);
+            if (buffer.getInt(12) != 2 * index.size() || size != HEADER_SIZE + 2L * index.size()) {
+                throw new IOException(file + " is truncated");
+            }
+            return new EndgameDatabase(index, buffer);
+        }
+    }
+
+    /**
+     * Get the maximum number of seeds left in the pits of the positions held.
+     *
+     * @return {@code int} number of the seeds.
+     */
+    public int maxSeeds() {
+        return index.maxSeeds();
+    }
+
+    /**
+     * Check whether the position of the board is held, i.e. at most {@link #maxSeeds()} seeds are left in the
+     * pits, whatever the stores hold.
+     *
+     * @param board the {@link KalahBoard} to check.
+     * @return {@code true} if the position is held.
+     */
+    public boolean covers(@NotNull KalahBoard board) {
+        return board.sideSeeds(PLAYER_1) + board.sideSeeds(PLAYER_2) <= index.maxSeeds();
+    }
+
+    /**
+     * Get the final margin of the {@code player} to move under perfect play, the seeds in his/her store less
+     * the seeds in the opponent's store at the end of the game.
+     *
+     * @param board  the {@link KalahBoard} of a position held, see {@link #covers(KalahBoard)}.
+     * @param player the {@link Player} to move.
+     * @return {@code int} final margin of the player.
+     */
+    public int margin(@NotNull KalahBoard board, @NotNull Player player) {
+        final var opponent = player == PLAYER_1 ? PLAYER_2 : PLAYER_1;
+        return board.seeds(player.number() * STORE_INDEX) - board.seeds(opponent.number() * STORE_INDEX)
+                + buffer.get(HEADER_SIZE + 2 * index.rank(board) + player.number() - 1);
+    }
+
+    /**
+     * Find the best move of the {@code player} on the board, if the position is held and the game is not over,
+     * by looking up the positions each of the moves leads to.
+     *
+     * @param board  the {@link KalahBoard} to find the move on, which is left unchanged.
+     * @param player the {@link Player} to move.
+     * @return the {@link KalahSearch.Result} of the best move, scored like the {@link KalahSearch} scores the
+     * finished games, wrapped with {@link Optional} class, empty if the position is not held or the game is over.
+     */
+    @NotNull
+    public Optional<KalahSearch.Result> probe(@NotNull KalahBoard board, @NotNull Player player) {
+        if (!covers(board) || board.sideEmpty(PLAYER_1) || board.sideEmpty(PLAYER_2)) return Optional.empty();
+
+        final var opponent = player == PLAYER_1 ? PLAYER_2 : PLAYER_1;
+        final var child = new KalahBoard();
+        int best = Integer.MIN_VALUE;
+        int bestPitId = 0;
+        int lookups = 0;
+        for (int pitId = player.firstPit(); pitId < player.number() * STORE_INDEX; pitId++) {
+            if (board.seeds(pitId) == 0) continue;
+
+            final boolean toggle = child.copyFrom(board).sow(player, pitId);
+            final int margin;
+            if (child.finishIfSideEmpty()) {
+                margin = child.seeds(player.number() * STORE_INDEX) - child.seeds(opponent.number() * STORE_INDEX);
+            } else {
+                margin = toggle ? -margin(child, opponent) : margin(child, player);
+                lookups++;
+            }
+            if (margin > best) {
+                best = margin;
+                bestPitId = pitId;
+            }
+        }
+        return Optional.of(new KalahSearch.Result(bestPitId, KalahSearch.finalScore(best), KalahSearch.MAX_DEPTH,
+                lookups));
+    }
+}
@@ -0,0 +1,385 @@
+package com.backbase.kalah.engine;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.backbase.kalah.engine.EndgameIndex.PITS;
+import static com.backbase.kalah.engine.EndgameIndex.pitId;
+import static com.backbase.kalah.util.ServiceConstance.Player;
+import static com.backbase.kalah.util.ServiceConstance.Player.PLAYER_1;
+import static com.backbase.kalah.util.ServiceConstance.Player.PLAYER_2;
+import static com.backbase.kalah.util.ServiceConstance.STORE_INDEX;
+
+/**
+ * Offline generator of the {@link EndgameDatabase} file, which solves every position with at most
+ * {@code maxSeeds} seeds left in the pits, for both players to move, by the same {@link KalahBoard#sow} and
+ * {@link KalahBoard#finishIfSideEmpty()} rules as {@link com.backbase.kalah.PlayKalah}.
+ *
+ * A player sows on his/her own side and store only, so the seeds left in the pits never grow: a move either
+ * puts some seeds into a store or only moves the player's seeds further along his/her own pits. The positions
+ * are therefore solved backwards from the end of the game, the positions with fewer seeds left first, and,
+ * among the positions with the same number of seeds left, the ones with the seeds further along the pits
+ * first. Each position then only looks up the positions it leads to, which are always solved already, and the
+ * positions equally far along are solved in parallel, split between the threads.
+ *
+ * The value of a position is the margin the player to move gets on top of the stores under perfect play, the
+ * seeds the player puts into his/her store from then on less the seeds the opponent does. It is independent
+ * of the stores, and fits into a signed byte.
+ *
+ * Run with the maximum number of seeds, the file to write to and, optionally, the number of threads;
+ * <pre>
+ *     java com.backbase.kalah.engine.EndgameGenerator 12 endgames.db 8
+ * </pre>
+ *
+ * @author Sachith Dickwella
+ */
+public final class EndgameGenerator {
+
+    /**
+     * Maximum number of seeds left in the pits the generator solves, as the pit counts of a position are
+     * packed into 4 bits each.
+     */
+    public static final int MAX_SEEDS = 15;
+
+    /**
+     * Minimum number of positions of a thread's share, below which the share is not worth a thread.
+     */
+    private static final int MIN_SHARE = 1024;
+
+    /**
+     * Private constructor to avoid instantiation of the utility class.
+     */
+    private EndgameGenerator() {
+        // do nothing
+    }
+
+    /**
+     * Generate the file with the maximum number of seeds, the file path and, optionally, the number of threads
+     * given as the arguments.
+     *
+     * @param args {@link String} array of the arguments.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: EndgameGenerator <max seeds> <file> [threads]");
+            System.exit(1);
+        }
+
+        final int maxSeeds = Integer.parseInt(args[0]);
+        final var file = Paths.get(args[1]);
+        final int threads = args.length > 2 ? Integer.parseInt(args[2])
+                : Runtime.getRuntime().availableProcessors();
+
+        final long start = System.nanoTime();
+        final int positions = generate(maxSeeds, threads, file);
+        System.out.printf("Solved %,d positions of up to %d seeds on %d threads in %,d ms into %s%n", positions,
+                maxSeeds, threads, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), file);
+    }
+
+    /**
+     * Solve every position with at most {@code maxSeeds} seeds left in the pits, with {@code threads} threads,
+     * and write the results into the {@code file}, replacing it if it exists.
+     *
+     * @param maxSeeds {@code int} maximum number of seeds left in the pits, up to {@link #MAX_SEEDS}.
+     * @param threads  {@code int} number of the threads, the calling thread included.
+     * @param file     {@link Path} of the file to write to.
+     * @return {@code int} number of the positions.
+     * @throws IOException              if the file cannot be written.
+     * @throws IllegalArgumentException if the number of the seeds or the threads is out of range.
+     */
+    public static int generate(final int maxSeeds, final int threads, @NotNull Path file) throws IOException {
+        if (maxSeeds < 0 || maxSeeds > MAX_SEEDS) {
+            throw new IllegalArgumentException(String.format("Number of seeds %d is not between 0 and %d",
+                    maxSeeds, MAX_SEEDS));
+        } else if (threads < 1) {
+            throw new IllegalArgumentException("Number of threads " + threads + " is less than 1");
+        }
+
+        final var index = new EndgameIndex(maxSeeds);
+        final var values = new byte[2 * index.size()];
+        final var buckets = new Buckets(maxSeeds, index.size());
+        final var pool = threads == 1 ? null : Executors.newFixedThreadPool(threads - 1, daemonThreads());
+        try {
+            for (int bucket = 0; bucket < buckets.count(); bucket++) {
+                solve(buckets, bucket, index, values, threads, pool);
+            }
+        } finally {
+            if (pool != null) pool.shutdownNow();
+        }
+
+        write(file, maxSeeds, values);
+        return index.size();
+    }
+
+    /**
+     * Solve the positions of a bucket, which only lead to the positions of the earlier buckets, split between
+     * the calling thread and the {@code pool}.
+     *
+     * @param buckets instance of {@link Buckets} of the positions.
+     * @param bucket  {@code int} bucket to solve.
+     * @param index   {@link EndgameIndex} of the positions.
+     * @param values  {@code byte[]} values to look the positions up in and to fill in.
+     * @param threads {@code int} number of the threads, the calling thread included.
+     * @param pool    {@link ExecutorService} of the other threads, {@code null} if none.
+     */
+    private static void solve(@NotNull Buckets buckets, final int bucket, @NotNull EndgameIndex index,
+                              @NotNull byte[] values, final int threads, ExecutorService pool) {
+        final int from = buckets.start(bucket);
+        final int to = buckets.start(bucket + 1);
+        final int shares = pool == null ? 1 : Math.max(1, Math.min(threads, (to - from) / MIN_SHARE));
+        final int share = (to - from + shares - 1) / shares;
+
+        final var futures = new ArrayList<Future<?>>(shares - 1);
+        for (int s = 1; s < shares; s++) {
+            final int shareFrom = from + s * share;
+            final int shareTo = Math.min(to, shareFrom + share);
+            futures.add(pool.submit(solver(buckets, shareFrom, shareTo, index, values)));
+        }
+        try {
+            solver(buckets, from, Math.min(to, from + share), index, values).run();
+            for (var future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while solving the endgames", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Endgame solver thread failed", ex.getCause());
+        }
+    }
+
+    /**
+     * Create the task solving the positions between {@code from} and {@code to} of the {@link Buckets}.
+     *
+     * @param buckets instance of {@link Buckets} of the positions.
+     * @param from    {@code int} first position to solve.
+     * @param to      {@code int} position to stop at, exclusive.
+     * @param index   {@link EndgameIndex} of the positions.
+     * @param values  {@code byte[]} values to look the positions up in and to fill in.
+     * @return {@link Runnable} task.
+     */
+    @NotNull
+    private static Runnable solver(@NotNull Buckets buckets, final int from, final int to,
+                                         @NotNull EndgameIndex index, @NotNull byte[] values) {
+        return () -> {
+            final var board = new KalahBoard();
+            final var child = new KalahBoard();
+            for (int i = from; i < to; i++) {
+                final long pits = buckets.position(i);
+                for (int p = 0; p < PITS; p++) {
+                    board.seeds(pitId(p), (int) (pits >>> 4 * p) & 0x0F);
+                }
+
+                final int rank = index.rank(board);
+                values[2 * rank] = (byte) value(board, child, PLAYER_1, index, values);
+                values[2 * rank + 1] = (byte) value(board, child, PLAYER_2, index, values);
+            }
+        };
+    }
+
+    /**
+     * Solve the position with empty stores for the {@code player} to move, looking up the positions the moves
+     * lead to in the {@code values}.
+     *
+     * @param board  the {@link KalahBoard} to solve, with empty stores.
+     * @param child  scratch {@link KalahBoard} to make the moves on.
+     * @param player the {@link Player} to move.
+     * @param index  {@link EndgameIndex} of the positions.
+     * @param values {@code byte[]} values of the solved positions.
+     * @return {@code int} margin of the player under perfect play.
+     */
+    private static int value(@NotNull KalahBoard board, @NotNull KalahBoard child, @NotNull Player player,
+                             @NotNull EndgameIndex index, @NotNull byte[] values) {
+        final var opponent = player == PLAYER_1 ? PLAYER_2 : PLAYER_1;
+        if (board.sideEmpty(PLAYER_1) || board.sideEmpty(PLAYER_2)) { // The game is over, both sides are swept.
+            return board.sideSeeds(player) - board.sideSeeds(opponent);
+        }
+
+        final int store = player.number() * STORE_INDEX;
+        final int opponentStore = opponent.number() * STORE_INDEX;
+        int best = Integer.MIN_VALUE;
+        for (int pitId = player.firstPit(); pitId < store; pitId++) {
+            if (board.seeds(pitId) == 0) continue;
+
+            final boolean toggle = child.copyFrom(board).sow(player, pitId);
+            final boolean over = child.finishIfSideEmpty();
+            int value = child.seeds(store) - child.seeds(opponentStore);
+            if (!over) {
+                final int next = values[2 * index.rank(child) + (toggle ? opponent : player).number() - 1];
+                value += toggle ? -next : next;
+            }
+            best = Math.max(best, value);
+        }
+        return best;
+    }
+
+    /**
+     * Write the {@code values} into the {@code file} after the {@link EndgameDatabase} header.
+     *
+     * @param file     {@link Path} of the file to write to.
+     * @param maxSeeds {@code int} maximum number of seeds left in the pits.
+     * @param values   {@code byte[]} values of the positions.
+     * @throws IOException if the file cannot be written.
+     */
+    private static void write(@NotNull Path file, final int maxSeeds, @NotNull byte[] values) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            final var header = ByteBuffer.allocate(EndgameDatabase.HEADER_SIZE)
+                    .putInt(EndgameDatabase.MAGIC)
+                    .putInt(EndgameDatabase.VERSION)
+                    .putInt(maxSeeds)
+                    .putInt(values.length)
+                    .flip();
+            while (header.hasRemaining()) channel.write(header);
+
+            final var body = ByteBuffer.wrap(values);
+            while (body.hasRemaining()) channel.write(body);
+        }
+    }
+
+    /**
+     * Create the factory of the daemon threads of the generator.
+     *
+     * @return {@link ThreadFactory} instance.
+     */
+    @NotNull
+    private static ThreadFactory daemonThreads() {
+        final var count = new AtomicInteger();
+        return runnable -> {
+            final var thread = new Thread(runnable, "kalah-endgames-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Positions in the order to solve them, grouped into buckets by the number of seeds left in the pits, the
+     * fewest first, then by how far along the pits the seeds are, the furthest first. The positions of a bucket
+     * only lead to the positions of the earlier buckets.
+     *
+     * The pit counts of each position are packed into a {@code long}, 4 bits per pit, pit 1 the lowest.
+     */
+    private static final class Buckets {
+
+        /**
+         * Highest distance of a seed from the first pit of its side.
+         */
+        private static final int MAX_DISTANCE = STORE_INDEX - 2;
+
+        /**
+         * Number of the distance sums of each number of seeds.
+         */
+        private final int distances;
+        /**
+         * Index of the first position of each bucket, and the number of positions at the end.
+         */
+        private final int[] starts;
+        /**
+         * Packed positions, bucket by bucket.
+         */
+        private final long[] positions;
+
+        /**
+         * Sort the positions with at most {@code maxSeeds} seeds left in the pits into the buckets.
+         *
+         * @param maxSeeds {@code int} maximum number of seeds left in the pits.
+         * @param size     {@code int} number of the positions.
+         */
+        private Buckets(final int maxSeeds, final int size) {
+            this.distances = MAX_DISTANCE * maxSeeds + 1;
+            this.starts = new int[(maxSeeds + 1) * distances + 1];
+            this.positions = new long[size];
+
+            final int[] counts = new int[starts.length];
+            enumerate(0, maxSeeds, 0, 0, 0, (pits, bucket) -> counts[bucket + 1]++);
+            for (int bucket = 1; bucket < starts.length; bucket++) {
+                starts[bucket] = starts[bucket - 1] + counts[bucket];
+            }
+
+            final int[] next = starts.clone();
+            enumerate(0, maxSeeds, 0, 0, 0, (pits, bucket) -> positions[next[bucket]++] = pits);
+        }
+
+        /**
+         * Call the {@code consumer} with every position of the pits from {@code pit} on, holding at most
+         * {@code left} seeds.
+         *
+         * @param pit      {@code int} index of the pit to fill, see {@link EndgameIndex#pitId(int)}.
+         * @param left     {@code int} number of the seeds left to put into the pits.
+         * @param pits     {@code long} packed pit counts of the pits before {@code pit}.
+         * @param seeds    {@code int} number of the seeds in the pits before {@code pit}.
+         * @param distance {@code int} sum of the distances of the seeds in the pits before {@code pit}.
+         * @param consumer {@link Consumer} of the positions and their buckets.
+         */
+        private void enumerate(final int pit, final int left, final long pits, final int seeds, final int distance,
+                               @NotNull Consumer consumer) {
+            if (pit == PITS) {
+                consumer.accept(pits, seeds * distances + distances - 1 - distance);
+                return;
+            }
+            for (int s = 0; s <= left; s++) {
+                enumerate(pit + 1, left - s, pits | (long) s << 4 * pit, seeds + s,
+                        distance + s * (pit % (MAX_DISTANCE + 1)), consumer);
+            }
+        }
+
+        /**
+         * Get the number of the buckets.
+         *
+         * @return {@code int} number of the buckets.
+         */
+        private int count() {
+            return starts.length - 1;
+        }
+
+        /**
+         * Get the index of the first position of the bucket.
+         *
+         * @param bucket {@code int} bucket, or {@link #count()} for the number of the positions.
+         * @return {@code int} index of the position.
+         */
+        private int start(final int bucket) {
+            return starts[bucket];
+        }
+
+        /**
+         * Get the packed pit counts of the position.
+         *
+         * @param i {@code int} index of the position.
+         * @return {@code long} packed pit counts.
+         */
+        private long position(final int i) {
+            return positions[i];
+        }
+
+        /**
+         * Consumer of the enumerated positions.
+         */
+        @FunctionalInterface
+        private interface Consumer {
+
+            /**
+             * Accept a position.
+             *
+             * @param pits   {@code long} packed pit counts.
+             * @param bucket {@code int} bucket of the position.
+             */
+            void accept(long pits, int bucket);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.backbase.kalah.engine;
+
+import org.jetbrains.annotations.NotNull;
+
+import static com.backbase.kalah.util.ServiceConstance.STORE_INDEX;
+
+/**
+ * Dense index of the endgame positions, the boards with at most {@code maxSeeds} seeds left in the 12 pits,
+ * whatever the stores hold. The positions are numbered from 0 in the lexicographic order of their pit counts,
+ * pit 1 first and pit 13 last, with the combinatorial number system: the rank of a position is the number of
+ * positions ahead of it, counted pit by pit from a table of partial sums of the binomial coefficients. So a
+ * rank costs 12 table reads, and the {@link #size()} positions take {@code C(maxSeeds + 12, 12)} ranks without
+ * a gap.
+ *
+ * Instances are immutable, thus thread safe.
+ *
+ * @author Sachith Dickwella
+ */
+final class EndgameIndex {
+
+    /**
+     * Number of pits of the board, the stores excluded.
+     */
+    static final int PITS = 2 * (STORE_INDEX - 1);
+
+    /**
+     * Maximum number of seeds left in the pits.
+     */
+    private final int maxSeeds;
+    /**
+     * Number of positions ahead of the ones with {@code seeds} seeds in pit {@code i}, by {@code i}, by the
+     * seeds left for the pits from {@code i} on, and by {@code seeds}.
+     */
+    private final int[][][] offsets;
+    /**
+     * Number of positions.
+     */
+    private final int size;
+
+    /**
+     * Create the index of the boards with at most {@code maxSeeds} seeds left in the pits.
+     *
+     * @param maxSeeds {@code int} maximum number of seeds left in the pits.
+     * @throws IllegalArgumentException if the number of positions does not fit into an {@code int}.
+     */
+    EndgameIndex(final int maxSeeds) {
+        final long positions = binomial(maxSeeds + PITS, PITS);
+        if (maxSeeds < 0 || positions > Integer.MAX_VALUE / 2) {
+            throw new IllegalArgumentException("Number of seeds " + maxSeeds + " is out of range");
+        }
+
+        this.maxSeeds = maxSeeds;
+        this.size = (int) positions;
+        this.offsets = new int[PITS][maxSeeds + 1][maxSeeds + 2];
+        for (int i = 0; i < PITS; i++) {
+            final int rest = PITS - 1 - i; // Pits after pit i.
+            for (int left = 0; left <= maxSeeds; left++) {
+                for (int seeds = 0; seeds <= left; seeds++) {
+                    // Positions of the pits after pit i with at most left - seeds seeds.
+                    offsets[i][left][seeds + 1] = offsets[i][left][seeds]
+                            + (int) binomial(left - seeds + rest, rest);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the rank of the position of the board.
+     *
+     * @param board the {@link KalahBoard} with at most {@link #maxSeeds()} seeds left in the pits.
+     * @return {@code int} rank of the position, between 0 and {@link #size()} exclusive.
+     */
+    int rank(@NotNull KalahBoard board) {
+        int rank = 0;
+        int left = maxSeeds;
+        for (int i = 0; i < PITS; i++) {
+            final int seeds = board.seeds(pitId(i));
+            rank += offsets[i][left][seeds];
+            left -= seeds;
+        }
+        return rank;
+    }
+
+    /**
+     * Get the maximum number of seeds left in the pits.
+     *
+     * @return {@code int} number of the seeds.
+     */
+    int maxSeeds() {
+        return maxSeeds;
+    }
+
+    /**
+     * Get the number of positions.
+     *
+     * @return {@code int} number of the positions.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Get the pit id of the {@code i}th pit, skipping the store of the first player.
+     *
+     * @param i {@code int} index of the pit, between 0 and {@link #PITS} exclusive.
+     * @return {@code int} pit id.
+     */
+    static int pitId(final int i) {
+        return i < STORE_INDEX - 1 ? i + 1 : i + 2;
+    }
+
+    /**
+     * Get the binomial coefficient {@code n} choose {@code k}.
+     *
+     * @param n {@code int} number of items.
+     * @param k {@code int} number of items chosen.
+     * @return {@code long} number of the choices.
+     */
+    private static long binomial(final int n, final int k) {
+        long result = 1;
+        for (int i = 1; i <= k; i++) {
+            result = result * (n - k + i) / i;
+        }
+        return result;
+    }
+}
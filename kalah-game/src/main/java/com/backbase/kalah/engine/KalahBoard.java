@@ -0,0 +1,308 @@
+package com.backbase.kalah.engine;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static com.backbase.kalah.util.ServiceConstance.*;
+import static com.backbase.kalah.util.ServiceConstance.Player.PLAYER_1;
+import static com.backbase.kalah.util.ServiceConstance.Player.PLAYER_2;
+
+/**
+ * Primitive representation of the <b>Kalah</b> board which the game rules operate on. The pits are
+ * kept in an {@code int[]} indexed by the pit id (1 based, index 0 is never used) so that sowing and
+ * capturing seeds do not need boxing, {@link String} parsing or any allocation.
+ *
+ * The {@link Map} representation of the board, which is what the API and the persistence module
+ * understand, only comes into the picture at the edges through {@link #load(Map)} and
+ * {@link #store(Map)}.
+ *
+ * The board also keeps a running total of the seeds in each player's pits (stores excluded), which every
+ * change of the pits updates, so checking whether a side is empty and sweeping it costs the same whatever
+ * the board looks like, without summing up the pits after each move.
+ *
+ * Likewise, the board keeps the Zobrist hash of the seed counts of all the pits and stores, the XOR of a fixed
+ * random number of each pit and seed count, which every change of the pits updates by XOR-ing out the number
+ * of the old count and XOR-ing in the number of the new one. {@link #key(Player)} adds the player to move, so
+ * the same position reached by different games or different move orders always gets the same 64-bit key.
+ *
+ * Instances are mutable and not thread safe.
+ *
+ * @author Sachith Dickwella
+ */
+public final class KalahBoard {
+
+    /**
+     * Maximum number of seeds a single pit or store could ever hold on the default board.
+     */
+    private static final int MAX_SEEDS = (PIT_COUNT - 2) * SEEDS_PER_PIT;
+    /**
+     * Cached {@link String} values of seed counts to write back into the {@link Map} board without
+     * creating new {@link String} instances for each pit.
+     */
+    private static final String[] SEED_STRINGS = new String[MAX_SEEDS + 1];
+    /**
+     * Zobrist numbers of each pit id and seed count, 0 for the empty pits so that a new, empty board has the
+     * hash of 0.
+     */
+    private static final long[][] ZOBRIST = new long[PIT_COUNT + 1][MAX_SEEDS + 1];
+    /**
+     * Zobrist number of {@link Player#PLAYER_2} to move.
+     */
+    private static final long PLAYER_2_TO_MOVE;
+
+    static {
+        for (int i = 0; i <= MAX_SEEDS; i++) {
+            SEED_STRINGS[i] = String.valueOf(i);
+        }
+
+        final var random = new SplittableRandom(0x4B414C4148L); // Fixed, so the keys are the same on every node.
+        for (int pitId = 1; pitId <= PIT_COUNT; pitId++) {
+            for (int seeds = 1; seeds <= MAX_SEEDS; seeds++) {
+                ZOBRIST[pitId][seeds] = random.nextLong();
+            }
+        }
+        PLAYER_2_TO_MOVE = random.nextLong();
+    }
+
+    /**
+     * Seeds in each pit indexed by the pit id.
+     */
+    private final int[] pits = new int[PIT_COUNT + 1];
+    /**
+     * Seeds in the pits of each player, stores excluded, indexed by the {@link Player#number()}. Index 0
+     * collects the changes of the stores and is never read.
+     */
+    private final int[] sideSeeds = new int[3];
+    /**
+     * Zobrist hash of the seed counts of all the pits and stores.
+     */
+    private long hash;
+
+    /**
+     * Get the index of the {@link #sideSeeds} the given pit counts towards.
+     *
+     * @param pitId {@code int} pit id.
+     * @return {@link Player#number()} of the pit owner, or 0 for the stores.
+     */
+    private static int side(final int pitId) {
+        return pitId % STORE_INDEX == 0 ? 0 : (pitId / STORE_INDEX) + 1;
+    }
+
+    /**
+     * Get the Zobrist number of the pit holding the given seed count.
+     *
+     * @param pitId {@code int} pit id.
+     * @param seeds {@code int} seed count.
+     * @return {@code long} Zobrist number.
+     */
+    private static long zobrist(final int pitId, final int seeds) {
+        if (seeds >= 0 && seeds <= MAX_SEEDS) return ZOBRIST[pitId][seeds];
+
+        long mix = (seeds * 0x9E3779B97F4A7C15L) ^ ZOBRIST[pitId][1]; // Only on boards beyond the default seeds.
+        mix = (mix ^ mix >>> 33) * 0xFF51AFD7ED558CCDL;
+        return mix ^ mix >>> 33;
+    }
+
+    /**
+     * Read the seed counts from the {@link Map} representation of the board into this instance.
+     *
+     * @param board instance of {@link Map} which keys are the pit ids and values are the seed counts.
+     * @return the {@code this} {@link KalahBoard} instance.
+     */
+    @NotNull
+    public KalahBoard load(@NotNull Map<Integer, String> board) {
+        sideSeeds[0] = sideSeeds[1] = sideSeeds[2] = 0;
+        hash = 0;
+        for (int pitId = 1; pitId <= PIT_COUNT; pitId++) {
+            pits[pitId] = Integer.parseInt(board.get(pitId));
+            sideSeeds[side(pitId)] += pits[pitId];
+            hash ^= zobrist(pitId, pits[pitId]);
+        }
+        return this;
+    }
+
+    /**
+     * Write the seed counts of this instance back into the {@link Map} representation of the board.
+     *
+     * @param board instance of {@link Map} to be updated.
+     */
+    public void store(@NotNull Map<Integer, String> board) {
+        for (int pitId = 1; pitId <= PIT_COUNT; pitId++) {
+            board.put(pitId, seedString(pits[pitId]));
+        }
+    }
+
+    /**
+     * Copy the seeds of the {@code other} board into this instance, without any allocation.
+     *
+     * @param other instance of {@link KalahBoard} to copy.
+     * @return the {@code this} {@link KalahBoard} instance.
+     */
+    @NotNull
+    public KalahBoard copyFrom(@NotNull KalahBoard other) {
+        System.arraycopy(other.pits, 0, pits, 0, pits.length);
+        System.arraycopy(other.sideSeeds, 0, sideSeeds, 0, sideSeeds.length);
+        hash = other.hash;
+        return this;
+    }
+
+    /**
+     * Get the number of seeds in the given pit.
+     *
+     * @param pitId {@code int} pit id.
+     * @return number of seeds in the pit.
+     */
+    public int seeds(final int pitId) {
+        return pits[pitId];
+    }
+
+    /**
+     * Set the number of seeds in the given pit.
+     *
+     * @param pitId {@code int} pit id.
+     * @param seeds {@code int} number of seeds.
+     * @return the {@code this} {@link KalahBoard} instance.
+     */
+    @NotNull
+    public KalahBoard seeds(final int pitId, final int seeds) {
+        sideSeeds[side(pitId)] += seeds - pits[pitId];
+        hash ^= zobrist(pitId, pits[pitId]) ^ zobrist(pitId, seeds);
+        pits[pitId] = seeds;
+        return this;
+    }
+
+    /**
+     * Get the number of seeds in the pits of the given {@code player}, excluding the store.
+     *
+     * @param player the {@link Player} whose seeds to count.
+     * @return number of seeds left for the player to play.
+     */
+    public int sideSeeds(@NotNull Player player) {
+        return sideSeeds[player.number()];
+    }
+
+    /**
+     * Get the 64-bit Zobrist key of the position, the seed counts of all the pits and stores, and the player to
+     * move. Equal positions always get equal keys, and different positions get different keys but for the
+     * 2^-64 odds of a collision.
+     *
+     * @param player the {@link Player} to move.
+     * @return {@code long} key of the position.
+     */
+    public long key(@NotNull Player player) {
+        return player == PLAYER_2 ? hash ^ PLAYER_2_TO_MOVE : hash;
+    }
+
+    /**
+     * Sow the seeds of the pit {@code pickupPitId} across the {@code player}'s own pits and store. The
+     * validity of the pit (ownership and non-emptiness) is the responsibility of the caller.
+     *
+     * If the last seed lands on the player's store, the player gets another chance. If it lands on an
+     * empty pit of the player, the seed and the seeds of the opponent's exact opposite pit are moved into
+     * the player's store.
+     *
+     * Every seed sown stays on the player's side unless it lands in the store, so the player's running total
+     * only drops by the seeds dropped in the store and, on a capture, by the last seed.
+     *
+     * @param player      the {@link Player} who makes the move.
+     * @param pickupPitId which is the pit seeds pickup from.
+     * @return {@code boolean} value indicating whether player need to toggle or not.
+     */
+    public boolean sow(@NotNull Player player, final int pickupPitId) {
+        final int firstPit = player.firstPit();
+        final int storeIndex = player.number() * STORE_INDEX;
+
+        int seeds = pits[pickupPitId];
+        hash ^= zobrist(pickupPitId, seeds);
+        pits[pickupPitId] = 0;
+
+        int pitId = pickupPitId;
+        int stored = 0;
+        while (seeds > 1) {
+            if (pitId == storeIndex) {
+                pitId = firstPit;
+            } else if (++pitId == storeIndex) {
+                stored++;
+            }
+            hash ^= zobrist(pitId, pits[pitId]) ^ zobrist(pitId, ++pits[pitId]);
+            seeds--;
+        }
+
+        final int side = player.number();
+        final int lastPit = pitId == storeIndex ? firstPit : pitId + 1;
+        if (lastPit == storeIndex) {
+            hash ^= zobrist(storeIndex, pits[storeIndex]) ^ zobrist(storeIndex, ++pits[storeIndex]);
+            sideSeeds[side] -= stored + 1;
+            return false;
+        } else if (pits[lastPit] == 0) {
+            final int opponentPit = PIT_COUNT - lastPit;
+            final int store = pits[storeIndex] + pits[opponentPit] + 1;
+            hash ^= zobrist(storeIndex, pits[storeIndex]) ^ zobrist(storeIndex, store)
+                    ^ zobrist(opponentPit, pits[opponentPit]);
+            pits[storeIndex] = store;
+            sideSeeds[side] -= stored + 1;
+            sideSeeds[side(opponentPit)] -= pits[opponentPit];
+            pits[opponentPit] = 0;
+        } else {
+            sideSeeds[side] -= stored;
+            hash ^= zobrist(lastPit, pits[lastPit]) ^ zobrist(lastPit, ++pits[lastPit]);
+        }
+        return true;
+    }
+
+    /**
+     * Check whether all the pits (excluding the store) of the given {@code player} are empty.
+     *
+     * @param player the {@link Player} to check.
+     * @return {@code true} if the player has no seeds left to play.
+     */
+    public boolean sideEmpty(@NotNull Player player) {
+        return sideSeeds[player.number()] == 0;
+    }
+
+    /**
+     * Move all the remaining seeds in the {@code player}'s pits into the player's store.
+     *
+     * @param player the {@link Player} whose seeds are to be swept.
+     */
+    public void sweep(@NotNull Player player) {
+        final int storeIndex = player.number() * STORE_INDEX;
+        if (sideSeeds[player.number()] == 0) return;
+
+        for (int pitId = player.firstPit(); pitId < storeIndex; pitId++) {
+            hash ^= zobrist(pitId, pits[pitId]);
+        }
+        final int store = pits[storeIndex] + sideSeeds[player.number()];
+        hash ^= zobrist(storeIndex, pits[storeIndex]) ^ zobrist(storeIndex, store);
+        pits[storeIndex] = store;
+        sideSeeds[player.number()] = 0;
+        Arrays.fill(pits, player.firstPit(), storeIndex, 0);
+    }
+
+    /**
+     * Finish the game if either player has no seeds left on his/her side, by moving the seeds left on the
+     * other side into their owner's store. Once finished, both sides are empty.
+     *
+     * @return {@code true} if the game is over.
+     */
+    public boolean finishIfSideEmpty() {
+        if (sideSeeds[PLAYER_1.number()] != 0 && sideSeeds[PLAYER_2.number()] != 0) return false;
+        sweep(PLAYER_1);
+        sweep(PLAYER_2);
+        return true;
+    }
+
+    /**
+     * Get the cached {@link String} representation of the seed count.
+     *
+     * @param seeds {@code int} seed count.
+     * @return {@link String} value of the {@code seeds}.
+     */
+    @NotNull
+    static String seedString(final int seeds) {
+        return seeds >= 0 && seeds <= MAX_SEEDS ? SEED_STRINGS[seeds] : String.valueOf(seeds);
+    }
+}
@@ -0,0 +1,404 @@
+package com.backbase.kalah.engine;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.backbase.kalah.engine.TranspositionTable.*;
+import static com.backbase.kalah.util.ServiceConstance.PIT_COUNT;
+import static com.backbase.kalah.util.ServiceConstance.Player;
+import static com.backbase.kalah.util.ServiceConstance.STORE_INDEX;
+
+/**
+ * Iterative deepening alpha-beta (negamax) search of the best move on a {@link KalahBoard}, which plays by
+ * the same {@link KalahBoard#sow(Player, int)} and {@link KalahBoard#finishIfSideEmpty()} rules as
+ * {@link com.backbase.kalah.PlayKalah}. A move which ends on the player's own store keeps the turn, so its
+ * score is not negated like the others.
+ *
+ * The search searches 1, 2, 3... moves ahead until the time budget runs out and answers the best move of
+ * the deepest search completed, or answers right away if the player has a single move to make. Each search
+ * is ordered by the best move of the previous one, kept in the {@link TranspositionTable} by the
+ * {@link KalahBoard#key(Player)} of the position, then the moves ending on the store, then the captures.
+ * Positions are scored by the difference of the stores, and the finished games by their winner and margin.
+ *
+ * The boards of each ply and the move lists are allocated once with the instance, so the search itself
+ * allocates nothing. Instances are not thread safe, but the instances of a {@link ParallelSearch} share a
+ * single {@link TranspositionTable}.
+ *
+ * @author Sachith Dickwella
+ */
+public final class KalahSearch {
+
+    /**
+     * Maximum number of moves to search ahead.
+     */
+    public static final int MAX_DEPTH = 64;
+    /**
+     * Score of a won game, before adding the margin of the win.
+     */
+    public static final int WIN = 1_000;
+
+    /**
+     * Score beyond any reachable score.
+     */
+    private static final int INFINITY = 1_000_000;
+    /**
+     * Mask of the node count to check the clock at, once every 1024 nodes.
+     */
+    private static final int CLOCK_MASK = 1023;
+    /**
+     * Number of pits of a player.
+     */
+    private static final int PITS = STORE_INDEX - 1;
+
+    /**
+     * Board of each ply, the root board at index 0.
+     */
+    private final KalahBoard[] boards = new KalahBoard[MAX_DEPTH + 1];
+    /**
+     * Ordered pit ids to play at each ply.
+     */
+    private final int[][] moves = new int[MAX_DEPTH][PITS];
+    /**
+     * Ordering rank of the {@link #moves} at each ply.
+     */
+    private final int[][] ranks = new int[MAX_DEPTH][PITS];
+    /**
+     * Results of the searched positions.
+     */
+    private final TranspositionTable table;
+
+    /**
+     * Number of positions searched by the current search.
+     */
+    private long nodes;
+    /**
+     * {@link System#nanoTime()} to stop the current search at.
+     */
+    private long deadline;
+    /**
+     * Whether the current search has run out of time or has been cancelled.
+     */
+    private boolean stopped;
+    /**
+     * Cancellation flag of the current search, {@code null} if it cannot be cancelled.
+     */
+    private AtomicBoolean cancelled;
+    /**
+     * Best pit id found at the root by the current iteration.
+     */
+    private int rootPitId;
+
+    /**
+     * Create a search with a {@link TranspositionTable} of {@code 2^tableBits} positions.
+     *
+     * @param tableBits {@code int} number of the table index bits, which takes {@code 2^tableBits * 16} bytes.
+     */
+    public KalahSearch(final int tableBits) {
+        this(new TranspositionTable(tableBits));
+    }
+
+    /**
+     * Create a search with the given {@link TranspositionTable}, which may be shared with other searches.
+     *
+     * @param table the {@link TranspositionTable} to keep the results of the searched positions in.
+     */
+    KalahSearch(@NotNull TranspositionTable table) {
+        for (int ply = 0; ply <= MAX_DEPTH; ply++) {
+            boards[ply] = new KalahBoard();
+        }
+        this.table = table;
+    }
+
+    /**
+     * Search the best move of the {@code player} within the time budget.
+     *
+     * @param board       the {@link KalahBoard} to search, which is left unchanged.
+     * @param player      the {@link Player} to move.
+     * @param budgetNanos {@code long} time budget in nanoseconds.
+     * @return the {@link Result} of the search.
+     * @throws IllegalArgumentException if the player has no move to make.
+     */
+    @NotNull
+    public Result search(@NotNull KalahBoard board, @NotNull Player player, final long budgetNanos) {
+        return search(board, player, budgetNanos, MAX_DEPTH);
+    }
+
+    /**
+     * Search the best move of the {@code player} within the time budget, up to {@code maxDepth} moves ahead.
+     *
+     * @param board       the {@link KalahBoard} to search, which is left unchanged.
+     * @param player      the {@link Player} to move.
+     * @param budgetNanos {@code long} time budget in nanoseconds.
+     * @param maxDepth    {@code int} maximum number of moves to search ahead, up to {@link #MAX_DEPTH}.
+     * @return the {@link Result} of the search.
+     * @throws IllegalArgumentException if the player has no move to make.
+     */
+    @NotNull
+    public Result search(@NotNull KalahBoard board, @NotNull Player player, final long budgetNanos,
+                         final int maxDepth) {
+        return search(board, player, System.nanoTime() + budgetNanos, maxDepth, 1, null);
+    }
+
+    /**
+     * Search the best move of the {@code player} until the {@code deadline}, up to {@code maxDepth} moves ahead,
+     * starting with the search of {@code firstDepth} moves ahead, or until the search is {@code cancelled}.
+     *
+     * @param board      the {@link KalahBoard} to search, which is left unchanged.
+     * @param player     the {@link Player} to move.
+     * @param deadline   {@code long} {@link System#nanoTime()} to stop the search at.
+     * @param maxDepth   {@code int} maximum number of moves to search ahead, up to {@link #MAX_DEPTH}.
+     * @param firstDepth {@code int} number of moves to search ahead by the first search.
+     * @param cancelled  {@link AtomicBoolean} set to stop the search, {@code null} if it cannot be cancelled.
+     * @return the {@link Result} of the search.
+     * @throws IllegalArgumentException if the player has no move to make.
+     */
+    @NotNull
+    Result search(@NotNull KalahBoard board, @NotNull Player player, final long deadline, final int maxDepth,
+                  final int firstDepth, @Nullable AtomicBoolean cancelled) {
+        this.nodes = 0;
+        this.stopped = false;
+        this.deadline = deadline;
+        this.cancelled = cancelled;
+        boards[0].copyFrom(board);
+
+        final int count = orderMoves(0, player, 0);
+        if (count == 0) {
+            throw new IllegalArgumentException(player + " has no move to make");
+        }
+
+        int pitId = moves[0][0];
+        int score = evaluate(board, player);
+        int depth = 0;
+        if (count > 1) {
+            for (int d = Math.min(firstDepth, maxDepth); d <= Math.min(maxDepth, MAX_DEPTH); d++) {
+                final int result = negamax(0, d, -INFINITY, INFINITY, player);
+                if (stopped) break;
+
+                pitId = rootPitId;
+                score = result;
+                depth = d;
+                if (Math.abs(result) >= WIN) break; // The outcome is proven, deeper searches would not change it.
+            }
+        }
+        return new Result(pitId, score, depth, nodes);
+    }
+
+    /**
+     * Forget the results of the earlier searches kept in the {@link TranspositionTable}.
+     */
+    public void clear() {
+        table.clear();
+    }
+
+    /**
+     * Score the position for the {@code player} to move, searching {@code depth} moves ahead.
+     *
+     * @param ply    {@code int} number of moves from the root.
+     * @param depth  {@code int} number of moves to search ahead.
+     * @param alpha  {@code int} score the player is already guaranteed.
+     * @param beta   {@code int} score the opponent is already guaranteed, negated.
+     * @param player the {@link Player} to move.
+     * @return {@code int} score of the position, 0 if the search has been stopped.
+     */
+    private int negamax(final int ply, final int depth, int alpha, final int beta, @NotNull Player player) {
+        if ((++nodes & CLOCK_MASK) == 0 && (System.nanoTime() - deadline > 0
+                || cancelled != null && cancelled.get())) {
+            stopped = true;
+        }
+        if (stopped) return 0;
+
+        final var board = boards[ply];
+        if (depth == 0 || ply == MAX_DEPTH) return evaluate(board, player);
+
+        final long key = board.key(player);
+        final long entry = table.probe(key);
+        if (entry != 0 && ply > 0 && depth(entry) >= depth) {
+            final int score = score(entry);
+            final int bound = bound(entry);
+            if (bound == EXACT || (bound == LOWER && score >= beta) || (bound == UPPER && score <= alpha)) {
+                return score;
+            }
+        }
+
+        final int initialAlpha = alpha;
+        final int count = orderMoves(ply, player, entry != 0 ? pitId(entry) : 0);
+        final var child = boards[ply + 1];
+        final var opponent = player == Player.PLAYER_1 ? Player.PLAYER_2 : Player.PLAYER_1;
+
+        int best = -INFINITY;
+        int bestPitId = 0;
+        for (int i = 0; i < count; i++) {
+            final int pitId = moves[ply][i];
+            final boolean toggle = child.copyFrom(board).sow(player, pitId);
+
+            final int score;
+            if (child.finishIfSideEmpty()) score = finalScore(child, player);
+            else if (toggle) score = -negamax(ply + 1, depth - 1, -beta, -alpha, opponent);
+            else score = negamax(ply + 1, depth - 1, alpha, beta, player);
+            if (stopped) return 0;
+
+            if (score > best) {
+                best = score;
+                bestPitId = pitId;
+                if (score > alpha) alpha = score;
+                if (alpha >= beta) break;
+            }
+        }
+
+        if (ply == 0) rootPitId = bestPitId;
+        table.store(key, depth, best <= initialAlpha ? UPPER : best >= beta ? LOWER : EXACT, best, bestPitId);
+        return best;
+    }
+
+    /**
+     * Collect the non-empty pits of the {@code player} into the {@link #moves} of the ply, in the order to
+     * search them: the {@code bestPitId} first, then the moves ending on the store, then the captures, then
+     * the rest, from the pit closest to the store.
+     *
+     * @param ply       {@code int} number of moves from the root.
+     * @param player    the {@link Player} to move.
+     * @param bestPitId {@code int} best pit id of an earlier search, 0 if none.
+     * @return {@code int} number of the moves.
+     */
+    private int orderMoves(final int ply, @NotNull Player player, final int bestPitId) {
+        final var board = boards[ply];
+        final int[] plyMoves = moves[ply];
+        final int[] plyRanks = ranks[ply];
+        final int firstPit = player.firstPit();
+        final int storeIndex = player.number() * STORE_INDEX;
+
+        int count = 0;
+        for (int pitId = storeIndex - 1; pitId >= firstPit; pitId--) {
+            final int seeds = board.seeds(pitId);
+            if (seeds == 0) continue;
+
+            final int rank;
+            final int lastPit = pitId + seeds;
+            if (pitId == bestPitId) rank = 3;
+            else if ((pitId - firstPit + seeds) % STORE_INDEX == PITS) rank = 2;
+            else if (lastPit < storeIndex && board.seeds(lastPit) == 0 && board.seeds(PIT_COUNT - lastPit) > 0) {
+                rank = 1;
+            } else rank = 0;
+
+            int i = count++;
+            for (; i > 0 && plyRanks[i - 1] < rank; i--) {
+                plyMoves[i] = plyMoves[i - 1];
+                plyRanks[i] = plyRanks[i - 1];
+            }
+            plyMoves[i] = pitId;
+            plyRanks[i] = rank;
+        }
+        return count;
+    }
+
+    /**
+     * Score an unfinished position for the {@code player} by the difference of the stores.
+     *
+     * @param board  the {@link KalahBoard} to score.
+     * @param player the {@link Player} to score for.
+     * @return {@code int} score of the position.
+     */
+    private static int evaluate(@NotNull KalahBoard board, @NotNull Player player) {
+        final int store = board.seeds(player.number() * STORE_INDEX);
+        return 2 * store - board.seeds(STORE_INDEX) - board.seeds(PIT_COUNT);
+    }
+
+    /**
+     * Score a finished game for the {@code player}, any win above any unfinished position.
+     *
+     * @param board  the finished {@link KalahBoard} to score.
+     * @param player the {@link Player} to score for.
+     * @return {@code int} score of the game.
+     */
+    private static int finalScore(@NotNull KalahBoard board, @NotNull Player player) {
+        return finalScore(evaluate(board, player));
+    }
+
+    /**
+     * Score a finished game by the final margin of the player, any win above any unfinished position.
+     *
+     * @param margin {@code int} final margin of the player.
+     * @return {@code int} score of the game.
+     */
+    static int finalScore(final int margin) {
+        return margin > 0 ? WIN + margin : margin < 0 ? margin - WIN : 0;
+    }
+
+    /**
+     * Result of a search.
+     */
+    public static final class Result {
+
+        /**
+         * Best pit id to pick the seeds up from.
+         */
+        private final int pitId;
+        /**
+         * Score of the best move for the player who makes it.
+         */
+        private final int score;
+        /**
+         * Number of moves searched ahead.
+         */
+        private final int depth;
+        /**
+         * Number of positions searched.
+         */
+        private final long nodes;
+
+        /**
+         * Constructor to initialize the instance variables.
+         *
+         * @param pitId best pit id.
+         * @param score score of the best move.
+         * @param depth number of moves searched ahead.
+         * @param nodes number of positions searched.
+         */
+        Result(final int pitId, final int score, final int depth, final long nodes) {
+            this.pitId = pitId;
+            this.score = score;
+            this.depth = depth;
+            this.nodes = nodes;
+        }
+
+        /**
+         * Get the best pit id to pick the seeds up from.
+         *
+         * @return {@code int} pit id.
+         */
+        public int pitId() {
+            return pitId;
+        }
+
+        /**
+         * Get the score of the best move for the player who makes it, above {@link #WIN} for a proven win.
+         *
+         * @return {@code int} score.
+         */
+        public int score() {
+            return score;
+        }
+
+        /**
+         * Get the number of moves searched ahead by the deepest search completed, 0 if the move is forced,
+         * in which case nothing is searched and the score is the difference of the stores, or
+         * {@link #MAX_DEPTH} if the position is solved to the end of the game by the {@link EndgameDatabase}.
+         *
+         * @return {@code int} depth.
+         */
+        public int depth() {
+            return depth;
+        }
+
+        /**
+         * Get the number of positions searched.
+         *
+         * @return {@code long} number of the positions.
+         */
+        public long nodes() {
+            return nodes;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.backbase.kalah.engine;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.backbase.kalah.util.ServiceConstance.Player;
+
+/**
+ * Lazy SMP search of the best move: the calling thread and {@code threads - 1} helper threads each run the
+ * same iterative deepening {@link KalahSearch} of the position, all sharing a single lock-free
+ * {@link TranspositionTable}. The threads do not split the moves between them; each one finds the results
+ * stored by the others and skips the positions already searched deep enough, and every other helper starts
+ * one move deeper so that the threads do not search in lock step.
+ *
+ * The search stops as soon as any of the threads finishes, and answers the deepest search completed by any
+ * of them, the calling thread's one if more than one got as deep.
+ *
+ * The helper threads are daemon threads of the instance's own pool, never of the common fork-join pool.
+ * A search takes all the threads of the instance, so only one search at a time runs in parallel. The searches
+ * started meanwhile do not wait for it, but run on the calling thread alone, with a {@link KalahSearch} of the
+ * thread's own sharing the same {@link TranspositionTable}, so that no search takes longer than its budget.
+ *
+ * @author Sachith Dickwella
+ */
+public final class ParallelSearch implements AutoCloseable {
+
+    /**
+     * Number of the searches created, to name the helper threads with.
+     */
+    private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    /**
+     * Search of each thread, the calling thread's at index 0.
+     */
+    private final KalahSearch[] searches;
+    /**
+     * Results of the searched positions, shared by all the {@link #searches}.
+     */
+    private final TranspositionTable table;
+    /**
+     * Pool of the helper threads, {@code null} with a single thread.
+     */
+    private final ExecutorService helpers;
+    /**
+     * Lock of the {@link #searches} and the {@link #helpers}, held by the search running in parallel.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    /**
+     * Single-threaded search of each calling thread, while another search holds the {@link #lock}.
+     */
+    private final ThreadLocal<KalahSearch> fallbacks;
+
+    /**
+     * Create a search of {@code threads} threads sharing a {@link TranspositionTable} of {@code 2^tableBits}
+     * positions.
+     *
+     * @param threads   {@code int} number of the threads, the calling thread included.
+     * @param tableBits {@code int} number of the table index bits, which takes {@code 2^tableBits * 16} bytes.
+     * @throws IllegalArgumentException if the number of the threads is less than 1.
+     */
+    public ParallelSearch(final int threads, final int tableBits) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Number of threads " + threads + " is less than 1");
+        }
+
+        this.table = new TranspositionTable(tableBits);
+        this.searches = new KalahSearch[threads];
+        for (int i = 0; i < threads; i++) {
+            searches[i] = new KalahSearch(table);
+        }
+        this.fallbacks = ThreadLocal.withInitial(() -> new KalahSearch(table));
+
+        final var names = "kalah-search-" + INSTANCES.incrementAndGet() + "-";
+        final var count = new AtomicInteger();
+        this.helpers = threads == 1 ? null : Executors.newFixedThreadPool(threads - 1, runnable -> {
+            final var thread = new Thread(runnable, names + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Search the best move of the {@code player} within the time budget.
+     *
+     * @param board       the {@link KalahBoard} to search, which is left unchanged.
+     * @param player      the {@link Player} to move.
+     * @param budgetNanos {@code long} time budget in nanoseconds.
+     * @return the {@link KalahSearch.Result} of the search, with the positions searched by all the threads.
+     * @throws IllegalArgumentException if the player has no move to make.
+     */
+    @NotNull
+    public KalahSearch.Result search(@NotNull KalahBoard board, @NotNull Player player, final long budgetNanos) {
+        return search(board, player, budgetNanos, KalahSearch.MAX_DEPTH);
+    }
+
+    /**
+     * Search the best move of the {@code player} within the time budget, up to {@code maxDepth} moves ahead.
+     * If another search is running in parallel, the position is searched on the calling thread alone instead.
+     *
+     * @param board       the {@link KalahBoard} to search, which is left unchanged.
+     * @param player      the {@link Player} to move.
+     * @param budgetNanos {@code long} time budget in nanoseconds.
+     * @param maxDepth    {@code int} maximum number of moves to search ahead, up to {@link KalahSearch#MAX_DEPTH}.
+     * @return the {@link KalahSearch.Result} of the search, with the positions searched by all the threads.
+     * @throws IllegalArgumentException if the player has no move to make.
+     */
+    @NotNull
+    public KalahSearch.Result search(@NotNull KalahBoard board, @NotNull Player player, final long budgetNanos,
+                                     final int maxDepth) {
+        final long deadline = System.nanoTime() + budgetNanos;
+        if (!lock.tryLock()) {
+            return fallbacks.get().search(board, player, deadline, maxDepth, 1, null);
+        }
+        try {
+            return searchAll(board, player, deadline, maxDepth);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Search the best move of the {@code player} on all the threads until the {@code deadline}, holding the
+     * {@link #lock}.
+     *
+     * @param board    the {@link KalahBoard} to search, which is left unchanged.
+     * @param player   the {@link Player} to move.
+     * @param deadline {@code long} {@link System#nanoTime()} to stop the search at.
+     * @param maxDepth {@code int} maximum number of moves to search ahead, up to {@link KalahSearch#MAX_DEPTH}.
+     * @return the {@link KalahSearch.Result} of the search, with the positions searched by all the threads.
+     */
+    @NotNull
+    private KalahSearch.Result searchAll(@NotNull KalahBoard board, @NotNull Player player, final long deadline,
+                                         final int maxDepth) {
+        final var cancelled = new AtomicBoolean();
+
+        final var futures = new ArrayList<Future<KalahSearch.Result>>(searches.length - 1);
+        for (int i = 1; i < searches.length; i++) {
+            final var search = searches[i];
+            final int firstDepth = 1 + (i & 1);
+            futures.add(helpers.submit(() -> {
+                try {
+                    return search.search(board, player, deadline, maxDepth, firstDepth, cancelled);
+                } finally {
+                    cancelled.set(true);
+                }
+            }));
+        }
+
+        KalahSearch.Result best;
+        try {
+            best = searches[0].search(board, player, deadline, maxDepth, 1, cancelled);
+        } finally {
+            cancelled.set(true);
+        }
+
+        long nodes = best.nodes();
+        for (var future : futures) {
+            final var result = join(future);
+            nodes += result.nodes();
+            if (result.depth() > best.depth()) best = result;
+        }
+        return new KalahSearch.Result(best.pitId(), best.score(), best.depth(), nodes);
+    }
+
+    /**
+     * Forget the results of the earlier searches kept in the shared {@link TranspositionTable}.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            table.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the number of the threads of each search, the calling thread included.
+     *
+     * @return {@code int} number of the threads.
+     */
+    public int threads() {
+        return searches.length;
+    }
+
+    /**
+     * Stop the helper threads, after which the instance cannot search anymore.
+     */
+    @Override
+    public void close() {
+        if (helpers != null) helpers.shutdownNow();
+    }
+
+    /**
+     * Wait for the search of a helper thread to finish.
+     *
+     * @param future {@link Future} of the helper's search.
+     * @return the {@link KalahSearch.Result} of the helper's search.
+     * @throws IllegalStateException if the helper's search failed or the calling thread is interrupted.
+     */
+    @NotNull
+    private static KalahSearch.Result join(@NotNull Future<KalahSearch.Result> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the search threads", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Search thread failed", ex.getCause());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.backbase.kalah.engine;
+
+import java.util.Arrays;
+
+/**
+ * Fixed size, always-replace hash table of the search results by position, indexed by the low bits of the
+ * 64-bit position key. Each slot holds the full key XOR the entry, to tell the positions sharing a slot
+ * apart, and a single {@code long} entry packing the result:
+ * <pre>
+ *     bits    content
+ *      0-3    best pit id, 0 if none
+ *      4-5    bound of the score, {@link #EXACT}, {@link #LOWER} or {@link #UPPER}
+ *     6-13    remaining depth the position was searched to
+ *       14    always set, to tell a stored entry from an empty slot
+ *    32-63    score
+ * </pre>
+ *
+ * Instances can be shared by the threads of a parallel search without any locking. Two threads storing into
+ * the same slot at once may leave the key of one with the entry of the other, but as the key is stored XOR
+ * the entry, such a torn slot no longer matches either position and simply reads as empty.
+ *
+ * @author Sachith Dickwella
+ */
+final class TranspositionTable {
+
+    /**
+     * The score is exact.
+     */
+    static final int EXACT = 0;
+    /**
+     * The score is a lower bound, i.e. the search was cut off by a better move.
+     */
+    static final int LOWER = 1;
+    /**
+     * The score is an upper bound, i.e. no move reached the lower end of the search window.
+     */
+    static final int UPPER = 2;
+
+    /**
+     * Bit set in every stored entry.
+     */
+    private static final long STORED = 1L << 14;
+
+    /**
+     * Position keys XOR the entries by slot.
+     */
+    private final long[] keys;
+    /**
+     * Packed entries by slot, 0 for the empty slots.
+     */
+    private final long[] entries;
+    /**
+     * Mask of the slot index bits.
+     */
+    private final int mask;
+
+    /**
+     * Create an empty table of {@code 2^bits} slots, which takes {@code 2^bits * 16} bytes.
+     *
+     * @param bits {@code int} number of the slot index bits.
+     */
+    TranspositionTable(final int bits) {
+        this.keys = new long[1 << bits];
+        this.entries = new long[1 << bits];
+        this.mask = (1 << bits) - 1;
+    }
+
+    /**
+     * Get the entry of the position.
+     *
+     * @param key {@code long} position key.
+     * @return {@code long} packed entry, 0 if the position is not in the table.
+     */
+    long probe(final long key) {
+        final int slot = (int) key & mask;
+        final long entry = entries[slot];
+        return (keys[slot] ^ entry) == key ? entry : 0;
+    }
+
+    /**
+     * Store the search result of the position, replacing whatever the slot held.
+     *
+     * @param key   {@code long} position key.
+     * @param depth {@code int} remaining depth the position was searched to.
+     * @param bound {@code int} bound of the score.
+     * @param score {@code int} score of the position for the player to move.
+     * @param pitId {@code int} best pit id, 0 if none.
+     */
+    void store(final long key, final int depth, final int bound, final int score, final int pitId) {
+        final int slot = (int) key & mask;
+        final long entry = (long) score << 32 | STORED | (long) depth << 6 | bound << 4 | pitId;
+        keys[slot] = key ^ entry;
+        entries[slot] = entry;
+    }
+
+    /**
+     * Remove all the entries.
+     */
+    void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(entries, 0);
+    }
+
+    /**
+     * Get the best pit id of the entry.
+     *
+     * @param entry {@code long} packed entry.
+     * @return {@code int} pit id, 0 if none.
+     */
+    static int pitId(final long entry) {
+        return (int) entry & 0x0F;
+    }
+
+    /**
+     * Get the bound of the score of the entry.
+     *
+     * @param entry {@code long} packed entry.
+     * @return {@code int} {@link #EXACT}, {@link #LOWER} or {@link #UPPER}.
+     */
+    static int bound(final long entry) {
+        return (int) (entry >>> 4) & 0x03;
+    }
+
+    /**
+     * Get the remaining depth the position of the entry was searched to.
+     *
+     * @param entry {@code long} packed entry.
+     * @return {@code int} depth.
+     */
+    static int depth(final long entry) {
+        return (int) (entry >>> 6) & 0xFF;
+    }
+
+    /**
+     * Get the score of the entry.
+     *
+     * @param entry {@code long} packed entry.
+     * @return {@code int} score for the player to move.
+     */
+    static int score(final long entry) {
+        return (int) (entry >> 32);
+    }
+}
@@ -0,0 +1,240 @@
+package com.backbase.kalah.records;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.jetbrains.annotations.NotNull;
+
+import static com.backbase.kalah.util.ServiceConstance.Player;
+
+/**
+ * Class to hold the best move suggested for the active player of a game, along with how far ahead the
+ * suggestion has been searched. Work with Jackson JSON serializer, thus decorated with {@link JsonInclude}
+ * and {@link JsonIgnoreProperties} annotations like the other records.
+ *
+ * @author Sachith Dickwella
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class GameHint {
+
+    /**
+     * {@code id} of the game instance.
+     */
+    private Long id;
+    /**
+     * {@code url} to the game.
+     */
+    private String url;
+    /**
+     * The active {@link Player} the hint is for.
+     */
+    private Player player;
+    /**
+     * Suggested pit id to pick the seeds up from.
+     */
+    private int pitId;
+    /**
+     * Score of the suggested move for the player, the difference of the stores it leads to, or above 1000 for
+     * a proven win.
+     */
+    private int score;
+    /**
+     * Number of moves searched ahead.
+     */
+    private int depth;
+    /**
+     * Number of positions searched.
+     */
+    private long nodes;
+
+    /**
+     * Default the private constructor to avoid object creations besides the {@link GameHint.Builder}.
+     */
+    private GameHint() {
+        // do nothing
+    }
+
+    /**
+     * Start the build process of the instance by returning a {@link GameHint.Builder} instance.
+     *
+     * @return an instance of {@link GameHint.Builder} class.
+     */
+    @NotNull
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Enforce the builder patter for {@link GameHint} class.
+     */
+    public static class Builder {
+
+        /**
+         * Instance of {@link GameHint} class to build.
+         */
+        private final GameHint gameHint;
+
+        /**
+         * Initialize the {@link GameHint} instance in the default constructor.
+         */
+        private Builder() {
+            this.gameHint = new GameHint();
+        }
+
+        /**
+         * Set the {@code id} variable value.
+         *
+         * @return the {@code this} {@link GameHint.Builder} instance.
+         */
+        @NotNull
+        public Builder id(Long id) {
+            this.gameHint.id = id;
+            return this;
+        }
+
+        /**
+         * Set the {@code url} variable value.
+         *
+         * @return the {@code this} {@link GameHint.Builder} instance.
+         */
+        @NotNull
+        public Builder url(String url) {
+            this.gameHint.url = url;
+            return this;
+        }
+
+        /**
+         * Set the {@code player} variable value.
+         *
+         * @return the {@code this} {@link GameHint.Builder} instance.
+         */
+        @NotNull
+        public Builder player(@NotNull Player player) {
+            this.gameHint.player = player;
+            return this;
+        }
+
+        /**
+         * Set the {@code pitId} variable value.
+         *
+         * @return the {@code this} {@link GameHint.Builder} instance.
+         */
+        @NotNull
+        public Builder pitId(final int pitId) {
+            this.gameHint.pitId = pitId;
+            return this;
+        }
+
+        /**
+         * Set the {@code score} variable value.
+         *
+         * @return the {@code this} {@link GameHint.Builder} instance.
+         */
+        @NotNull
+        public Builder score(final int score) {
+            this.gameHint.score = score;
+            return this;
+        }
+
+        /**
+         * Set the {@code depth} variable value.
+         *
+         * @return the {@code this} {@link GameHint.Builder} instance.
+         */
+        @NotNull
+        public Builder depth(final int depth) {
+            this.gameHint.depth = depth;
+            return this;
+        }
+
+        /**
+         * Set the {@code nodes} variable value.
+         *
+         * @return the {@code this} {@link GameHint.Builder} instance.
+         */
+        @NotNull
+        public Builder nodes(final long nodes) {
+            this.gameHint.nodes = nodes;
+            return this;
+        }
+
+        /**
+         * Complete the builder flow by returning the instance of {@link GameHint}.
+         *
+         * @return the instance of {@link GameHint} created.
+         */
+        @NotNull
+        public GameHint build() {
+            return gameHint;
+        }
+    }
+
+    /**
+     * The getter method of the {@link #id} instance that use by JSON serializer.
+     *
+     * @return {@link Long} wrapper type instance to represent game id.
+     */
+    @SuppressWarnings("unused")
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * The getter method of the {@link #url} instance that use by JSON serializer.
+     *
+     * @return {@link String} url of the game.
+     */
+    @SuppressWarnings("unused")
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * The getter method of the {@link #player} instance that use by JSON serializer.
+     *
+     * @return the active {@link Player}.
+     */
+    @SuppressWarnings("unused")
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * The getter method of the {@link #pitId} instance that use by JSON serializer.
+     *
+     * @return {@code int} suggested pit id.
+     */
+    public int getPitId() {
+        return pitId;
+    }
+
+    /**
+     * The getter method of the {@link #score} instance that use by JSON serializer.
+     *
+     * @return {@code int} score of the suggested move.
+     */
+    @SuppressWarnings("unused")
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * The getter method of the {@link #depth} instance that use by JSON serializer.
+     *
+     * @return {@code int} number of moves searched ahead.
+     */
+    @SuppressWarnings("unused")
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * The getter method of the {@link #nodes} instance that use by JSON serializer.
+     *
+     * @return {@code long} number of positions searched.
+     */
+    @SuppressWarnings("unused")
+    public long getNodes() {
+        return nodes;
+    }
+}
@@ -1,5 +1,6 @@
 package com.backbase.kalah.records;
 
+import com.backbase.kalah.engine.KalahBoard;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
@@ -68,6 +69,17 @@ public class GameStatus {
      */
     @JsonIgnore
     private Player player = PLAYER_1;
+    /**
+     * {@code version} of the game status which increments with each successful save. Use to detect
+     * concurrent updates on the same game instance and ignored during the serialization.
+     */
+    @JsonIgnore
+    private long version;
+    /**
+     * {@code state} of the game, which is {@link GameState#IN_PROGRESS} until a player runs out of seeds and
+     * tells the winner after that.
+     */
+    private GameState state = GameState.IN_PROGRESS;
 
     /**
      * Default the private constructor to avoid object creations besides the {@link Builder}.
@@ -157,6 +169,42 @@ public class GameStatus {
             return newBuilder;
         }
 
+        /**
+         * Set the {@code player} variable value. Call after {@link #board()}, which starts a new
+         * {@link Builder} with only the {@code id} and {@code url} values.
+         *
+         * @return the {@code this} {@link Builder} instance.
+         */
+        @NotNull
+        public Builder player(@NotNull Player player) {
+            this.gameStatus.player = player;
+            return this;
+        }
+
+        /**
+         * Set the {@code version} variable value. Call after {@link #board()}, which starts a new
+         * {@link Builder} with only the {@code id} and {@code url} values.
+         *
+         * @return the {@code this} {@link Builder} instance.
+         */
+        @NotNull
+        public Builder version(final long version) {
+            this.gameStatus.version = version;
+            return this;
+        }
+
+        /**
+         * Set the {@code state} variable value. Call after {@link #board()}, which starts a new
+         * {@link Builder} with only the {@code id} and {@code url} values.
+         *
+         * @return the {@code this} {@link Builder} instance.
+         */
+        @NotNull
+        public Builder state(@NotNull GameState state) {
+            this.gameStatus.state = state;
+            return this;
+        }
+
         /**
          * Complete the builder flow by returning the instance of {@link GameStatus}.
          *
@@ -212,6 +260,79 @@ public class GameStatus {
         return this.board;
     }
 
+    /**
+     * The getter method of the {@link #version} of the game status. The last saved version is what the
+     * persistence module compares with before overwriting the game status.
+     *
+     * @return {@code long} value of the current version.
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
+    /**
+     * Set the {@link #version} of the game status. Only the persistence module should call this method
+     * after a successful compare-and-set save.
+     *
+     * @param version {@code long} value of the new version.
+     */
+    public void version(final long version) {
+        this.version = version;
+    }
+
+    /**
+     * Set the {@link #url} of the game. Only the games kept without their urls should be given the url of the
+     * request they are answered to.
+     *
+     * @param url {@link String} url of the game.
+     */
+    public void url(String url) {
+        this.url = url;
+    }
+
+    /**
+     * The getter method of the {@link #state} of the game, which is also serialized.
+     *
+     * @return {@link GameState} of the game.
+     */
+    public GameState getState() {
+        return this.state;
+    }
+
+    /**
+     * Set the {@link #state} of the game. Only {@link com.backbase.kalah.PlayKalah} should call this method
+     * once the game is over.
+     *
+     * @param state {@link GameState} of the game.
+     */
+    public void state(@NotNull GameState state) {
+        this.state = state;
+    }
+
+    /**
+     * The getter method of the winner of the game that use by JSON serializer, derived from the
+     * {@link #state}.
+     *
+     * @return the winner {@link Player}, {@code null} if the game is in progress or a draw.
+     */
+    @SuppressWarnings("unused")
+    public Player getWinner() {
+        return this.state.winner();
+    }
+
+    /**
+     * Get the 64-bit Zobrist key of the current position of the game, the {@link #board} and the active
+     * {@link #player}, see {@link KalahBoard#key(Player)}. The games reaching the same position, however they
+     * got there, get the same key, which is what the analysis results of the positions are cached by.
+     *
+     * Derived from the board on each call, so it is neither persisted nor serialized.
+     *
+     * @return {@code long} key of the position.
+     */
+    public long positionKey() {
+        return new KalahBoard().load(board).key(player);
+    }
+
     /**
      * Return the current {@link #player} or Toggle the player number depending on each round's
      * progress, if the {@code toggle} parameter value is {@code true}.
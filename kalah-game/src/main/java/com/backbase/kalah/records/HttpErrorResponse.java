@@ -37,6 +37,10 @@ public class HttpErrorResponse {
      * The payload instance that causes the error.
      */
     private Object payload;
+    /**
+     * Zero based index of the rejected move of a multi-move request.
+     */
+    private Integer moveIndex;
 
     /**
      * Default the private constructor to avoid object creations besides the {@link HttpErrorResponse.Builder}.
@@ -122,6 +126,16 @@ public class HttpErrorResponse {
             return this;
         }
 
+        /**
+         * Set the {@code moveIndex} variable value.
+         *
+         * @return the {@code this} {@link HttpErrorResponse.Builder} instance.
+         */
+        public Builder moveIndex(Integer moveIndex) {
+            this.httpErrorResponse.moveIndex = moveIndex;
+            return this;
+        }
+
         /**
          * Complete the builder flow by returning the instance of {@link HttpErrorResponse}.
          *
@@ -202,4 +216,18 @@ public class HttpErrorResponse {
     public Object getPayload() {
         return payload;
     }
+
+    /**
+     * The getter method of the {@link #moveIndex} instance that use by JSON serializer.
+     * No other explicit invocations are available.
+     *
+     * Decorated with the {@link SuppressWarnings} to ignore the "unused" warning
+     * due to aforementioned no explicit invocations.
+     *
+     * @return {@link Integer} zero based index of the rejected move of a multi-move request.
+     */
+    @SuppressWarnings("unused")
+    public Integer getMoveIndex() {
+        return moveIndex;
+    }
 }
@@ -0,0 +1,32 @@
+package com.backbase.kalah.repos;
+
+import com.backbase.kalah.records.GameStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Custom Spring Data repository fragment of {@link GameStatusRepo} to save many {@link GameStatus}
+ * instances at once.
+ *
+ * @author Sachith Dickwella
+ */
+public interface BatchGameStatusRepo {
+
+    /**
+     * Save the new {@link GameStatus} instances, which do not exist in the store yet, in a single pipelined
+     * batch of Redis commands instead of a round trip per command.
+     *
+     * @param gameStatuses {@link List} of new {@link GameStatus} instances to save.
+     */
+    void insertAll(@NotNull List<GameStatus> gameStatuses);
+
+    /**
+     * Save the latest status of the {@link GameStatus} instances, new or already in the store, in a single
+     * pipelined batch of Redis commands, overwriting the stored games without checking their versions. Use only
+     * by the owner of the games, which nobody else saves meanwhile.
+     *
+     * @param gameStatuses {@link List} of {@link GameStatus} instances to save.
+     */
+    void replaceAll(@NotNull List<GameStatus> gameStatuses);
+}
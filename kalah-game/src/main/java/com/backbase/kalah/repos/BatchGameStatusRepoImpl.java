@@ -0,0 +1,114 @@
+package com.backbase.kalah.repos;
+
+import com.backbase.kalah.records.GameStatus;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.convert.RedisConverter;
+import org.springframework.data.redis.core.convert.RedisData;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static com.backbase.kalah.util.ServiceConstance.FINISHED_TIME_TO_LIVE;
+
+/**
+ * Redis implementation of {@link BatchGameStatusRepo} fragment, picked up by Spring Data through the
+ * {@code Impl} postfix.
+ *
+ * Each {@link GameStatus} is converted into the same hash, phantom copy and keyspace set entry the Redis
+ * repository would write, and all the commands of the batch are sent through a single pipeline. As the
+ * {@link VersionedGameStatusRepoImpl} does, a finished game is saved with the shorter
+ * {@code kalah.persistence.finished-time-to-live}.
+ *
+ * @author Sachith Dickwella
+ */
+public class BatchGameStatusRepoImpl implements BatchGameStatusRepo {
+
+    /**
+     * Suffix of the phantom copy of the hash, as written by the Redis repository.
+     */
+    private static final String PHANTOM_SUFFIX = ":phantom";
+    /**
+     * Extra seconds the phantom copy outlives the hash, as written by the Redis repository.
+     */
+    private static final long PHANTOM_EXTRA_SECONDS = 300;
+
+    /**
+     * {@link RedisTemplate} injectable instance.
+     */
+    private final RedisTemplate<byte[], byte[]> redisTemplate;
+    /**
+     * {@link RedisConverter} injectable instance which is the same converter the Redis repository uses.
+     */
+    private final RedisConverter converter;
+    /**
+     * Seconds a finished game lives in Redis.
+     */
+    private final long finishedTimeToLive;
+
+    /**
+     * Constructor to inject to the instance variables.
+     *
+     * @param redisTemplate      instance of {@link RedisTemplate} inject from the
+     *                           {@link org.springframework.context.ApplicationContext}
+     * @param converter          instance of {@link RedisConverter} inject from the
+     *                           {@link org.springframework.context.ApplicationContext}
+     * @param finishedTimeToLive seconds a finished game lives in Redis.
+     */
+    public BatchGameStatusRepoImpl(RedisTemplate<byte[], byte[]> redisTemplate, RedisConverter converter,
+                                   @Value("${" + GameStore.FINISHED_TTL_PROPERTY + ":"
+                                           + FINISHED_TIME_TO_LIVE + "}") long finishedTimeToLive) {
+        this.redisTemplate = redisTemplate;
+        this.converter = converter;
+        this.finishedTimeToLive = finishedTimeToLive;
+    }
+
+    @Override
+    public void insertAll(@NotNull List<GameStatus> gameStatuses) {
+        replaceAll(gameStatuses);
+    }
+
+    /**
+     * Save the games, which overwrites the games already in the store, since every field of the hash and of its
+     * phantom copy is written again, along with their time to live.
+     *
+     * @param gameStatuses {@link List} of {@link GameStatus} instances to save.
+     */
+    @Override
+    public void replaceAll(@NotNull List<GameStatus> gameStatuses) {
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (var gameStatus : gameStatuses) {
+                final var redisData = new RedisData();
+                converter.write(gameStatus, redisData);
+
+                final var objectKey = bytes(redisData.getKeyspace() + ":" + redisData.getId());
+                final var hash = redisData.getBucket().rawMap();
+                connection.hMSet(objectKey, hash);
+
+                final var timeToLive = gameStatus.getState().finished() ? Long.valueOf(finishedTimeToLive)
+                        : redisData.getTimeToLive();
+                if (timeToLive != null && timeToLive > 0) {
+                    final var phantomKey = bytes(redisData.getKeyspace() + ":" + redisData.getId() + PHANTOM_SUFFIX);
+                    connection.expire(objectKey, timeToLive);
+                    connection.hMSet(phantomKey, hash);
+                    connection.expire(phantomKey, timeToLive + PHANTOM_EXTRA_SECONDS);
+                }
+                connection.sAdd(bytes(redisData.getKeyspace()), bytes(redisData.getId()));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Encode the {@link String} value into UTF-8 bytes.
+     *
+     * @param value {@link String} to encode.
+     * @return {@code byte[]} of the value.
+     */
+    @NotNull
+    private static byte[] bytes(@NotNull String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
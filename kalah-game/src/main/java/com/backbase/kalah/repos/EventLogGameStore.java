@@ -0,0 +1,330 @@
+package com.backbase.kalah.repos;
+
+import com.backbase.kalah.GameMetrics;
+import com.backbase.kalah.PlayKalah;
+import com.backbase.kalah.records.GameStatus;
+import com.backbase.kalah.util.ConcurrentMoveException;
+import io.micrometer.core.instrument.Timer;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.backbase.kalah.util.ServiceConstance.FINISHED_TIME_TO_LIVE;
+import static com.backbase.kalah.util.ServiceConstance.TIME_TO_LIVE;
+
+/**
+ * {@link GameStore} implementation which keeps each game as an append-only log of its moves along with a
+ * snapshot of the game, and rebuilds the game by replaying the moves logged after the snapshot with
+ * {@link PlayKalah}. A save appends a single log entry, the pit ids of its moves one byte each, instead of
+ * rewriting the whole game, and only every {@code kalah.persistence.snapshot-interval} saves, or when the game
+ * is over, the snapshot is rewritten as well. Each Redis call is timed by the {@link GameMetrics}.
+ *
+ * The snapshot is the {@link GameStatusCodec} value of the game, and its version is the number of log entries
+ * it covers. Reading a game is one {@code load-game.lua} round trip, which returns the snapshot and the log
+ * entries after it, and saving a game is one {@code append-move.lua} round trip, which appends the entry only if
+ * the log has not grown since the game was read. Therefore, the version of a game is always the length of its
+ * log, and concurrent moves are rejected with the {@link ConcurrentMoveException} as with the other stores.
+ *
+ * The whole log is kept for as long as the game, so that {@link #replay(long)} can rebuild each of the saved
+ * versions of the game for auditing and debugging.
+ *
+ * Selected with {@code kalah.persistence.mode=log}.
+ *
+ * @author Sachith Dickwella
+ */
+@ConditionalOnProperty(name = GameStore.MODE_PROPERTY, havingValue = "log")
+@Component
+public class EventLogGameStore implements GameStore {
+
+    /**
+     * Name of the property to set the number of saves between the snapshots of a game, which defaults to
+     * {@link #SNAPSHOT_INTERVAL}.
+     */
+    public static final String SNAPSHOT_INTERVAL_PROPERTY = "kalah.persistence.snapshot-interval";
+    /**
+     * Default number of saves between the snapshots of a game.
+     */
+    public static final int SNAPSHOT_INTERVAL = 16;
+    /**
+     * Prefix of the snapshot keys.
+     */
+    static final String SNAPSHOT_PREFIX = "kalah:game:snapshot:";
+    /**
+     * Prefix of the log keys.
+     */
+    static final String LOG_PREFIX = "kalah:game:log:";
+    /**
+     * Script to read the snapshot of the game and the log entries after it.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> LOAD_GAME = RedisScript.of(
+            new ClassPathResource("scripts/load-game.lua"), List.class);
+    /**
+     * Script to append the log entry of a save, and replace the snapshot.
+     */
+    private static final RedisScript<Long> APPEND_MOVE = RedisScript.of(
+            new ClassPathResource("scripts/append-move.lua"), Long.class);
+    /**
+     * Serializer of the {@link #LOAD_GAME} script result, which is applied on each element of the reply and
+     * leaves the bulk strings as raw {@code byte[]}.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final RedisSerializer<List> RESULT_SERIALIZER = (RedisSerializer) RedisSerializer.byteArray();
+    /**
+     * Snapshot argument of the {@link #APPEND_MOVE} script to keep the current snapshot.
+     */
+    private static final byte[] NO_SNAPSHOT = new byte[0];
+
+    /**
+     * {@link RedisTemplate} injectable instance to run the scripts and read the logs with.
+     */
+    private final RedisTemplate<byte[], byte[]> redisTemplate;
+    /**
+     * {@link RedisTemplate} injectable instance to write the {@link GameStatusCodec} snapshots with.
+     */
+    private final RedisTemplate<String, GameStatus> gameStatusTemplate;
+    /**
+     * {@link PlayKalah} injectable instance to replay and make the moves with.
+     */
+    private final PlayKalah playKalah;
+    /**
+     * Seconds a finished game lives in Redis.
+     */
+    private final long finishedTimeToLive;
+    /**
+     * Number of saves between the snapshots of a game.
+     */
+    private final int snapshotInterval;
+    /**
+     * {@link Timer} of the game reads.
+     */
+    private final Timer findTimer;
+    /**
+     * {@link Timer} of the game writes.
+     */
+    private final Timer saveTimer;
+    /**
+     * {@link Timer} of the pipelined game writes.
+     */
+    private final Timer saveAllTimer;
+
+    /**
+     * Constructor to {@link Autowired} or inject to the instance variables.
+     *
+     * @param redisTemplate      instance of {@link RedisTemplate} inject from the
+     *                           {@link org.springframework.context.ApplicationContext}
+     * @param gameStatusTemplate instance of {@link RedisTemplate} inject from the
+     *                           {@link org.springframework.context.ApplicationContext}
+     * @param playKalah          instance of {@link PlayKalah} inject from the
+     *                           {@link org.springframework.context.ApplicationContext}
+     * @param finishedTimeToLive seconds a finished game lives in Redis.
+     * @param snapshotInterval   number of saves between the snapshots of a game.
+     * @param metrics            instance of {@link GameMetrics} inject from the
+     *                           {@link org.springframework.context.ApplicationContext}
+     */
+    @Autowired
+    public EventLogGameStore(RedisTemplate<byte[], byte[]> redisTemplate,
+                             RedisTemplate<String, GameStatus> gameStatusTemplate,
+                             PlayKalah playKalah,
+                             @Value("${" + FINISHED_TTL_PROPERTY + ":" + FINISHED_TIME_TO_LIVE + "}")
+                                     long finishedTimeToLive,
+                             @Value("${" + SNAPSHOT_INTERVAL_PROPERTY + ":" + SNAPSHOT_INTERVAL + "}")
+                                     int snapshotInterval,
+                             GameMetrics metrics) {
+        if (snapshotInterval < 1) {
+            throw new IllegalArgumentException(String.format("%s %d is not positive", SNAPSHOT_INTERVAL_PROPERTY,
+                    snapshotInterval));
+        }
+
+        this.redisTemplate = redisTemplate;
+        this.gameStatusTemplate = gameStatusTemplate;
+        this.playKalah = playKalah;
+        this.finishedTimeToLive = finishedTimeToLive;
+        this.snapshotInterval = snapshotInterval;
+        this.findTimer = metrics.redisTimer("find");
+        this.saveTimer = metrics.redisTimer("save");
+        this.saveAllTimer = metrics.redisTimer("save-all");
+    }
+
+    /**
+     * Write the snapshot of the new game at version {@code 0}, with an empty log.
+     *
+     * @param gameStatus instance of {@link GameStatus} to persist.
+     */
+    @Override
+    public void create(@NotNull GameStatus gameStatus) {
+        saveTimer.record(() -> gameStatusTemplate.opsForValue().set(SNAPSHOT_PREFIX + gameStatus.getId(),
+                gameStatus, TIME_TO_LIVE, TimeUnit.SECONDS));
+    }
+
+    @Override
+    public void createAll(@NotNull List<GameStatus> gameStatuses) {
+        saveAllTimer.record(() -> gameStatusTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(@NotNull RedisOperations<K, V> operations) {
+                final var ops = (RedisOperations<String, GameStatus>) operations;
+                for (var gameStatus : gameStatuses) {
+                    ops.opsForValue().set(SNAPSHOT_PREFIX + gameStatus.getId(), gameStatus, TIME_TO_LIVE,
+                            TimeUnit.SECONDS);
+                }
+                return null;
+            }
+        }));
+    }
+
+    @NotNull
+    @Override
+    public Optional<GameStatus> find(final long gameId) {
+        return Optional.ofNullable(findTimer.record(() -> load(gameId)));
+    }
+
+    @NotNull
+    @Override
+    public Optional<GameStatus> move(final long gameId, final int pitId) {
+        return moveAndSave(gameId, new int[]{pitId}, false);
+    }
+
+    @NotNull
+    @Override
+    public Optional<GameStatus> moveAll(final long gameId, @NotNull int[] pitIds) {
+        return moveAndSave(gameId, pitIds, true);
+    }
+
+    /**
+     * Rebuild each saved version of the game from the initial board by replaying the whole log of the game.
+     *
+     * @param gameId {@code long} game id.
+     * @return {@link List} of the {@link GameStatus} instances by version, starting with the new game at version
+     * {@code 0}, or empty if the game does not exist.
+     */
+    @NotNull
+    public List<GameStatus> replay(final long gameId) {
+        final var snapshot = gameStatusTemplate.opsForValue().get(SNAPSHOT_PREFIX + gameId);
+        final var entries = redisTemplate.opsForList().range(logKey(gameId), 0, -1);
+        if (snapshot == null || entries == null) return List.of();
+
+        final var gameStatus = GameStatus.builder().id(gameId).url(snapshot.getURL()).board().build();
+        final var versions = new ArrayList<GameStatus>(entries.size() + 1);
+        versions.add(GameStatusCodec.decode(GameStatusCodec.encode(gameStatus)));
+        for (var entry : entries) {
+            apply(gameStatus, entry);
+            versions.add(GameStatusCodec.decode(GameStatusCodec.encode(gameStatus)));
+        }
+        return versions;
+    }
+
+    /**
+     * Read the snapshot of the game and replay the log entries after it.
+     *
+     * @param gameId {@code long} game id.
+     * @return the latest {@link GameStatus} of the game or {@code null} if the game does not exist.
+     */
+    private GameStatus load(final long gameId) {
+        final List<?> result = redisTemplate.execute(LOAD_GAME, RedisSerializer.byteArray(), RESULT_SERIALIZER,
+                List.of(snapshotKey(gameId), logKey(gameId)));
+        if (result == null || result.isEmpty()) return null;
+
+        final var gameStatus = GameStatusCodec.decode((byte[]) result.get(0));
+        for (int i = 1; i < result.size(); i++) {
+            apply(gameStatus, (byte[]) result.get(i));
+        }
+        return gameStatus;
+    }
+
+    /**
+     * Make the moves on the latest status of the game and append them to its log, see
+     * {@link PlayKalah#makeMoves(GameStatus, int[], boolean)}.
+     *
+     * @param gameId  {@code long} game id.
+     * @param pitIds  {@code int[]} pit ids in the order of the moves.
+     * @param indexed {@code boolean} whether to report the index of the rejected move.
+     * @return an {@link GameStatus} instance wrapped with {@link Optional} class.
+     */
+    @NotNull
+    private Optional<GameStatus> moveAndSave(final long gameId, @NotNull int[] pitIds, final boolean indexed) {
+        final var gameStatus = findTimer.record(() -> load(gameId));
+        if (gameStatus == null) return Optional.empty();
+
+        final long expectedVersion = playKalah.makeMoves(gameStatus, pitIds, indexed);
+        final var entry = new byte[pitIds.length];
+        for (int i = 0; i < pitIds.length; i++) {
+            entry[i] = (byte) pitIds[i];
+        }
+
+        final boolean finished = gameStatus.getState().finished();
+        final var snapshot = finished || gameStatus.getVersion() % snapshotInterval == 0
+                ? GameStatusCodec.encode(gameStatus) : NO_SNAPSHOT;
+        final var timeToLive = bytes(String.valueOf(finished ? finishedTimeToLive : TIME_TO_LIVE));
+
+        final Long appended = saveTimer.record(() -> redisTemplate.execute(APPEND_MOVE,
+                List.of(snapshotKey(gameId), logKey(gameId)), bytes(String.valueOf(expectedVersion)), entry,
+                timeToLive, snapshot));
+        if (appended == null || appended == -1) {
+            return Optional.empty();
+        } else if (appended == 0) {
+            throw new ConcurrentMoveException("Game %d has been updated by another move", gameId);
+        }
+        return Optional.of(gameStatus);
+    }
+
+    /**
+     * Replay a log entry on the game and count it in the version of the game.
+     *
+     * @param gameStatus instance of {@link GameStatus} to replay on.
+     * @param entry      {@code byte[]} log entry, the pit ids of the moves one byte each.
+     */
+    private void apply(@NotNull GameStatus gameStatus, @NotNull byte[] entry) {
+        for (var pitId : entry) {
+            playKalah.makeMove(gameStatus, pitId);
+        }
+        gameStatus.version(gameStatus.getVersion() + 1);
+    }
+
+    /**
+     * Get the Redis key of the snapshot of the game.
+     *
+     * @param gameId {@code long} game id.
+     * @return {@code byte[]} of the key.
+     */
+    @NotNull
+    static byte[] snapshotKey(final long gameId) {
+        return bytes(SNAPSHOT_PREFIX + gameId);
+    }
+
+    /**
+     * Get the Redis key of the log of the game.
+     *
+     * @param gameId {@code long} game id.
+     * @return {@code byte[]} of the key.
+     */
+    @NotNull
+    static byte[] logKey(final long gameId) {
+        return bytes(LOG_PREFIX + gameId);
+    }
+
+    /**
+     * Encode the {@link String} value into UTF-8 bytes.
+     *
+     * @param value {@link String} to encode.
+     * @return {@code byte[]} of the value.
+     */
+    @NotNull
+    private static byte[] bytes(@NotNull String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,101 @@
+package com.backbase.kalah.repos;
+
+import com.backbase.kalah.records.GameStatus;
+import com.backbase.kalah.util.GameOverException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+import static com.backbase.kalah.util.ServiceConstance.FINISHED_TIME_TO_LIVE;
+import static com.backbase.kalah.util.ServiceConstance.GameState;
+
+/**
+ * Bounded in-process registry of the games known to be over, which rejects the moves on them before any
+ * Redis round trip or board deserialization. Nothing could change a finished game any longer, so unlike the
+ * {@link GameCache}, an entry never goes stale and needs no invalidation. It is only dropped when the game
+ * itself expires from Redis, after {@code kalah.persistence.finished-time-to-live} seconds, or when the
+ * registry is full ({@code kalah.finished.maximum-size}).
+ *
+ * The games finished on other nodes are registered the first time a move on them is rejected on this node.
+ *
+ * @author Sachith Dickwella
+ */
+@Component
+public class FinishedGames {
+
+    /**
+     * States of the finished games by game id.
+     */
+    private final Cache<Long, GameState> states;
+
+    /**
+     * Constructor to {@link Autowired} or inject to the instance variables.
+     *
+     * @param maximumSize maximum number of finished games to keep.
+     * @param timeToLive  seconds a finished game lives in Redis.
+     */
+    @Autowired
+    public FinishedGames(@Value("${kalah.finished.maximum-size:100000}") long maximumSize,
+                         @Value("${" + GameStore.FINISHED_TTL_PROPERTY + ":" + FINISHED_TIME_TO_LIVE + "}")
+                                 long timeToLive) {
+        this.states = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(timeToLive))
+                // Evict on the calling thread rather than on the common ForkJoinPool.
+                .executor(Runnable::run)
+                .build();
+    }
+
+    /**
+     * Reject the move if the game is known to be over.
+     *
+     * @param gameId {@code long} game id.
+     * @throws GameOverException if the game is over.
+     */
+    public void check(final long gameId) {
+        final var state = states.getIfPresent(gameId);
+        if (state != null) {
+            throw new GameOverException(gameId, state);
+        }
+    }
+
+    /**
+     * Get the number of finished games known to this node, which are yet to expire from Redis.
+     *
+     * @return {@code long} approximate number of finished games.
+     */
+    public long size() {
+        return states.estimatedSize();
+    }
+
+    /**
+     * Register the game if it is over.
+     *
+     * @param gameStatus instance of {@link GameStatus} to register.
+     * @return the same {@link GameStatus} instance.
+     */
+    @NotNull
+    public GameStatus register(@NotNull GameStatus gameStatus) {
+        if (gameStatus.getState().finished()) {
+            states.put(gameStatus.getId(), gameStatus.getState());
+        }
+        return gameStatus;
+    }
+
+    /**
+     * Register the game rejected by the {@link GameOverException}.
+     *
+     * @param ex the {@link GameOverException} thrown on a move of the game.
+     * @return the same {@link GameOverException} instance to rethrow.
+     */
+    @NotNull
+    public GameOverException register(@NotNull GameOverException ex) {
+        register((GameStatus) ex.getPayload());
+        return ex;
+    }
+}
@@ -0,0 +1,266 @@
+package com.backbase.kalah.repos;
+
+import com.backbase.kalah.records.GameStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded in-process near cache of the recently played games, which saves the {@link GameStatusRepo#findById(Object)}
+ * round trip when the same game is played on the same node again. Games are evicted when the cache is full
+ * ({@code kalah.cache.maximum-size}) or when they have not been played for a while
+ * ({@code kalah.cache.idle-seconds}).
+ *
+ * Games are kept in the {@link GameStatusCodec} format, so that every read hands out a new {@link GameStatus}
+ * instance which the caller is free to mutate. With {@code kalah.cache.off-heap=true} the games are kept in the
+ * slots of {@link OffHeapGames} off the heap instead, which leaves the garbage collector a handful of objects to
+ * trace however many games are cached, at the cost of a fixed table of {@code kalah.cache.maximum-size} slots
+ * allocated up front.
+ *
+ * Each versioned save publishes the game id and its new version on {@link #CHANNEL} (see
+ * {@code compare-and-save.lua}), and every node drops its copy if the copy is older. The cache may still
+ * serve a stale game for the short while the message is in flight, in which case the versioned save fails
+ * and the caller has to reload the game from Redis.
+ *
+ * Enabled with {@code kalah.cache.enabled=true}.
+ *
+ * @author Sachith Dickwella
+ */
+@ConditionalOnProperty(name = GameCache.ENABLED_PROPERTY, havingValue = "true")
+@Component
+public class GameCache implements MessageListener {
+
+    /**
+     * Name of the property to enable the {@link GameCache}.
+     */
+    public static final String ENABLED_PROPERTY = "kalah.cache.enabled";
+    /**
+     * Name of the property to keep the cached games off the heap.
+     */
+    public static final String OFF_HEAP_PROPERTY = "kalah.cache.off-heap";
+    /**
+     * Name of the property of the games resource urls the games are kept off the heap for.
+     */
+    public static final String OFF_HEAP_URLS_PROPERTY = "kalah.cache.off-heap-urls";
+    /**
+     * Pub/sub channel of the invalidation messages.
+     */
+    public static final String CHANNEL = "kalah:game:invalidations";
+    /**
+     * Separator of the fields of the invalidation message.
+     */
+    private static final char SEPARATOR = ':';
+
+    /**
+     * Name of the cache in the metrics.
+     */
+    private static final String CACHE_NAME = "kalah.games";
+
+    /**
+     * Cached games in {@link GameStatusCodec} format by game id, or {@code null} if the games are kept off the heap.
+     */
+    @Nullable
+    private final Cache<Long, byte[]> cache;
+    /**
+     * Cached games off the heap, or {@code null} if the games are kept on the heap.
+     */
+    @Nullable
+    private final OffHeapGames offHeap;
+    /**
+     * Delay between the publication and the receipt of the invalidation messages.
+     */
+    private final Timer invalidationLag;
+    /**
+     * Number of the games dropped by the invalidation messages.
+     */
+    private final Counter invalidations;
+
+    /**
+     * Constructor to {@link Autowired} or inject to the instance variables.
+     *
+     * @param maximumSize   maximum number of games to cache.
+     * @param idleSeconds   seconds after the last access to evict a game.
+     * @param offHeapGames  whether to keep the games off the heap in {@link OffHeapGames}.
+     * @param offHeapUrls   array of {@link String} urls of the games resources to keep the games off the heap for.
+     * @param container     instance of {@link RedisMessageListenerContainer} inject from the
+     *                      {@link org.springframework.context.ApplicationContext} to receive the invalidation
+     *                      messages with.
+     * @param meterRegistry provider of the {@link MeterRegistry}, falls back to the
+     *                      {@link Metrics#globalRegistry} if the context has none.
+     */
+    @Autowired
+    public GameCache(@Value("${kalah.cache.maximum-size:10000}") long maximumSize,
+                     @Value("${kalah.cache.idle-seconds:300}") long idleSeconds,
+                     @Value("${" + OFF_HEAP_PROPERTY + ":false}") boolean offHeapGames,
+                     @Value("${" + OFF_HEAP_URLS_PROPERTY + ":http://localhost:8080/games}") String[] offHeapUrls,
+                     RedisMessageListenerContainer container,
+                     ObjectProvider<MeterRegistry> meterRegistry) {
+        final var registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        if (offHeapGames) {
+            this.cache = null;
+            this.offHeap = new OffHeapGames(Math.toIntExact(maximumSize), idleSeconds, offHeapUrls);
+            monitor(registry, offHeap);
+        } else {
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(maximumSize)
+                    .expireAfterAccess(Duration.ofSeconds(idleSeconds))
+                    .recordStats()
+                    .build();
+            this.offHeap = null;
+            CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+        }
+
+        this.invalidationLag = Timer.builder("kalah.cache.invalidation.lag")
+                .description("Delay between saving a game and dropping its copy from the near cache")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        this.invalidations = Counter.builder("kalah.cache.invalidations")
+                .description("Games dropped from the near cache since they were saved by another node")
+                .register(registry);
+
+        container.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * Get a copy of the cached game.
+     *
+     * @param gameId {@code long} game id.
+     * @return new {@link GameStatus} instance wrapped with {@link Optional} class, empty if the game is not
+     * cached.
+     */
+    @NotNull
+    public Optional<GameStatus> get(final long gameId) {
+        if (offHeap != null) return offHeap.get(gameId);
+        return Optional.ofNullable(cache.getIfPresent(gameId)).map(GameStatusCodec::decode);
+    }
+
+    /**
+     * Cache a copy of the game, which should be the latest saved status of the game.
+     *
+     * @param gameStatus instance of {@link GameStatus} to cache.
+     */
+    public void put(@NotNull GameStatus gameStatus) {
+        if (offHeap != null) {
+            offHeap.put(gameStatus);
+            return;
+        }
+        cache.put(gameStatus.getId(), GameStatusCodec.encode(gameStatus));
+    }
+
+    /**
+     * Drop the cached copy of the game.
+     *
+     * @param gameId {@code long} game id.
+     */
+    public void invalidate(final long gameId) {
+        if (offHeap != null) {
+            offHeap.invalidate(gameId);
+            return;
+        }
+        cache.invalidate(gameId);
+    }
+
+    /**
+     * Drop the cached copy of the game named by the invalidation message, unless the copy is already the
+     * version in the message, which is the case on the node that saved it.
+     *
+     * @param message invalidation {@link Message} published by {@code compare-and-save.lua}.
+     * @param pattern not used.
+     */
+    @Override
+    public void onMessage(@NotNull Message message, byte[] pattern) {
+        final var fields = new String(message.getBody(), StandardCharsets.UTF_8).split(String.valueOf(SEPARATOR));
+        final long gameId = Long.parseLong(fields[0]);
+        final long version = Long.parseLong(fields[1]);
+        invalidationLag.record(Math.max(0, System.currentTimeMillis() - Long.parseLong(fields[2])),
+                TimeUnit.MILLISECONDS);
+
+        if (offHeap != null) {
+            if (offHeap.invalidateOlder(gameId, version)) invalidations.increment();
+            return;
+        }
+
+        final boolean[] dropped = new boolean[1];
+        cache.asMap().computeIfPresent(gameId, (id, bytes) -> {
+            if (version(bytes) >= version) return bytes;
+            dropped[0] = true;
+            return null;
+        });
+        if (dropped[0]) invalidations.increment();
+    }
+
+    /**
+     * Register the meters of the games kept off the heap, named and tagged as {@link CaffeineCacheMetrics} does for
+     * the games kept on the heap, so that the dashboards work with either.
+     *
+     * @param registry {@link MeterRegistry} to register the meters with.
+     * @param games    instance of {@link OffHeapGames} to monitor.
+     */
+    private static void monitor(@NotNull MeterRegistry registry, @NotNull OffHeapGames games) {
+        Gauge.builder("cache.size", games, OffHeapGames::size)
+                .tag("cache", CACHE_NAME)
+                .description("The number of entries in this cache")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", games, OffHeapGames::hits)
+                .tags("cache", CACHE_NAME, "result", "hit")
+                .description("The number of times cache lookup methods have returned a cached value")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", games, OffHeapGames::misses)
+                .tags("cache", CACHE_NAME, "result", "miss")
+                .description("The number of times cache lookup methods have returned an uncached value")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", games, OffHeapGames::evictions)
+                .tag("cache", CACHE_NAME)
+                .description("Cache evictions")
+                .register(registry);
+        Gauge.builder("kalah.cache.off-heap.bytes", games, OffHeapGames::bytes)
+                .description("Off-heap memory of the near cache")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    /**
+     * Build the invalidation message of the game saved with the given version.
+     *
+     * @param gameId  {@code long} game id.
+     * @param version {@code long} saved version.
+     * @return {@link String} invalidation message.
+     */
+    @NotNull
+    static String invalidation(final long gameId, final long version) {
+        return String.valueOf(gameId) + SEPARATOR + version + SEPARATOR + System.currentTimeMillis();
+    }
+
+    /**
+     * Read the version of the game in {@link GameStatusCodec} format without decoding the whole game.
+     *
+     * @param bytes {@code byte[]} of the encoded game status.
+     * @return {@code long} version.
+     */
+    private static long version(@NotNull byte[] bytes) {
+        return Integer.toUnsignedLong(ByteBuffer.wrap(bytes).getInt(GameStatusCodec.VERSION_OFFSET));
+    }
+}
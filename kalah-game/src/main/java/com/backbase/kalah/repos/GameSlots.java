@@ -0,0 +1,129 @@
+package com.backbase.kalah.repos;
+
+import com.backbase.kalah.records.GameStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static com.backbase.kalah.repos.GameStatusCodec.ID_OFFSET;
+import static com.backbase.kalah.repos.GameStatusCodec.URL_OFFSET;
+import static com.backbase.kalah.repos.GameStatusCodec.VERSION_OFFSET;
+
+/**
+ * Fixed-size slots of the games in a {@link ByteBuffer}, mapped from a file or allocated off-heap, shared by the
+ * {@link MappedGameStore} and the {@link OffHeapGames}. The layout of a slot is;
+ * <pre>
+ *     offset  size  content
+ *          0    27  the fixed part of the {@link GameStatusCodec} layout, the seeds, the active player and the
+ *                   game state, the version and the game id
+ *         27     4  time stamp in epoch seconds, unsigned big-endian, of the owner's choice
+ *         31     1  flags of the owner's choice
+ * </pre>
+ *
+ * The url of a game is not kept in its slot. The game is read with the url of its games resource given by the
+ * owner of the slots, see {@link #gamesUrl(GameStatus)}, or with no url at all.
+ *
+ * @author Sachith Dickwella
+ */
+final class GameSlots {
+
+    /**
+     * Size of a slot in bytes.
+     */
+    static final int SLOT_SIZE = 32;
+    /**
+     * Offset of the time stamp in a slot.
+     */
+    static final int STAMP_OFFSET = URL_OFFSET;
+    /**
+     * Offset of the flags in a slot.
+     */
+    static final int FLAGS_OFFSET = STAMP_OFFSET + Integer.BYTES;
+
+    /**
+     * Private constructor to avoid instantiation of the utility class.
+     */
+    private GameSlots() {
+        // do nothing
+    }
+
+    /**
+     * Write the game into the slot at the offset, along with the time stamp.
+     *
+     * @param slots      {@link ByteBuffer} of the slots.
+     * @param offset     {@code int} offset of the slot.
+     * @param gameStatus instance of {@link GameStatus} to write.
+     * @param stamp      {@code int} time stamp in epoch seconds.
+     */
+    static void write(@NotNull ByteBuffer slots, final int offset, @NotNull GameStatus gameStatus,
+                      final int stamp) {
+        slots.duplicate().position(offset).put(GameStatusCodec.encode(gameStatus), 0, URL_OFFSET).putInt(stamp);
+    }
+
+    /**
+     * Read the game in the slot at the offset into a new {@link GameStatus} instance.
+     *
+     * @param slots    {@link ByteBuffer} of the slots.
+     * @param offset   {@code int} offset of the slot.
+     * @param gamesUrl {@link String} url of the games resource, or {@code null} if not known.
+     * @return new {@link GameStatus} instance.
+     */
+    @NotNull
+    static GameStatus read(@NotNull ByteBuffer slots, final int offset, @Nullable String gamesUrl) {
+        final var url = gamesUrl != null
+                ? (gamesUrl + '/' + id(slots, offset)).getBytes(StandardCharsets.UTF_8)
+                : new byte[0];
+        final var bytes = new byte[URL_OFFSET + url.length];
+        slots.duplicate().position(offset).get(bytes, 0, URL_OFFSET);
+        System.arraycopy(url, 0, bytes, URL_OFFSET, url.length);
+        return GameStatusCodec.decode(bytes);
+    }
+
+    /**
+     * Read the game id in the slot at the offset.
+     *
+     * @param slots  {@link ByteBuffer} of the slots.
+     * @param offset {@code int} offset of the slot.
+     * @return {@code long} game id.
+     */
+    static long id(@NotNull ByteBuffer slots, final int offset) {
+        return slots.getLong(offset + ID_OFFSET);
+    }
+
+    /**
+     * Read the version of the game in the slot at the offset.
+     *
+     * @param slots  {@link ByteBuffer} of the slots.
+     * @param offset {@code int} offset of the slot.
+     * @return {@code long} version.
+     */
+    static long version(@NotNull ByteBuffer slots, final int offset) {
+        return Integer.toUnsignedLong(slots.getInt(offset + VERSION_OFFSET));
+    }
+
+    /**
+     * Read the time stamp of the slot at the offset.
+     *
+     * @param slots  {@link ByteBuffer} of the slots.
+     * @param offset {@code int} offset of the slot.
+     * @return {@code long} time stamp in epoch seconds.
+     */
+    static long stamp(@NotNull ByteBuffer slots, final int offset) {
+        return Integer.toUnsignedLong(slots.getInt(offset + STAMP_OFFSET));
+    }
+
+    /**
+     * Get the url of the games resource the game is served on, i.e. the url of the game less its id.
+     *
+     * @param gameStatus instance of {@link GameStatus}.
+     * @return {@link String} url of the games resource or {@code null} if the game has no url.
+     */
+    @Nullable
+    static String gamesUrl(@NotNull GameStatus gameStatus) {
+        final var url = gameStatus.getURL();
+        final var suffix = "/" + gameStatus.getId();
+        return url != null && url.endsWith(suffix) ? url.substring(0, url.length() - suffix.length()) : null;
+    }
+}
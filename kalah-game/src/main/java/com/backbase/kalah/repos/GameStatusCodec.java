@@ -0,0 +1,128 @@
+package com.backbase.kalah.repos;
+
+import com.backbase.kalah.engine.KalahBoard;
+import com.backbase.kalah.records.GameStatus;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static com.backbase.kalah.util.ServiceConstance.GameState;
+import static com.backbase.kalah.util.ServiceConstance.PIT_COUNT;
+import static com.backbase.kalah.util.ServiceConstance.Player.PLAYER_1;
+import static com.backbase.kalah.util.ServiceConstance.Player.PLAYER_2;
+
+/**
+ * Compact binary representation of a {@link GameStatus} stored as a single Redis string value. The layout,
+ * which {@code move.lua} relies on as well, is:
+ * <pre>
+ *     offset  size  content
+ *          0    14  seeds of the pits 1 to 14, one unsigned byte each
+ *         14     1  number of the active player in the low 4 bits, code of the game state in the high 4 bits
+ *         15     4  version, unsigned big-endian
+ *         19     8  game id, big-endian
+ *         27     n  game url, UTF-8
+ * </pre>
+ *
+ * That is 27 bytes plus the url for a game, compared to the 14 {@code board.[n]} fields, {@code url}, {@code id}
+ * and {@code version} fields of the {@link org.springframework.data.redis.core.RedisHash} mapping, plus its
+ * phantom copy and keyspace set entry. Values written before the game state existed have zero high bits in
+ * the player byte, which reads as {@link GameState#IN_PROGRESS}.
+ *
+ * Being a {@link RedisSerializer}, the codec is the value serializer of the game {@link
+ * org.springframework.data.redis.core.RedisTemplate} from {@link com.backbase.kalah.configs.RedisConfig}.
+ *
+ * @author Sachith Dickwella
+ */
+public final class GameStatusCodec implements RedisSerializer<GameStatus> {
+
+    /**
+     * Offset of the active player's number.
+     */
+    static final int PLAYER_OFFSET = PIT_COUNT;
+    /**
+     * Number of bits the game state code is shifted by in the player byte.
+     */
+    static final int STATE_SHIFT = 4;
+    /**
+     * Offset of the version.
+     */
+    static final int VERSION_OFFSET = PLAYER_OFFSET + 1;
+    /**
+     * Offset of the game id.
+     */
+    static final int ID_OFFSET = VERSION_OFFSET + Integer.BYTES;
+    /**
+     * Offset of the game url, which is also the size of the fixed part.
+     */
+    static final int URL_OFFSET = ID_OFFSET + Long.BYTES;
+
+    @Override
+    public byte[] serialize(GameStatus gameStatus) {
+        return gameStatus != null ? encode(gameStatus) : null;
+    }
+
+    @Override
+    public GameStatus deserialize(byte[] bytes) {
+        return bytes != null ? decode(bytes) : null;
+    }
+
+    /**
+     * Encode the {@link GameStatus} instance into its compact binary representation.
+     *
+     * @param gameStatus instance of {@link GameStatus} to encode.
+     * @return {@code byte[]} of the encoded game status.
+     */
+    @NotNull
+    public static byte[] encode(@NotNull GameStatus gameStatus) {
+        final var url = gameStatus.getURL() != null
+                ? gameStatus.getURL().getBytes(StandardCharsets.UTF_8)
+                : new byte[0];
+        final var buffer = ByteBuffer.allocate(URL_OFFSET + url.length);
+
+        final var board = new KalahBoard().load(gameStatus.getBoard());
+        for (int pitId = 1; pitId <= PIT_COUNT; pitId++) {
+            buffer.put((byte) board.seeds(pitId));
+        }
+        return buffer.put((byte) (gameStatus.player().number() | gameStatus.getState().code() << STATE_SHIFT))
+                .putInt((int) gameStatus.getVersion())
+                .putLong(gameStatus.getId())
+                .put(url)
+                .array();
+    }
+
+    /**
+     * Decode the compact binary representation into a new {@link GameStatus} instance.
+     *
+     * @param bytes {@code byte[]} of the encoded game status.
+     * @return new instance of {@link GameStatus}.
+     */
+    @NotNull
+    public static GameStatus decode(@NotNull byte[] bytes) {
+        final var buffer = ByteBuffer.wrap(bytes);
+
+        final var board = new KalahBoard();
+        for (int pitId = 1; pitId <= PIT_COUNT; pitId++) {
+            board.seeds(pitId, Byte.toUnsignedInt(buffer.get()));
+        }
+        final int flags = buffer.get();
+        final var player = (flags & 0x0F) == PLAYER_2.number() ? PLAYER_2 : PLAYER_1;
+        final long version = Integer.toUnsignedLong(buffer.getInt());
+        final long id = buffer.getLong();
+        final var url = bytes.length > URL_OFFSET
+                ? new String(bytes, URL_OFFSET, bytes.length - URL_OFFSET, StandardCharsets.UTF_8)
+                : null;
+
+        final var gameStatus = GameStatus.builder()
+                .id(id)
+                .url(url)
+                .board()
+                .player(player)
+                .version(version)
+                .state(GameState.of(flags >>> STATE_SHIFT & 0x0F))
+                .build();
+        board.store(gameStatus.getBoard());
+        return gameStatus;
+    }
+}
@@ -6,12 +6,15 @@ import org.springframework.stereotype.Repository;
 
 /**
  * The Spring Data Repository interface to deal with the Redis persistence module.
- * Only the inbuilt functions needed to use to cater te requirement.
+ * Only the inbuilt functions needed to use to cater te requirement, plus the
+ * {@link VersionedGameStatusRepo} fragment to save moves with optimistic concurrency and the
+ * {@link BatchGameStatusRepo} fragment to save new games in batches.
  *
  * @author Sachith Dickwella
  */
 @Repository
-public interface GameStatusRepo extends CrudRepository<GameStatus, Long> {
+public interface GameStatusRepo extends CrudRepository<GameStatus, Long>, VersionedGameStatusRepo,
+        BatchGameStatusRepo {
     /*
      * Nothing goes here.
      */
@@ -0,0 +1,80 @@
+package com.backbase.kalah.repos;
+
+import com.backbase.kalah.records.GameStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Persistence strategy of the game instances used by the
+ * {@link com.backbase.kalah.endpoints.util.ControllerUtils}. The implementation is selected with the
+ * {@code kalah.persistence.mode} property.
+ *
+ * @author Sachith Dickwella
+ */
+public interface GameStore {
+
+    /**
+     * Name of the property to select the {@link GameStore} implementation.
+     */
+    String MODE_PROPERTY = "kalah.persistence.mode";
+    /**
+     * Name of the property to set the time to live of the finished games in seconds, which defaults to
+     * {@link com.backbase.kalah.util.ServiceConstance#FINISHED_TIME_TO_LIVE}.
+     */
+    String FINISHED_TTL_PROPERTY = "kalah.persistence.finished-time-to-live";
+
+    /**
+     * Persist a newly created game instance.
+     *
+     * @param gameStatus instance of {@link GameStatus} to persist.
+     */
+    void create(@NotNull GameStatus gameStatus);
+
+    /**
+     * Persist newly created game instances in a single pipelined batch.
+     *
+     * @param gameStatuses {@link List} of {@link GameStatus} instances to persist.
+     */
+    void createAll(@NotNull List<GameStatus> gameStatuses);
+
+    /**
+     * Find the game instance with the given id.
+     *
+     * @param gameId {@code long} game id.
+     * @return an {@link GameStatus} instance wrapped with {@link Optional} class.
+     */
+    @NotNull
+    Optional<GameStatus> find(final long gameId);
+
+    /**
+     * Make a move on the game and persist the latest status of the game atomically.
+     *
+     * @param gameId {@code long} game id.
+     * @param pitId  {@code int} pit id.
+     * @return an {@link GameStatus} instance wrapped with {@link Optional} class, empty if the game does
+     * not exist.
+     * @throws com.backbase.kalah.util.GameOverException       if the game is already over.
+     * @throws com.backbase.kalah.util.InvalidPitUserException if the move is not allowed.
+     * @throws com.backbase.kalah.util.ConcurrentMoveException if another move has been saved meanwhile.
+     */
+    @NotNull
+    Optional<GameStatus> move(final long gameId, final int pitId);
+
+    /**
+     * Make the moves on the game one after the other and persist the latest status of the game atomically,
+     * once all of them are made. If any of the moves is not allowed, nothing is persisted.
+     *
+     * @param gameId {@code long} game id.
+     * @param pitIds {@code int[]} pit ids in the order of the moves.
+     * @return an {@link GameStatus} instance wrapped with {@link Optional} class, empty if the game does
+     * not exist.
+     * @throws com.backbase.kalah.util.GameOverException       if the game is already over.
+     * @throws com.backbase.kalah.util.InvalidPitUserException with the index of the first move which is not
+     *                                                         allowed.
+     * @throws com.backbase.kalah.util.ConcurrentMoveException if another move has been saved meanwhile.
+     */
+    @NotNull
+    Optional<GameStatus> moveAll(final long gameId, @NotNull int[] pitIds);
+}
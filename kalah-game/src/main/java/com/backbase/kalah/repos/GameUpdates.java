@@ -0,0 +1,202 @@
+package com.backbase.kalah.repos;
+
+import com.backbase.kalah.records.GameStatus;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+/**
+ * Fan-out of the saved games to the clients which follow them, on any of the service nodes, over Redis pub/sub.
+ *
+ * Each saved game is published in the {@link GameStatusCodec} format on a channel of its own,
+ * {@link #CHANNEL_PREFIX} followed by the game id. A node subscribes to the channel of a game only while any of
+ * its clients follows the game, so Redis only sends the games to the nodes which have somebody to hand them to,
+ * and publishing a game nobody follows costs a single {@code PUBLISH} round trip.
+ *
+ * The games are handed to the followers in the order of their versions. A game older than the last game handed
+ * to the follower, which could happen as the messages are dispatched on several threads, is dropped.
+ *
+ * Enabled by default, disabled with {@code kalah.stream.enabled=false} to save the round trip of each move.
+ *
+ * @author Sachith Dickwella
+ */
+@ConditionalOnProperty(name = GameUpdates.ENABLED_PROPERTY, havingValue = "true", matchIfMissing = true)
+@Component
+public class GameUpdates {
+
+    /**
+     * Name of the property to enable the {@link GameUpdates}.
+     */
+    public static final String ENABLED_PROPERTY = "kalah.stream.enabled";
+    /**
+     * Prefix of the pub/sub channels of the games.
+     */
+    public static final String CHANNEL_PREFIX = "kalah:game:updates:";
+    /**
+     * Channel the node subscribes to for as long as it runs, which nothing is published on.
+     */
+    private static final String STANDING_CHANNEL = "kalah:game:updates";
+
+    /**
+     * {@link RedisTemplate} injectable instance to publish the {@link GameStatusCodec} values with.
+     */
+    private final RedisTemplate<String, GameStatus> gameStatusTemplate;
+    /**
+     * {@link RedisMessageListenerContainer} injectable instance to subscribe to the channels of the games with.
+     */
+    private final RedisMessageListenerContainer container;
+    /**
+     * Followers of the games by game id, only for the games followed on this node.
+     */
+    private final ConcurrentMap<Long, Followers> followers = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor to {@link Autowired} or inject to the instance variables.
+     *
+     * @param gameStatusTemplate instance of {@link RedisTemplate} inject from the
+     *                           {@link org.springframework.context.ApplicationContext}
+     * @param container          instance of {@link RedisMessageListenerContainer} inject from the
+     *                           {@link org.springframework.context.ApplicationContext}
+     */
+    @Autowired
+    public GameUpdates(RedisTemplate<String, GameStatus> gameStatusTemplate,
+                       RedisMessageListenerContainer container) {
+        this.gameStatusTemplate = gameStatusTemplate;
+        this.container = container;
+
+        // Keeps the subscription connection of the container open, so that following a game subscribes to its
+        // channel on the open connection and returns once subscribed. Otherwise, the first game followed would
+        // open the connection in the background and miss the games published meanwhile.
+        container.addMessageListener((message, pattern) -> { }, new ChannelTopic(STANDING_CHANNEL));
+    }
+
+    /**
+     * Publish the saved game to its followers on all the nodes.
+     *
+     * @param gameStatus instance of {@link GameStatus} as saved.
+     * @return the same {@link GameStatus} instance.
+     */
+    @NotNull
+    public GameStatus publish(@NotNull GameStatus gameStatus) {
+        gameStatusTemplate.convertAndSend(channel(gameStatus.getId()), gameStatus);
+        return gameStatus;
+    }
+
+    /**
+     * Follow the game, until the returned {@link Subscription} is closed.
+     *
+     * @param gameId   {@code long} game id.
+     * @param follower {@link Consumer} of the saved games, called by one thread at a time.
+     * @return the {@link Subscription} of the {@code follower}.
+     */
+    @NotNull
+    public Subscription subscribe(final long gameId, @NotNull Consumer<GameStatus> follower) {
+        final var subscription = new Subscription(gameId, follower);
+        followers.compute(gameId, (id, current) -> {
+            if (current == null) {
+                current = new Followers();
+                container.addMessageListener(current, new ChannelTopic(channel(id)));
+            }
+            current.subscriptions.add(subscription);
+            return current;
+        });
+        return subscription;
+    }
+
+    /**
+     * Get the pub/sub channel of the game.
+     *
+     * @param gameId {@code long} game id.
+     * @return {@link String} channel name.
+     */
+    @NotNull
+    public static String channel(final long gameId) {
+        return CHANNEL_PREFIX + gameId;
+    }
+
+    /**
+     * Followers of a single game, which listen to the channel of the game on behalf of all of them.
+     */
+    private static final class Followers implements MessageListener {
+
+        /**
+         * {@link Subscription}s of the followers.
+         */
+        private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+        /**
+         * Hand the published game to each of the followers.
+         *
+         * @param message {@link Message} of the game in {@link GameStatusCodec} format.
+         * @param pattern not used.
+         */
+        @Override
+        public void onMessage(@NotNull Message message, byte[] pattern) {
+            final var bytes = message.getBody();
+            for (var subscription : subscriptions) {
+                subscription.accept(GameStatusCodec.decode(bytes));
+            }
+        }
+    }
+
+    /**
+     * Subscription of a follower to a game, which hands over the games newer than the last game handed over.
+     */
+    public final class Subscription implements AutoCloseable {
+
+        /**
+         * Game id.
+         */
+        private final long gameId;
+        /**
+         * {@link Consumer} of the saved games.
+         */
+        private final Consumer<GameStatus> follower;
+        /**
+         * Version of the last game handed over.
+         */
+        private long version = -1;
+
+        private Subscription(final long gameId, @NotNull Consumer<GameStatus> follower) {
+            this.gameId = gameId;
+            this.follower = follower;
+        }
+
+        /**
+         * Hand the game over to the follower, unless it is older than the last game handed over. Also used to
+         * hand over the game as read when the follower starts following it.
+         *
+         * @param gameStatus instance of {@link GameStatus} to hand over.
+         */
+        public synchronized void accept(@NotNull GameStatus gameStatus) {
+            if (gameStatus.getVersion() <= version) return;
+            version = gameStatus.getVersion();
+            follower.accept(gameStatus);
+        }
+
+        /**
+         * Stop following the game, and unsubscribe from its channel if nobody else on this node follows it.
+         */
+        @Override
+        public void close() {
+            followers.computeIfPresent(gameId, (id, current) -> {
+                current.subscriptions.remove(this);
+                if (!current.subscriptions.isEmpty()) return current;
+
+                container.removeMessageListener(current, new ChannelTopic(channel(id)));
+                return null;
+            });
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.backbase.kalah.repos;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configured urls of the games resources the games are served on, i.e. the urls of the games less their ids, so that
+ * the slots of the {@link OffHeapGames} keep the url of each game as the index of its games resource url. The urls
+ * come from the configuration rather than the requests, since the clients name the host of the request, so the table
+ * holds up to {@link #MAX_SIZE} of them and is never added to. Index {@code 0} stands for a game with no url.
+ *
+ * @author Sachith Dickwella
+ */
+final class GameUrls {
+
+    /**
+     * Maximum number of the urls.
+     */
+    static final int MAX_SIZE = 127;
+
+    /**
+     * Urls by their index less one.
+     */
+    private final List<String> urls;
+    /**
+     * Indexes by the url.
+     */
+    private final Map<String, Integer> indexes = new HashMap<>();
+
+    /**
+     * Create the table of the urls.
+     *
+     * @param gamesUrls array of {@link String} urls of the games resources, e.g.
+     *                  {@code http://localhost:8080/games}.
+     */
+    GameUrls(@NotNull String... gamesUrls) {
+        if (gamesUrls.length > MAX_SIZE) {
+            throw new IllegalArgumentException(String.format("%d games urls are more than %d", gamesUrls.length,
+                    MAX_SIZE));
+        }
+
+        this.urls = List.of(gamesUrls);
+        for (int i = 0; i < gamesUrls.length; i++) {
+            indexes.putIfAbsent(gamesUrls[i], i + 1);
+        }
+    }
+
+    /**
+     * Get the index of the url.
+     *
+     * @param url {@link String} url of a games resource, or {@code null} for a game with no url.
+     * @return {@code int} index of the url, {@code 0} for {@code null} and {@code -1} if the url is not configured.
+     */
+    int index(@Nullable String url) {
+        if (url == null) return 0;
+
+        final var index = indexes.get(url);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Get the url at the index.
+     *
+     * @param index {@code int} index of the url.
+     * @return {@link String} url of the games resource, or {@code null} if there is no url at the index.
+     */
+    @Nullable
+    String get(final int index) {
+        return index > 0 && index <= urls.size() ? urls.get(index - 1) : null;
+    }
+}
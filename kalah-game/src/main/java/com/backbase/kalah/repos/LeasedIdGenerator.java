@@ -0,0 +1,133 @@
+package com.backbase.kalah.repos;
+
+import com.backbase.kalah.configs.LocalConfig;
+import com.backbase.kalah.util.IdGenerator;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link IdGenerator} implementation which leases blocks of {@code kalah.id.block-size} consecutive sequence
+ * numbers from a Redis counter with a single {@code INCRBY}, and hands them out from memory. Since every block
+ * is leased only once, the sequence numbers are unique across the service nodes without any further check.
+ *
+ * The sequence numbers are scrambled with a bijective mix of the 63 low bits before being used as ids, so the
+ * ids stay unique and positive but do not look consecutive. The mix is neither keyed nor secret, and anyone
+ * could undo it to get the sequence number of an id and the ids next to it, so the ids are no access control.
+ *
+ * Left out with the {@link LocalConfig#PROFILE} profile, which runs the service without Redis.
+ *
+ * @author Sachith Dickwella
+ */
+@Profile("!" + LocalConfig.PROFILE)
+@Component
+public class LeasedIdGenerator implements IdGenerator {
+
+    /**
+     * Key of the Redis counter.
+     */
+    static final byte[] COUNTER_KEY = "kalah:game:ids".getBytes(StandardCharsets.UTF_8);
+    /**
+     * Mask of the 63 low bits, which keeps the ids positive.
+     */
+    private static final long MASK = Long.MAX_VALUE;
+
+    /**
+     * {@link RedisTemplate} injectable instance.
+     */
+    private final RedisTemplate<byte[], byte[]> redisTemplate;
+    /**
+     * Number of sequence numbers leased at once.
+     */
+    private final long blockSize;
+    /**
+     * Current block of sequence numbers, replaced once exhausted.
+     */
+    private volatile Block block = new Block(0, 0);
+
+    /**
+     * Constructor to {@link Autowired} or inject to the instance variables.
+     *
+     * @param redisTemplate instance of {@link RedisTemplate} inject from the
+     *                      {@link org.springframework.context.ApplicationContext}
+     * @param blockSize     number of sequence numbers to lease at once.
+     */
+    @Autowired
+    public LeasedIdGenerator(RedisTemplate<byte[], byte[]> redisTemplate,
+                             @Value("${kalah.id.block-size:1000}") long blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("kalah.id.block-size must be positive");
+        }
+        this.redisTemplate = redisTemplate;
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public long nextId() {
+        while (true) {
+            final var current = block;
+            final long sequence = current.next.getAndIncrement();
+            if (sequence < current.end) {
+                return scramble(sequence);
+            }
+            synchronized (this) {
+                if (block == current) {
+                    block = lease();
+                }
+            }
+        }
+    }
+
+    /**
+     * Lease the next block of sequence numbers from the Redis counter. The counter starts from zero, so the
+     * first sequence number is one and no id is ever zero.
+     *
+     * @return new {@link Block} instance.
+     */
+    @NotNull
+    private Block lease() {
+        final Long end = redisTemplate.execute((RedisCallback<Long>) connection ->
+                connection.incrBy(COUNTER_KEY, blockSize));
+        if (end == null) {
+            throw new IllegalStateException("Could not lease a block of game ids");
+        }
+        return new Block(end - blockSize + 1, end + 1);
+    }
+
+    /**
+     * Map the sequence number into an id with a bijection of the 63 low bits: multiplications by odd
+     * constants and right xor-shifts, each of which can be undone, so that distinct sequence numbers always
+     * give distinct ids.
+     *
+     * @param sequence {@code long} sequence number.
+     * @return {@code long} positive id.
+     */
+    static long scramble(long sequence) {
+        long x = (sequence * 0x9E3779B97F4A7C15L) & MASK;
+        x ^= x >>> 31;
+        x = (x * 0xBF58476D1CE4E5B9L) & MASK;
+        x ^= x >>> 29;
+        return x;
+    }
+
+    /**
+     * Leased range of sequence numbers from {@code next} inclusive to {@link #end} exclusive.
+     */
+    private static final class Block {
+
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(final long start, final long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
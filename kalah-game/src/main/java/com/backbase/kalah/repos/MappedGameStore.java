@@ -0,0 +1,472 @@
+package com.backbase.kalah.repos;
+
+import com.backbase.kalah.PlayKalah;
+import com.backbase.kalah.records.GameStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.backbase.kalah.util.ServiceConstance.FINISHED_TIME_TO_LIVE;
+import static com.backbase.kalah.util.ServiceConstance.TIME_TO_LIVE;
+
+/**
+ * {@link GameStore} implementation which keeps the games in a memory-mapped file on the local disk, rather than
+ * in Redis, for the single node deployments. Selected with {@code kalah.persistence.mode=mapped}, which the
+ * {@link com.backbase.kalah.configs.LocalConfig#PROFILE} profile sets along with running the service without
+ * Redis altogether.
+ *
+ * The file holds a header and {@code kalah.mapped.capacity} fixed-size {@link GameSlots} of {@link #SLOT_SIZE}
+ * bytes, the time stamp of which is the expiry time of the game, {@code 0} for a free slot. The games are kept
+ * with their ids only, not with their urls, which come from the requests of the clients. The games are read with
+ * no url, and the url of a game is built from the request it is answered to instead, see
+ * {@link com.backbase.kalah.endpoints.util.ControllerUtils}.
+ *
+ * The slots of the games are looked up in an off-heap {@link SlotIndex}, and the free slots are kept in an
+ * off-heap stack, both of which are rebuilt from the slots when the file is opened. A move reads and writes the
+ * slot of the game in place, under a lock of the slot, so the moves on the same game are applied one after the
+ * other instead of conflicting. The games expired from the slots are dropped by the background compactor every
+ * {@code kalah.mapped.compact-interval} seconds, and are not found in the meantime.
+ *
+ * The file is flushed to the disk by the operating system, and forced once the store is closed, so a crash of
+ * the service keeps the games, but a crash of the box could lose the latest moves.
+ *
+ * @author Sachith Dickwella
+ */
+@ConditionalOnProperty(name = GameStore.MODE_PROPERTY, havingValue = "mapped")
+@Component
+public class MappedGameStore implements GameStore {
+
+    /**
+     * Name of the property to set the path of the file.
+     */
+    public static final String PATH_PROPERTY = "kalah.mapped.path";
+    /**
+     * Name of the property to set the number of slots of the file.
+     */
+    public static final String CAPACITY_PROPERTY = "kalah.mapped.capacity";
+    /**
+     * Name of the property to set the seconds between the runs of the compactor.
+     */
+    public static final String COMPACT_INTERVAL_PROPERTY = "kalah.mapped.compact-interval";
+    /**
+     * Size of a slot in bytes.
+     */
+    public static final int SLOT_SIZE = GameSlots.SLOT_SIZE;
+    /**
+     * Size of the header in bytes, a page, which the slots start after.
+     */
+    static final int HEADER_SIZE = 4096;
+
+    /**
+     * {@link Logger} instance.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(MappedGameStore.class);
+    /**
+     * Magic number of the file, {@code KLH1}.
+     */
+    private static final int MAGIC = 0x4B4C4831;
+    /**
+     * Offset of the number of slots in the header.
+     */
+    private static final int CAPACITY_OFFSET = Integer.BYTES;
+    /**
+     * Offset of the last sequence number of the game ids in the header.
+     */
+    private static final int SEQUENCE_OFFSET = Long.BYTES;
+    /**
+     * Number of the locks of the slots.
+     */
+    private static final int LOCK_STRIPES = 64;
+
+    /**
+     * {@link PlayKalah} injectable instance to make the moves with.
+     */
+    private final PlayKalah playKalah;
+    /**
+     * Seconds a finished game lives in the file.
+     */
+    private final long finishedTimeToLive;
+    /**
+     * Number of slots.
+     */
+    private final int capacity;
+    /**
+     * Memory-mapped file, the header and the slots.
+     */
+    private final MappedByteBuffer file;
+    /**
+     * Index of the slots by game id.
+     */
+    private final SlotIndex index;
+    /**
+     * Stack of the free slot numbers, off-heap as well.
+     */
+    private final IntBuffer freeSlots;
+    /**
+     * Lock of the {@link #index} and the {@link #freeSlots}, read to use a slot and written to take or free one.
+     */
+    private final ReadWriteLock slotsLock = new ReentrantReadWriteLock();
+    /**
+     * Locks of the slots, by the slot number.
+     */
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    /**
+     * Single thread of the compactor.
+     */
+    private final ScheduledExecutorService compactor;
+
+    /**
+     * Constructor to {@link Autowired} or inject to the instance variables, which opens or creates the file and
+     * starts the compactor.
+     *
+     * @param playKalah          instance of {@link PlayKalah} inject from the
+     *                           {@link org.springframework.context.ApplicationContext}
+     * @param finishedTimeToLive seconds a finished game lives in the file.
+     * @param path               {@link String} path of the file.
+     * @param capacity           number of slots of the file.
+     * @param compactInterval    seconds between the runs of the compactor.
+     */
+    @Autowired
+    public MappedGameStore(PlayKalah playKalah,
+                           @Value("${" + FINISHED_TTL_PROPERTY + ":" + FINISHED_TIME_TO_LIVE + "}")
+                                   long finishedTimeToLive,
+                           @Value("${" + PATH_PROPERTY + ":kalah-games.dat}") String path,
+                           @Value("${" + CAPACITY_PROPERTY + ":1000000}") int capacity,
+                           @Value("${" + COMPACT_INTERVAL_PROPERTY + ":60}") long compactInterval) {
+        if (capacity < 1 || capacity > (Integer.MAX_VALUE - HEADER_SIZE) / SLOT_SIZE) {
+            throw new IllegalArgumentException(String.format("%s %d is out of range", CAPACITY_PROPERTY, capacity));
+        }
+
+        this.playKalah = playKalah;
+        this.finishedTimeToLive = finishedTimeToLive;
+        this.capacity = capacity;
+        this.file = map(Paths.get(path), capacity);
+        this.index = new SlotIndex(capacity);
+        this.freeSlots = ByteBuffer.allocateDirect(capacity * Integer.BYTES).asIntBuffer();
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        load();
+
+        this.compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final var thread = new Thread(runnable, "kalah-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        compactor.scheduleWithFixedDelay(this::compact, compactInterval, compactInterval, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void create(@NotNull GameStatus gameStatus) {
+        createAll(List.of(gameStatus));
+    }
+
+    @Override
+    public void createAll(@NotNull List<GameStatus> gameStatuses) {
+        if (gameStatuses.isEmpty()) return;
+
+        final var expiry = expiry(TIME_TO_LIVE);
+        slotsLock.writeLock().lock();
+        try {
+            for (var gameStatus : gameStatuses) {
+                int slot = index.get(gameStatus.getId());
+                if (slot < 0) {
+                    if (freeSlots.position() == 0) {
+                        throw new IllegalStateException(String.format("All %d slots are in use", capacity));
+                    }
+                    slot = freeSlots.get(freeSlots.position() - 1);
+                    freeSlots.position(freeSlots.position() - 1);
+                    index.put(gameStatus.getId(), slot);
+                }
+                synchronized (lock(slot)) {
+                    write(slot, gameStatus, expiry);
+                }
+            }
+        } finally {
+            slotsLock.writeLock().unlock();
+        }
+    }
+
+    @NotNull
+    @Override
+    public Optional<GameStatus> find(final long gameId) {
+        slotsLock.readLock().lock();
+        try {
+            final int slot = index.get(gameId);
+            if (slot < 0) return Optional.empty();
+
+            synchronized (lock(slot)) {
+                return Optional.ofNullable(read(slot));
+            }
+        } finally {
+            slotsLock.readLock().unlock();
+        }
+    }
+
+    @NotNull
+    @Override
+    public Optional<GameStatus> move(final long gameId, final int pitId) {
+        return moveAndSave(gameId, new int[]{pitId}, false);
+    }
+
+    @NotNull
+    @Override
+    public Optional<GameStatus> moveAll(final long gameId, @NotNull int[] pitIds) {
+        return moveAndSave(gameId, pitIds, true);
+    }
+
+    /**
+     * Get the next game id, from the sequence kept in the header so that the ids are not handed out again after
+     * a restart. The sequence numbers are scrambled into the ids the same way the {@link LeasedIdGenerator} does.
+     *
+     * @return {@code long} unique, positive game id.
+     */
+    public synchronized long nextId() {
+        final long sequence = file.getLong(SEQUENCE_OFFSET) + 1;
+        file.putLong(SEQUENCE_OFFSET, sequence);
+        return LeasedIdGenerator.scramble(sequence);
+    }
+
+    /**
+     * Get the number of games in the slots, expired games yet to be compacted included.
+     *
+     * @return {@code int} number of games.
+     */
+    public int size() {
+        slotsLock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            slotsLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get the memory of the store, the mapped file and the off-heap index and free slots stack, for its whole
+     * capacity.
+     *
+     * @return {@code long} size of the store in bytes.
+     */
+    public long footprint() {
+        return file.capacity() + index.bytes() + (long) freeSlots.capacity() * Integer.BYTES;
+    }
+
+    /**
+     * Free the slots of the games which have expired.
+     *
+     * @return {@code int} number of slots freed.
+     */
+    public int compact() {
+        final long now = now();
+        int freed = 0;
+        slotsLock.writeLock().lock();
+        try {
+            for (int slot = 0; slot < capacity; slot++) {
+                final long expiry = expiryOf(slot);
+                if (expiry != 0 && expiry <= now) {
+                    index.remove(GameSlots.id(file, offset(slot)));
+                    free(slot);
+                    freed++;
+                }
+            }
+        } finally {
+            slotsLock.writeLock().unlock();
+        }
+
+        if (freed > 0) LOGGER.debug("Compacted {} expired games, {} games left", freed, index.size());
+        return freed;
+    }
+
+    /**
+     * Stop the compactor and write the file through to the disk, along with the
+     * {@link org.springframework.context.ApplicationContext}.
+     */
+    @PreDestroy
+    public void close() {
+        compactor.shutdownNow();
+        file.force();
+    }
+
+    /**
+     * Make the moves on the game in its slot, see {@link PlayKalah#makeMoves(GameStatus, int[], boolean)}.
+     *
+     * @param gameId  {@code long} game id.
+     * @param pitIds  {@code int[]} pit ids in the order of the moves.
+     * @param indexed {@code boolean} whether to report the index of the rejected move.
+     * @return an {@link GameStatus} instance wrapped with {@link Optional} class.
+     */
+    @NotNull
+    private Optional<GameStatus> moveAndSave(final long gameId, @NotNull int[] pitIds, final boolean indexed) {
+        slotsLock.readLock().lock();
+        try {
+            final int slot = index.get(gameId);
+            if (slot < 0) return Optional.empty();
+
+            synchronized (lock(slot)) {
+                final var gameStatus = read(slot);
+                if (gameStatus == null) return Optional.empty();
+
+                playKalah.makeMoves(gameStatus, pitIds, indexed);
+                write(slot, gameStatus,
+                        expiry(gameStatus.getState().finished() ? finishedTimeToLive : TIME_TO_LIVE));
+                return Optional.of(gameStatus);
+            }
+        } finally {
+            slotsLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Read the game in the slot.
+     *
+     * @param slot {@code int} slot number.
+     * @return new {@link GameStatus} instance or {@code null} if the game has expired.
+     */
+    @Nullable
+    private GameStatus read(final int slot) {
+        return expiryOf(slot) > now() ? GameSlots.read(file, offset(slot), null) : null;
+    }
+
+    /**
+     * Write the game into the slot.
+     *
+     * @param slot       {@code int} slot number.
+     * @param gameStatus instance of {@link GameStatus} to write.
+     * @param expiry     {@code int} expiry time in epoch seconds.
+     */
+    private void write(final int slot, @NotNull GameStatus gameStatus, final int expiry) {
+        GameSlots.write(file, offset(slot), gameStatus, expiry);
+    }
+
+    /**
+     * Free the slot and push it onto the free slots stack.
+     *
+     * @param slot {@code int} slot number.
+     */
+    private void free(final int slot) {
+        file.putInt(offset(slot) + GameSlots.STAMP_OFFSET, 0);
+        freeSlots.put(slot);
+    }
+
+    /**
+     * Rebuild the index and the free slots stack from the slots of the file, freeing the slots of the games which
+     * have expired meanwhile.
+     */
+    private void load() {
+        final long now = now();
+        // Free slots are pushed from the last, so the slots are taken from the start of the file.
+        for (int slot = capacity - 1; slot >= 0; slot--) {
+            final long expiry = expiryOf(slot);
+            if (expiry > now) {
+                index.put(GameSlots.id(file, offset(slot)), slot);
+            } else {
+                free(slot);
+            }
+        }
+        LOGGER.info("Opened {} games in {} slots", index.size(), capacity);
+    }
+
+    /**
+     * Get the lock of the slot.
+     *
+     * @param slot {@code int} slot number.
+     * @return the lock {@link Object}.
+     */
+    @NotNull
+    private Object lock(final int slot) {
+        return locks[slot & (LOCK_STRIPES - 1)];
+    }
+
+    /**
+     * Get the expiry time of the game in the slot.
+     *
+     * @param slot {@code int} slot number.
+     * @return {@code long} expiry time in epoch seconds, {@code 0} if the slot is free.
+     */
+    private long expiryOf(final int slot) {
+        return GameSlots.stamp(file, offset(slot));
+    }
+
+    /**
+     * Get the offset of the slot in the file.
+     *
+     * @param slot {@code int} slot number.
+     * @return {@code int} offset in bytes.
+     */
+    private static int offset(final int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    /**
+     * Get the expiry time of a game saved now.
+     *
+     * @param timeToLive {@code long} seconds the game lives.
+     * @return {@code int} expiry time in epoch seconds, unsigned.
+     */
+    private static int expiry(final long timeToLive) {
+        return (int) (now() + timeToLive);
+    }
+
+    /**
+     * Get the current time.
+     *
+     * @return {@code long} epoch seconds.
+     */
+    private static long now() {
+        return TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+    }
+
+    /**
+     * Map the file, and write the header if the file is new. The header of an existing file is checked before the
+     * file is mapped, so that a file which is not a game file of the same capacity is left as it is.
+     *
+     * @param path     {@link Path} of the file.
+     * @param capacity number of slots of the file.
+     * @return the {@link MappedByteBuffer} of the whole file.
+     * @throws IllegalStateException if the file is not a game file of the same capacity.
+     */
+    @NotNull
+    private static MappedByteBuffer map(@NotNull Path path, final int capacity) {
+        try (var channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            final boolean created = channel.size() == 0;
+            if (!created) {
+                final var header = ByteBuffer.allocate(CAPACITY_OFFSET + Integer.BYTES);
+                if (channel.size() < HEADER_SIZE || channel.read(header, 0) < header.capacity()
+                        || header.getInt(0) != MAGIC || header.getInt(CAPACITY_OFFSET) != capacity) {
+                    throw new IllegalStateException(String.format("%s is not a game file of %d slots", path,
+                            capacity));
+                }
+            }
+
+            final var file = channel.map(FileChannel.MapMode.READ_WRITE, 0, offset(capacity));
+            if (created) file.putInt(0, MAGIC).putInt(CAPACITY_OFFSET, capacity);
+            return file;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,376 @@
+package com.backbase.kalah.repos;
+
+import com.backbase.kalah.records.GameStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bounded table of games kept off the heap, in {@link GameSlots} of a direct {@link ByteBuffer} looked up through
+ * a {@link SlotIndex}, so that however many games are kept, the garbage collector sees a handful of objects
+ * rather than an object graph per game. The {@link GameCache} keeps the games here with
+ * {@code kalah.cache.off-heap=true}.
+ *
+ * The time stamp of a slot is the time the game was last read or written, and a game idle for longer than the
+ * idle time is not found any longer. Once all the slots are taken, a new game takes the slot of an idle game, or
+ * of a game which has not been read or written since the last sweep, found by sweeping the slots round like the
+ * hand of a clock. The lowest bit of the flags of a slot marks whether the game has been read or written since the
+ * last sweep.
+ *
+ * The url of each game is kept as the index of its games resource url in the {@link GameUrls} of the table, in the
+ * rest of the flags of its slot. A game served on a resource which is not configured is not kept, and is read from
+ * Redis instead.
+ *
+ * @author Sachith Dickwella
+ */
+final class OffHeapGames {
+
+    /**
+     * Flag of a slot read or written since the last sweep.
+     */
+    private static final int REFERENCED = 1;
+    /**
+     * Shift of the url index in the flags of a slot.
+     */
+    private static final int URL_INDEX_SHIFT = 1;
+    /**
+     * Number of the locks of the slots.
+     */
+    private static final int LOCK_STRIPES = 64;
+
+    /**
+     * Number of slots.
+     */
+    private final int capacity;
+    /**
+     * Seconds after the last read or write to drop a game.
+     */
+    private final long idleSeconds;
+    /**
+     * Slots of the games.
+     */
+    private final ByteBuffer slots;
+    /**
+     * Index of the slots by game id.
+     */
+    private final SlotIndex index;
+    /**
+     * Stack of the free slot numbers.
+     */
+    private final IntBuffer freeSlots;
+    /**
+     * Lock of the {@link #index} and the {@link #freeSlots}, read to use a slot and written to take or free one.
+     */
+    private final ReadWriteLock slotsLock = new ReentrantReadWriteLock();
+    /**
+     * Locks of the slots, by the slot number.
+     */
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    /**
+     * Number of the games found.
+     */
+    private final LongAdder hits = new LongAdder();
+    /**
+     * Number of the games not found.
+     */
+    private final LongAdder misses = new LongAdder();
+    /**
+     * Number of the games dropped to free their slots.
+     */
+    private final LongAdder evictions = new LongAdder();
+    /**
+     * Next slot to sweep.
+     */
+    private int hand;
+    /**
+     * Urls of the games resources of the games kept.
+     */
+    private final GameUrls urls;
+
+    /**
+     * Create an empty table.
+     *
+     * @param capacity    {@code int} number of slots.
+     * @param idleSeconds {@code long} seconds after the last read or write to drop a game.
+     * @param gamesUrls   array of {@link String} urls of the games resources the games are kept for.
+     */
+    OffHeapGames(final int capacity, final long idleSeconds, @NotNull String... gamesUrls) {
+        if (capacity < 1 || capacity > Integer.MAX_VALUE / GameSlots.SLOT_SIZE) {
+            throw new IllegalArgumentException(String.format("Capacity %d is out of range", capacity));
+        }
+
+        this.capacity = capacity;
+        this.idleSeconds = idleSeconds;
+        this.urls = new GameUrls(gamesUrls);
+        this.slots = ByteBuffer.allocateDirect(capacity * GameSlots.SLOT_SIZE);
+        this.index = new SlotIndex(capacity);
+        this.freeSlots = ByteBuffer.allocateDirect(capacity * Integer.BYTES).asIntBuffer();
+        for (int slot = capacity - 1; slot >= 0; slot--) {
+            freeSlots.put(slot);
+        }
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Get a copy of the game.
+     *
+     * @param gameId {@code long} game id.
+     * @return new {@link GameStatus} instance wrapped with {@link Optional} class, empty if the game is not kept
+     * or idle.
+     */
+    @NotNull
+    Optional<GameStatus> get(final long gameId) {
+        slotsLock.readLock().lock();
+        try {
+            final int slot = index.get(gameId);
+            if (slot >= 0) {
+                synchronized (lock(slot)) {
+                    final long now = now();
+                    if (!idle(slot, now)) {
+                        touch(slot, now);
+                        hits.increment();
+                        final int flags = Byte.toUnsignedInt(slots.get(offset(slot) + GameSlots.FLAGS_OFFSET));
+                        return Optional.of(GameSlots.read(slots, offset(slot), urls.get(flags >>> URL_INDEX_SHIFT)));
+                    }
+                }
+            }
+        } finally {
+            slotsLock.readLock().unlock();
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Keep a copy of the game, in place of the copy kept already, if any. A game served on a resource which is not
+     * configured is dropped instead.
+     *
+     * @param gameStatus instance of {@link GameStatus} to keep.
+     */
+    void put(@NotNull GameStatus gameStatus) {
+        final int urlIndex = urls.index(GameSlots.gamesUrl(gameStatus));
+        if (urlIndex < 0) {
+            invalidate(gameStatus.getId());
+            return;
+        }
+
+        slotsLock.readLock().lock();
+        try {
+            final int slot = index.get(gameStatus.getId());
+            if (slot >= 0) {
+                write(slot, gameStatus, urlIndex);
+                return;
+            }
+        } finally {
+            slotsLock.readLock().unlock();
+        }
+
+        slotsLock.writeLock().lock();
+        try {
+            int slot = index.get(gameStatus.getId());
+            if (slot < 0) {
+                slot = freeSlots.position() > 0 ? pop() : evict();
+                index.put(gameStatus.getId(), slot);
+            }
+            write(slot, gameStatus, urlIndex);
+        } finally {
+            slotsLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop the game.
+     *
+     * @param gameId {@code long} game id.
+     */
+    void invalidate(final long gameId) {
+        slotsLock.writeLock().lock();
+        try {
+            final int slot = index.remove(gameId);
+            if (slot >= 0) freeSlots.put(slot);
+        } finally {
+            slotsLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop the game if the copy kept is older than the given version.
+     *
+     * @param gameId  {@code long} game id.
+     * @param version {@code long} version of the game.
+     * @return {@code true} if the game has been dropped.
+     */
+    boolean invalidateOlder(final long gameId, final long version) {
+        slotsLock.writeLock().lock();
+        try {
+            final int slot = index.get(gameId);
+            if (slot < 0 || GameSlots.version(slots, offset(slot)) >= version) return false;
+
+            index.remove(gameId);
+            freeSlots.put(slot);
+            return true;
+        } finally {
+            slotsLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Get the number of games kept, idle games yet to be evicted included.
+     *
+     * @return {@code long} number of games.
+     */
+    long size() {
+        slotsLock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            slotsLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get the number of the games found.
+     *
+     * @return {@code long} number of hits.
+     */
+    long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Get the number of the games not found.
+     *
+     * @return {@code long} number of misses.
+     */
+    long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Get the number of the games dropped to free their slots.
+     *
+     * @return {@code long} number of evictions.
+     */
+    long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Get the off-heap memory of the table, the slots, the index and the free slots stack.
+     *
+     * @return {@code long} size of the table in bytes.
+     */
+    long bytes() {
+        return slots.capacity() + index.bytes() + (long) freeSlots.capacity() * Integer.BYTES;
+    }
+
+    /**
+     * Write the game into the slot and mark it referenced.
+     *
+     * @param slot       {@code int} slot number.
+     * @param gameStatus instance of {@link GameStatus} to write.
+     * @param urlIndex   {@code int} index of the url of the games resource in the {@link #urls}.
+     */
+    private void write(final int slot, @NotNull GameStatus gameStatus, final int urlIndex) {
+        synchronized (lock(slot)) {
+            final long now = now();
+            GameSlots.write(slots, offset(slot), gameStatus, (int) now);
+            slots.put(offset(slot) + GameSlots.FLAGS_OFFSET, (byte) (urlIndex << URL_INDEX_SHIFT | REFERENCED));
+        }
+    }
+
+    /**
+     * Take a slot off the free slots stack.
+     *
+     * @return {@code int} slot number.
+     */
+    private int pop() {
+        final int position = freeSlots.position() - 1;
+        freeSlots.position(position);
+        return freeSlots.get(position);
+    }
+
+    /**
+     * Sweep the slots from the hand on, and drop the first game which is idle or has not been read or written
+     * since the previous sweep, clearing the marks of the others on the way. Called with all the slots taken.
+     *
+     * @return {@code int} slot number of the dropped game.
+     */
+    private int evict() {
+        final long now = now();
+        while (true) {
+            final int slot = hand;
+            hand = hand + 1 == capacity ? 0 : hand + 1;
+
+            final int flags = offset(slot) + GameSlots.FLAGS_OFFSET;
+            if ((slots.get(flags) & REFERENCED) != 0 && !idle(slot, now)) {
+                slots.put(flags, (byte) (slots.get(flags) & ~REFERENCED));
+            } else {
+                index.remove(GameSlots.id(slots, offset(slot)));
+                evictions.increment();
+                return slot;
+            }
+        }
+    }
+
+    /**
+     * Mark the game in the slot read now.
+     *
+     * @param slot {@code int} slot number.
+     * @param now  {@code long} epoch seconds.
+     */
+    private void touch(final int slot, final long now) {
+        slots.putInt(offset(slot) + GameSlots.STAMP_OFFSET, (int) now)
+                .put(offset(slot) + GameSlots.FLAGS_OFFSET,
+                        (byte) (slots.get(offset(slot) + GameSlots.FLAGS_OFFSET) | REFERENCED));
+    }
+
+    /**
+     * Check whether the game in the slot has been idle for longer than the idle time.
+     *
+     * @param slot {@code int} slot number.
+     * @param now  {@code long} epoch seconds.
+     * @return {@code true} if the game is idle.
+     */
+    private boolean idle(final int slot, final long now) {
+        return GameSlots.stamp(slots, offset(slot)) + idleSeconds <= now;
+    }
+
+    /**
+     * Get the lock of the slot.
+     *
+     * @param slot {@code int} slot number.
+     * @return the lock {@link Object}.
+     */
+    @NotNull
+    private Object lock(final int slot) {
+        return locks[slot & (LOCK_STRIPES - 1)];
+    }
+
+    /**
+     * Get the offset of the slot.
+     *
+     * @param slot {@code int} slot number.
+     * @return {@code int} offset in bytes.
+     */
+    private static int offset(final int slot) {
+        return slot * GameSlots.SLOT_SIZE;
+    }
+
+    /**
+     * Get the current time.
+     *
+     * @return {@code long} epoch seconds.
+     */
+    private static long now() {
+        return TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,229 @@
+package com.backbase.kalah.repos;
+
+import com.backbase.kalah.GameMetrics;
+import com.backbase.kalah.PlayKalah;
+import com.backbase.kalah.configs.ReactiveConfig;
+import com.backbase.kalah.records.GameStatus;
+import com.backbase.kalah.util.ConcurrentMoveException;
+import com.backbase.kalah.util.InvalidPitUserException;
+import io.micrometer.core.instrument.Timer;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisElementReader;
+import org.springframework.data.redis.serializer.RedisElementWriter;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static com.backbase.kalah.util.ServiceConstance.FINISHED_TIME_TO_LIVE;
+import static com.backbase.kalah.util.ServiceConstance.TIME_TO_LIVE;
+
+/**
+ * Non-blocking counterpart of the {@link GameStore} of the reactive variant of the service, on the
+ * {@link ReactiveRedisTemplate}. The games are kept in the {@link GameStatusCodec} format under the same keys as
+ * the {@link ScriptedGameStore} keeps them, so the blocking nodes in the {@code script} mode and the reactive
+ * nodes could share the games.
+ *
+ * Unlike the {@link ScriptedGameStore} though, the moves are made with {@link PlayKalah} in the service, like the
+ * {@link RepositoryGameStore} makes them, and the game is written back with the {@code compare-and-set.lua}
+ * script only if nobody else has saved it since it was read. Otherwise, {@link ConcurrentMoveException} is
+ * signalled for the client to reload the game and retry.
+ *
+ * Each Redis call is timed by the {@link GameMetrics}, the same way the blocking stores time them.
+ *
+ * @author Sachith Dickwella
+ */
+@Profile(ReactiveConfig.PROFILE)
+@Component
+public class ReactiveGameStore {
+
+    /**
+     * Conditional write script of the games.
+     */
+    private static final RedisScript<Long> COMPARE_AND_SET = RedisScript.of(
+            new ClassPathResource("scripts/compare-and-set.lua"), Long.class);
+    /**
+     * Writer of the {@link #COMPARE_AND_SET} script arguments, which are all raw {@code byte[]}.
+     */
+    private static final RedisElementWriter<byte[]> ARGS_WRITER = RedisElementWriter.from(RedisSerializer.byteArray());
+    /**
+     * Reader of the {@link #COMPARE_AND_SET} script result, which is only used if the integer reply comes as a
+     * bulk string.
+     */
+    private static final RedisElementReader<Long> RESULT_READER = buffer ->
+            Long.valueOf(StandardCharsets.UTF_8.decode(buffer).toString());
+
+    /**
+     * {@link ReactiveRedisTemplate} injectable instance to read and write the {@link GameStatusCodec} values with.
+     */
+    private final ReactiveRedisTemplate<String, GameStatus> template;
+    /**
+     * {@link PlayKalah} injectable instance.
+     */
+    private final PlayKalah playKalah;
+    /**
+     * Time to live argument of the {@link #COMPARE_AND_SET} script for the games in progress.
+     */
+    private final byte[] timeToLiveArg;
+    /**
+     * Time to live argument of the {@link #COMPARE_AND_SET} script for the finished games.
+     */
+    private final byte[] finishedTimeToLiveArg;
+    /**
+     * {@link Timer} of the game reads.
+     */
+    private final Timer findTimer;
+    /**
+     * {@link Timer} of the game writes.
+     */
+    private final Timer saveTimer;
+
+    /**
+     * Constructor to {@link Autowired} or inject to the instance variables.
+     *
+     * @param template           instance of {@link ReactiveRedisTemplate} inject from the
+     *                           {@link org.springframework.context.ApplicationContext}
+     * @param playKalah          instance of {@link PlayKalah} inject from the
+     *                           {@link org.springframework.context.ApplicationContext}
+     * @param finishedTimeToLive seconds a finished game lives in Redis.
+     * @param metrics            instance of {@link GameMetrics} inject from the
+     *                           {@link org.springframework.context.ApplicationContext}
+     */
+    @Autowired
+    public ReactiveGameStore(ReactiveRedisTemplate<String, GameStatus> template, PlayKalah playKalah,
+                             @Value("${" + GameStore.FINISHED_TTL_PROPERTY + ":" + FINISHED_TIME_TO_LIVE + "}")
+                                     long finishedTimeToLive,
+                             GameMetrics metrics) {
+        this.template = template;
+        this.playKalah = playKalah;
+        this.timeToLiveArg = bytes(String.valueOf(TIME_TO_LIVE));
+        this.finishedTimeToLiveArg = bytes(String.valueOf(finishedTimeToLive));
+        this.findTimer = metrics.redisTimer("find");
+        this.saveTimer = metrics.redisTimer("save");
+    }
+
+    /**
+     * Persist a newly created game instance.
+     *
+     * @param gameStatus instance of {@link GameStatus} to persist.
+     * @return {@link Mono} which completes once the game is persisted.
+     */
+    @NotNull
+    public Mono<Void> create(@NotNull GameStatus gameStatus) {
+        final var key = ScriptedGameStore.KEY_PREFIX + gameStatus.getId();
+        return GameMetrics.timed(saveTimer, template.opsForValue()
+                .set(key, gameStatus, Duration.ofSeconds(TIME_TO_LIVE)))
+                .then();
+    }
+
+    /**
+     * Find the game instance with the given id.
+     *
+     * @param gameId {@code long} game id.
+     * @return {@link Mono} of the {@link GameStatus}, empty if the game does not exist.
+     */
+    @NotNull
+    public Mono<GameStatus> find(final long gameId) {
+        return GameMetrics.timed(findTimer, template.opsForValue().get(ScriptedGameStore.KEY_PREFIX + gameId));
+    }
+
+    /**
+     * Publish the saved game to its followers on all the nodes, as {@link GameUpdates#publish(GameStatus)} does.
+     *
+     * @param gameStatus instance of {@link GameStatus} as saved.
+     * @return {@link Mono} of the same {@link GameStatus} instance, once published.
+     */
+    @NotNull
+    public Mono<GameStatus> publish(@NotNull GameStatus gameStatus) {
+        return template.convertAndSend(GameUpdates.channel(gameStatus.getId()), gameStatus).thenReturn(gameStatus);
+    }
+
+    /**
+     * Make a move on the game and persist the latest status of the game, as {@link GameStore#move(long, int)}
+     * does.
+     *
+     * @param gameId {@code long} game id.
+     * @param pitId  {@code int} pit id.
+     * @return {@link Mono} of the saved {@link GameStatus}, empty if the game does not exist.
+     */
+    @NotNull
+    public Mono<GameStatus> move(final long gameId, final int pitId) {
+        return moveAndSave(gameId, new int[]{pitId}, false);
+    }
+
+    /**
+     * Make the moves on the game one after the other and persist the latest status of the game once, as
+     * {@link GameStore#moveAll(long, int[])} does.
+     *
+     * @param gameId {@code long} game id.
+     * @param pitIds {@code int[]} pit ids in the order of the moves.
+     * @return {@link Mono} of the saved {@link GameStatus}, empty if the game does not exist.
+     */
+    @NotNull
+    public Mono<GameStatus> moveAll(final long gameId, @NotNull int[] pitIds) {
+        return moveAndSave(gameId, pitIds, true);
+    }
+
+    /**
+     * Read the game, make the moves and write the game back with the version check. A game which is already
+     * over is rejected as a whole, before any of the moves, as the {@link RepositoryGameStore} does, and a game
+     * which expires or is deleted before it is written back is not found, as with the other stores.
+     *
+     * @param gameId  {@code long} game id.
+     * @param pitIds  {@code int[]} pit ids in the order of the moves.
+     * @param indexed {@code boolean} whether to report the index of the rejected move.
+     * @return {@link Mono} of the saved {@link GameStatus}, empty if the game does not exist.
+     */
+    @NotNull
+    private Mono<GameStatus> moveAndSave(final long gameId, @NotNull int[] pitIds, final boolean indexed) {
+        return find(gameId).flatMap(gameStatus -> {
+            final byte[] expectedVersion;
+            try {
+                expectedVersion = versionBytes(playKalah.makeMoves(gameStatus, pitIds, indexed));
+            } catch (InvalidPitUserException ex) {
+                return Mono.error(ex);
+            }
+
+            final var args = List.of(expectedVersion, GameStatusCodec.encode(gameStatus),
+                    gameStatus.getState().finished() ? finishedTimeToLiveArg : timeToLiveArg);
+            final var keys = List.of(ScriptedGameStore.KEY_PREFIX + gameId);
+            return GameMetrics.timed(saveTimer, template
+                    .execute(COMPARE_AND_SET, keys, args, ARGS_WRITER, RESULT_READER)
+                    .next())
+                    .flatMap(saved -> saved == 1 ? Mono.just(gameStatus) : saved < 0 ? Mono.empty() : Mono.error(
+                            new ConcurrentMoveException("Game %d has been updated by another move", gameId)));
+        });
+    }
+
+    /**
+     * Encode the version the same way the {@link GameStatusCodec} does.
+     *
+     * @param version {@code long} version.
+     * @return {@code byte[]} of the version field.
+     */
+    @NotNull
+    private static byte[] versionBytes(final long version) {
+        return ByteBuffer.allocate(Integer.BYTES).putInt((int) version).array();
+    }
+
+    /**
+     * Encode the {@link String} value into UTF-8 bytes.
+     *
+     * @param value {@link String} to encode.
+     * @return {@code byte[]} of the value.
+     */
+    @NotNull
+    private static byte[] bytes(@NotNull String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
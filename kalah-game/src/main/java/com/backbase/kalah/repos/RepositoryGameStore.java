@@ -0,0 +1,162 @@
+package com.backbase.kalah.repos;
+
+import com.backbase.kalah.GameMetrics;
+import com.backbase.kalah.PlayKalah;
+import com.backbase.kalah.records.GameStatus;
+import com.backbase.kalah.util.ConcurrentMoveException;
+import com.backbase.kalah.util.GameOverException;
+import com.backbase.kalah.util.InvalidPitUserException;
+import io.micrometer.core.instrument.Timer;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Default {@link GameStore} implementation which persists the games as Redis hashes through the
+ * {@link GameStatusRepo} and plays the moves with {@link PlayKalah} in the service. Each call of the
+ * {@link GameStatusRepo} is timed by the {@link GameMetrics}.
+ *
+ * @author Sachith Dickwella
+ */
+@ConditionalOnProperty(name = GameStore.MODE_PROPERTY, havingValue = "repository", matchIfMissing = true)
+@Component
+public class RepositoryGameStore implements GameStore {
+
+    /**
+     * {@link GameStatusRepo} injectable instance.
+     */
+    private final GameStatusRepo repo;
+    /**
+     * {@link PlayKalah} injectable instance.
+     */
+    private final PlayKalah playKalah;
+    /**
+     * {@link GameCache} injectable instance, {@code null} if the near cache is disabled.
+     */
+    private final GameCache cache;
+    /**
+     * {@link Timer} of the {@link GameStatusRepo#findById(Object)} calls.
+     */
+    private final Timer findTimer;
+    /**
+     * {@link Timer} of the {@link GameStatusRepo#save(Object)} and
+     * {@link GameStatusRepo#compareAndSave(GameStatus)} calls.
+     */
+    private final Timer saveTimer;
+    /**
+     * {@link Timer} of the {@link GameStatusRepo#insertAll(List)} calls.
+     */
+    private final Timer saveAllTimer;
+
+    /**
+     * Constructor to {@link Autowired} or inject to the instance variables.
+     *
+     * @param repo      instance of {@link GameStatusRepo} inject from the
+     *                  {@link org.springframework.context.ApplicationContext}
+     * @param playKalah instance of {@link PlayKalah} inject from the
+     *                  {@link org.springframework.context.ApplicationContext}
+     * @param cache     instance of {@link GameCache} inject from the
+     *                  {@link org.springframework.context.ApplicationContext}, empty if disabled.
+     * @param metrics   instance of {@link GameMetrics} inject from the
+     *                  {@link org.springframework.context.ApplicationContext}
+     */
+    @Autowired
+    public RepositoryGameStore(GameStatusRepo repo, PlayKalah playKalah, Optional<GameCache> cache,
+                               GameMetrics metrics) {
+        this.repo = repo;
+        this.playKalah = playKalah;
+        this.cache = cache.orElse(null);
+        this.findTimer = metrics.redisTimer("find");
+        this.saveTimer = metrics.redisTimer("save");
+        this.saveAllTimer = metrics.redisTimer("save-all");
+    }
+
+    @Override
+    public void create(@NotNull GameStatus gameStatus) {
+        saveTimer.record(() -> repo.save(gameStatus));
+    }
+
+    @Override
+    public void createAll(@NotNull List<GameStatus> gameStatuses) {
+        saveAllTimer.record(() -> repo.insertAll(gameStatuses));
+    }
+
+    @NotNull
+    @Override
+    public Optional<GameStatus> find(final long gameId) {
+        return findTimer.record(() -> repo.findById(gameId));
+    }
+
+    /**
+     * Read the game, make the move with {@link PlayKalah} and save the game only if nobody else has saved it
+     * since it was read. Otherwise, the move is discarded and {@link ConcurrentMoveException} is thrown for
+     * the client to reload the game and retry.
+     *
+     * @param gameId {@code long} game id.
+     * @param pitId  {@code int} pit id.
+     * @return an {@link GameStatus} instance wrapped with {@link Optional} class.
+     */
+    @NotNull
+    @Override
+    public Optional<GameStatus> move(final long gameId, final int pitId) {
+        return moveAndSave(gameId, new int[]{pitId}, false);
+    }
+
+    @NotNull
+    @Override
+    public Optional<GameStatus> moveAll(final long gameId, @NotNull int[] pitIds) {
+        return moveAndSave(gameId, pitIds, true);
+    }
+
+    /**
+     * Play the moves on the cached copy of the game, if the game is in the {@link GameCache}, or on the game
+     * read from Redis otherwise. Since the copy could be stale, rejected or conflicting moves on the copy are
+     * played once more on the game read from Redis. A finished copy is never stale, though, since nothing could
+     * change a finished game.
+     *
+     * @param gameId  {@code long} game id.
+     * @param pitIds  {@code int[]} pit ids in the order of the moves.
+     * @param indexed {@code boolean} whether to report the index of the rejected move.
+     * @return an {@link GameStatus} instance wrapped with {@link Optional} class.
+     */
+    @NotNull
+    private Optional<GameStatus> moveAndSave(final long gameId, @NotNull int[] pitIds, final boolean indexed) {
+        if (cache != null) {
+            final var cached = cache.get(gameId);
+            if (cached.isPresent()) {
+                try {
+                    return Optional.of(moveAndSave(cached.get(), pitIds, indexed));
+                } catch (GameOverException ex) {
+                    throw ex;
+                } catch (InvalidPitUserException | ConcurrentMoveException ex) {
+                    cache.invalidate(gameId);
+                }
+            }
+        }
+        return find(gameId).map(gs -> moveAndSave(gs, pitIds, indexed));
+    }
+
+    /**
+     * Make the moves and save the game once with the version check, see {@link PlayKalah#makeMoves(GameStatus,
+     * int[], boolean)}.
+     *
+     * @param gameStatus instance of {@link GameStatus} to play.
+     * @param pitIds     {@code int[]} pit ids in the order of the moves.
+     * @param indexed    {@code boolean} whether to report the index of the rejected move.
+     * @return the saved {@link GameStatus}.
+     */
+    @NotNull
+    private GameStatus moveAndSave(@NotNull GameStatus gameStatus, @NotNull int[] pitIds, final boolean indexed) {
+        // The repository increments the version itself once the version it was read at is matched.
+        gameStatus.version(playKalah.makeMoves(gameStatus, pitIds, indexed));
+        if (!saveTimer.record(() -> repo.compareAndSave(gameStatus))) {
+            throw new ConcurrentMoveException("Game %d has been updated by another move", gameStatus.getId());
+        }
+        if (cache != null) cache.put(gameStatus);
+        return gameStatus;
+    }
+}
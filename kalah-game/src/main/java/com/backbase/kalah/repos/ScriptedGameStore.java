@@ -0,0 +1,241 @@
+package com.backbase.kalah.repos;
+
+import com.backbase.kalah.GameMetrics;
+import com.backbase.kalah.PlayKalah;
+import com.backbase.kalah.records.GameStatus;
+import com.backbase.kalah.util.GameOverException;
+import com.backbase.kalah.util.InvalidPitUserException;
+import io.micrometer.core.instrument.Timer;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.backbase.kalah.util.ServiceConstance.FINISHED_TIME_TO_LIVE;
+import static com.backbase.kalah.util.ServiceConstance.GameState;
+import static com.backbase.kalah.util.ServiceConstance.TIME_TO_LIVE;
+
+/**
+ * {@link GameStore} implementation which keeps each game as a single {@link GameStatusCodec} string and
+ * runs the whole move, validation, sowing, capture and end-game sweep included, as the {@code move.lua}
+ * script inside Redis. A move is therefore exactly one round trip and one atomic update, and concurrent
+ * moves on the same game are simply serialized by Redis. Each Redis call is timed by the {@link GameMetrics}.
+ *
+ * Selected with {@code kalah.persistence.mode=script}.
+ *
+ * @author Sachith Dickwella
+ */
+@ConditionalOnProperty(name = GameStore.MODE_PROPERTY, havingValue = "script")
+@Component
+public class ScriptedGameStore implements GameStore {
+
+    /**
+     * Prefix of the game keys.
+     */
+    static final String KEY_PREFIX = "kalah:game:";
+    /**
+     * Server side move script.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> MOVE = RedisScript.of(
+            new ClassPathResource("scripts/move.lua"), List.class);
+    /**
+     * Serializer of the {@link #MOVE} script result, which is applied on each element of the reply and
+     * leaves the bulk strings as raw {@code byte[]}.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final RedisSerializer<List> RESULT_SERIALIZER = (RedisSerializer) RedisSerializer.byteArray();
+    /**
+     * Time to live argument of the {@link #MOVE} script.
+     */
+    private static final byte[] TIME_TO_LIVE_ARG = bytes(String.valueOf(TIME_TO_LIVE));
+    /**
+     * Number of the {@link #MOVE} script arguments ahead of the pit ids.
+     */
+    private static final int FIXED_ARGS = 2;
+
+    /**
+     * {@link RedisTemplate} injectable instance to run the {@link #MOVE} script with.
+     */
+    private final RedisTemplate<byte[], byte[]> redisTemplate;
+    /**
+     * {@link RedisTemplate} injectable instance to read and write the {@link GameStatusCodec} values with.
+     */
+    private final RedisTemplate<String, GameStatus> gameStatusTemplate;
+    /**
+     * {@link PlayKalah} injectable instance, to report the rejected moves the same way the other stores do.
+     */
+    private final PlayKalah playKalah;
+    /**
+     * Time to live argument of the {@link #MOVE} script for the finished games.
+     */
+    private final byte[] finishedTimeToLiveArg;
+    /**
+     * {@link Timer} of the game reads.
+     */
+    private final Timer findTimer;
+    /**
+     * {@link Timer} of the game writes.
+     */
+    private final Timer saveTimer;
+    /**
+     * {@link Timer} of the pipelined game writes.
+     */
+    private final Timer saveAllTimer;
+    /**
+     * {@link Timer} of the {@link #MOVE} script runs.
+     */
+    private final Timer moveTimer;
+
+    /**
+     * Constructor to {@link Autowired} or inject to the instance variables.
+     *
+     * @param redisTemplate      instance of {@link RedisTemplate} inject from the
+     *                           {@link org.springframework.context.ApplicationContext}
+     * @param gameStatusTemplate instance of {@link RedisTemplate} inject from the
+     *                           {@link org.springframework.context.ApplicationContext}
+     * @param playKalah          instance of {@link PlayKalah} inject from the
+     *                           {@link org.springframework.context.ApplicationContext}
+     * @param finishedTimeToLive seconds a finished game lives in Redis.
+     * @param metrics            instance of {@link GameMetrics} inject from the
+     *                           {@link org.springframework.context.ApplicationContext}
+     */
+    @Autowired
+    public ScriptedGameStore(RedisTemplate<byte[], byte[]> redisTemplate,
+                             RedisTemplate<String, GameStatus> gameStatusTemplate,
+                             PlayKalah playKalah,
+                             @Value("${" + FINISHED_TTL_PROPERTY + ":" + FINISHED_TIME_TO_LIVE + "}")
+                                     long finishedTimeToLive,
+                             GameMetrics metrics) {
+        this.redisTemplate = redisTemplate;
+        this.gameStatusTemplate = gameStatusTemplate;
+        this.playKalah = playKalah;
+        this.finishedTimeToLiveArg = bytes(String.valueOf(finishedTimeToLive));
+        this.findTimer = metrics.redisTimer("find");
+        this.saveTimer = metrics.redisTimer("save");
+        this.saveAllTimer = metrics.redisTimer("save-all");
+        this.moveTimer = metrics.redisTimer("move");
+    }
+
+    @Override
+    public void create(@NotNull GameStatus gameStatus) {
+        saveTimer.record(() -> gameStatusTemplate.opsForValue().set(KEY_PREFIX + gameStatus.getId(), gameStatus,
+                TIME_TO_LIVE, TimeUnit.SECONDS));
+    }
+
+    @Override
+    public void createAll(@NotNull List<GameStatus> gameStatuses) {
+        saveAllTimer.record(() -> gameStatusTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(@NotNull RedisOperations<K, V> operations) {
+                final var ops = (RedisOperations<String, GameStatus>) operations;
+                for (var gameStatus : gameStatuses) {
+                    ops.opsForValue().set(KEY_PREFIX + gameStatus.getId(), gameStatus, TIME_TO_LIVE, TimeUnit.SECONDS);
+                }
+                return null;
+            }
+        }));
+    }
+
+    @NotNull
+    @Override
+    public Optional<GameStatus> find(final long gameId) {
+        return Optional.ofNullable(findTimer.record(() -> gameStatusTemplate.opsForValue().get(KEY_PREFIX + gameId)));
+    }
+
+    /**
+     * Run the {@code move.lua} script. When the script rejects a move, the game as it was before the move is
+     * handed to {@link PlayKalah#makeMove(GameStatus, int)} to throw the same {@link InvalidPitUserException}
+     * the other stores would throw.
+     *
+     * @param gameId {@code long} game id.
+     * @param pitId  {@code int} pit id.
+     * @return an {@link GameStatus} instance wrapped with {@link Optional} class.
+     */
+    @NotNull
+    @Override
+    public Optional<GameStatus> move(final long gameId, final int pitId) {
+        return moveAndSave(gameId, new int[]{pitId}, false);
+    }
+
+    @NotNull
+    @Override
+    public Optional<GameStatus> moveAll(final long gameId, @NotNull int[] pitIds) {
+        return moveAndSave(gameId, pitIds, true);
+    }
+
+    /**
+     * Run the {@code move.lua} script with all the moves. The script rejects a game which is already over by
+     * its state alone, without returning the game, so is the {@link GameOverException} thrown here.
+     *
+     * @param gameId  {@code long} game id.
+     * @param pitIds  {@code int[]} pit ids in the order of the moves.
+     * @param indexed {@code boolean} whether to report the index of the rejected move.
+     * @return an {@link GameStatus} instance wrapped with {@link Optional} class.
+     */
+    @NotNull
+    private Optional<GameStatus> moveAndSave(final long gameId, @NotNull int[] pitIds, final boolean indexed) {
+        final var args = new Object[pitIds.length + FIXED_ARGS];
+        args[0] = TIME_TO_LIVE_ARG;
+        args[1] = finishedTimeToLiveArg;
+        for (int i = 0; i < pitIds.length; i++) {
+            args[i + FIXED_ARGS] = bytes(String.valueOf(pitIds[i]));
+        }
+
+        final List<?> result = moveTimer.record(() -> redisTemplate.execute(MOVE, RedisSerializer.byteArray(),
+                RESULT_SERIALIZER, List.of(key(gameId)), args));
+        if (result == null || (Long) result.get(0) == -1) {
+            return Optional.empty();
+        } else if ((Long) result.get(0) == -2) {
+            throw new GameOverException(gameId, GameState.of(((Long) result.get(1)).intValue()));
+        }
+
+        final var gameStatus = GameStatusCodec.decode((byte[]) result.get(1));
+        final int rejected = ((Long) result.get(0)).intValue() - 1;
+        if (rejected >= 0) {
+            try {
+                playKalah.makeMove(gameStatus, pitIds[rejected]);
+            } catch (InvalidPitUserException ex) {
+                throw indexed ? new InvalidPitUserException(rejected, ex) : ex;
+            }
+            throw new IllegalStateException(String.format(
+                    "move.lua rejected pit %d of game %d which PlayKalah allows", pitIds[rejected], gameId));
+        }
+        return Optional.of(gameStatus);
+    }
+
+    /**
+     * Get the Redis key of the game.
+     *
+     * @param gameId {@code long} game id.
+     * @return {@code byte[]} of the key.
+     */
+    @NotNull
+    static byte[] key(final long gameId) {
+        return bytes(KEY_PREFIX + gameId);
+    }
+
+    /**
+     * Encode the {@link String} value into UTF-8 bytes.
+     *
+     * @param value {@link String} to encode.
+     * @return {@code byte[]} of the value.
+     */
+    @NotNull
+    private static byte[] bytes(@NotNull String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
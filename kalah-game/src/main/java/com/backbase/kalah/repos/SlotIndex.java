@@ -0,0 +1,157 @@
+package com.backbase.kalah.repos;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Off-heap open-addressing hash table of the game ids to the numbers of the slots the games are kept in. The
+ * entries are kept in a direct {@link ByteBuffer}, 12 bytes each, the id followed by the slot number, so that
+ * however many games are indexed, the table is a single object on the heap for the garbage collector.
+ *
+ * Collisions are resolved with linear probing, and a removed entry is filled by shifting the later entries of
+ * its probe sequence back, so that lookups never have to step over deleted entries. The table is sized for the
+ * given capacity up front, at most three quarters full, and never grows. The id {@code 0}, which no game has,
+ * marks the empty entries.
+ *
+ * Not thread-safe, the callers are to guard the table.
+ *
+ * @author Sachith Dickwella
+ */
+final class SlotIndex {
+
+    /**
+     * Size of an entry in bytes.
+     */
+    private static final int ENTRY_SIZE = Long.BYTES + Integer.BYTES;
+    /**
+     * Largest number of entries, which keeps the table within the 2 GB limit of a {@link ByteBuffer}.
+     */
+    private static final int MAX_ENTRIES = 1 << 27;
+
+    /**
+     * Entries of the table.
+     */
+    private final ByteBuffer entries;
+    /**
+     * Number of entries less one, to wrap the positions with.
+     */
+    private final int mask;
+    /**
+     * Number of ids in the table.
+     */
+    private int size;
+
+    /**
+     * Create an empty table for up to {@code capacity} ids.
+     *
+     * @param capacity {@code int} largest number of ids to index.
+     */
+    SlotIndex(final int capacity) {
+        final long required = Math.max(2, (long) capacity * 4 / 3 + 1);
+        if (required > MAX_ENTRIES) {
+            throw new IllegalArgumentException(String.format("Capacity %d is too large for the index", capacity));
+        }
+
+        final int length = Integer.highestOneBit((int) required - 1) << 1;
+        this.entries = ByteBuffer.allocateDirect(length * ENTRY_SIZE);
+        this.mask = length - 1;
+    }
+
+    /**
+     * Get the slot of the game.
+     *
+     * @param id {@code long} game id.
+     * @return {@code int} slot number or {@code -1} if the game is not indexed.
+     */
+    int get(final long id) {
+        for (int position = position(id); ; position = (position + 1) & mask) {
+            final long key = entries.getLong(position * ENTRY_SIZE);
+            if (key == id) {
+                return entries.getInt(position * ENTRY_SIZE + Long.BYTES);
+            } else if (key == 0) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Index the game in the slot, in place of the slot it is indexed in already, if any.
+     *
+     * @param id   {@code long} game id, not {@code 0}.
+     * @param slot {@code int} slot number.
+     */
+    void put(final long id, final int slot) {
+        int position = position(id);
+        for (long key = entries.getLong(position * ENTRY_SIZE); key != id; ) {
+            if (key == 0) {
+                entries.putLong(position * ENTRY_SIZE, id);
+                size++;
+                break;
+            }
+            position = (position + 1) & mask;
+            key = entries.getLong(position * ENTRY_SIZE);
+        }
+        entries.putInt(position * ENTRY_SIZE + Long.BYTES, slot);
+    }
+
+    /**
+     * Remove the game from the index.
+     *
+     * @param id {@code long} game id.
+     * @return {@code int} slot number the game was indexed in or {@code -1} if the game is not indexed.
+     */
+    int remove(final long id) {
+        int position = position(id);
+        for (long key = entries.getLong(position * ENTRY_SIZE); key != id; ) {
+            if (key == 0) return -1;
+            position = (position + 1) & mask;
+            key = entries.getLong(position * ENTRY_SIZE);
+        }
+        final int slot = entries.getInt(position * ENTRY_SIZE + Long.BYTES);
+
+        // Shift back the later entries of the probe sequence which would not be found past the emptied position.
+        int empty = position;
+        for (int next = (empty + 1) & mask; ; next = (next + 1) & mask) {
+            final long key = entries.getLong(next * ENTRY_SIZE);
+            if (key == 0) break;
+
+            final int home = position(key);
+            if (((next - home) & mask) >= ((next - empty) & mask)) {
+                entries.putLong(empty * ENTRY_SIZE, key)
+                        .putInt(empty * ENTRY_SIZE + Long.BYTES, entries.getInt(next * ENTRY_SIZE + Long.BYTES));
+                empty = next;
+            }
+        }
+        entries.putLong(empty * ENTRY_SIZE, 0L);
+        size--;
+        return slot;
+    }
+
+    /**
+     * Get the number of games in the index.
+     *
+     * @return {@code int} number of games.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Get the off-heap memory of the table.
+     *
+     * @return {@code long} size of the table in bytes.
+     */
+    long bytes() {
+        return entries.capacity();
+    }
+
+    /**
+     * Get the first position of the probe sequence of the id, spreading the bits of the id over the table.
+     *
+     * @param id {@code long} game id.
+     * @return {@code int} position in the table.
+     */
+    private int position(final long id) {
+        final long hash = id * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ hash >>> 32) & mask;
+    }
+}
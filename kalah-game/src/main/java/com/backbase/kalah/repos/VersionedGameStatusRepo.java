@@ -0,0 +1,23 @@
+package com.backbase.kalah.repos;
+
+import com.backbase.kalah.records.GameStatus;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Custom Spring Data repository fragment of {@link GameStatusRepo} to save a {@link GameStatus} only if
+ * nobody else has saved the same game since it was read.
+ *
+ * @author Sachith Dickwella
+ */
+public interface VersionedGameStatusRepo {
+
+    /**
+     * Save the {@link GameStatus} instance only if the stored version of the game still equals
+     * {@link GameStatus#getVersion()}, and increment the version of the instance on success.
+     *
+     * @param gameStatus instance of {@link GameStatus} to save.
+     * @return {@code true} if the game status saved, {@code false} if the game has been updated by
+     * someone else or does not exist anymore.
+     */
+    boolean compareAndSave(@NotNull GameStatus gameStatus);
+}
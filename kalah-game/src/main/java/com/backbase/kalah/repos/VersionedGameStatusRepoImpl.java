@@ -0,0 +1,130 @@
+package com.backbase.kalah.repos;
+
+import com.backbase.kalah.records.GameStatus;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.convert.RedisConverter;
+import org.springframework.data.redis.core.convert.RedisData;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.backbase.kalah.util.ServiceConstance.FINISHED_TIME_TO_LIVE;
+
+/**
+ * Redis implementation of {@link VersionedGameStatusRepo} fragment, picked up by Spring Data through the
+ * {@code Impl} postfix.
+ *
+ * The {@link GameStatus} is converted into the same hash the Redis repository would write and the
+ * {@code compare-and-save.lua} script replaces the stored hash only if its {@code version} field has not
+ * changed. Being a single script, the whole check and write costs one round trip and never waits on a
+ * lock.
+ *
+ * When the {@link GameCache} is enabled, the script also publishes the new version of the game for the
+ * near caches of the other nodes to drop their older copies.
+ *
+ * A finished game is saved with the shorter {@code kalah.persistence.finished-time-to-live}, rather than
+ * the {@link org.springframework.data.redis.core.RedisHash#timeToLive()}, to free the memory sooner.
+ *
+ * @author Sachith Dickwella
+ */
+public class VersionedGameStatusRepoImpl implements VersionedGameStatusRepo {
+
+    /**
+     * Compare-and-set script to replace the game hash.
+     */
+    private static final RedisScript<Long> COMPARE_AND_SAVE = RedisScript.of(
+            new ClassPathResource("scripts/compare-and-save.lua"), Long.class);
+    /**
+     * Suffix of the phantom copy of the hash, as written by the Redis repository.
+     */
+    private static final String PHANTOM_SUFFIX = ":phantom";
+
+    /**
+     * {@link RedisTemplate} injectable instance.
+     */
+    private final RedisTemplate<byte[], byte[]> redisTemplate;
+    /**
+     * {@link RedisConverter} injectable instance which is the same converter the Redis repository uses.
+     */
+    private final RedisConverter converter;
+    /**
+     * Whether to publish the invalidation messages of the {@link GameCache}.
+     */
+    private final boolean publishInvalidations;
+    /**
+     * Seconds a finished game lives in Redis.
+     */
+    private final long finishedTimeToLive;
+
+    /**
+     * Constructor to inject to the instance variables.
+     *
+     * @param redisTemplate        instance of {@link RedisTemplate} inject from the
+     *                             {@link org.springframework.context.ApplicationContext}
+     * @param converter            instance of {@link RedisConverter} inject from the
+     *                             {@link org.springframework.context.ApplicationContext}
+     * @param publishInvalidations whether the {@link GameCache} is enabled.
+     * @param finishedTimeToLive   seconds a finished game lives in Redis.
+     */
+    public VersionedGameStatusRepoImpl(RedisTemplate<byte[], byte[]> redisTemplate, RedisConverter converter,
+                                       @Value("${" + GameCache.ENABLED_PROPERTY + ":false}")
+                                               boolean publishInvalidations,
+                                       @Value("${" + GameStore.FINISHED_TTL_PROPERTY + ":"
+                                               + FINISHED_TIME_TO_LIVE + "}") long finishedTimeToLive) {
+        this.redisTemplate = redisTemplate;
+        this.converter = converter;
+        this.publishInvalidations = publishInvalidations;
+        this.finishedTimeToLive = finishedTimeToLive;
+    }
+
+    @Override
+    public boolean compareAndSave(@NotNull GameStatus gameStatus) {
+        final long expectedVersion = gameStatus.getVersion();
+        gameStatus.version(expectedVersion + 1);
+
+        final var redisData = new RedisData();
+        converter.write(gameStatus, redisData);
+
+        final var objectKey = redisData.getKeyspace() + ":" + redisData.getId();
+        final List<byte[]> keys = List.of(
+                bytes(objectKey),
+                bytes(objectKey + PHANTOM_SUFFIX),
+                bytes(redisData.getKeyspace()));
+
+        final var timeToLive = gameStatus.getState().finished() ? Long.valueOf(finishedTimeToLive)
+                : redisData.getTimeToLive();
+        final List<byte[]> args = new ArrayList<>();
+        args.add(bytes(String.valueOf(expectedVersion)));
+        args.add(bytes(String.valueOf(timeToLive != null ? timeToLive : -1)));
+        args.add(bytes(redisData.getId()));
+        args.add(bytes(publishInvalidations ? GameCache.CHANNEL : ""));
+        args.add(bytes(publishInvalidations ? GameCache.invalidation(gameStatus.getId(), gameStatus.getVersion()) : ""));
+        redisData.getBucket().rawMap().forEach((field, value) -> {
+            args.add(field);
+            args.add(value);
+        });
+
+        final Long saved = redisTemplate.execute(COMPARE_AND_SAVE, keys, args.toArray());
+        if (saved == null || saved == 0) {
+            gameStatus.version(expectedVersion);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Encode the {@link String} value into UTF-8 bytes.
+     *
+     * @param value {@link String} to encode.
+     * @return {@code byte[]} of the value.
+     */
+    @NotNull
+    private static byte[] bytes(@NotNull String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
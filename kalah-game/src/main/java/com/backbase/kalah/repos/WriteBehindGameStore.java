@@ -0,0 +1,388 @@
+package com.backbase.kalah.repos;
+
+import com.backbase.kalah.GameMetrics;
+import com.backbase.kalah.PlayKalah;
+import com.backbase.kalah.records.GameStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link GameStore} implementation which plays the moves on the copies of the games kept in memory and saves
+ * them to Redis behind the moves, for the bots which make several moves a second on the same game. Selected with
+ * {@code kalah.persistence.mode=write-behind}.
+ *
+ * The node a game is created or first played on owns the game from then on, and its copy is the latest status
+ * of the game, so the games are to be routed to the same node by their ids, e.g. by a load balancer hashing the
+ * request path. A move reads and writes the copy under a lock of the game, so the moves on the same game are
+ * applied one after the other instead of conflicting, and marks the game dirty. The dirty games are saved every
+ * {@code kalah.write-behind.flush-interval} milliseconds, or as soon as {@code kalah.write-behind.max-dirty}
+ * games are dirty, in a single pipelined batch through {@link GameStatusRepo#replaceAll(List)}, without the
+ * version check. However many moves are made on a game in between, the game is saved once, with its latest
+ * status. The dirty games are saved once more when the store is closed.
+ *
+ * The clean copies are kept for up to {@code kalah.write-behind.maximum-size} games, and dropped once not played
+ * for {@code kalah.write-behind.idle-seconds}, after which the game is read from Redis again. A dirty game is
+ * never dropped before it is saved. If the node stops without closing the store, the moves of the last flush
+ * interval are lost. The delay between a move and its save is reported as {@code kalah.write-behind.lag}, and
+ * the number of dirty games as {@code kalah.write-behind.dirty}.
+ *
+ * @author Sachith Dickwella
+ */
+@ConditionalOnProperty(name = GameStore.MODE_PROPERTY, havingValue = "write-behind")
+@Component
+public class WriteBehindGameStore implements GameStore {
+
+    /**
+     * Name of the property to set the milliseconds between the flushes of the dirty games.
+     */
+    public static final String FLUSH_INTERVAL_PROPERTY = "kalah.write-behind.flush-interval";
+    /**
+     * Name of the property to set the number of dirty games to flush without waiting for the next interval.
+     */
+    public static final String MAX_DIRTY_PROPERTY = "kalah.write-behind.max-dirty";
+
+    /**
+     * {@link Logger} instance.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(WriteBehindGameStore.class);
+    /**
+     * Number of the locks of the games.
+     */
+    private static final int LOCK_STRIPES = 64;
+
+    /**
+     * {@link GameStatusRepo} injectable instance.
+     */
+    private final GameStatusRepo repo;
+    /**
+     * {@link PlayKalah} injectable instance.
+     */
+    private final PlayKalah playKalah;
+    /**
+     * Copies of the games in {@link GameStatusCodec} format by game id, dirty or not.
+     */
+    private final Cache<Long, byte[]> games;
+    /**
+     * Dirty games by game id, kept until saved, whether or not the {@link #games} still keep them.
+     */
+    private final ConcurrentMap<Long, Dirty> dirty = new ConcurrentHashMap<>();
+    /**
+     * Locks of the games, by the game id.
+     */
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    /**
+     * Number of dirty games to flush without waiting for the next interval.
+     */
+    private final int maxDirty;
+    /**
+     * Whether a flush has been requested by the {@link #maxDirty} games and is yet to start.
+     */
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    /**
+     * Single thread of the flushes.
+     */
+    private final ScheduledExecutorService flusher;
+    /**
+     * {@link Timer} of the {@link GameStatusRepo#findById(Object)} calls.
+     */
+    private final Timer findTimer;
+    /**
+     * {@link Timer} of the {@link GameStatusRepo#replaceAll(List)} calls.
+     */
+    private final Timer saveAllTimer;
+    /**
+     * Delay between the first unsaved move on a game and the save of the game.
+     */
+    private final Timer lag;
+
+    /**
+     * Constructor to {@link Autowired} or inject to the instance variables, which starts the flushes.
+     *
+     * @param repo          instance of {@link GameStatusRepo} inject from the
+     *                      {@link org.springframework.context.ApplicationContext}
+     * @param playKalah     instance of {@link PlayKalah} inject from the
+     *                      {@link org.springframework.context.ApplicationContext}
+     * @param metrics       instance of {@link GameMetrics} inject from the
+     *                      {@link org.springframework.context.ApplicationContext}
+     * @param meterRegistry provider of the {@link MeterRegistry}, falls back to the
+     *                      {@link Metrics#globalRegistry} if the context has none.
+     * @param flushInterval milliseconds between the flushes of the dirty games.
+     * @param maxDirty      number of dirty games to flush without waiting for the next interval.
+     * @param maximumSize   maximum number of clean games to keep.
+     * @param idleSeconds   seconds after the last move to drop a clean game.
+     */
+    @Autowired
+    public WriteBehindGameStore(GameStatusRepo repo, PlayKalah playKalah, GameMetrics metrics,
+                                ObjectProvider<MeterRegistry> meterRegistry,
+                                @Value("${" + FLUSH_INTERVAL_PROPERTY + ":100}") long flushInterval,
+                                @Value("${" + MAX_DIRTY_PROPERTY + ":1000}") int maxDirty,
+                                @Value("${kalah.write-behind.maximum-size:100000}") long maximumSize,
+                                @Value("${kalah.write-behind.idle-seconds:300}") long idleSeconds) {
+        this(repo, playKalah, metrics, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry), flushInterval,
+                maxDirty, maximumSize, idleSeconds);
+    }
+
+    /**
+     * Constructor to register the meters with the given {@link MeterRegistry}, which starts the flushes.
+     *
+     * @param repo          instance of {@link GameStatusRepo} to save the games to.
+     * @param playKalah     instance of {@link PlayKalah} to make the moves with.
+     * @param metrics       instance of {@link GameMetrics} to time the Redis calls with.
+     * @param registry      the {@link MeterRegistry} to register the meters with.
+     * @param flushInterval milliseconds between the flushes of the dirty games.
+     * @param maxDirty      number of dirty games to flush without waiting for the next interval.
+     * @param maximumSize   maximum number of clean games to keep.
+     * @param idleSeconds   seconds after the last move to drop a clean game.
+     */
+    public WriteBehindGameStore(@NotNull GameStatusRepo repo, @NotNull PlayKalah playKalah,
+                                @NotNull GameMetrics metrics, @NotNull MeterRegistry registry,
+                                final long flushInterval, final int maxDirty, final long maximumSize,
+                                final long idleSeconds) {
+        this.repo = repo;
+        this.playKalah = playKalah;
+        this.maxDirty = maxDirty;
+        this.games = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(Duration.ofSeconds(idleSeconds))
+                // Evict on the calling thread rather than on the common ForkJoinPool.
+                .executor(Runnable::run)
+                .build();
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+
+        this.findTimer = metrics.redisTimer("find");
+        this.saveAllTimer = metrics.redisTimer("save-all");
+        this.lag = Timer.builder("kalah.write-behind.lag")
+                .description("Delay between a move and saving the game to Redis")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        Gauge.builder("kalah.write-behind.dirty", dirty, Map::size)
+                .description("Games played on this node which are yet to be saved to Redis")
+                .register(registry);
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final var thread = new Thread(runnable, "kalah-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void create(@NotNull GameStatus gameStatus) {
+        synchronized (lock(gameStatus.getId())) {
+            keep(gameStatus);
+        }
+    }
+
+    @Override
+    public void createAll(@NotNull List<GameStatus> gameStatuses) {
+        gameStatuses.forEach(this::create);
+    }
+
+    @NotNull
+    @Override
+    public Optional<GameStatus> find(final long gameId) {
+        return Optional.ofNullable(latest(gameId)).map(GameStatusCodec::decode);
+    }
+
+    /**
+     * Make the move on the copy of the game, which is saved to Redis later on.
+     *
+     * @param gameId {@code long} game id.
+     * @param pitId  {@code int} pit id.
+     * @return an {@link GameStatus} instance wrapped with {@link Optional} class.
+     */
+    @NotNull
+    @Override
+    public Optional<GameStatus> move(final long gameId, final int pitId) {
+        return moveAndKeep(gameId, new int[]{pitId}, false);
+    }
+
+    @NotNull
+    @Override
+    public Optional<GameStatus> moveAll(final long gameId, @NotNull int[] pitIds) {
+        return moveAndKeep(gameId, pitIds, true);
+    }
+
+    /**
+     * Save the dirty games to Redis in a single pipelined batch. A game played again while the batch is saved
+     * stays dirty, with its lag counted from the start of the flush. If the batch fails, all the games stay dirty
+     * for the next flush.
+     *
+     * @return {@code int} number of games saved.
+     */
+    public synchronized int flush() {
+        flushRequested.set(false);
+        if (dirty.isEmpty()) return 0;
+
+        final long start = System.currentTimeMillis();
+        final var flushed = new ArrayList<Map.Entry<Long, Dirty>>(dirty.entrySet());
+        final var gameStatuses = new ArrayList<GameStatus>(flushed.size());
+        for (var entry : flushed) {
+            gameStatuses.add(GameStatusCodec.decode(entry.getValue().game));
+        }
+
+        try {
+            saveAllTimer.record(() -> repo.replaceAll(gameStatuses));
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Failed to save {} dirty games, retrying with the next flush", flushed.size(), ex);
+            return 0;
+        }
+
+        final long saved = System.currentTimeMillis();
+        for (var entry : flushed) {
+            final var flushedGame = entry.getValue();
+            dirty.computeIfPresent(entry.getKey(), (id, current) -> current == flushedGame
+                    ? null
+                    : new Dirty(current.game, start));
+            lag.record(saved - flushedGame.since, TimeUnit.MILLISECONDS);
+        }
+        return flushed.size();
+    }
+
+    /**
+     * Get the number of games yet to be saved to Redis.
+     *
+     * @return {@code int} number of dirty games.
+     */
+    public int dirty() {
+        return dirty.size();
+    }
+
+    /**
+     * Stop the flushes and save the dirty games, along with the
+     * {@link org.springframework.context.ApplicationContext}.
+     */
+    @PreDestroy
+    public void close() {
+        flusher.shutdownNow();
+        final int saved = flush();
+        if (dirty.isEmpty()) {
+            LOGGER.info("Saved {} dirty games on close", saved);
+        } else {
+            LOGGER.error("Lost {} dirty games on close", dirty.size());
+        }
+    }
+
+    /**
+     * Make the moves on the latest copy of the game under the lock of the game, see
+     * {@link PlayKalah#makeMoves(GameStatus, int[], boolean)}. Nothing is kept unless all the moves are made.
+     *
+     * @param gameId  {@code long} game id.
+     * @param pitIds  {@code int[]} pit ids in the order of the moves.
+     * @param indexed {@code boolean} whether to report the index of the rejected move.
+     * @return an {@link GameStatus} instance wrapped with {@link Optional} class.
+     */
+    @NotNull
+    private Optional<GameStatus> moveAndKeep(final long gameId, @NotNull int[] pitIds, final boolean indexed) {
+        synchronized (lock(gameId)) {
+            final var latest = latest(gameId);
+            if (latest == null) return Optional.empty();
+
+            final var gameStatus = GameStatusCodec.decode(latest);
+            playKalah.makeMoves(gameStatus, pitIds, indexed);
+            keep(gameStatus);
+            return Optional.of(gameStatus);
+        }
+    }
+
+    /**
+     * Keep the copy of the game and mark it dirty, and request a flush once {@link #maxDirty} games are dirty.
+     * Called under the lock of the game.
+     *
+     * @param gameStatus instance of {@link GameStatus} to keep.
+     */
+    private void keep(@NotNull GameStatus gameStatus) {
+        final var game = GameStatusCodec.encode(gameStatus);
+        games.put(gameStatus.getId(), game);
+        dirty.compute(gameStatus.getId(), (id, previous) -> new Dirty(game,
+                previous != null ? previous.since : System.currentTimeMillis()));
+
+        if (dirty.size() >= maxDirty && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(this::flush);
+        }
+    }
+
+    /**
+     * Get the latest copy of the game, the dirty copy if any, the clean copy otherwise, or the game read from
+     * Redis if this node keeps no copy.
+     *
+     * @param gameId {@code long} game id.
+     * @return {@code byte[]} of the game in {@link GameStatusCodec} format, or {@code null} if the game does not
+     * exist.
+     */
+    @Nullable
+    private byte[] latest(final long gameId) {
+        final var dirtyGame = dirty.get(gameId);
+        if (dirtyGame != null) return dirtyGame.game;
+
+        return games.get(gameId, id -> findTimer.record(() -> repo.findById(id))
+                .map(GameStatusCodec::encode)
+                .orElse(null));
+    }
+
+    /**
+     * Get the lock of the game.
+     *
+     * @param gameId {@code long} game id.
+     * @return the lock {@link Object}.
+     */
+    @NotNull
+    private Object lock(final long gameId) {
+        return locks[(int) (gameId ^ gameId >>> 32) & (LOCK_STRIPES - 1)];
+    }
+
+    /**
+     * Latest copy of a dirty game, along with the time of the first move on the game which is yet to be saved.
+     */
+    private static final class Dirty {
+
+        /**
+         * The game in {@link GameStatusCodec} format.
+         */
+        private final byte[] game;
+        /**
+         * Epoch milliseconds of the first move yet to be saved.
+         */
+        private final long since;
+
+        /**
+         * Constructor to initialize the instance variables.
+         *
+         * @param game  {@code byte[]} of the game in {@link GameStatusCodec} format.
+         * @param since {@code long} epoch milliseconds of the first move yet to be saved.
+         */
+        private Dirty(@NotNull byte[] game, final long since) {
+            this.game = game;
+            this.since = since;
+        }
+    }
+}
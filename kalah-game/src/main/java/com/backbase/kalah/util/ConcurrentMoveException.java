@@ -0,0 +1,25 @@
+package com.backbase.kalah.util;
+
+/**
+ * The application specific {@link RuntimeException} implementation to represent a move which could not
+ * be saved because another move on the same game has been saved after the game was read. Being a
+ * {@code RuntimeException}, {@link ConcurrentMoveException} handle wrap exceptions in lambda expressions
+ * (Unchecked exception).
+ *
+ * @author Sachith Dickwella
+ */
+public class ConcurrentMoveException extends RuntimeException {
+
+    /**
+     * Constructs a new runtime exception with the specified detail message.
+     * The cause is not initialized, and may subsequently be initialized by a
+     * call to {@link #initCause}.
+     *
+     * @param message the detail message. The detail message is saved for later
+     *                retrieval by the {@link #getMessage()} method.
+     * @param args    the vararg {@link Object} message to format with the {@link String}.
+     */
+    public ConcurrentMoveException(String message, Object... args) {
+        super(String.format(message, args));
+    }
+}
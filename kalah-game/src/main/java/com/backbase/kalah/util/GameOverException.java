@@ -0,0 +1,47 @@
+package com.backbase.kalah.util;
+
+import com.backbase.kalah.records.GameStatus;
+import org.jetbrains.annotations.NotNull;
+
+import static com.backbase.kalah.util.ServiceConstance.GameState;
+
+/**
+ * The application specific {@link InvalidPitUserException} to represent a move on a game which is already
+ * over. Nothing could change a finished game any longer, therefore this is the only move rejection which
+ * holds for good, and could be decided from the {@link GameState} alone, without the board.
+ *
+ * @author Sachith Dickwella
+ */
+public class GameOverException extends InvalidPitUserException {
+
+    /**
+     * Constructs a new runtime exception for the finished game.
+     *
+     * @param gameStatus the finished {@link GameStatus}, which is the payload of the exception. The payload
+     *                   has no board when the move is rejected by the {@link GameState} alone.
+     */
+    public GameOverException(@NotNull GameStatus gameStatus) {
+        super(gameStatus, Reason.GAME_OVER, "Game %d is over, %s", gameStatus.getId(),
+                gameStatus.getState() == GameState.DRAW ? "it's a draw" : gameStatus.getWinner() + " won");
+    }
+
+    /**
+     * Constructs a new runtime exception for the finished game known only by its id and {@link GameState}.
+     *
+     * @param gameId {@code long} game id.
+     * @param state  {@link GameState} of the finished game.
+     */
+    public GameOverException(final long gameId, @NotNull GameState state) {
+        this(GameStatus.builder().id(gameId).state(state).build());
+    }
+
+    /**
+     * Get the state of the finished game.
+     *
+     * @return {@link GameState} of the game.
+     */
+    @NotNull
+    public GameState getState() {
+        return ((GameStatus) getPayload()).getState();
+    }
+}
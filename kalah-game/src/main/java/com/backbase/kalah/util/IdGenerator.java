@@ -1,25 +1,18 @@
 package com.backbase.kalah.util;
 
-import java.util.Random;
-
 /**
- * Uses to generate random integer numbers using {@link Random} class.
+ * Uses to generate the ids of the new game instances. The ids must be unique across all the service nodes
+ * by construction, so that a new game can be saved without checking whether the id is already in use.
  *
  * @author Sachith Dickwella
  */
+@FunctionalInterface
 public interface IdGenerator {
 
     /**
-     * {@link Random} instance to generate random integer values.
-     */
-    Random RANDOM = new Random();
-
-    /**
-     * Return a random {@code long} value between 0 and {@link Integer#MAX_VALUE}.
+     * Return the next unique, positive game id.
      *
-     * @return {@code long} random value.
+     * @return {@code long} game id.
      */
-    static long getRandomId() {
-        return RANDOM.longs(0, Long.MAX_VALUE).findAny().orElse(0);
-    }
+    long nextId();
 }
@@ -0,0 +1,24 @@
+package com.backbase.kalah.util;
+
+/**
+ * The application specific {@link RuntimeException} implementation to represent a batch request for a number
+ * of games out of the allowed range. Being a {@code RuntimeException}, {@link InvalidBatchSizeException}
+ * handle wrap exceptions in lambda expressions (Unchecked exception).
+ *
+ * @author Sachith Dickwella
+ */
+public class InvalidBatchSizeException extends RuntimeException {
+
+    /**
+     * Constructs a new runtime exception with the specified detail message.
+     * The cause is not initialized, and may subsequently be initialized by a
+     * call to {@link #initCause}.
+     *
+     * @param message the detail message. The detail message is saved for later
+     *                retrieval by the {@link #getMessage()} method.
+     * @param args    the vararg {@link Object} message to format with the {@link String}.
+     */
+    public InvalidBatchSizeException(String message, Object... args) {
+        super(String.format(message, args));
+    }
+}
@@ -11,12 +11,47 @@ import org.jetbrains.annotations.NotNull;
  */
 public class InvalidPitUserException extends RuntimeException {
 
+    /**
+     * Reasons of a move to be rejected.
+     */
+    public enum Reason {
+        /**
+         * The pit id is not on the board.
+         */
+        INVALID_PIT,
+        /**
+         * The pit is the other player's pit, since it's not his/her turn.
+         */
+        OTHER_PLAYERS_PIT,
+        /**
+         * The pit is the player's store.
+         */
+        STORE,
+        /**
+         * The pit is empty.
+         */
+        EMPTY_PIT,
+        /**
+         * The game is already over.
+         */
+        GAME_OVER
+    }
+
     /**
      * {@link Object} to hold the payload which causes this exception to occur. {@code transient}
      * to exclude the instance during the {@link InvalidPitUserException} object level serialization
      * which would never happen in this program.
      */
     private final transient Object payload;
+    /**
+     * {@link Reason} the move is rejected for.
+     */
+    private final Reason reason;
+    /**
+     * Zero based index of the rejected move, when the move is one of many moves made by a single request,
+     * {@code null} otherwise.
+     */
+    private final Integer moveIndex;
 
     /**
      * Constructs a new runtime exception with the specified detail message.
@@ -24,13 +59,30 @@ public class InvalidPitUserException extends RuntimeException {
      * call to {@link #initCause}.
      *
      * @param payload the current object status which cause this exception to occur.
+     * @param reason  the {@link Reason} the move is rejected for.
      * @param message the detail message. The detail message is saved for later
      *                retrieval by the {@link #getMessage()} method.
      * @param args    the vararg {@link Object} message to format with the {@link String}.
      */
-    public InvalidPitUserException(@NotNull Object payload, String message, Object... args) {
+    public InvalidPitUserException(@NotNull Object payload, @NotNull Reason reason, String message, Object... args) {
         super(String.format(message, args));
         this.payload = payload;
+        this.reason = reason;
+        this.moveIndex = null;
+    }
+
+    /**
+     * Constructs a new runtime exception with the message and the payload of the {@code cause}, which rejected
+     * the move at the {@code moveIndex} of many moves made by a single request.
+     *
+     * @param moveIndex zero based index of the rejected move.
+     * @param cause     the {@link InvalidPitUserException} thrown by the rejected move.
+     */
+    public InvalidPitUserException(final int moveIndex, @NotNull InvalidPitUserException cause) {
+        super(cause.getMessage(), cause);
+        this.payload = cause.getPayload();
+        this.reason = cause.getReason();
+        this.moveIndex = moveIndex;
     }
 
     /**
@@ -41,4 +93,23 @@ public class InvalidPitUserException extends RuntimeException {
     public Object getPayload() {
         return this.payload;
     }
+
+    /**
+     * The getter method to {@link #reason} instance variable.
+     *
+     * @return the {@link Reason} the move is rejected for.
+     */
+    @NotNull
+    public Reason getReason() {
+        return this.reason;
+    }
+
+    /**
+     * The getter method to {@link #moveIndex} instance variable.
+     *
+     * @return zero based index of the rejected move, or {@code null} if the request made a single move.
+     */
+    public Integer getMoveIndex() {
+        return this.moveIndex;
+    }
 }
@@ -39,6 +39,27 @@ public interface ServiceConstance {
      * per week.
      */
     long TIME_TO_LIVE = 3600L * 24 * 7;
+    /**
+     * Default time to live of a finished game, which is an hour. Nothing could change a finished game any
+     * longer, so it only needs to live long enough for the players to read the result.
+     */
+    long FINISHED_TIME_TO_LIVE = 3600L;
+    /**
+     * Maximum number of games created by a single batch request.
+     */
+    int MAX_BATCH_SIZE = 10_000;
+    /**
+     * Number of games written to Redis with a single pipeline during a batch request.
+     */
+    int BATCH_CHUNK_SIZE = 500;
+    /**
+     * Maximum number of moves made by a single multi-move request.
+     */
+    int MAX_MOVES_PER_REQUEST = 1_000;
+    /**
+     * Seconds a stream of game updates stays open, after which the client is expected to reconnect.
+     */
+    long STREAM_TIMEOUT = 600L;
 
     /**
      * Enum representation of each of the player during a game.
@@ -80,6 +101,84 @@ public interface ServiceConstance {
         }
     }
 
+    /**
+     * Enum representation of the state of a game, which tells the winner as well once the game is over.
+     */
+    enum GameState {
+        IN_PROGRESS(0, null), PLAYER_1_WON(1, Player.PLAYER_1), PLAYER_2_WON(2, Player.PLAYER_2), DRAW(3, null);
+
+        /**
+         * Numeric representation of the state, which is what the compact representation stores.
+         */
+        private final int code;
+        /**
+         * The winner {@link Player}, {@code null} if the game is in progress or a draw.
+         */
+        private final Player winner;
+
+        /**
+         * The private constructor for initialize {@link #code} and {@link #winner} instance variables
+         * of the enum.
+         *
+         * @param code   value for each of the enum.
+         * @param winner of the game in this state.
+         */
+        GameState(int code, Player winner) {
+            this.code = code;
+            this.winner = winner;
+        }
+
+        /**
+         * Get the numerical value of the state.
+         *
+         * @return int {@link #code} of the enum.
+         */
+        public int code() {
+            return this.code;
+        }
+
+        /**
+         * Get the winner of the game in this state.
+         *
+         * @return the winner {@link Player}, {@code null} if the game is in progress or a draw.
+         */
+        public Player winner() {
+            return this.winner;
+        }
+
+        /**
+         * Check whether the game is over in this state.
+         *
+         * @return {@code true} unless the game is in progress.
+         */
+        public boolean finished() {
+            return this != IN_PROGRESS;
+        }
+
+        /**
+         * Get the state of a finished game from the seeds in the stores.
+         *
+         * @param player1Store {@code int} seeds in the store of {@link Player#PLAYER_1}.
+         * @param player2Store {@code int} seeds in the store of {@link Player#PLAYER_2}.
+         * @return the {@link GameState} which tells the winner.
+         */
+        public static GameState over(final int player1Store, final int player2Store) {
+            if (player1Store > player2Store) return PLAYER_1_WON;
+            else if (player2Store > player1Store) return PLAYER_2_WON;
+            else return DRAW;
+        }
+
+        /**
+         * Get the state of the given numerical value.
+         *
+         * @param code int value of the state.
+         * @return the {@link GameState} of the {@code code}.
+         */
+        public static GameState of(final int code) {
+            return values()[code];
+        }
+    }
+
     /**
      * Transform JSON format {@link String} instance to {@link T} type object and return.
      *
@@ -0,0 +1,28 @@
+-- Append the moves of a save to the log of a game, only if no other save has been appended since the game was
+-- loaded, and replace the snapshot of the game when a new one is given.
+--
+-- KEYS[1]    the snapshot key, i.e. 'kalah:game:snapshot:<id>'
+-- KEYS[2]    the log key, i.e. 'kalah:game:log:<id>'
+-- ARGV[1]    expected length of the log, which is the version of the game as loaded
+-- ARGV[2]    log entry of the save, the pit ids of the moves as one byte each
+-- ARGV[3]    time to live in seconds
+-- ARGV[4]    new snapshot of the game, or empty to keep the current one
+--
+-- Returns 1 when the entry has been appended, 0 when another save has been appended meanwhile, and -1 when the
+-- game is gone.
+
+if redis.call('EXISTS', KEYS[1]) == 0 then
+    return -1
+end
+if redis.call('LLEN', KEYS[2]) ~= tonumber(ARGV[1]) then
+    return 0
+end
+
+redis.call('RPUSH', KEYS[2], ARGV[2])
+redis.call('EXPIRE', KEYS[2], ARGV[3])
+if ARGV[4] ~= '' then
+    redis.call('SET', KEYS[1], ARGV[4], 'EX', ARGV[3])
+else
+    redis.call('EXPIRE', KEYS[1], ARGV[3])
+end
+return 1
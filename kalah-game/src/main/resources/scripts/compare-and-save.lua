@@ -0,0 +1,39 @@
+-- Overwrite a GameStatus Redis hash only if its stored version still matches the expected version.
+--
+-- KEYS[1]    the GameStatus hash, i.e. 'GameStatus:<id>'
+-- KEYS[2]    the phantom copy of the hash kept by Spring Data, i.e. 'GameStatus:<id>:phantom'
+-- KEYS[3]    the keyspace set, i.e. 'GameStatus'
+-- ARGV[1]    expected (currently stored) version
+-- ARGV[2]    time to live in seconds, non-positive to keep the hash persistent
+-- ARGV[3]    game id to add into the keyspace set
+-- ARGV[4]    channel to publish ARGV[5] on once the hash is written, empty to publish nothing
+-- ARGV[5]    invalidation message of the near caches
+-- ARGV[6..n] field and value pairs of the new hash
+--
+-- Returns 1 when the hash has been written, 0 when the game is gone or has been updated meanwhile.
+
+if redis.call('EXISTS', KEYS[1]) == 0 then
+    return 0
+end
+
+local version = redis.call('HGET', KEYS[1], 'version') or '0'
+if version ~= ARGV[1] then
+    return 0
+end
+
+redis.call('DEL', KEYS[1])
+redis.call('HMSET', KEYS[1], unpack(ARGV, 6))
+
+local ttl = tonumber(ARGV[2])
+if ttl > 0 then
+    redis.call('EXPIRE', KEYS[1], ttl)
+    redis.call('DEL', KEYS[2])
+    redis.call('HMSET', KEYS[2], unpack(ARGV, 6))
+    redis.call('EXPIRE', KEYS[2], ttl + 300)
+end
+
+redis.call('SADD', KEYS[3], ARGV[3])
+if ARGV[4] ~= '' then
+    redis.call('PUBLISH', ARGV[4], ARGV[5])
+end
+return 1
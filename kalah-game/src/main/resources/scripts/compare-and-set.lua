@@ -0,0 +1,21 @@
+-- Overwrite a game stored in the compact binary layout of GameStatusCodec only if its stored version still
+-- matches the expected version.
+--
+-- KEYS[1]    the game key, i.e. 'kalah:game:<id>'
+-- ARGV[1]    expected (currently stored) version, as the 4 bytes of the version field
+-- ARGV[2]    new value of the game
+-- ARGV[3]    time to live in seconds
+--
+-- Returns 1 when the game has been written, 0 when the game has been updated meanwhile, and -1 when the game
+-- does not exist anymore, in which case nothing is written.
+
+local value = redis.call('GET', KEYS[1])
+if not value then
+    return -1
+end
+if string.sub(value, 16, 19) ~= ARGV[1] then
+    return 0
+end
+
+redis.call('SET', KEYS[1], ARGV[2], 'EX', ARGV[3])
+return 1
@@ -0,0 +1,21 @@
+-- Load a game kept as a snapshot in the compact binary layout of GameStatusCodec along with the log of the moves
+-- saved since the snapshot. The version of the snapshot is the number of the log entries it covers, so the
+-- entries from that index on are the ones to replay on top of the snapshot.
+--
+-- KEYS[1]    the snapshot key, i.e. 'kalah:game:snapshot:<id>'
+-- KEYS[2]    the log key, i.e. 'kalah:game:log:<id>'
+--
+-- Returns {snapshot, entry, entry, ...} with the log entries after the snapshot, or {} when the game does not
+-- exist.
+
+local snapshot = redis.call('GET', KEYS[1])
+if not snapshot then
+    return {}
+end
+
+local b1, b2, b3, b4 = string.byte(snapshot, 16, 19)
+local version = ((b1 * 256 + b2) * 256 + b3) * 256 + b4
+
+local entries = redis.call('LRANGE', KEYS[2], version, -1)
+table.insert(entries, 1, snapshot)
+return entries
@@ -0,0 +1,98 @@
+-- Make one or more moves on a game stored in the compact binary layout of GameStatusCodec, applying the same
+-- rules as PlayKalah: sow the seeds across the player's own pits and store, take another turn when the last
+-- seed lands on the store, capture the opposite pit when it lands on an empty pit, and once either side runs
+-- out of seeds, sweep the seeds left on the other side into their owner's store and finish the game.
+--
+-- KEYS[1]    the game key, i.e. 'kalah:game:<id>'
+-- ARGV[1]    time to live of the game in seconds
+-- ARGV[2]    time to live of the game in seconds once it is finished
+-- ARGV[3..n] pit ids to pick the seeds up from, in the order of the moves
+--
+-- Returns {0, new value} when all the moves are made, {i, value before move i} when the move i (1 based) is
+-- not allowed, in which case nothing is saved, {-1} when the game does not exist, and {-2, state} when the
+-- game was already over, without the value.
+
+local value = redis.call('GET', KEYS[1])
+if not value then
+    return {-1}
+end
+
+local flags = string.byte(value, 15)
+local player = flags % 16
+local state = math.floor(flags / 16)
+if state ~= 0 then
+    return {-2, state}
+end
+
+local pits = {string.byte(value, 1, 14)}
+
+-- Encode the current pits, player and state in front of the rest of the original value.
+local function encode(version_bytes)
+    return string.char(unpack(pits)) .. string.char(player + state * 16) .. version_bytes .. string.sub(value, 20)
+end
+
+-- Sum up the seeds on a side, given the store of the side.
+local function side_seeds(store)
+    local sum = 0
+    for i = store - 6, store - 1 do
+        sum = sum + pits[i]
+    end
+    return sum
+end
+
+for move = 3, #ARGV do
+    local pit = tonumber(ARGV[move])
+    local store = player * 7
+    local first = store - 6
+
+    if state ~= 0 or pit < first or pit >= store or pits[pit] == 0 then
+        return {move - 2, encode(string.sub(value, 16, 19))}
+    end
+
+    local seeds = pits[pit]
+    pits[pit] = 0
+
+    local current = pit
+    while seeds > 1 do
+        if current == store then current = first else current = current + 1 end
+        pits[current] = pits[current] + 1
+        seeds = seeds - 1
+    end
+
+    local last
+    if current == store then last = first else last = current + 1 end
+
+    local toggle = true
+    if last == store then
+        pits[store] = pits[store] + 1
+        toggle = false
+    elseif pits[last] == 0 then
+        local opposite = 14 - last
+        pits[store] = pits[store] + pits[opposite] + 1
+        pits[opposite] = 0
+    else
+        pits[last] = pits[last] + 1
+    end
+
+    local side1, side2 = side_seeds(7), side_seeds(14)
+    if side1 == 0 or side2 == 0 then
+        for i = 1, 6 do
+            pits[i], pits[i + 7] = 0, 0
+        end
+        pits[7], pits[14] = pits[7] + side1, pits[14] + side2
+        if pits[7] > pits[14] then state = 1 elseif pits[14] > pits[7] then state = 2 else state = 3 end
+    end
+
+    if toggle then player = 3 - player end
+end
+
+local b1, b2, b3, b4 = string.byte(value, 16, 19)
+local version = (((b1 * 256 + b2) * 256 + b3) * 256 + b4 + 1) % 4294967296
+
+local updated = encode(string.char(math.floor(version / 16777216) % 256, math.floor(version / 65536) % 256,
+        math.floor(version / 256) % 256, version % 256))
+
+local ttl = ARGV[1]
+if state ~= 0 then ttl = ARGV[2] end
+redis.call('SET', KEYS[1], updated, 'EX', tonumber(ttl))
+return {0, updated}
@@ -0,0 +1,60 @@
+package com.backbase.kalah;
+
+import com.backbase.kalah.records.GameStatus;
+import com.backbase.kalah.repos.FinishedGames;
+import com.backbase.kalah.util.InvalidPitUserException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.backbase.kalah.util.ServiceConstance.GameState;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit test of the {@link GameMetrics} meters.
+ *
+ * @author Sachith Dickwella
+ */
+public class GameMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final GameMetrics metrics = new GameMetrics(1_000, registry, new FinishedGames(1_000, 3600));
+    private final PlayKalah playKalah = new PlayKalah();
+
+    @Test
+    @DisplayName("Rejected moves are timed and counted by the reason")
+    public void testRejections() {
+        final var gameStatus = GameStatus.builder().id(1L).board().build();
+        playKalah.makeMove(gameStatus, 1); // Ends on the store, so it's PLAYER_1's turn again with pit 1 empty.
+        for (int pitId : new int[]{0, 8, 7, 1}) {
+            Assertions.assertThrows(InvalidPitUserException.class, () -> metrics.move(() -> {
+                playKalah.makeMove(gameStatus, pitId);
+                return gameStatus;
+            }));
+        }
+
+        assertEquals("Moves are not timed", 4, registry.get("kalah.moves").timer().count());
+        assertEquals("Invalid pits are not counted", 1, rejections("invalid_pit"), 0);
+        assertEquals("Other player's pits are not counted", 1, rejections("other_players_pit"), 0);
+        assertEquals("Stores are not counted", 1, rejections("store"), 0);
+        assertEquals("Empty pits are not counted", 1, rejections("empty_pit"), 0);
+        assertEquals("Game over is counted on a game in progress", 0, rejections("game_over"), 0);
+    }
+
+    @Test
+    @DisplayName("Games are active until they are over")
+    public void testActiveGames() {
+        metrics.create(() -> GameStatus.builder().id(1L).build());
+        metrics.create(() -> GameStatus.builder().id(2L).build());
+        metrics.played(GameStatus.builder().id(1L).build());
+        assertEquals("Active games are invalid", 2, registry.get("kalah.games.active").gauge().value(), 0);
+
+        metrics.played(GameStatus.builder().id(2L).state(GameState.DRAW).build());
+        assertEquals("Finished game is still active", 1, registry.get("kalah.games.active").gauge().value(), 0);
+    }
+
+    private double rejections(String reason) {
+        return registry.get("kalah.moves.rejected").tag("reason", reason).counter().count();
+    }
+}
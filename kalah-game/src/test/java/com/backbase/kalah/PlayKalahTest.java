@@ -1,20 +1,27 @@
 package com.backbase.kalah;
 
+import com.backbase.kalah.engine.KalahBoard;
 import com.backbase.kalah.records.GameStatus;
+import com.backbase.kalah.util.GameOverException;
 import com.backbase.kalah.util.InvalidPitUserException;
+import com.backbase.kalah.util.ServiceConstance;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import java.util.AbstractMap;
+import java.util.Random;
 import java.util.Set;
 
+import static com.backbase.kalah.util.ServiceConstance.GameState;
 import static com.backbase.kalah.util.ServiceConstance.PIT_COUNT;
 import static com.backbase.kalah.util.ServiceConstance.Player.PLAYER_1;
 import static com.backbase.kalah.util.ServiceConstance.Player.PLAYER_2;
 import static com.backbase.kalah.util.ServiceConstance.STORE_INDEX;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
 /**
  * Unit test class for {@link PlayKalah} bean instance to make sure the behaviour.
@@ -289,4 +296,128 @@ public class PlayKalahTest {
             if (k % 7 != 0) assertEquals("Each and every store is not empty", 0, Integer.parseInt(v));
         });
     }
+
+    /**
+     * Test the state of the game finished by the last move and the rejection of the moves after that.
+     */
+    @Order(11)
+    @Test
+    @DisplayName("Finished game tells the winner and rejects the moves")
+    public void testGameOver() {
+        assertEquals("Game state is invalid", GameState.PLAYER_1_WON, gameStatus.getState());
+        assertEquals("Winner is invalid", PLAYER_1, gameStatus.getWinner());
+
+        var ex = Assertions.assertThrows(GameOverException.class, () -> playKalah.makeMove(gameStatus, 8));
+        assertEquals("Error message is invalid", "Game 1 is over, PLAYER_1 won", ex.getMessage());
+    }
+
+    /**
+     * Test a capture which empties the opponent's side, which finishes the game although the player who
+     * captured has seeds left.
+     */
+    @Order(12)
+    @Test
+    @DisplayName("Capturing the opponent's last seeds finishes the game")
+    public void testCaptureFinishesGame() {
+        final var game = GameStatus.builder().id(2L).board().build();
+        final var board = game.getBoard();
+        board.replaceAll((k, v) -> "0");
+        board.put(1, "1");
+        board.put(3, "2");
+        board.put(7, "30");
+        board.put(12, "3");
+        board.put(14, "36");
+
+        playKalah.makeMove(game, 1);
+
+        assertEquals("PLAYER_1's seeds count is invalid", "36", board.get(7));
+        assertEquals("PLAYER_2's seeds count is invalid", "36", board.get(14));
+        assertEquals("Game state is invalid", GameState.DRAW, game.getState());
+        assertNull("Draw has a winner", game.getWinner());
+    }
+
+    /**
+     * Test the running side totals of the {@link KalahBoard} against the seeds in the pits, throughout many
+     * randomly played games.
+     */
+    @Order(13)
+    @Test
+    @DisplayName("Running side totals match the pits of random games")
+    public void testSideSeeds() {
+        final var random = new Random(42L);
+        for (int game = 0; game < 1_000; game++) {
+            final var board = new KalahBoard().load(GameStatus.builder().board().build().getBoard());
+            var player = PLAYER_1;
+            while (!board.sideEmpty(player)) {
+                int pitId;
+                do {
+                    pitId = player.firstPit() + random.nextInt(STORE_INDEX - 1);
+                } while (board.seeds(pitId) == 0);
+
+                if (board.sow(player, pitId)) player = player == PLAYER_1 ? PLAYER_2 : PLAYER_1;
+                for (var side : new ServiceConstance.Player[]{PLAYER_1, PLAYER_2}) {
+                    int sum = 0;
+                    for (int i = side.firstPit(); i < side.number() * STORE_INDEX; i++) sum += board.seeds(i);
+                    assertEquals("Running side total is invalid", sum, board.sideSeeds(side));
+                }
+            }
+        }
+    }
+
+    /**
+     * Test the incrementally updated Zobrist key of the {@link KalahBoard} against the key of the same position
+     * loaded from scratch, throughout many randomly played games.
+     */
+    @Order(14)
+    @Test
+    @DisplayName("Incremental position keys match the keys of the same positions loaded from scratch")
+    public void testPositionKey() {
+        final var random = new Random(7L);
+        final var initial = GameStatus.builder().board().build();
+        assertNotEquals("Player to move is not in the key", initial.positionKey(),
+                new KalahBoard().load(initial.getBoard()).key(PLAYER_2));
+
+        for (int game = 0; game < 1_000; game++) {
+            final var gameStatus = GameStatus.builder().board().build();
+            final var board = new KalahBoard().load(gameStatus.getBoard());
+            var player = PLAYER_1;
+            boolean over = false;
+            while (!over) {
+                int pitId;
+                do {
+                    pitId = player.firstPit() + random.nextInt(STORE_INDEX - 1);
+                } while (board.seeds(pitId) == 0);
+
+                if (board.sow(player, pitId)) player = player == PLAYER_1 ? PLAYER_2 : PLAYER_1;
+                over = board.finishIfSideEmpty();
+
+                board.store(gameStatus.getBoard());
+                gameStatus.player(player != gameStatus.player());
+                assertEquals("Incremental key is invalid", gameStatus.positionKey(), board.key(player));
+            }
+        }
+    }
+
+    /**
+     * Test the moves made as one version of the game, and the index of the rejected move.
+     */
+    @Order(15)
+    @Test
+    @DisplayName("Moves made at once bump the version once and report the index of the rejected move")
+    public void testMakeMoves() {
+        final var game = GameStatus.builder().id(3L).board().build();
+        game.version(4);
+
+        assertEquals("Version before the moves is invalid", 4, playKalah.makeMoves(game, new int[]{1, 2}, true));
+        assertEquals("Version is not incremented once", 5, game.getVersion());
+        assertEquals("Active player is invalid", PLAYER_2, game.player());
+
+        var ex = Assertions.assertThrows(InvalidPitUserException.class,
+                () -> playKalah.makeMoves(game, new int[]{8, 1}, true));
+        assertEquals("Move index is invalid", Integer.valueOf(1), ex.getMoveIndex());
+        ex = Assertions.assertThrows(InvalidPitUserException.class, () -> playKalah.makeMoves(game, new int[]{1},
+                false));
+        assertNull("Move index is reported", ex.getMoveIndex());
+        Assertions.assertThrows(GameOverException.class, () -> playKalah.makeMoves(gameStatus, new int[]{8}, true));
+    }
 }
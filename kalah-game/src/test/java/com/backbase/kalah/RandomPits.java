@@ -0,0 +1,40 @@
+package com.backbase.kalah;
+
+import com.backbase.kalah.records.GameStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Random;
+
+import static com.backbase.kalah.util.ServiceConstance.STORE_INDEX;
+
+/**
+ * Utility class of the tests to play random games, by picking a random legal pit of the active player.
+ *
+ * @author Sachith Dickwella
+ */
+public final class RandomPits {
+
+    /**
+     * Private constructor to avoid instantiation of the utility class.
+     */
+    private RandomPits() {
+        // do nothing
+    }
+
+    /**
+     * Pick a random non-empty pit of the active player.
+     *
+     * @param gameStatus instance of {@link GameStatus} to pick the pit from.
+     * @param random     instance of {@link Random} to pick with.
+     * @return {@code int} pit id or {@code 0} if the player has no seeds left.
+     */
+    public static int legalPit(@NotNull GameStatus gameStatus, @NotNull Random random) {
+        final var player = gameStatus.player();
+        final int offset = random.nextInt(STORE_INDEX - 1);
+        for (int i = 0; i < STORE_INDEX - 1; i++) {
+            final int pitId = player.firstPit() + (offset + i) % (STORE_INDEX - 1);
+            if (!"0".equals(gameStatus.getBoard().get(pitId))) return pitId;
+        }
+        return 0;
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
 import org.springframework.context.annotation.Scope;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MockMvcBuilder;
@@ -30,11 +31,12 @@ public class CommonTestConfig {
     }
 
     /**
-     * Primary singleton bean instance of {@link MockMvc}.
+     * Primary singleton bean instance of {@link MockMvc}, only for the blocking variant of the service.
      *
      * @param builder instance of {@link MockMvcBuilder} inject by context.
      * @return new instance of {@link MockMvc}.
      */
+    @Profile("!" + ReactiveConfig.PROFILE)
     @Primary
     @Scope
     @Bean("default")
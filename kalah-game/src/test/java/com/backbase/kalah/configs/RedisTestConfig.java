@@ -9,6 +9,12 @@ import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 
 /**
+ * Start and stop the embedded {@link RedisServer} along with the test's
+ * {@link org.springframework.context.ApplicationContext}.
+ *
+ * Test contexts are cached and several of them could be alive at once, so the embedded server is shared
+ * by all of them and only stopped when the last context using it is closed.
+ *
  * @author Sachith Dickwella
  */
 @PropertySource("classpath:test-config.properties")
@@ -16,9 +22,18 @@ import javax.annotation.PreDestroy;
 public class RedisTestConfig {
 
     /**
-     * Instance of embedded {@link RedisServer}.
+     * Shared instance of embedded {@link RedisServer}.
      */
-    private final RedisServer redisServer;
+    private static RedisServer redisServer;
+    /**
+     * Number of the application contexts using the {@link #redisServer}.
+     */
+    private static int users;
+
+    /**
+     * Port of the embedded {@link RedisServer}.
+     */
+    private final int port;
 
     /**
      * Default constructor initialize instance variables.
@@ -26,7 +41,7 @@ public class RedisTestConfig {
      * @param port which injects by the {@link org.springframework.context.ApplicationContext}.
      */
     public RedisTestConfig(@Value("#{T(Integer).parseInt('${test.spring.redis.port}')}") int port) {
-        this.redisServer = new RedisServer(port);
+        this.port = port;
     }
 
     /**
@@ -34,7 +49,12 @@ public class RedisTestConfig {
      */
     @PostConstruct
     public void init() {
-        redisServer.start();
+        synchronized (RedisTestConfig.class) {
+            if (users++ == 0) {
+                redisServer = new RedisServer(port);
+                redisServer.start();
+            }
+        }
     }
 
     /**
@@ -42,6 +62,11 @@ public class RedisTestConfig {
      */
     @PreDestroy
     public void destroy() {
-        redisServer.stop();
+        synchronized (RedisTestConfig.class) {
+            if (--users == 0) {
+                redisServer.stop();
+                redisServer = null;
+            }
+        }
     }
 }
@@ -0,0 +1,239 @@
+package com.backbase.kalah.endpoint;
+
+import com.backbase.kalah.AnalysisCache;
+import com.backbase.kalah.ComputerPlayer;
+import com.backbase.kalah.EndgameLookup;
+import com.backbase.kalah.GameMetrics;
+import com.backbase.kalah.MoveAdvisor;
+import com.backbase.kalah.PlayKalah;
+import com.backbase.kalah.endpoints.util.ControllerUtils;
+import com.backbase.kalah.records.GameStatus;
+import com.backbase.kalah.repos.FinishedGames;
+import com.backbase.kalah.repos.GameStore;
+import com.backbase.kalah.repos.InMemoryGameStatusRepo;
+import com.backbase.kalah.repos.RepositoryGameStore;
+import com.backbase.kalah.util.GameOverException;
+import com.backbase.kalah.util.IdGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.backbase.kalah.util.ServiceConstance.Player;
+import static com.backbase.kalah.util.ServiceConstance.STORE_INDEX;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Stress test to make sure the shared {@link PlayKalah} and {@link ControllerUtils} singletons play
+ * thousands of games in parallel without mixing the boards of different games.
+ *
+ * Every game is replayed single-threaded up-front to record the expected final board, and then the
+ * same moves are played concurrently through {@link ControllerUtils#moveAndSave(long, int)}. The
+ * {@link GameMetrics} have to count every move and every game as well.
+ *
+ * @author Sachith Dickwella
+ */
+public class ControllerUtilsConcurrencyTest {
+
+    /**
+     * Number of games played at once.
+     */
+    private static final int GAMES = 2_000;
+    /**
+     * Number of worker threads, roughly the Tomcat's default maximum.
+     */
+    private static final int THREADS = 200;
+    /**
+     * Upper bound of moves recorded per game.
+     */
+    private static final int MAX_MOVES = 100;
+
+    @Test
+    @DisplayName("Concurrent games end up with the same boards as single-threaded replays")
+    public void testConcurrentMoves() throws Exception {
+        final var repo = new InMemoryGameStatusRepo();
+        final var ids = new AtomicLong();
+        final var registry = new SimpleMeterRegistry();
+        final var finishedGames = new FinishedGames(GAMES, 3600);
+        final var metrics = new GameMetrics(GAMES, registry, finishedGames);
+        final var utils = utils(new RepositoryGameStore(repo, new PlayKalah(), Optional.empty(), metrics),
+                ids::incrementAndGet, finishedGames, metrics);
+
+        final var replayKalah = new PlayKalah();
+        final List<Replay> replays = new ArrayList<>(GAMES);
+        for (int i = 0; i < GAMES; i++) {
+            final var created = utils.createGame(new StringBuilder("http://localhost:8080/games"));
+            replays.add(replay(replayKalah, created.getId(), new Random(i)));
+        }
+
+        final var executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final var startGate = new CountDownLatch(1);
+            final List<Future<?>> futures = new ArrayList<>(GAMES);
+            for (var replay : replays) {
+                futures.add(executor.submit(() -> {
+                    startGate.await();
+                    for (int pitId : replay.moves) {
+                        assertTrue("Game disappeared", utils.moveAndSave(replay.gameId, pitId).isPresent());
+                    }
+                    return null;
+                }));
+            }
+
+            startGate.countDown();
+            for (var future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (var replay : replays) {
+            final var actual = repo.findById(replay.gameId).orElseThrow();
+            assertEquals("Board differs from the single-threaded replay", replay.board, actual.getBoard());
+            assertEquals("Active player differs from the single-threaded replay", replay.player, actual.player());
+        }
+
+        assertEquals("Moves are not all timed", replays.stream().mapToLong(replay -> replay.moves.length).sum(),
+                registry.get("kalah.moves").timer().count());
+        assertEquals("Games are not all counted", GAMES, registry.get("kalah.games.active").gauge().value()
+                + registry.get("kalah.games.finished").gauge().value(), 0);
+    }
+
+    @Test
+    @DisplayName("Reply to a game finished between the read and the save is rejected as game over")
+    public void testReplyToFinishedGame() {
+        final var repo = new InMemoryGameStatusRepo();
+        final var finishedGames = new FinishedGames(GAMES, 3600);
+        final var metrics = new GameMetrics(GAMES, new SimpleMeterRegistry(), finishedGames);
+        final var store = new RepositoryGameStore(repo, new PlayKalah(), Optional.empty(), metrics);
+
+        final var finished = GameStatus.builder().id(1L).board().build();
+        for (int pitId = 1; pitId < 2 * STORE_INDEX; pitId++) {
+            finished.getBoard().put(pitId, pitId == 6 ? "1" : "0");
+        }
+        new PlayKalah().makeMove(finished, 6);
+        repo.save(finished);
+
+        // The game is read before the move which finished it, and the player's move passes the turn on.
+        final var utils = utils(new StaleGameStore(store), () -> 2L, finishedGames, metrics);
+        Assertions.assertThrows(GameOverException.class, () -> utils.moveAndReply(1L, 2));
+    }
+
+    /**
+     * Create the {@link ControllerUtils} on the store, with a computer player and an advisor of a small search.
+     *
+     * @param store         instance of {@link GameStore} to play the games on.
+     * @param idGenerator   instance of {@link IdGenerator} of the game ids.
+     * @param finishedGames instance of {@link FinishedGames} of the finished games.
+     * @param metrics       instance of {@link GameMetrics} to time the moves with.
+     * @return new instance of {@link ControllerUtils}.
+     */
+    @NotNull
+    private static ControllerUtils utils(@NotNull GameStore store, @NotNull IdGenerator idGenerator,
+                                         @NotNull FinishedGames finishedGames, @NotNull GameMetrics metrics) {
+        return new ControllerUtils(store, new PlayKalah(), idGenerator, finishedGames,
+                new ComputerPlayer(50, 10, new EndgameLookup(""), new AnalysisCache(1_000)),
+                new MoveAdvisor(1, 50, 10, new EndgameLookup(""), new AnalysisCache(1_000)), metrics,
+                Optional.empty());
+    }
+
+    /**
+     * Play random legal moves on a fresh board until the game ends or {@link #MAX_MOVES} is reached.
+     *
+     * @param playKalah instance of {@link PlayKalah} to play the moves with.
+     * @param gameId    {@code long} id of the game.
+     * @param random    instance of {@link Random} to pick the moves.
+     * @return instance of {@link Replay} with the moves and the final status.
+     */
+    @NotNull
+    private static Replay replay(@NotNull PlayKalah playKalah, final long gameId, @NotNull Random random) {
+        final var gameStatus = GameStatus.builder().id(gameId).board().build();
+        final List<Integer> moves = new ArrayList<>();
+
+        while (moves.size() < MAX_MOVES) {
+            final var player = gameStatus.player();
+            final List<Integer> legal = new ArrayList<>();
+            for (int pitId = player.firstPit(); pitId < player.number() * STORE_INDEX; pitId++) {
+                if (!"0".equals(gameStatus.getBoard().get(pitId))) legal.add(pitId);
+            }
+            if (legal.isEmpty()) break;
+
+            final int pitId = legal.get(random.nextInt(legal.size()));
+            playKalah.makeMove(gameStatus, pitId);
+            moves.add(pitId);
+        }
+        return new Replay(gameId, moves.stream().mapToInt(Integer::intValue).toArray(),
+                new HashMap<>(gameStatus.getBoard()), gameStatus.player());
+    }
+
+    /**
+     * {@link GameStore} which finds a stale copy of each game, as it was created before any move was saved, and
+     * saves the moves on the game as it is stored.
+     */
+    private static final class StaleGameStore implements GameStore {
+
+        private final GameStore store;
+
+        private StaleGameStore(GameStore store) {
+            this.store = store;
+        }
+
+        @Override
+        public void create(@NotNull GameStatus gameStatus) {
+            store.create(gameStatus);
+        }
+
+        @Override
+        public void createAll(@NotNull List<GameStatus> gameStatuses) {
+            store.createAll(gameStatuses);
+        }
+
+        @NotNull
+        @Override
+        public Optional<GameStatus> find(final long gameId) {
+            return Optional.of(GameStatus.builder().id(gameId).board().build());
+        }
+
+        @NotNull
+        @Override
+        public Optional<GameStatus> move(final long gameId, final int pitId) {
+            return store.move(gameId, pitId);
+        }
+
+        @NotNull
+        @Override
+        public Optional<GameStatus> moveAll(final long gameId, @NotNull int[] pitIds) {
+            return store.moveAll(gameId, pitIds);
+        }
+    }
+
+    /**
+     * Recorded single-threaded replay of a game.
+     */
+    private static final class Replay {
+
+        private final long gameId;
+        private final int[] moves;
+        private final Map<Integer, String> board;
+        private final Player player;
+
+        private Replay(long gameId, int[] moves, Map<Integer, String> board, Player player) {
+            this.gameId = gameId;
+            this.moves = moves;
+            this.board = board;
+            this.player = player;
+        }
+    }
+}
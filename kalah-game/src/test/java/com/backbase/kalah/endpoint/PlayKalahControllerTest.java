@@ -15,14 +15,24 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.Optional;
 import java.util.regex.Pattern;
 
 import static com.backbase.kalah.util.ServiceConstance.jsonToObject;
+import static org.hamcrest.Matchers.both;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -31,7 +41,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * @author Sachith Dickwella
  */
 @ContextConfiguration(classes = RedisTestConfig.class)
-@WebMvcTest(PlayKalahController.class)
+@WebMvcTest(value = PlayKalahController.class,
+        properties = {"spring.redis.host=localhost", "spring.redis.port=${test.spring.redis.port}"})
 public class PlayKalahControllerTest {
 
     /**
@@ -73,6 +84,56 @@ public class PlayKalahControllerTest {
         assertEquals("URL contains invalid id", (long) gameStatus.getId(), Long.parseLong(matcher.group(1)));
     }
 
+    /**
+     * Test case for {@code http:<host>:<port>/games/batch?count=N} to create games in a batch and stream them
+     * back as JSON lines.
+     */
+    @Test
+    public void testCreateBatch() throws Exception {
+        var result = mockMvc.perform(post("/games/batch").param("count", "3")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        var lines = body.split("\n");
+        assertEquals("Number of games is invalid", 3, lines.length);
+
+        var pattern = Pattern.compile("^http://localhost/games/(\\d{6,})$");
+        for (var line : lines) {
+            var game = jsonToObject(line, GameStatus.class);
+            assertNotNull("Response GameStatus is null", game);
+            var matcher = pattern.matcher(game.getURL());
+            assertTrue("Invalid URL", matcher.find());
+            assertEquals("URL contains invalid id", (long) game.getId(), Long.parseLong(matcher.group(1)));
+        }
+
+        mockMvc.perform(post("/games/batch").param("count", "0")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Test case for {@code http://<host>:<port>/games/{gameId}/hint} to suggest a move of the active player
+     * of the game loaded by the {@link #repo}.
+     */
+    @Test
+    public void testHint() throws Exception {
+        when(repo.findById(1L)).thenReturn(Optional.of(GameStatus.builder().id(1L).board().build()));
+
+        mockMvc.perform(get("/games/1/hint"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.player").value("PLAYER_1"))
+                .andExpect(jsonPath("$.pitId").value(both(greaterThanOrEqualTo(1)).and(lessThan(7))))
+                .andExpect(jsonPath("$.depth").value(greaterThan(0)));
+
+        mockMvc.perform(get("/games/2/hint"))
+                .andExpect(status().isNotFound());
+    }
+
     /**
      * Test case for {@code http://<host>:<port>/games/{gameId}/pits/{pitId}} to play the game instance
      * and assign the response to local variable {@link #gameStatus}.
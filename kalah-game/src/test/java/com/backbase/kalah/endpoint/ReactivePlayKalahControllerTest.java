@@ -0,0 +1,200 @@
+package com.backbase.kalah.endpoint;
+
+import com.backbase.kalah.Main;
+import com.backbase.kalah.PlayKalah;
+import com.backbase.kalah.RandomPits;
+import com.backbase.kalah.configs.ReactiveConfig;
+import com.backbase.kalah.endpoints.util.ReactiveControllerUtils;
+import com.backbase.kalah.records.GameStatus;
+import com.backbase.kalah.repos.ReactiveGameStore;
+import com.backbase.kalah.util.ConcurrentMoveException;
+import com.backbase.kalah.util.InvalidPitUserException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Integration test of the reactive variant of the service against the embedded Redis node, which makes sure the
+ * {@link ReactiveGameStore} plays by the {@link PlayKalah} rules and the {@code compare-and-set.lua} script lets
+ * only one of the concurrent moves through, and the streams of the games send each of the moves.
+ *
+ * @author Sachith Dickwella
+ */
+@ActiveProfiles(ReactiveConfig.PROFILE)
+@AutoConfigureWebTestClient
+@SpringBootTest(classes = Main.class, properties = {
+        "spring.main.web-application-type=reactive",
+        "spring.redis.host=localhost",
+        "spring.redis.port=${test.spring.redis.port}"})
+public class ReactivePlayKalahControllerTest {
+
+    /**
+     * Instance of {@link WebTestClient} to invoke the REST endpoints.
+     */
+    @Autowired
+    private WebTestClient client;
+    /**
+     * Instance of {@link ReactiveControllerUtils} to be tested.
+     */
+    @Autowired
+    private ReactiveControllerUtils utils;
+    /**
+     * Instance of {@link ReactiveGameStore} to be tested.
+     */
+    @Autowired
+    private ReactiveGameStore store;
+    /**
+     * Instance of {@link PlayKalah} to replay the moves with.
+     */
+    @Autowired
+    @Qualifier("playKalah")
+    private PlayKalah playKalah;
+
+    @Test
+    @DisplayName("Endpoints create and play the games, and reject illegal moves")
+    public void testEndpoints() {
+        final var created = client.post().uri("/games")
+                .contentType(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(GameStatus.class)
+                .returnResult().getResponseBody();
+        assertNotNull("Response GameStatus is null", created);
+        assertTrue("URL is invalid", created.getURL().endsWith("/games/" + created.getId()));
+
+        client.put().uri("/games/{gameId}/pits/{pitId}", created.getId(), 1)
+                .contentType(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.status.7").isEqualTo("1")
+                .jsonPath("$.status.1").isEqualTo("0");
+
+        client.put().uri("/games/{gameId}/pits/{pitId}", created.getId(), 1)
+                .contentType(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.NOT_ACCEPTABLE);
+
+        client.put().uri("/games/{gameId}/moves", created.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new int[0])
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        client.put().uri("/games/{gameId}/pits/{pitId}", 42L, 1)
+                .contentType(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("Reactive moves match the PlayKalah moves over random games")
+    public void testMovesMatchPlayKalah() {
+        final var random = new Random(7);
+        for (int game = 0; game < 20; game++) {
+            final var created = utils.createGame("http://localhost:8080/games").block();
+            assertNotNull("Game is not created", created);
+            final var expected = GameStatus.builder().id(created.getId()).url(created.getURL()).board().build();
+
+            for (int move = 1; ; move++) {
+                final int pitId = RandomPits.legalPit(expected, random);
+                if (pitId == 0) break;
+
+                playKalah.makeMove(expected, pitId);
+                final var actual = utils.moveAndSave(created.getId(), pitId).block();
+                assertNotNull("Game is not found", actual);
+                assertEquals("Board differs from PlayKalah", expected.getBoard(), actual.getBoard());
+                assertEquals("State differs from PlayKalah", expected.getState(), actual.getState());
+                assertEquals("Version is not incremented", move, actual.getVersion());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Only one of the concurrent moves on the same game is saved")
+    public void testConcurrentMoves() {
+        final var created = utils.createGame("http://localhost:8080/games").block();
+        assertNotNull("Game is not created", created);
+
+        final List<Object> results = Flux.range(0, 8)
+                .flatMap(i -> store.move(created.getId(), 3)
+                        .<Object>map(gameStatus -> gameStatus)
+                        .onErrorResume(ex -> Mono.just(ex)))
+                .collectList()
+                .block();
+        assertNotNull("Moves are not made", results);
+
+        assertEquals("Number of saved moves is invalid", 1,
+                results.stream().filter(GameStatus.class::isInstance).count());
+        for (var result : results) {
+            assertTrue("Unexpected result " + result, result instanceof GameStatus
+                    || result instanceof ConcurrentMoveException || result instanceof InvalidPitUserException);
+        }
+
+        final var stored = store.find(created.getId()).block();
+        assertNotNull("Game is not found", stored);
+        assertEquals("Version is invalid", 1, stored.getVersion());
+        assertEquals("Board is invalid", "0", stored.getBoard().get(3));
+    }
+
+    @Test
+    @DisplayName("Streams send the game and its moves, and end with the game")
+    public void testStream() {
+        final var created = utils.createGame("http://localhost:8080/games").block();
+        assertNotNull("Game is not created", created);
+
+        // The mock server answers once the stream ends, so the game is played while the request is in flight.
+        final var expected = GameStatus.builder().id(created.getId()).url(created.getURL()).board().build();
+        final var random = new Random(5);
+        final var played = Mono.delay(Duration.ofMillis(500))
+                .then(Mono.defer(() -> {
+                    final int pitId = RandomPits.legalPit(expected, random);
+                    playKalah.makeMove(expected, pitId);
+                    return utils.moveAndSave(created.getId(), pitId);
+                }).repeat(() -> !expected.getState().finished()).then())
+                .subscribe();
+
+        final var events = client.get().uri("/games/{gameId}/stream", created.getId())
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<GameStatus>>() { })
+                .getResponseBody()
+                .collectList()
+                .block(Duration.ofSeconds(10));
+        played.dispose();
+        assertNotNull("Events are not received", events);
+
+        long version = -1;
+        for (var event : events) {
+            assertNotNull("Game is missing", event.data());
+            assertNotNull("Event id is missing", event.id());
+            assertTrue("Version is out of order", Long.parseLong(event.id()) > version);
+            version = Long.parseLong(event.id());
+        }
+        final var last = events.get(events.size() - 1).data();
+        assertEquals("Final state is not sent", expected.getState(), last.getState());
+
+        client.get().uri("/games/{gameId}/stream", 42L)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}
@@ -0,0 +1,62 @@
+package com.backbase.kalah.engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static com.backbase.kalah.util.ServiceConstance.Player.PLAYER_1;
+import static com.backbase.kalah.util.ServiceConstance.Player.PLAYER_2;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit test of the {@link EndgameDatabase} written by the {@link EndgameGenerator}, against the exhaustive
+ * search of the {@link KalahSearchTest}.
+ *
+ * @author Sachith Dickwella
+ */
+public class EndgameDatabaseTest {
+
+    @Test
+    @DisplayName("Generated endgames match the exhaustive search under perfect play")
+    public void testEndgames(@TempDir Path directory) throws IOException {
+        final var file = directory.resolve("endgames.db");
+        assertEquals("Number of positions is invalid", 125_970, EndgameGenerator.generate(8, 3, file));
+
+        final var database = EndgameDatabase.load(file);
+        final var random = new Random(7);
+        for (int game = 0; game < 300; game++) {
+            final var board = KalahSearchTest.randomEndgame(random, 1 + random.nextInt(8));
+            if (board.sideEmpty(PLAYER_1) || board.sideEmpty(PLAYER_2)) {
+                assertFalse("Finished game is probed", database.probe(board, PLAYER_1).isPresent());
+                continue;
+            }
+
+            final var player = random.nextBoolean() ? PLAYER_1 : PLAYER_2;
+            final int expected = KalahSearchTest.solve(board, player);
+            assertTrue("Position is not covered", database.covers(board));
+            assertEquals("Margin is invalid", expected, database.margin(board, player));
+
+            final var result = database.probe(board, player).orElseThrow();
+            assertEquals("Score is invalid", KalahSearch.finalScore(expected), result.score());
+            assertEquals("Depth is invalid", KalahSearch.MAX_DEPTH, result.depth());
+        }
+
+        assertFalse("Position with 9 seeds is probed", database.probe(KalahSearchTest.randomEndgame(random, 9)
+                .seeds(1, 1).seeds(8, 1), PLAYER_1).isPresent());
+    }
+
+    @Test
+    @DisplayName("Files other than endgame files are rejected")
+    public void testInvalidFile(@TempDir Path directory) throws IOException {
+        final var file = Files.write(directory.resolve("endgames.db"), new byte[64]);
+        assertThrows(IOException.class, () -> EndgameDatabase.load(file));
+    }
+}
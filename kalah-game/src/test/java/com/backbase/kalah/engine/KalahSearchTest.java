@@ -0,0 +1,163 @@
+package com.backbase.kalah.engine;
+
+import com.backbase.kalah.AnalysisCache;
+import com.backbase.kalah.ComputerPlayer;
+import com.backbase.kalah.EndgameLookup;
+import com.backbase.kalah.PlayKalah;
+import com.backbase.kalah.records.GameStatus;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import static com.backbase.kalah.util.ServiceConstance.PIT_COUNT;
+import static com.backbase.kalah.util.ServiceConstance.Player;
+import static com.backbase.kalah.util.ServiceConstance.Player.PLAYER_1;
+import static com.backbase.kalah.util.ServiceConstance.Player.PLAYER_2;
+import static com.backbase.kalah.util.ServiceConstance.STORE_INDEX;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test of the {@link KalahSearch} and the {@link ParallelSearch} against an exhaustive search of small
+ * endgames, and of the {@link ComputerPlayer} built on the former.
+ *
+ * @author Sachith Dickwella
+ */
+public class KalahSearchTest {
+
+    @Test
+    @DisplayName("Search finds the outcome of small endgames under perfect play")
+    public void testEndgames() {
+        final var search = new KalahSearch(16);
+        assertEndgames((board, player) -> search.search(board, player, TimeUnit.SECONDS.toNanos(10)));
+    }
+
+    @Test
+    @DisplayName("Parallel search finds the outcome of small endgames under perfect play")
+    public void testParallelEndgames() {
+        try (var search = new ParallelSearch(4, 16)) {
+            assertEndgames((board, player) -> search.search(board, player, TimeUnit.SECONDS.toNanos(10)));
+        }
+    }
+
+    @Test
+    @DisplayName("Parallel search busy with another search answers from the calling thread alone")
+    public void testBusyParallelSearch() throws Exception {
+        final var board = new KalahBoard().load(GameStatus.builder().id(1L).board().build().getBoard());
+        try (var search = new ParallelSearch(2, 16)) {
+            final var running = CompletableFuture.supplyAsync(
+                    () -> search.search(board, PLAYER_1, TimeUnit.SECONDS.toNanos(2)));
+            Thread.sleep(200);
+
+            final long start = System.nanoTime();
+            final var result = search.search(board, PLAYER_1, TimeUnit.MILLISECONDS.toNanos(50));
+            assertTrue("Search waited for the other search", System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+            assertTrue("Move is not searched", result.depth() > 0);
+            assertFalse("Other search is not running anymore", running.isDone());
+            running.get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    @DisplayName("Computer answers with legal moves until the turn passes")
+    public void testComputerReply() {
+        final var computerPlayer = new ComputerPlayer(5, 12, new EndgameLookup(""), new AnalysisCache(1_000));
+        final var playKalah = new PlayKalah();
+        final var gameStatus = GameStatus.builder().id(1L).board().build();
+        playKalah.makeMove(gameStatus, 2);
+
+        final int[] reply = computerPlayer.reply(gameStatus);
+        assertTrue("No reply", reply.length > 0);
+        for (int pitId : reply) {
+            assertEquals("Reply is not PLAYER_2's", PLAYER_2, gameStatus.player());
+            playKalah.makeMove(gameStatus, pitId);
+        }
+        assertNotEquals("Turn has not passed", PLAYER_2, gameStatus.player());
+    }
+
+    /**
+     * Compare the outcome and the chosen move of the {@code search} with the exhaustive {@link #solve} of
+     * random endgames of 8 seeds.
+     *
+     * @param search {@link BiFunction} searching the position for the player to move.
+     */
+    private static void assertEndgames(@NotNull BiFunction<KalahBoard, Player, KalahSearch.Result> search) {
+        final var random = new Random(5);
+        for (int game = 0; game < 300; game++) {
+            final var board = randomEndgame(random, 8);
+            final var player = random.nextBoolean() ? PLAYER_1 : PLAYER_2;
+            if (board.sideEmpty(player)) continue;
+
+            final int expected = Integer.signum(solve(board, player));
+            final var result = search.apply(board, player);
+            if (result.depth() > 0) { // Otherwise the move is forced, and not searched.
+                assertEquals("Outcome is invalid", expected, Integer.signum(result.score()));
+                if (expected != 0) assertTrue("Outcome is not proven", Math.abs(result.score()) > KalahSearch.WIN);
+            }
+
+            final var child = new KalahBoard().copyFrom(board);
+            final boolean toggle = child.sow(player, result.pitId());
+            final int margin = child.finishIfSideEmpty() ? margin(child, player)
+                    : toggle ? -solve(child, opponent(player)) : solve(child, player);
+            assertEquals("Chosen move does not keep the outcome", expected, Integer.signum(margin));
+        }
+    }
+
+    /**
+     * Solve the position exhaustively.
+     *
+     * @param board  the {@link KalahBoard} to solve.
+     * @param player the {@link Player} to move.
+     * @return {@code int} final margin of the {@code player} under perfect play.
+     */
+    static int solve(@NotNull KalahBoard board, @NotNull Player player) {
+        int best = Integer.MIN_VALUE;
+        for (int pitId = player.firstPit(); pitId < player.number() * STORE_INDEX; pitId++) {
+            if (board.seeds(pitId) == 0) continue;
+
+            final var child = new KalahBoard().copyFrom(board);
+            final boolean toggle = child.sow(player, pitId);
+            final int margin = child.finishIfSideEmpty() ? margin(child, player)
+                    : toggle ? -solve(child, opponent(player)) : solve(child, player);
+            best = Math.max(best, margin);
+        }
+        return best;
+    }
+
+    /**
+     * Create a board with {@code seeds} seeds spread over the pits and the rest of the 72 seeds in the stores.
+     *
+     * @param random instance of {@link Random} to spread the seeds with.
+     * @param seeds  {@code int} number of seeds left in the pits.
+     * @return new instance of {@link KalahBoard}.
+     */
+    @NotNull
+    static KalahBoard randomEndgame(@NotNull Random random, final int seeds) {
+        final var board = new KalahBoard();
+        for (int i = 0; i < seeds; i++) {
+            int pitId;
+            do {
+                pitId = 1 + random.nextInt(PIT_COUNT);
+            } while (pitId % STORE_INDEX == 0);
+            board.seeds(pitId, board.seeds(pitId) + 1);
+        }
+        final int player1Store = random.nextInt(72 - seeds + 1);
+        return board.seeds(STORE_INDEX, player1Store).seeds(PIT_COUNT, 72 - seeds - player1Store);
+    }
+
+    private static int margin(@NotNull KalahBoard board, @NotNull Player player) {
+        final int store = board.seeds(player.number() * STORE_INDEX);
+        return 2 * store - board.seeds(STORE_INDEX) - board.seeds(PIT_COUNT);
+    }
+
+    private static Player opponent(@NotNull Player player) {
+        return player == PLAYER_1 ? PLAYER_2 : PLAYER_1;
+    }
+}
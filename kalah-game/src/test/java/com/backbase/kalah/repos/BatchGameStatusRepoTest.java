@@ -0,0 +1,49 @@
+package com.backbase.kalah.repos;
+
+import com.backbase.kalah.Main;
+import com.backbase.kalah.records.GameStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+
+/**
+ * Integration test of the {@link BatchGameStatusRepo#insertAll(java.util.List)} against the embedded Redis
+ * node.
+ *
+ * @author Sachith Dickwella
+ */
+@AutoConfigureMockMvc
+@SpringBootTest(classes = Main.class,
+        properties = {"spring.redis.host=localhost", "spring.redis.port=${test.spring.redis.port}"})
+public class BatchGameStatusRepoTest {
+
+    /**
+     * Instance of {@link GameStatusRepo} to be tested.
+     */
+    @Autowired
+    private GameStatusRepo repo;
+
+    @Test
+    @DisplayName("Games saved in a batch are read back like the games saved one by one")
+    public void testInsertAll() {
+        final var games = new ArrayList<GameStatus>();
+        for (long id = 2001L; id <= 2100L; id++) {
+            games.add(GameStatus.builder().id(id).url("http://localhost:8080/games/" + id).board().build());
+        }
+        repo.insertAll(games);
+
+        for (var game : games) {
+            final var stored = repo.findById(game.getId()).orElseThrow();
+            assertEquals("Stored URL is invalid", game.getURL(), stored.getURL());
+            assertEquals("Stored board is invalid", game.getBoard(), stored.getBoard());
+            assertEquals("Stored version is invalid", 0, stored.getVersion());
+        }
+        assertTrue("Keyspace is not updated", repo.existsById(2100L));
+    }
+}
@@ -0,0 +1,148 @@
+package com.backbase.kalah.repos;
+
+import com.backbase.kalah.Main;
+import com.backbase.kalah.PlayKalah;
+import com.backbase.kalah.RandomPits;
+import com.backbase.kalah.records.GameStatus;
+import com.backbase.kalah.util.ConcurrentMoveException;
+import com.backbase.kalah.util.GameOverException;
+import com.backbase.kalah.util.InvalidPitUserException;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.backbase.kalah.util.ServiceConstance.FINISHED_TIME_TO_LIVE;
+import static org.junit.Assert.*;
+
+/**
+ * Integration test of the {@link EventLogGameStore} against the embedded Redis node, which makes sure the games
+ * rebuilt from the snapshots and the logs of the moves match the games played with {@link PlayKalah}, and each
+ * version of a game can be replayed from its log.
+ *
+ * @author Sachith Dickwella
+ */
+@AutoConfigureMockMvc
+@SpringBootTest(classes = Main.class, properties = {
+        "spring.redis.host=localhost",
+        "spring.redis.port=${test.spring.redis.port}",
+        GameStore.MODE_PROPERTY + "=log",
+        EventLogGameStore.SNAPSHOT_INTERVAL_PROPERTY + "=4"})
+public class EventLogGameStoreTest extends GameStoreContractTest {
+
+    /**
+     * Instance of {@link RedisTemplate} to inspect the stored snapshots with.
+     */
+    @Autowired
+    private RedisTemplate<String, GameStatus> gameStatusTemplate;
+
+    @NotNull
+    @Override
+    protected Class<? extends GameStore> storeType() {
+        return EventLogGameStore.class;
+    }
+
+    @Override
+    protected void checkMove(@NotNull GameStatus created, @NotNull GameStatus expected, final int move) {
+        final var found = store.find(created.getId()).orElseThrow();
+        assertEquals("Rebuilt board is invalid", expected.getBoard(), found.getBoard());
+        assertEquals("Rebuilt version is invalid", move, found.getVersion());
+        assertEquals("URL is lost", created.getURL(), found.getURL());
+
+        final var snapshot = gameStatusTemplate.opsForValue().get(EventLogGameStore.SNAPSHOT_PREFIX + created.getId());
+        assertNotNull("Snapshot is lost", snapshot);
+        assertEquals("Snapshot is not taken at the interval",
+                expected.getState().finished() ? move : move / 4 * 4, snapshot.getVersion());
+    }
+
+    @Test
+    @DisplayName("Each version of the games is replayed from the logs")
+    public void testReplay() {
+        final var random = new Random(7);
+        for (int game = 0; game < 10; game++) {
+            final var created = utils.createGame(new StringBuilder("http://localhost:8080/games"));
+            final var expected = GameStatus.builder().id(created.getId()).url(created.getURL()).board().build();
+            final var versions = new ArrayList<GameStatus>();
+            versions.add(GameStatusCodec.decode(GameStatusCodec.encode(expected)));
+
+            for (int pitId = RandomPits.legalPit(expected, random); pitId != 0;
+                 pitId = RandomPits.legalPit(expected, random)) {
+                playKalah.makeMove(expected, pitId);
+                versions.add(GameStatusCodec.decode(GameStatusCodec.encode(expected)));
+                utils.moveAndSave(created.getId(), pitId);
+            }
+
+            final var replayed = ((EventLogGameStore) store).replay(created.getId());
+            assertEquals("Number of versions is invalid", versions.size(), replayed.size());
+            for (int i = 0; i < versions.size(); i++) {
+                assertEquals("Replayed board is invalid", versions.get(i).getBoard(), replayed.get(i).getBoard());
+                assertEquals("Replayed version is invalid", i, replayed.get(i).getVersion());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Only one of the concurrent moves on the same game is logged")
+    public void testConcurrentMoves() throws Exception {
+        final var created = utils.createGame(new StringBuilder("http://localhost:8080/games"));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final var results = new ArrayList<Future<?>>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> store.move(created.getId(), 3)));
+            }
+
+            int saved = 0;
+            for (var result : results) {
+                try {
+                    result.get();
+                    saved++;
+                } catch (Exception ex) {
+                    assertTrue("Unexpected failure " + ex.getCause(), ex.getCause() instanceof ConcurrentMoveException
+                            || ex.getCause() instanceof InvalidPitUserException);
+                }
+            }
+            assertEquals("Number of saved moves is invalid", 1, saved);
+        } finally {
+            executor.shutdown();
+        }
+
+        final List<GameStatus> replayed = ((EventLogGameStore) store).replay(created.getId());
+        assertEquals("Number of versions is invalid", 2, replayed.size());
+        assertEquals("Board is invalid", "0", store.find(created.getId()).orElseThrow().getBoard().get(3));
+    }
+
+    @Test
+    @DisplayName("Finished games are rejected and expire sooner, and missing games are not found")
+    public void testFinishedAndMissingGames() {
+        final var created = utils.createGame(new StringBuilder("http://localhost:8080/games"));
+        final var expected = GameStatus.builder().id(created.getId()).url(created.getURL()).board().build();
+
+        final var random = new Random(13);
+        while (!expected.getState().finished()) {
+            final int pitId = RandomPits.legalPit(expected, random);
+            playKalah.makeMove(expected, pitId);
+            utils.moveAndSave(created.getId(), pitId);
+        }
+
+        final Long ttl = gameStatusTemplate.getExpire(EventLogGameStore.SNAPSHOT_PREFIX + created.getId());
+        assertTrue("Finished game does not expire sooner", ttl != null && ttl > 0 && ttl <= FINISHED_TIME_TO_LIVE);
+        final var ex = Assertions.assertThrows(GameOverException.class, () -> store.move(created.getId(), 1));
+        assertEquals("Game state is invalid", expected.getState(), ex.getState());
+
+        assertFalse("Missing game is found", utils.moveAndSave(42L, 1).isPresent());
+        assertTrue("Missing game is replayed", ((EventLogGameStore) store).replay(42L).isEmpty());
+    }
+}
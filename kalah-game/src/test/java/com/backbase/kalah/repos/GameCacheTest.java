@@ -0,0 +1,101 @@
+package com.backbase.kalah.repos;
+
+import com.backbase.kalah.Main;
+import com.backbase.kalah.PlayKalah;
+import com.backbase.kalah.endpoints.util.ControllerUtils;
+import com.backbase.kalah.records.GameStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.Assert.*;
+
+/**
+ * Integration test of the {@link GameCache} in front of the {@link GameStatusRepo} against the embedded
+ * Redis node.
+ *
+ * @author Sachith Dickwella
+ */
+@AutoConfigureMockMvc
+@SpringBootTest(classes = Main.class, properties = {
+        "spring.redis.host=localhost",
+        "spring.redis.port=${test.spring.redis.port}",
+        GameCache.ENABLED_PROPERTY + "=true"})
+public class GameCacheTest {
+
+    /**
+     * Instance of {@link ControllerUtils} running on the cached {@link RepositoryGameStore}.
+     */
+    @Autowired
+    private ControllerUtils utils;
+    /**
+     * Instance of {@link GameCache} to be tested.
+     */
+    @Autowired
+    private GameCache cache;
+    /**
+     * Instance of {@link GameStatusRepo} to play as another node with.
+     */
+    @Autowired
+    private GameStatusRepo repo;
+    /**
+     * Instance of {@link PlayKalah} to make the moves with.
+     */
+    @Autowired
+    @Qualifier("playKalah")
+    private PlayKalah playKalah;
+
+    @Test
+    @DisplayName("Saved moves are cached and the cached copies are not shared")
+    public void testCachedMove() {
+        final long gameId = utils.createGame(new StringBuilder("http://localhost:8080/games")).getId();
+        final var moved = utils.moveAndSave(gameId, 1).orElseThrow();
+
+        final var cached = cache.get(gameId).orElseThrow();
+        assertEquals("Cached board is invalid", moved.getBoard(), cached.getBoard());
+        assertEquals("Cached version is invalid", 1, cached.getVersion());
+
+        cached.getBoard().put(2, "0");
+        assertEquals("Cached copy is shared", "7", cache.get(gameId).orElseThrow().getBoard().get(2));
+
+        final var next = utils.moveAndSave(gameId, 2).orElseThrow();
+        assertEquals("Version is not incremented", 2, next.getVersion());
+        assertEquals("Stored board is invalid", next.getBoard(), repo.findById(gameId).orElseThrow().getBoard());
+    }
+
+    @Test
+    @DisplayName("Moves saved by another node drop the cached copy")
+    public void testInvalidation() throws InterruptedException {
+        final long gameId = utils.createGame(new StringBuilder("http://localhost:8080/games")).getId();
+        utils.moveAndSave(gameId, 1);
+
+        final var otherNode = repo.findById(gameId).orElseThrow();
+        playKalah.makeMove(otherNode, 2);
+        assertTrue("Other node's move is not saved", repo.compareAndSave(otherNode));
+
+        for (int i = 0; i < 50 && cache.get(gameId).isPresent(); i++) {
+            Thread.sleep(100);
+        }
+        assertFalse("Cached copy is not invalidated", cache.get(gameId).isPresent());
+    }
+
+    @Test
+    @DisplayName("Moves on stale cached copies are played on the stored game")
+    public void testStaleCopy() {
+        final long gameId = utils.createGame(new StringBuilder("http://localhost:8080/games")).getId();
+        final var stale = utils.moveAndSave(gameId, 1).orElseThrow();
+
+        final var stored = repo.findById(gameId).orElseThrow();
+        playKalah.makeMove(stored, 2);
+        assertTrue("Other node's move is not saved", repo.compareAndSave(stored));
+        cache.put(stale);
+
+        final var moved = utils.moveAndSave(gameId, 8).orElseThrow();
+        playKalah.makeMove(stored, 8);
+        assertEquals("Move is not played on the stored game", stored.getBoard(), moved.getBoard());
+        assertEquals("Version is invalid", 3, moved.getVersion());
+    }
+}
@@ -0,0 +1,57 @@
+package com.backbase.kalah.repos;
+
+import com.backbase.kalah.records.GameStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.backbase.kalah.util.ServiceConstance.GameState;
+import static com.backbase.kalah.util.ServiceConstance.Player.PLAYER_2;
+import static org.junit.Assert.*;
+
+/**
+ * Unit test of the {@link GameStatusCodec} binary format.
+ *
+ * @author Sachith Dickwella
+ */
+public class GameStatusCodecTest {
+
+    private final GameStatusCodec codec = new GameStatusCodec();
+
+    @Test
+    @DisplayName("Encoded game status decodes into the same game status")
+    public void testRoundTrip() {
+        final var gameStatus = GameStatus.builder()
+                .id(-8840384032536030098L)
+                .url("http://localhost:8080/games/-8840384032536030098")
+                .board()
+                .player(PLAYER_2)
+                .version(0xFFFFFFFEL)
+                .state(GameState.PLAYER_2_WON)
+                .build();
+        gameStatus.getBoard().put(7, "72");
+        gameStatus.getBoard().put(1, "0");
+
+        final var bytes = codec.serialize(gameStatus);
+        assertEquals("Encoded size is invalid", GameStatusCodec.URL_OFFSET + gameStatus.getURL().length(),
+                bytes.length);
+
+        final var decoded = codec.deserialize(bytes);
+        assertEquals("Id is invalid", gameStatus.getId(), decoded.getId());
+        assertEquals("URL is invalid", gameStatus.getURL(), decoded.getURL());
+        assertEquals("Board is invalid", gameStatus.getBoard(), decoded.getBoard());
+        assertEquals("Player is invalid", PLAYER_2, decoded.player());
+        assertEquals("Version is invalid", 0xFFFFFFFEL, decoded.getVersion());
+        assertEquals("State is invalid", GameState.PLAYER_2_WON, decoded.getState());
+    }
+
+    @Test
+    @DisplayName("Null values and games without url are handled")
+    public void testNullValues() {
+        assertNull("Null is not serialized to null", codec.serialize(null));
+        assertNull("Null is not deserialized to null", codec.deserialize(null));
+
+        final var decoded = codec.deserialize(codec.serialize(GameStatus.builder().id(1L).board().build()));
+        assertNull("URL is invalid", decoded.getURL());
+        assertEquals("Board is invalid", "6", decoded.getBoard().get(1));
+    }
+}
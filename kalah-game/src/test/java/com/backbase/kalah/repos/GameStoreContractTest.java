@@ -0,0 +1,137 @@
+package com.backbase.kalah.repos;
+
+import com.backbase.kalah.PlayKalah;
+import com.backbase.kalah.RandomPits;
+import com.backbase.kalah.endpoints.util.ControllerUtils;
+import com.backbase.kalah.records.GameStatus;
+import com.backbase.kalah.util.GameOverException;
+import com.backbase.kalah.util.InvalidPitUserException;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests every {@link GameStore} has to pass, which make sure the moves saved by the store match the moves played
+ * with {@link PlayKalah} over random games. The test of each store extends this class on the application context of
+ * its store.
+ *
+ * The games are played within a request to {@code http://localhost:8080}, the url of which the games are answered
+ * with.
+ *
+ * @author Sachith Dickwella
+ */
+public abstract class GameStoreContractTest {
+
+    /**
+     * Instance of {@link ControllerUtils} running on the store to be tested.
+     */
+    @Autowired
+    protected ControllerUtils utils;
+    /**
+     * Instance of {@link GameStore} to be tested.
+     */
+    @Autowired
+    protected GameStore store;
+    /**
+     * Instance of {@link PlayKalah} to replay the moves with.
+     */
+    @Autowired
+    @Qualifier("playKalah")
+    protected PlayKalah playKalah;
+
+    /**
+     * Get the type of the store the application context should select.
+     *
+     * @return {@link Class} of the {@link GameStore} to be tested.
+     */
+    @NotNull
+    protected abstract Class<? extends GameStore> storeType();
+
+    /**
+     * Check the store further after each move of {@link #testMovesMatchPlayKalah()}.
+     *
+     * @param created  instance of {@link GameStatus} as created.
+     * @param expected instance of {@link GameStatus} played with {@link PlayKalah}.
+     * @param move     {@code int} number of the move, i.e. the version of the game.
+     */
+    protected void checkMove(@NotNull GameStatus created, @NotNull GameStatus expected, final int move) {
+        // nothing to check by default
+    }
+
+    @Test
+    @DisplayName("Store is selected by the configuration")
+    public void testStoreSelection() {
+        assertTrue("Store is not the " + storeType().getSimpleName(), storeType().isInstance(store));
+    }
+
+    @Test
+    @DisplayName("Moves saved by the store match the PlayKalah moves over random games")
+    public void testMovesMatchPlayKalah() {
+        final var request = new MockHttpServletRequest();
+        request.setServerPort(8080);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            final var random = new Random(7);
+            for (int game = 0; game < 30; game++) {
+                final var created = utils.createGame(new StringBuilder("http://localhost:8080/games"));
+                final var expected = GameStatus.builder().id(created.getId()).url(created.getURL()).board().build();
+
+                for (int move = 1; ; move++) {
+                    final int pitId = RandomPits.legalPit(expected, random);
+                    if (pitId == 0) break;
+
+                    playKalah.makeMove(expected, pitId);
+                    final var actual = utils.moveAndSave(created.getId(), pitId).orElseThrow();
+                    assertEquals("Board differs from PlayKalah", expected.getBoard(), actual.getBoard());
+                    assertEquals("Active player differs from PlayKalah", expected.player(), actual.player());
+                    assertEquals("State differs from PlayKalah", expected.getState(), actual.getState());
+                    assertEquals("Version is not incremented", move, actual.getVersion());
+                    assertEquals("URL is lost", created.getURL(), actual.getURL());
+                    checkMove(created, expected, move);
+                }
+                final var ex = Assertions.assertThrows(GameOverException.class,
+                        () -> store.move(created.getId(), 1));
+                assertEquals("Game state is invalid", expected.getState(), ex.getState());
+            }
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    @DisplayName("Multi-moves are saved once and stop at the first illegal move")
+    public void testMoveAll() {
+        final var created = utils.createGame(new StringBuilder("http://localhost:8080/games"));
+        final var expected = GameStatus.builder().id(created.getId()).url(created.getURL()).board().build();
+
+        final var random = new Random(11);
+        final var pitIds = new int[20];
+        for (int i = 0; i < pitIds.length; i++) {
+            pitIds[i] = RandomPits.legalPit(expected, random);
+            playKalah.makeMove(expected, pitIds[i]);
+        }
+
+        final var actual = utils.movesAndSave(created.getId(), pitIds).orElseThrow();
+        assertEquals("Board differs from PlayKalah", expected.getBoard(), actual.getBoard());
+        assertEquals("Active player differs from PlayKalah", expected.player(), actual.player());
+        assertEquals("Version is not incremented once", 1, actual.getVersion());
+
+        final int illegal = expected.otherPlayer().firstPit();
+        final var ex = Assertions.assertThrows(InvalidPitUserException.class, () -> utils.movesAndSave(
+                created.getId(), new int[]{RandomPits.legalPit(expected, random), illegal}));
+        assertEquals("Move index is invalid", Integer.valueOf(1), ex.getMoveIndex());
+        assertEquals("Rejected moves are saved", actual.getBoard(),
+                store.find(created.getId()).orElseThrow().getBoard());
+        assertFalse("Missing game is found", utils.moveAndSave(42L, 1).isPresent());
+    }
+}
@@ -0,0 +1,115 @@
+package com.backbase.kalah.repos;
+
+import com.backbase.kalah.Main;
+import com.backbase.kalah.PlayKalah;
+import com.backbase.kalah.RandomPits;
+import com.backbase.kalah.endpoints.util.ControllerUtils;
+import com.backbase.kalah.records.GameStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration test of the {@link GameUpdates} against the embedded Redis node, which makes sure the saved games
+ * reach the followers through Redis pub/sub, in order, and the streams of the games end with the game.
+ *
+ * @author Sachith Dickwella
+ */
+@AutoConfigureMockMvc
+@SpringBootTest(classes = Main.class, properties = {
+        "spring.redis.host=localhost",
+        "spring.redis.port=${test.spring.redis.port}",
+        GameStore.MODE_PROPERTY + "=script"})
+public class GameUpdatesTest {
+
+    /**
+     * Instance of {@link MockMvc} to invoke the REST endpoints.
+     */
+    @Qualifier("default")
+    @Autowired
+    private MockMvc mockMvc;
+    /**
+     * Instance of {@link ControllerUtils} to play the games with.
+     */
+    @Autowired
+    private ControllerUtils utils;
+    /**
+     * Instance of {@link GameUpdates} to be tested.
+     */
+    @Autowired
+    private GameUpdates updates;
+    /**
+     * Instance of {@link PlayKalah} to replay the moves with.
+     */
+    @Autowired
+    @Qualifier("playKalah")
+    private PlayKalah playKalah;
+
+    @Test
+    @DisplayName("Followers receive each saved game in order until they unsubscribe")
+    public void testFollowers() throws Exception {
+        final var created = utils.createGame(new StringBuilder("http://localhost:8080/games"));
+        final var expected = GameStatus.builder().id(created.getId()).url(created.getURL()).board().build();
+
+        final BlockingQueue<GameStatus> received = new LinkedBlockingQueue<>();
+        final var random = new Random(3);
+        try (var subscription = updates.subscribe(created.getId(), received::add)) {
+            for (int move = 1; move <= 10; move++) {
+                final int pitId = RandomPits.legalPit(expected, random);
+                playKalah.makeMove(expected, pitId);
+                utils.moveAndSave(created.getId(), pitId);
+
+                final var gameStatus = received.poll(5, TimeUnit.SECONDS);
+                assertNotNull("Saved game is not received", gameStatus);
+                assertEquals("Version is out of order", move, gameStatus.getVersion());
+                assertEquals("Board is invalid", expected.getBoard(), gameStatus.getBoard());
+            }
+        }
+
+        utils.moveAndSave(created.getId(), RandomPits.legalPit(expected, random));
+        assertNull("Game is received after unsubscribing", received.poll(500, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("Streams send the game and its moves, and end with the game")
+    public void testStream() throws Exception {
+        mockMvc.perform(get("/games/{gameId}/stream", 42L))
+                .andExpect(status().isNotFound());
+
+        final var created = utils.createGame(new StringBuilder("http://localhost:8080/games"));
+        final var result = mockMvc.perform(get("/games/{gameId}/stream", created.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        final var expected = GameStatus.builder().id(created.getId()).url(created.getURL()).board().build();
+        final var random = new Random(5);
+        int moves = 0;
+        for (int pitId = RandomPits.legalPit(expected, random); pitId != 0;
+             pitId = RandomPits.legalPit(expected, random)) {
+            playKalah.makeMove(expected, pitId);
+            utils.moveAndSave(created.getId(), pitId);
+            moves++;
+        }
+        assertTrue("Game is not over", expected.getState().finished());
+
+        result.getAsyncResult(TimeUnit.SECONDS.toMillis(5));
+        final var content = result.getResponse().getContentAsString();
+        assertTrue("Initial game is not sent", content.startsWith("id:0\nevent:game\ndata:"));
+        assertTrue("Last move is not sent", content.contains("id:" + moves + "\n"));
+        assertTrue("Final state is not sent", content.contains("\"state\":\"" + expected.getState() + "\""));
+    }
+}
@@ -0,0 +1,137 @@
+package com.backbase.kalah.repos;
+
+import com.backbase.kalah.records.GameStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link ConcurrentHashMap} backed {@link GameStatusRepo} implementation to test the services without
+ * a Redis node. Keeps and hands out copies of the {@link GameStatus} instances, the same way a round
+ * trip to Redis would do.
+ *
+ * @author Sachith Dickwella
+ */
+public class InMemoryGameStatusRepo implements GameStatusRepo {
+
+    /**
+     * Stored {@link GameStatus} instances by their id.
+     */
+    private final Map<Long, GameStatus> games = new ConcurrentHashMap<>();
+
+    @NotNull
+    @Override
+    public <S extends GameStatus> S save(@NotNull S entity) {
+        games.put(entity.getId(), copy(entity));
+        return entity;
+    }
+
+    @Override
+    public synchronized boolean compareAndSave(@NotNull GameStatus gameStatus) {
+        final var stored = games.get(gameStatus.getId());
+        if (stored == null || stored.getVersion() != gameStatus.getVersion()) return false;
+
+        gameStatus.version(gameStatus.getVersion() + 1);
+        games.put(gameStatus.getId(), copy(gameStatus));
+        return true;
+    }
+
+    @Override
+    public void insertAll(@NotNull List<GameStatus> gameStatuses) {
+        gameStatuses.forEach(this::save);
+    }
+
+    @Override
+    public void replaceAll(@NotNull List<GameStatus> gameStatuses) {
+        gameStatuses.forEach(this::save);
+    }
+
+    @NotNull
+    @Override
+    public <S extends GameStatus> Iterable<S> saveAll(@NotNull Iterable<S> entities) {
+        final List<S> saved = new ArrayList<>();
+        entities.forEach(entity -> saved.add(save(entity)));
+        return saved;
+    }
+
+    @NotNull
+    @Override
+    public Optional<GameStatus> findById(@NotNull Long id) {
+        return Optional.ofNullable(games.get(id)).map(InMemoryGameStatusRepo::copy);
+    }
+
+    @Override
+    public boolean existsById(@NotNull Long id) {
+        return games.containsKey(id);
+    }
+
+    @NotNull
+    @Override
+    public Iterable<GameStatus> findAll() {
+        return games.values().stream()
+                .map(InMemoryGameStatusRepo::copy)
+                .collect(Collectors.toList());
+    }
+
+    @NotNull
+    @Override
+    public Iterable<GameStatus> findAllById(@NotNull Iterable<Long> ids) {
+        return StreamSupport.stream(ids.spliterator(), false)
+                .map(games::get)
+                .filter(Objects::nonNull)
+                .map(InMemoryGameStatusRepo::copy)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public long count() {
+        return games.size();
+    }
+
+    @Override
+    public void deleteById(@NotNull Long id) {
+        games.remove(id);
+    }
+
+    @Override
+    public void delete(@NotNull GameStatus entity) {
+        games.remove(entity.getId());
+    }
+
+    @Override
+    public void deleteAll(@NotNull Iterable<? extends GameStatus> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        games.clear();
+    }
+
+    /**
+     * Copy the given {@link GameStatus} into a new instance.
+     *
+     * @param source instance of {@link GameStatus} to copy.
+     * @return new instance of {@link GameStatus} with the same content.
+     */
+    @NotNull
+    private static GameStatus copy(@NotNull GameStatus source) {
+        final var copy = GameStatus.builder()
+                .id(source.getId())
+                .url(source.getURL())
+                .board()
+                .build();
+        if (source.getBoard() != null) copy.getBoard().putAll(source.getBoard());
+        if (copy.player() != source.player()) copy.player(true);
+        copy.state(source.getState());
+        copy.version(source.getVersion());
+        return copy;
+    }
+}
@@ -0,0 +1,75 @@
+package com.backbase.kalah.repos;
+
+import com.backbase.kalah.Main;
+import com.backbase.kalah.util.IdGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+/**
+ * Integration test of the {@link LeasedIdGenerator} against the embedded Redis node.
+ *
+ * @author Sachith Dickwella
+ */
+@AutoConfigureMockMvc
+@SpringBootTest(classes = Main.class,
+        properties = {"spring.redis.host=localhost", "spring.redis.port=${test.spring.redis.port}"})
+public class LeasedIdGeneratorTest {
+
+    /**
+     * Instance of {@link IdGenerator} to be tested.
+     */
+    @Autowired
+    private IdGenerator idGenerator;
+
+    @Test
+    @DisplayName("Ids generated by concurrent threads are unique and positive")
+    public void testConcurrentIds() throws Exception {
+        final int threads = 8;
+        final int idsPerThread = 5_000;
+
+        final var executor = Executors.newFixedThreadPool(threads);
+        try {
+            final var futures = new ArrayList<Future<long[]>>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit((Callable<long[]>) () -> {
+                    final var ids = new long[idsPerThread];
+                    for (int i = 0; i < idsPerThread; i++) {
+                        ids[i] = idGenerator.nextId();
+                    }
+                    return ids;
+                }));
+            }
+
+            final var unique = new HashSet<Long>();
+            for (var future : futures) {
+                for (long id : future.get()) {
+                    assertTrue("Id is not positive", id > 0);
+                    assertTrue("Id is generated twice", unique.add(id));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Scrambled sequence numbers do not collide")
+    public void testScramble() {
+        final var unique = new HashSet<Long>();
+        for (long sequence = 1; sequence <= 100_000; sequence++) {
+            assertTrue("Scrambled id collides", unique.add(LeasedIdGenerator.scramble(sequence)));
+        }
+        assertTrue("Scrambled id is not positive", LeasedIdGenerator.scramble(Long.MAX_VALUE) >= 0);
+    }
+}
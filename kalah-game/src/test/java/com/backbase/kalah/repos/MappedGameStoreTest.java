@@ -0,0 +1,139 @@
+package com.backbase.kalah.repos;
+
+import com.backbase.kalah.Main;
+import com.backbase.kalah.PlayKalah;
+import com.backbase.kalah.configs.LocalConfig;
+import com.backbase.kalah.records.GameStatus;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+
+import static com.backbase.kalah.util.ServiceConstance.STORE_INDEX;
+import static org.junit.Assert.*;
+
+/**
+ * Integration test of the {@link MappedGameStore} on the {@link LocalConfig#PROFILE} profile, which makes sure the
+ * service runs without Redis, the moves on the slots play by the {@link PlayKalah} rules, and the games outlive a
+ * restart, with no urls of their own, and are dropped once expired.
+ *
+ * @author Sachith Dickwella
+ */
+@ActiveProfiles(LocalConfig.PROFILE)
+@AutoConfigureMockMvc
+@SpringBootTest(classes = Main.class, properties = {
+        MappedGameStore.PATH_PROPERTY + "=target/mapped-game-store-test.dat",
+        MappedGameStore.CAPACITY_PROPERTY + "=10000"})
+public class MappedGameStoreTest extends GameStoreContractTest {
+
+    /**
+     * The {@link ApplicationContext} to check the Redis beans are left out with.
+     */
+    @Autowired
+    private ApplicationContext context;
+
+    @NotNull
+    @Override
+    protected Class<? extends GameStore> storeType() {
+        return MappedGameStore.class;
+    }
+
+    @Test
+    @DisplayName("Local profile leaves Redis out")
+    public void testWithoutRedis() {
+        assertEquals("Redis connection factory is created", 0,
+                context.getBeanNamesForType(RedisConnectionFactory.class).length);
+    }
+
+    @Test
+    @DisplayName("Games outlive a restart, and the ids are not handed out again")
+    public void testReopen(@TempDir Path directory) throws IOException {
+        final var path = directory.resolve("games.dat").toString();
+        final var games = new ArrayList<GameStatus>();
+
+        var mapped = new MappedGameStore(playKalah, 3600, path, 100, 60);
+        try {
+            for (int i = 0; i < 10; i++) {
+                final long gameId = mapped.nextId();
+                final var gameStatus = GameStatus.builder().id(gameId)
+                        .url((i % 2 == 0 ? "http://localhost:8080" : "http://kalah.example.com") + "/games/" + gameId)
+                        .board().build();
+                mapped.create(gameStatus);
+                games.add(mapped.move(gameStatus.getId(), 1 + i % 6).orElseThrow());
+            }
+        } finally {
+            mapped.close();
+        }
+
+        mapped = new MappedGameStore(playKalah, 3600, path, 100, 60);
+        try {
+            assertEquals("Number of games is invalid", games.size(), mapped.size());
+            for (var gameStatus : games) {
+                final var found = mapped.find(gameStatus.getId()).orElseThrow();
+                assertEquals("Board is invalid", gameStatus.getBoard(), found.getBoard());
+                assertEquals("Version is invalid", 1, found.getVersion());
+                assertNull("URL of the request is kept", found.getURL());
+                assertNotEquals("Id is handed out again", gameStatus.getId().longValue(), mapped.nextId());
+            }
+        } finally {
+            mapped.close();
+        }
+
+        final long size = Files.size(Paths.get(path));
+        Assertions.assertThrows(IllegalStateException.class, () -> new MappedGameStore(playKalah, 3600, path, 99,
+                60));
+        Assertions.assertThrows(IllegalStateException.class, () -> new MappedGameStore(playKalah, 3600, path, 200,
+                60));
+        assertEquals("File of another capacity is resized", size, Files.size(Paths.get(path)));
+
+        final var other = directory.resolve("other.dat");
+        Files.write(other, new byte[]{1, 2, 3});
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> new MappedGameStore(playKalah, 3600, other.toString(), 100, 60));
+        assertEquals("File which is not a game file is resized", 3, Files.size(other));
+    }
+
+    @Test
+    @DisplayName("Expired games are compacted and their slots reused")
+    public void testCompaction(@TempDir Path directory) throws Exception {
+        final var mapped = new MappedGameStore(playKalah, 1, directory.resolve("games.dat").toString(), 2, 60);
+        try {
+            final var finished = GameStatus.builder().id(1L).board().build();
+            mapped.create(finished);
+            mapped.create(GameStatus.builder().id(2L).board().build());
+            Assertions.assertThrows(IllegalStateException.class,
+                    () -> mapped.create(GameStatus.builder().id(3L).board().build()));
+
+            // Clear the board but the last seed of the first player, which sows into the store and ends the game.
+            for (int pitId = 1; pitId < 2 * STORE_INDEX; pitId++) {
+                finished.getBoard().put(pitId, pitId == 6 ? "1" : "0");
+            }
+            mapped.create(finished);
+            assertTrue("Game is not over", mapped.move(1L, 6).orElseThrow().getState().finished());
+
+            Thread.sleep(2100);
+            assertFalse("Expired game is found", mapped.find(1L).isPresent());
+            assertEquals("Number of compacted games is invalid", 1, mapped.compact());
+            assertEquals("Number of games is invalid", 1, mapped.size());
+
+            mapped.create(GameStatus.builder().id(3L).board().build());
+            assertTrue("Game is not created in the freed slot", mapped.find(3L).isPresent());
+            assertTrue("Game is lost", mapped.find(2L).isPresent());
+        } finally {
+            mapped.close();
+        }
+    }
+}
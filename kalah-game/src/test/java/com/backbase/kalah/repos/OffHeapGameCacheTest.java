@@ -0,0 +1,21 @@
+package com.backbase.kalah.repos;
+
+import com.backbase.kalah.Main;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Integration test of the {@link GameCache} keeping the games off the heap in {@link OffHeapGames}, which runs the
+ * tests of the {@link GameCacheTest}.
+ *
+ * @author Sachith Dickwella
+ */
+@AutoConfigureMockMvc
+@SpringBootTest(classes = Main.class, properties = {
+        "spring.redis.host=localhost",
+        "spring.redis.port=${test.spring.redis.port}",
+        GameCache.ENABLED_PROPERTY + "=true",
+        GameCache.OFF_HEAP_PROPERTY + "=true",
+        GameCache.OFF_HEAP_URLS_PROPERTY + "=http://localhost/games,http://localhost:8080/games"})
+public class OffHeapGameCacheTest extends GameCacheTest {
+}
@@ -0,0 +1,95 @@
+package com.backbase.kalah.repos;
+
+import com.backbase.kalah.records.GameStatus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test of the {@link OffHeapGames} table of the cached games.
+ *
+ * @author Sachith Dickwella
+ */
+public class OffHeapGamesTest {
+
+    @Test
+    @DisplayName("Games are copied in and out of the slots with their urls")
+    public void testCopies() {
+        final var games = new OffHeapGames(10, 300, "http://localhost:8080/games");
+        final var gameStatus = GameStatus.builder().id(42L).url("http://localhost:8080/games/42").board().build();
+        gameStatus.version(3);
+        games.put(gameStatus);
+
+        final var found = games.get(42L).orElseThrow();
+        assertEquals("Board is invalid", gameStatus.getBoard(), found.getBoard());
+        assertEquals("Version is invalid", 3, found.getVersion());
+        assertEquals("URL is invalid", gameStatus.getURL(), found.getURL());
+
+        found.getBoard().put(1, "0");
+        assertEquals("Copy is shared", "6", games.get(42L).orElseThrow().getBoard().get(1));
+        assertFalse("Missing game is found", games.get(43L).isPresent());
+        assertEquals("Hits are invalid", 2, games.hits());
+        assertEquals("Misses are invalid", 1, games.misses());
+    }
+
+    @Test
+    @DisplayName("Games not read since the last sweep are evicted first once full")
+    public void testEviction() {
+        final var games = new OffHeapGames(3, 300);
+        for (long id = 1; id <= 3; id++) {
+            games.put(GameStatus.builder().id(id).board().build());
+        }
+
+        // The first sweep clears every mark and evicts the first game, then the second game is read again.
+        games.put(GameStatus.builder().id(4L).board().build());
+        games.get(2L);
+        games.put(GameStatus.builder().id(5L).board().build());
+
+        assertEquals("Size is invalid", 3, games.size());
+        assertEquals("Evictions are invalid", 2, games.evictions());
+        assertFalse("First game is kept", games.get(1L).isPresent());
+        assertTrue("Game read again is evicted", games.get(2L).isPresent());
+        assertFalse("Third game is kept", games.get(3L).isPresent());
+        assertTrue("New game is evicted", games.get(5L).isPresent());
+    }
+
+    @Test
+    @DisplayName("Idle games are not found and older copies are dropped")
+    public void testIdleAndOlder() throws InterruptedException {
+        final var games = new OffHeapGames(10, 1);
+        final var gameStatus = GameStatus.builder().id(1L).board().build();
+        gameStatus.version(2);
+        games.put(gameStatus);
+
+        assertFalse("Newer copy is dropped", games.invalidateOlder(1L, 2));
+        assertTrue("Older copy is kept", games.invalidateOlder(1L, 3));
+        assertFalse("Dropped game is found", games.get(1L).isPresent());
+
+        games.put(gameStatus);
+        Thread.sleep(2100);
+        assertFalse("Idle game is found", games.get(1L).isPresent());
+        games.invalidate(1L);
+        assertEquals("Size is invalid", 0, games.size());
+    }
+
+    @Test
+    @DisplayName("Games keep their own urls, and games on resources which are not configured are not kept")
+    public void testUrls() {
+        final var games = new OffHeapGames(1_000, 300, "http://localhost:8080/games", "http://kalah.example.com/games");
+        games.put(GameStatus.builder().id(1L).url("http://localhost:8080/games/1").board().build());
+        games.put(GameStatus.builder().id(2L).url("http://kalah.example.com/games/2").board().build());
+        for (long id = 3; id <= GameUrls.MAX_SIZE + 3; id++) {
+            games.put(GameStatus.builder().id(id).url("http://host-" + id + ":8080/games/" + id).board().build());
+        }
+        games.put(GameStatus.builder().id(1_000L).board().build());
+
+        assertEquals("URL is invalid", "http://localhost:8080/games/1", games.get(1L).orElseThrow().getURL());
+        assertEquals("URL is invalid", "http://kalah.example.com/games/2", games.get(2L).orElseThrow().getURL());
+        assertEquals("Games on other resources are kept", 3, games.size());
+        assertTrue("Game with no url is not kept", games.get(1_000L).isPresent());
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new OffHeapGames(10, 300, new String[GameUrls.MAX_SIZE + 1]));
+    }
+}
@@ -0,0 +1,69 @@
+package com.backbase.kalah.repos;
+
+import com.backbase.kalah.GameMetrics;
+import com.backbase.kalah.PlayKalah;
+import com.backbase.kalah.records.GameStatus;
+import com.backbase.kalah.util.InvalidPitUserException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test of the multi-move path of the {@link RepositoryGameStore} on the {@link InMemoryGameStatusRepo}.
+ *
+ * @author Sachith Dickwella
+ */
+public class RepositoryGameStoreTest {
+
+    private final PlayKalah playKalah = new PlayKalah();
+    private final InMemoryGameStatusRepo repo = new InMemoryGameStatusRepo();
+    private final RepositoryGameStore store = new RepositoryGameStore(repo, playKalah, Optional.empty(),
+            new GameMetrics(1_000, new SimpleMeterRegistry(), new FinishedGames(1_000, 3600)));
+
+    @Test
+    @DisplayName("Moves are made in order and saved once")
+    public void testMoveAll() {
+        store.create(GameStatus.builder().id(1L).board().build());
+
+        final var expected = GameStatus.builder().id(1L).board().build();
+        final int[] pitIds = {1, 2, 8, 9};
+        for (int pitId : pitIds) {
+            playKalah.makeMove(expected, pitId);
+        }
+
+        final var actual = store.moveAll(1L, pitIds).orElseThrow();
+        assertEquals("Board is invalid", expected.getBoard(), actual.getBoard());
+        assertEquals("Player is invalid", expected.player(), actual.player());
+        assertEquals("Version is not incremented once", 1, repo.findById(1L).orElseThrow().getVersion());
+    }
+
+    @Test
+    @DisplayName("The first illegal move is reported with its index and nothing is saved")
+    public void testMoveAllIllegalMove() {
+        store.create(GameStatus.builder().id(2L).board().build());
+
+        final var ex = Assertions.assertThrows(InvalidPitUserException.class,
+                () -> store.moveAll(2L, new int[]{1, 2, 2, 9}));
+        assertEquals("Move index is invalid", Integer.valueOf(2), ex.getMoveIndex());
+        assertEquals("Error message is invalid", "It's the PLAYER_2's turn", ex.getMessage());
+
+        final var stored = repo.findById(2L).orElseThrow();
+        assertEquals("Rejected moves are saved", 0, stored.getVersion());
+        assertEquals("Rejected moves are saved", "6", stored.getBoard().get(1));
+    }
+
+    @Test
+    @DisplayName("Single moves are reported without an index")
+    public void testMoveIllegalMove() {
+        store.create(GameStatus.builder().id(3L).board().build());
+
+        final var ex = Assertions.assertThrows(InvalidPitUserException.class, () -> store.move(3L, 8));
+        assertNull("Move index is set", ex.getMoveIndex());
+        assertFalse("Missing game is found", store.moveAll(4L, new int[]{1}).isPresent());
+    }
+}
@@ -0,0 +1,107 @@
+package com.backbase.kalah.repos;
+
+import com.backbase.kalah.Main;
+import com.backbase.kalah.PlayKalah;
+import com.backbase.kalah.RandomPits;
+import com.backbase.kalah.records.GameStatus;
+import com.backbase.kalah.util.GameOverException;
+import com.backbase.kalah.util.InvalidPitUserException;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import static com.backbase.kalah.util.ServiceConstance.FINISHED_TIME_TO_LIVE;
+import static org.junit.Assert.*;
+
+/**
+ * Integration test of the {@link ScriptedGameStore} against the embedded Redis node, which makes sure the
+ * {@code move.lua} script plays by exactly the same rules as {@link PlayKalah}.
+ *
+ * @author Sachith Dickwella
+ */
+@AutoConfigureMockMvc
+@SpringBootTest(classes = Main.class, properties = {
+        "spring.redis.host=localhost",
+        "spring.redis.port=${test.spring.redis.port}",
+        GameStore.MODE_PROPERTY + "=script"})
+public class ScriptedGameStoreTest extends GameStoreContractTest {
+
+    /**
+     * Instance of {@link RedisTemplate} to inspect the stored games with.
+     */
+    @Autowired
+    private RedisTemplate<String, GameStatus> gameStatusTemplate;
+
+    @NotNull
+    @Override
+    protected Class<? extends GameStore> storeType() {
+        return ScriptedGameStore.class;
+    }
+
+    @Test
+    @DisplayName("Scripted store rejects illegal moves with the PlayKalah messages")
+    public void testIllegalMoves() {
+        final var created = utils.createGame(new StringBuilder("http://localhost:8080/games"));
+
+        var ex = Assertions.assertThrows(InvalidPitUserException.class, () -> utils.moveAndSave(created.getId(), 20));
+        assertEquals("Error message is invalid", "Pit id 20 is invalid", ex.getMessage());
+
+        ex = Assertions.assertThrows(InvalidPitUserException.class, () -> utils.moveAndSave(created.getId(), 8));
+        assertEquals("Error message is invalid", "It's the PLAYER_1's turn", ex.getMessage());
+
+        ex = Assertions.assertThrows(InvalidPitUserException.class, () -> utils.moveAndSave(created.getId(), 7));
+        assertEquals("Error message is invalid", "Cannot grab seeds from 7 store", ex.getMessage());
+
+        utils.moveAndSave(created.getId(), 1);
+        ex = Assertions.assertThrows(InvalidPitUserException.class, () -> utils.moveAndSave(created.getId(), 1));
+        assertEquals("Error message is invalid", "Chosen pit 1, is empty, PLAYER_1's got another chance",
+                ex.getMessage());
+        assertNotNull("Payload is missing", ex.getPayload());
+    }
+
+    @Test
+    @DisplayName("Finished games reject the moves by their state and expire sooner")
+    public void testFinishedGame() {
+        final var created = utils.createGame(new StringBuilder("http://localhost:8080/games"));
+        final var expected = GameStatus.builder().id(created.getId()).url(created.getURL()).board().build();
+
+        final var random = new Random(13);
+        while (!expected.getState().finished()) {
+            final int pitId = RandomPits.legalPit(expected, random);
+            playKalah.makeMove(expected, pitId);
+            utils.moveAndSave(created.getId(), pitId);
+        }
+
+        final var stored = store.find(created.getId()).orElseThrow();
+        assertEquals("Stored state is invalid", expected.getState(), stored.getState());
+        final Long ttl = gameStatusTemplate.getExpire(ScriptedGameStore.KEY_PREFIX + created.getId());
+        assertTrue("Finished game does not expire sooner", ttl != null && ttl > 0 && ttl <= FINISHED_TIME_TO_LIVE);
+
+        final var ex = Assertions.assertThrows(GameOverException.class, () -> store.move(created.getId(), 1));
+        assertEquals("Game state is invalid", expected.getState(), ex.getState());
+        assertNull("Finished game is read", ((GameStatus) ex.getPayload()).getBoard());
+        Assertions.assertThrows(GameOverException.class, () -> utils.movesAndSave(created.getId(), new int[]{1}));
+    }
+
+    @Test
+    @DisplayName("Games created in a batch are stored")
+    public void testCreateGames() {
+        final var created = new ArrayList<GameStatus>();
+        utils.createGames("http://localhost:8080/games", 600, created::add);
+
+        assertEquals("Number of games is invalid", 600, created.size());
+        for (var game : created) {
+            final var stored = store.find(game.getId()).orElseThrow();
+            assertEquals("Stored URL is invalid", game.getURL(), stored.getURL());
+            assertEquals("Stored board is invalid", "6", stored.getBoard().get(1));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.backbase.kalah.repos;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test of the {@link SlotIndex} off-heap hash table against a {@link HashMap}.
+ *
+ * @author Sachith Dickwella
+ */
+public class SlotIndexTest {
+
+    @Test
+    @DisplayName("Random puts and removes match a HashMap")
+    public void testMatchesHashMap() {
+        final var index = new SlotIndex(1000);
+        final var expected = new HashMap<Long, Integer>();
+        final var random = new Random(17);
+
+        for (int i = 0; i < 200_000; i++) {
+            // Few distinct ids, so that the probe sequences collide and wrap around the table.
+            final long id = 1 + random.nextInt(1500);
+            if (expected.size() < 1000 && random.nextBoolean()) {
+                index.put(id, i);
+                expected.put(id, i);
+            } else {
+                assertEquals("Removed slot is invalid", (int) expected.getOrDefault(id, -1), index.remove(id));
+                expected.remove(id);
+            }
+            assertEquals("Size is invalid", expected.size(), index.size());
+        }
+
+        for (long id = 1; id <= 1500; id++) {
+            assertEquals("Slot of " + id + " is invalid", (int) expected.getOrDefault(id, -1), index.get(id));
+        }
+    }
+
+    @Test
+    @DisplayName("Negative ids are indexed and oversized tables are rejected")
+    public void testBounds() {
+        final var index = new SlotIndex(3);
+        for (long id = -1; id <= 1; id++) {
+            if (id != 0) index.put(id, (int) id + 1);
+        }
+        index.put(Long.MIN_VALUE, 2);
+        assertEquals("Size is invalid", 3, index.size());
+        assertEquals("Slot is invalid", 0, index.get(-1));
+        assertEquals("Slot is invalid", 2, index.get(Long.MIN_VALUE));
+        assertEquals("Missing id is found", -1, index.get(4));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new SlotIndex(Integer.MAX_VALUE));
+    }
+}
@@ -0,0 +1,91 @@
+package com.backbase.kalah.repos;
+
+import com.backbase.kalah.Main;
+import com.backbase.kalah.PlayKalah;
+import com.backbase.kalah.records.GameStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+
+import static com.backbase.kalah.util.ServiceConstance.FINISHED_TIME_TO_LIVE;
+import static com.backbase.kalah.util.ServiceConstance.GameState;
+import static org.junit.Assert.*;
+
+/**
+ * Integration test of the {@link VersionedGameStatusRepo#compareAndSave(GameStatus)} against the embedded
+ * Redis node.
+ *
+ * @author Sachith Dickwella
+ */
+@AutoConfigureMockMvc
+@SpringBootTest(classes = Main.class,
+        properties = {"spring.redis.host=localhost", "spring.redis.port=${test.spring.redis.port}"})
+public class VersionedGameStatusRepoTest {
+
+    /**
+     * Instance of {@link GameStatusRepo} to be tested.
+     */
+    @Autowired
+    private GameStatusRepo repo;
+    /**
+     * Instance of {@link PlayKalah} to make the moves with.
+     */
+    @Autowired
+    @Qualifier("playKalah")
+    private PlayKalah playKalah;
+    /**
+     * Instance of {@link RedisTemplate} to inspect the stored games with.
+     */
+    @Autowired
+    private RedisTemplate<byte[], byte[]> redisTemplate;
+
+    @Test
+    @DisplayName("Only the first of two concurrent moves on the same version is saved")
+    public void testCompareAndSave() {
+        repo.save(GameStatus.builder().id(1001L).url("http://localhost:8080/games/1001").board().build());
+
+        final var first = repo.findById(1001L).orElseThrow();
+        final var second = repo.findById(1001L).orElseThrow();
+
+        playKalah.makeMove(first, 1);
+        assertTrue("First move is not saved", repo.compareAndSave(first));
+        assertEquals("Version is not incremented", 1, first.getVersion());
+
+        playKalah.makeMove(second, 2);
+        assertFalse("Stale move is saved", repo.compareAndSave(second));
+        assertEquals("Version of the stale move is changed", 0, second.getVersion());
+
+        final var stored = repo.findById(1001L).orElseThrow();
+        assertEquals("Stored version is invalid", 1, stored.getVersion());
+        assertEquals("Stored board is not the first move's board", first.getBoard(), stored.getBoard());
+        assertEquals("Stored URL is lost", first.getURL(), stored.getURL());
+    }
+
+    @Test
+    @DisplayName("Missing games are never saved by compare-and-save")
+    public void testCompareAndSaveMissingGame() {
+        final var gameStatus = GameStatus.builder().id(1002L).board().build();
+        assertFalse("Missing game is saved", repo.compareAndSave(gameStatus));
+        assertFalse("Missing game is created", repo.existsById(1002L));
+    }
+
+    @Test
+    @DisplayName("Finished games are saved with their state and the shorter time to live")
+    public void testFinishedGame() {
+        repo.save(GameStatus.builder().id(1003L).board().build());
+
+        final var gameStatus = repo.findById(1003L).orElseThrow();
+        gameStatus.state(GameState.PLAYER_2_WON);
+        assertTrue("Finished game is not saved", repo.compareAndSave(gameStatus));
+
+        assertEquals("Stored state is invalid", GameState.PLAYER_2_WON, repo.findById(1003L).orElseThrow().getState());
+        final Long ttl = redisTemplate.getExpire("GameStatus:1003".getBytes(StandardCharsets.UTF_8));
+        assertTrue("Finished game does not expire sooner", ttl != null && ttl > 0 && ttl <= FINISHED_TIME_TO_LIVE);
+    }
+}
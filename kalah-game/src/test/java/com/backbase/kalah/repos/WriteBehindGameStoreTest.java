@@ -0,0 +1,147 @@
+package com.backbase.kalah.repos;
+
+import com.backbase.kalah.GameMetrics;
+import com.backbase.kalah.PlayKalah;
+import com.backbase.kalah.records.GameStatus;
+import com.backbase.kalah.util.GameOverException;
+import com.backbase.kalah.util.InvalidPitUserException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.backbase.kalah.util.ServiceConstance.STORE_INDEX;
+import static org.junit.Assert.*;
+
+/**
+ * Unit test of the {@link WriteBehindGameStore} on the {@link InMemoryGameStatusRepo}, which makes sure the moves
+ * are saved behind, once per game however many moves are made, and that nothing is lost on close.
+ *
+ * @author Sachith Dickwella
+ */
+public class WriteBehindGameStoreTest {
+
+    private final PlayKalah playKalah = new PlayKalah();
+    private final FailingGameStatusRepo repo = new FailingGameStatusRepo();
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final GameMetrics metrics = new GameMetrics(1_000, registry, new FinishedGames(1_000, 3600));
+    private final WriteBehindGameStore store = store(10);
+
+    @AfterEach
+    public void close() {
+        store.close();
+    }
+
+    @Test
+    @DisplayName("Moves on the same game are saved once, with the latest status")
+    public void testCoalescedMoves() {
+        store.create(GameStatus.builder().id(1L).board().build());
+        final var expected = GameStatus.builder().id(1L).board().build();
+        for (int pitId : new int[]{1, 2, 8, 9}) {
+            playKalah.makeMove(expected, pitId);
+            store.move(1L, pitId);
+        }
+
+        assertFalse("Game is saved before the flush", repo.findById(1L).isPresent());
+        assertEquals("Version is invalid", 4, store.find(1L).orElseThrow().getVersion());
+
+        assertEquals("Number of saved games is invalid", 1, store.flush());
+        final var saved = repo.findById(1L).orElseThrow();
+        assertEquals("Board is invalid", expected.getBoard(), saved.getBoard());
+        assertEquals("Version is invalid", 4, saved.getVersion());
+        assertEquals("Number of dirty games is invalid", 0, store.dirty());
+        assertEquals("Number of saves is invalid", 1, repo.saves);
+        assertEquals("Lag is not recorded", 1, registry.get("kalah.write-behind.lag").timer().count());
+    }
+
+    @Test
+    @DisplayName("Games are read from Redis once and rejected moves are not kept")
+    public void testRejectedMoves() {
+        final var stored = GameStatus.builder().id(2L).board().build();
+        for (int pitId = 1; pitId < 2 * STORE_INDEX; pitId++) {
+            stored.getBoard().put(pitId, pitId == 6 ? "1" : "0");
+        }
+        repo.save(stored);
+
+        final var ex = Assertions.assertThrows(InvalidPitUserException.class,
+                () -> store.moveAll(2L, new int[]{1, 6}));
+        assertEquals("Move index is invalid", Integer.valueOf(0), ex.getMoveIndex());
+        assertEquals("Rejected moves are kept", 0, store.dirty());
+
+        assertTrue("Game is not over", store.move(2L, 6).orElseThrow().getState().finished());
+        Assertions.assertThrows(GameOverException.class, () -> store.move(2L, 1));
+        assertFalse("Missing game is found", store.move(3L, 1).isPresent());
+    }
+
+    @Test
+    @DisplayName("Dirty games are flushed once too many, and kept dirty if the flush fails")
+    public void testMaxDirty() throws InterruptedException {
+        repo.failing.set(true);
+        for (long id = 1; id <= 10; id++) {
+            store.create(GameStatus.builder().id(id).board().build());
+        }
+        for (int i = 0; i < 50 && repo.failing.get(); i++) {
+            Thread.sleep(100);
+        }
+        assertFalse("Flush is not requested", repo.failing.get());
+        assertEquals("Failed games are not kept dirty", 10, store.dirty());
+
+        store.create(GameStatus.builder().id(11L).board().build());
+        for (int i = 0; i < 50 && store.dirty() > 0; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals("Dirty games are not flushed", 0, store.dirty());
+        assertEquals("Number of saved games is invalid", 11, repo.count());
+    }
+
+    @Test
+    @DisplayName("Dirty games are saved on close")
+    public void testClose() {
+        final var closed = store(1_000);
+        closed.create(GameStatus.builder().id(4L).board().build());
+        closed.move(4L, 3);
+        closed.close();
+
+        assertEquals("Version is invalid", 1, repo.findById(4L).orElseThrow().getVersion());
+        assertEquals("Number of dirty games is invalid", 0, closed.dirty());
+    }
+
+    /**
+     * Create a store which flushes once an hour, or once {@code maxDirty} games are dirty.
+     *
+     * @param maxDirty {@code int} number of dirty games to flush.
+     * @return new instance of {@link WriteBehindGameStore}.
+     */
+    @NotNull
+    private WriteBehindGameStore store(final int maxDirty) {
+        return new WriteBehindGameStore(repo, playKalah, metrics, registry, 3_600_000, maxDirty, 1_000, 300);
+    }
+
+    /**
+     * {@link InMemoryGameStatusRepo} which counts the batches saved, and fails the next batch on demand.
+     */
+    private static final class FailingGameStatusRepo extends InMemoryGameStatusRepo {
+
+        /**
+         * Whether to fail the next batch.
+         */
+        private final AtomicBoolean failing = new AtomicBoolean();
+        /**
+         * Number of the batches saved.
+         */
+        private volatile int saves;
+
+        @Override
+        public void replaceAll(@NotNull List<GameStatus> gameStatuses) {
+            if (failing.getAndSet(false)) throw new IllegalStateException("Redis is down");
+            super.replaceAll(gameStatuses);
+            saves++;
+        }
+    }
+}